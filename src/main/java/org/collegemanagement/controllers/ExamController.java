@@ -6,20 +6,29 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.collegemanagement.api.response.ApiResponse;
 import org.collegemanagement.dto.exam.*;
 import org.collegemanagement.enums.ExamType;
+import org.collegemanagement.enums.RankScope;
 import org.collegemanagement.services.ExamService;
+import org.collegemanagement.services.ReportCardService;
+import org.collegemanagement.services.TranscriptGenerationService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -30,6 +39,8 @@ import java.util.List;
 public class ExamController {
 
     private final ExamService examService;
+    private final TranscriptGenerationService transcriptGenerationService;
+    private final ReportCardService reportCardService;
 
     // ========== Exam Management Endpoints ==========
 
@@ -248,6 +259,30 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success(null, "Class removed from exam successfully",HttpStatus.OK.value()));
     }
 
+    @Operation(
+            summary = "Download report cards of an exam class",
+            description = "Renders the report card of every student with results in the exam class and streams them as a ZIP of HTML files. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
+    )
+    @GetMapping(value = "/{examUuid}/classes/{examClassUuid}/report-cards", produces = "application/zip")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public WebAsyncTask<Void> downloadReportCards(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid,
+            @Parameter(description = "UUID of the exam class")
+            @PathVariable String examClassUuid,
+            HttpServletResponse response
+    ) {
+        ReportCardArchive archive = reportCardService.generateReportCards(examUuid, examClassUuid);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archive.getFileName()).build().toString());
+        response.setContentType("application/zip");
+        // A timeout of its own: a large class takes longer than the default async request timeout
+        return new WebAsyncTask<>(archive.getTimeoutMillis(), () -> {
+            archive.getBody().writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @Operation(
             summary = "Get exam class by UUID",
             description = "Retrieves exam class information. Accessible by all authenticated users."
@@ -394,6 +429,22 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success(marks, "Student marks updated successfully",HttpStatus.OK.value()));
     }
 
+    @Operation(
+            summary = "Import student marks from CSV",
+            description = "Creates or updates marks for an exam subject from a CSV file with 'roll_number' and 'marks' header columns. Valid rows are saved and invalid rows are reported with their line numbers. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
+    )
+    @PostMapping(value = "/subjects/{examSubjectUuid}/marks/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ResponseEntity<ApiResponse<MarksImportResponse>> importStudentMarks(
+            @Parameter(description = "UUID of the exam subject")
+            @PathVariable String examSubjectUuid,
+            @Parameter(description = "CSV file of roll numbers and marks")
+            @RequestParam("file") MultipartFile file
+    ) {
+        MarksImportResponse report = examService.importStudentMarks(examSubjectUuid, file);
+        return ResponseEntity.ok(ApiResponse.success(report, "Student marks imported successfully",HttpStatus.OK.value()));
+    }
+
     @Operation(
             summary = "Get student marks by UUID",
             description = "Retrieves student marks by UUID. Accessible by all authenticated users."
@@ -452,6 +503,66 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success(null, "Student marks deleted successfully",HttpStatus.OK.value()));
     }
 
+    // ========== Marks Moderation Endpoints ==========
+
+    @Operation(
+            summary = "Preview marks moderation",
+            description = "Lists the marks a GRACE or SCALE rule would change in an exam, or one of its subjects, with their old and new grades. Nothing is changed. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @PostMapping("/{examUuid}/moderations/preview")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<MarksModerationPreviewResponse>> previewMarksModeration(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid,
+            @Valid @RequestBody MarksModerationRequest request
+    ) {
+        MarksModerationPreviewResponse preview = examService.previewMarksModeration(examUuid, request);
+        return ResponseEntity.ok(ApiResponse.success(preview, "Marks moderation previewed successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Apply marks moderation",
+            description = "Applies a GRACE or SCALE rule to the marks of an exam, or one of its subjects, and recomputes their grades. The changes are logged so the moderation can be reverted. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @PostMapping("/{examUuid}/moderations")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<MarksModerationResponse>> applyMarksModeration(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid,
+            @Valid @RequestBody MarksModerationRequest request
+    ) {
+        MarksModerationResponse moderation = examService.applyMarksModeration(examUuid, request);
+        return ResponseEntity.ok(ApiResponse.success(moderation, "Marks moderation applied successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get marks moderations",
+            description = "Retrieves the moderations applied to an exam, latest first. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
+    )
+    @GetMapping("/{examUuid}/moderations")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ResponseEntity<ApiResponse<List<MarksModerationResponse>>> getMarksModerations(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid
+    ) {
+        List<MarksModerationResponse> moderations = examService.getMarksModerations(examUuid);
+        return ResponseEntity.ok(ApiResponse.success(moderations, "Marks moderations retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Revert marks moderation",
+            description = "Restores the marks a moderation changed, except those edited since. Later moderations of the exam must be reverted first. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @PostMapping("/moderations/{moderationUuid}/revert")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<MarksModerationResponse>> revertMarksModeration(
+            @Parameter(description = "UUID of the moderation to revert")
+            @PathVariable String moderationUuid
+    ) {
+        MarksModerationResponse moderation = examService.revertMarksModeration(moderationUuid);
+        return ResponseEntity.ok(ApiResponse.success(moderation, "Marks moderation reverted successfully",HttpStatus.OK.value()));
+    }
+
     // ========== Grade Scale Management Endpoints ==========
 
     @Operation(
@@ -560,6 +671,58 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success(transcript, "Transcript generated successfully",HttpStatus.OK.value()));
     }
 
+    @Operation(
+            summary = "Generate transcripts in bulk",
+            description = "Starts a background job generating transcripts for every student of an academic year, optionally restricted to one class. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Transcript generation job started",
+                    content = @Content(schema = @Schema(implementation = TranscriptGenerationJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "A job is already in progress for this academic year"
+            )
+    })
+    @PostMapping("/transcripts/jobs")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<TranscriptGenerationJobResponse>> startTranscriptGenerationJob(
+            @Valid @RequestBody GenerateTranscriptsRequest request
+    ) {
+        TranscriptGenerationJobResponse job = transcriptGenerationService.startJob(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job, "Transcript generation job started",HttpStatus.ACCEPTED.value()));
+    }
+
+    @Operation(
+            summary = "Get transcript generation job",
+            description = "Retrieves the status and progress of a bulk transcript generation job. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @GetMapping("/transcripts/jobs/{jobUuid}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<TranscriptGenerationJobResponse>> getTranscriptGenerationJob(
+            @Parameter(description = "UUID of the transcript generation job")
+            @PathVariable String jobUuid
+    ) {
+        TranscriptGenerationJobResponse job = transcriptGenerationService.getJob(jobUuid);
+        return ResponseEntity.ok(ApiResponse.success(job, "Transcript generation job retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Resume transcript generation job",
+            description = "Resumes a failed or interrupted transcript generation job from its last checkpoint. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @PostMapping("/transcripts/jobs/{jobUuid}/resume")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<TranscriptGenerationJobResponse>> resumeTranscriptGenerationJob(
+            @Parameter(description = "UUID of the transcript generation job")
+            @PathVariable String jobUuid
+    ) {
+        TranscriptGenerationJobResponse job = transcriptGenerationService.resumeJob(jobUuid);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job, "Transcript generation job resumed",HttpStatus.ACCEPTED.value()));
+    }
+
     @Operation(
             summary = "Update transcript",
             description = "Updates transcript details. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
@@ -590,6 +753,19 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success(transcript, "Transcript published successfully",HttpStatus.OK.value()));
     }
 
+    @Operation(
+            summary = "Publish transcripts in bulk",
+            description = "Publishes every unpublished transcript of an academic year in the given classes and notifies students and parents. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
+    )
+    @PostMapping("/transcripts/publish")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public ResponseEntity<ApiResponse<BulkPublishTranscriptsResponse>> publishTranscripts(
+            @Valid @RequestBody BulkPublishTranscriptsRequest request
+    ) {
+        BulkPublishTranscriptsResponse response = examService.publishTranscripts(request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Transcripts published successfully",HttpStatus.OK.value()));
+    }
+
     @Operation(
             summary = "Unpublish transcript",
             description = "Unpublishes a transcript. Requires COLLEGE_ADMIN or SUPER_ADMIN role."
@@ -709,5 +885,68 @@ public class ExamController {
         List<ClassExamSummaryResponse> summaries = examService.getClassExamSummaries(examUuid);
         return ResponseEntity.ok(ApiResponse.success(summaries, "Class exam summaries retrieved successfully",HttpStatus.OK.value()));
     }
-}
 
+    @Operation(
+            summary = "Validate exam timetable",
+            description = "Lists every date on which a class, or an assigned teacher, has more than one subject of the exam. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
+    )
+    @GetMapping("/{examUuid}/timetable/validation")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ResponseEntity<ApiResponse<ExamTimetableValidationResponse>> validateExamTimetable(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid
+    ) {
+        ExamTimetableValidationResponse validation = examService.validateExamTimetable(examUuid);
+        return ResponseEntity.ok(ApiResponse.success(validation, "Exam timetable validated successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get exam statistics",
+            description = "Retrieves mean, median, standard deviation, highest, lowest and a histogram of marks per exam subject, and pass rates per subject across sections. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
+    )
+    @GetMapping("/{examUuid}/statistics")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ResponseEntity<ApiResponse<ExamStatisticsResponse>> getExamStatistics(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid
+    ) {
+        ExamStatisticsResponse statistics = examService.getExamStatistics(examUuid);
+        return ResponseEntity.ok(ApiResponse.success(statistics, "Exam statistics retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get exam merit list",
+            description = "Retrieves the top students of a section, a class (all its sections) or the whole exam with competition ranks, dense ranks and percentiles. Requires COLLEGE_ADMIN, SUPER_ADMIN, or TEACHER role."
+    )
+    @GetMapping("/{examUuid}/ranking")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ResponseEntity<ApiResponse<ExamRankingResponse>> getExamRanking(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid,
+            @Parameter(description = "Ranking scope (SECTION, CLASS, EXAM)")
+            @RequestParam(defaultValue = "EXAM") RankScope scope,
+            @Parameter(description = "UUID of the class; required for SECTION and CLASS scopes")
+            @RequestParam(required = false) String classUuid,
+            @Parameter(description = "Number of top students to return; 0 returns everyone")
+            @RequestParam(defaultValue = "10") int top
+    ) {
+        ExamRankingResponse ranking = examService.getExamRanking(examUuid, scope, classUuid, top);
+        return ResponseEntity.ok(ApiResponse.success(ranking, "Exam ranking retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get student rank",
+            description = "Retrieves a student's section, class and exam ranks and percentiles. Accessible by all authenticated users."
+    )
+    @GetMapping("/{examUuid}/students/{studentUuid}/rank")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER', 'STUDENT', 'PARENT')")
+    public ResponseEntity<ApiResponse<StudentRankResponse>> getStudentRank(
+            @Parameter(description = "UUID of the exam")
+            @PathVariable String examUuid,
+            @Parameter(description = "UUID of the student")
+            @PathVariable String studentUuid
+    ) {
+        StudentRankResponse rank = examService.getStudentRank(examUuid, studentUuid);
+        return ResponseEntity.ok(ApiResponse.success(rank, "Student rank retrieved successfully",HttpStatus.OK.value()));
+    }
+}
@@ -11,18 +11,27 @@ import lombok.AllArgsConstructor;
 import org.collegemanagement.api.response.ApiResponse;
 import org.collegemanagement.dto.fees.*;
 import org.collegemanagement.enums.FeeStatus;
+import org.collegemanagement.enums.PaymentMode;
+import org.collegemanagement.enums.ReconciliationStatus;
+import org.collegemanagement.services.FeeReconciliationService;
 import org.collegemanagement.services.StudentFeeService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -32,6 +41,7 @@ import java.util.List;
 public class StudentFeeController {
 
     private final StudentFeeService studentFeeService;
+    private final FeeReconciliationService feeReconciliationService;
 
     // ========== Fee Structure Management Endpoints ==========
 
@@ -182,6 +192,32 @@ public class StudentFeeController {
         return ResponseEntity.ok(ApiResponse.success(studentFees, "Fee assigned to class students successfully",HttpStatus.OK.value()));
     }
 
+    @Operation(
+            summary = "Assign fee to all students in several classes",
+            description = "Assigns a fee structure, with its installments, to the active students of the given classes who do not have it yet. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @PostMapping("/structures/{feeStructureUuid}/assign")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<BulkFeeAssignmentResponse>> assignFeeToClasses(
+            @Parameter(description = "UUID of the fee structure")
+            @PathVariable String feeStructureUuid,
+            @Valid @RequestBody AssignFeeToClassesRequest request
+    ) {
+        BulkFeeAssignmentResponse assignment = studentFeeService.assignFeeToClasses(feeStructureUuid, request);
+        return ResponseEntity.ok(ApiResponse.success(assignment, "Fee assigned to class students successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Assign fees to all students in the college",
+            description = "Assigns every fee structure, with its installments, to the active students of its class who do not have it yet. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @PostMapping("/assign/college")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<BulkFeeAssignmentResponse>> assignFeesToCollegeStudents() {
+        BulkFeeAssignmentResponse assignment = studentFeeService.assignFeesToCollegeStudents();
+        return ResponseEntity.ok(ApiResponse.success(assignment, "Fees assigned to college students successfully",HttpStatus.OK.value()));
+    }
+
     @Operation(
             summary = "Get student fee by UUID",
             description = "Retrieves student fee information by UUID. Accessible by all authenticated users."
@@ -381,6 +417,27 @@ public class StudentFeeController {
         return ResponseEntity.ok(ApiResponse.success(feePayments, "Fee payments retrieved successfully",HttpStatus.OK.value()));
     }
 
+    @Operation(
+            summary = "Download fee ledger for a date range",
+            description = "Streams every payment within a date range, with its receipt, student and class, as CSV (gzipped on request). Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @GetMapping(value = "/payments/ledger", produces = {"text/csv", "application/gzip"})
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<StreamingResponseBody> downloadFeeLedger(
+            @Parameter(description = "Start date (ISO 8601 format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @Parameter(description = "End date (ISO 8601 format)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate,
+            @Parameter(description = "Compress the CSV with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        FeeLedgerExport export = studentFeeService.exportFeeLedger(startDate, endDate, gzip);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(export.getFileName()).build().toString())
+                .contentType(MediaType.parseMediaType(export.isGzipped() ? "application/gzip" : "text/csv"))
+                .body(export.getBody());
+    }
+
     @Operation(
             summary = "Get fee installments for a student fee",
             description = "Retrieves all installments for a specific student fee. Accessible by all authenticated users."
@@ -464,5 +521,118 @@ public class StudentFeeController {
         ClassFeeSummaryResponse summary = studentFeeService.getClassFeeSummary(classUuid);
         return ResponseEntity.ok(ApiResponse.success(summary, "Class fee summary retrieved successfully",HttpStatus.OK.value()));
     }
-}
 
+    @Operation(
+            summary = "Get fee summary of all classes",
+            description = "Retrieves the fee summary of every class in the college in one request. Requires COLLEGE_ADMIN, SUPER_ADMIN, ACCOUNTANT, or TEACHER role."
+    )
+    @GetMapping("/summary/classes")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT', 'TEACHER')")
+    public ResponseEntity<ApiResponse<List<ClassFeeSummaryResponse>>> getAllClassFeeSummaries() {
+        List<ClassFeeSummaryResponse> summaries = studentFeeService.getAllClassFeeSummaries();
+        return ResponseEntity.ok(ApiResponse.success(summaries, "Class fee summaries retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get fee aging report",
+            description = "Retrieves outstanding dues of every class bucketed by days past due (not due, 0-30, 31-60, 61-90, over 90). Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @GetMapping("/reports/aging")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<FeeAgingReportResponse>> getFeeAgingReport(
+            @Parameter(description = "Date to age dues against (ISO format: yyyy-MM-dd), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate
+    ) {
+        FeeAgingReportResponse report = studentFeeService.getFeeAgingReport(asOfDate);
+        return ResponseEntity.ok(ApiResponse.success(report, "Fee aging report retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Download student fee aging report",
+            description = "Streams the aging buckets of every student with outstanding dues as CSV, optionally only defaulters overdue for at least the given number of days. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @GetMapping(value = "/reports/aging/students", produces = "text/csv")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<StreamingResponseBody> downloadStudentFeeAging(
+            @Parameter(description = "Date to age dues against (ISO format: yyyy-MM-dd), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate,
+            @Parameter(description = "Only students with a due at least this many days overdue")
+            @RequestParam(required = false) Integer minDaysOverdue
+    ) {
+        FeeAgingExport export = studentFeeService.exportStudentFeeAging(asOfDate, minDaysOverdue);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(export.getFileName()).build().toString())
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(export.getBody());
+    }
+
+    @Operation(
+            summary = "Reconcile a settlement file",
+            description = "Matches a bank or UPI settlement CSV with 'transaction_id' and 'amount' header columns against recorded payments. Every line is recorded as matched, amount mismatch, unmatched, duplicate or invalid. With postMissing, lines without a payment that carry a 'student_fee_uuid' are posted as payments. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @PostMapping(value = "/reconciliations", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<FeeReconciliationResponse>> reconcileSettlementFile(
+            @Parameter(description = "Settlement CSV file")
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Post lines without a matching payment as new payments")
+            @RequestParam(defaultValue = "false") boolean postMissing,
+            @Parameter(description = "Payment mode of posted payments when the file has no 'payment_mode' column")
+            @RequestParam(defaultValue = "UPI") PaymentMode paymentMode
+    ) {
+        FeeReconciliationResponse reconciliation = feeReconciliationService.reconcileSettlementFile(file, postMissing, paymentMode);
+        return ResponseEntity.ok(ApiResponse.success(reconciliation, "Settlement file reconciled successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get all reconciliations",
+            description = "Retrieves a paginated list of the college's settlement reconciliations, latest first. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @GetMapping("/reconciliations")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<Page<FeeReconciliationResponse>>> getAllReconciliations(
+            @Parameter(description = "Page number (0-indexed)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<FeeReconciliationResponse> reconciliations = feeReconciliationService.getAllReconciliations(pageable);
+        return ResponseEntity.ok(ApiResponse.success(reconciliations, "Reconciliations retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get reconciliation by UUID",
+            description = "Retrieves the totals of a settlement reconciliation. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @GetMapping("/reconciliations/{reconciliationUuid}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<FeeReconciliationResponse>> getReconciliation(
+            @Parameter(description = "UUID of the reconciliation")
+            @PathVariable String reconciliationUuid
+    ) {
+        FeeReconciliationResponse reconciliation = feeReconciliationService.getReconciliationByUuid(reconciliationUuid);
+        return ResponseEntity.ok(ApiResponse.success(reconciliation, "Reconciliation retrieved successfully",HttpStatus.OK.value()));
+    }
+
+    @Operation(
+            summary = "Get reconciliation lines",
+            description = "Retrieves a paginated list of the lines of a settlement reconciliation in file order, optionally of one status. Requires COLLEGE_ADMIN, SUPER_ADMIN, or ACCOUNTANT role."
+    )
+    @GetMapping("/reconciliations/{reconciliationUuid}/entries")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<ApiResponse<Page<FeeReconciliationEntryResponse>>> getReconciliationEntries(
+            @Parameter(description = "UUID of the reconciliation")
+            @PathVariable String reconciliationUuid,
+            @Parameter(description = "Only lines with this status")
+            @RequestParam(required = false) ReconciliationStatus status,
+            @Parameter(description = "Page number (0-indexed)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<FeeReconciliationEntryResponse> entries = feeReconciliationService.getReconciliationEntries(reconciliationUuid, status, pageable);
+        return ResponseEntity.ok(ApiResponse.success(entries, "Reconciliation lines retrieved successfully",HttpStatus.OK.value()));
+    }
+}
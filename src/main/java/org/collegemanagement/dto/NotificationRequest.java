@@ -13,4 +13,10 @@ public class NotificationRequest {
     private String title;
     private String message;
     private Long receiverId;
+
+    /**
+     * Optional per-notification reference and link, overriding those given for a whole batch
+     */
+    private Long referenceId;
+    private String actionUrl;
 }
@@ -0,0 +1,23 @@
+package org.collegemanagement.dto.exam;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPublishTranscriptsRequest {
+
+    @NotBlank(message = "Academic year UUID is required")
+    private String academicYearUuid;
+
+    @NotEmpty(message = "At least one class UUID is required")
+    private List<String> classUuids;
+}
@@ -0,0 +1,22 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPublishTranscriptsResponse {
+
+    private String academicYearUuid;
+    private String academicYearName;
+    private Integer classCount;
+    private Integer publishedTranscripts;
+    private Integer notificationsQueued;
+    private Instant publishedAt;
+}
@@ -0,0 +1,25 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.RankScope;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamRankingResponse {
+
+    private String examUuid;
+    private String examName;
+    private RankScope scope;
+    private String classUuid;
+    private String className;
+    private String section;
+    private Integer totalStudents;
+    private List<StudentRankResponse> rankings;
+}
@@ -0,0 +1,78 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamStatisticsResponse {
+
+    private String examUuid;
+    private String examName;
+    private List<ExamSubjectStatistics> subjects;
+    private List<SubjectPassRate> subjectPassRates;
+
+    /**
+     * Distribution of marks for one exam subject (one subject in one section)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExamSubjectStatistics {
+        private String examSubjectUuid;
+        private String subjectName;
+        private String subjectCode;
+        private String classUuid;
+        private String className;
+        private String section;
+        private Integer maxMarks;
+        private Integer passMarks;
+        private Long studentsWithMarks;
+        private BigDecimal mean;
+        private BigDecimal median;
+        private BigDecimal standardDeviation;
+        private Integer highest;
+        private Integer lowest;
+        private Integer passedStudents;
+        private BigDecimal passPercentage;
+        private List<MarksBand> histogram;
+    }
+
+    /**
+     * Number of students whose marks fall in a percentage band
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MarksBand {
+        private Integer fromPercentage;
+        private Integer toPercentage;
+        private Integer students;
+    }
+
+    /**
+     * Pass rate of a subject across all sections of a class
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SubjectPassRate {
+        private String className;
+        private String subjectName;
+        private String subjectCode;
+        private Integer sections;
+        private Long studentsWithMarks;
+        private Long passedStudents;
+        private BigDecimal passPercentage;
+    }
+}
@@ -0,0 +1,58 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.TimetableClashType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamTimetableValidationResponse {
+
+    private String examUuid;
+    private String examName;
+    private Integer subjectCount;
+    private Boolean valid;
+    private List<TimetableClash> clashes;
+
+    /**
+     * Subjects of the same class, or assigned to the same teacher, scheduled on the same date
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TimetableClash {
+        private TimetableClashType type;
+        private LocalDate examDate;
+        /**
+         * Set for CLASS clashes
+         */
+        private String className;
+        private String section;
+        /**
+         * Set for TEACHER clashes
+         */
+        private String teacherUuid;
+        private String teacherName;
+        private List<ClashingSubject> subjects;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClashingSubject {
+        private String examSubjectUuid;
+        private String subjectName;
+        private String subjectCode;
+        private String className;
+        private String section;
+    }
+}
@@ -0,0 +1,22 @@
+package org.collegemanagement.dto.exam;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerateTranscriptsRequest {
+
+    @NotBlank(message = "Academic year UUID is required")
+    private String academicYearUuid;
+
+    /**
+     * Optional: restrict generation to a single class
+     */
+    private String classUuid;
+}
@@ -0,0 +1,42 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksImportResponse {
+
+    private String examSubjectUuid;
+    private String subjectName;
+    private String className;
+    private String section;
+    private Integer maxMarks;
+    private Long totalRows;
+    private Long importedRows;
+    private Long insertedRows;
+    private Long updatedRows;
+    private Long failedRows;
+    /**
+     * True when more rows failed than are listed in errors
+     */
+    private Boolean errorsTruncated;
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Long lineNumber;
+        private String rollNumber;
+        private String marks;
+        private String message;
+    }
+}
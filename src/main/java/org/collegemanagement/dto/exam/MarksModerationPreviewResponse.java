@@ -0,0 +1,49 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.ModerationRuleType;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksModerationPreviewResponse {
+
+    private String examUuid;
+    private String examSubjectUuid;
+    private ModerationRuleType ruleType;
+    private Integer affectedCount;
+    private Integer newlyPassedCount;
+    private Integer newlyFailedCount;
+    private Integer gradeChangedCount;
+
+    /**
+     * First changes only when {@code truncated} is set; the counts always cover every change
+     */
+    private List<MarksChange> changes;
+    private Boolean truncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MarksChange {
+        private String studentMarksUuid;
+        private String rollNumber;
+        private String studentName;
+        private String subjectName;
+        private String className;
+        private String section;
+        private Integer maxMarks;
+        private Integer passMarks;
+        private Integer previousMarks;
+        private Integer newMarks;
+        private String previousGrade;
+        private String newGrade;
+    }
+}
@@ -0,0 +1,51 @@
+package org.collegemanagement.dto.exam;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.ModerationRuleType;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksModerationRequest {
+
+    /**
+     * Optional: moderate a single exam subject instead of the whole exam
+     */
+    private String examSubjectUuid;
+
+    @NotNull(message = "Rule type is required")
+    private ModerationRuleType ruleType;
+
+    /**
+     * GRACE: marks to add
+     */
+    @Min(value = 1, message = "Grace marks must be at least 1")
+    private Integer graceMarks;
+
+    /**
+     * GRACE: only marks at most this far below the pass mark are moderated (defaults to the grace marks)
+     */
+    @Min(value = 1, message = "Margin below the pass mark must be at least 1")
+    private Integer withinMarks;
+
+    /**
+     * SCALE: factor to multiply the marks by
+     */
+    @DecimalMin(value = "0.001", message = "Scale factor must be positive")
+    @DecimalMax(value = "10", message = "Scale factor must be at most 10")
+    private BigDecimal scaleFactor;
+
+    @Size(max = 500, message = "Remarks must not exceed 500 characters")
+    private String remarks;
+}
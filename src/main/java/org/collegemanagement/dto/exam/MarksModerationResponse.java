@@ -0,0 +1,34 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.ModerationRuleType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksModerationResponse {
+
+    private String uuid;
+    private String examUuid;
+    private String examSubjectUuid;
+    private ModerationRuleType ruleType;
+    private Integer graceMarks;
+    private Integer withinMarks;
+    private BigDecimal scaleFactor;
+    private String remarks;
+    private Integer affectedCount;
+    private String appliedByName;
+    private Boolean reverted;
+    private Instant revertedAt;
+    private String revertedByName;
+    private Integer revertedCount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * ZIP of report cards, written to the response as it is rendered
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ReportCardArchive {
+
+    private final String fileName;
+    private final int studentCount;
+    /**
+     * How long the download may take before the request times out
+     */
+    private final long timeoutMillis;
+    private final StreamingResponseBody body;
+}
@@ -0,0 +1,46 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentRankResponse {
+
+    private String studentUuid;
+    private String studentName;
+    private String rollNumber;
+    private String classUuid;
+    private String className;
+    private String section;
+    private Integer obtainedMarks;
+    private Integer totalMarks;
+    private BigDecimal percentage;
+
+    /**
+     * Rank within the section (one class room)
+     */
+    private Integer sectionRank;
+    private Integer sectionDenseRank;
+    private BigDecimal sectionPercentile;
+
+    /**
+     * Rank within all sections of the class
+     */
+    private Integer classRank;
+    private Integer classDenseRank;
+    private BigDecimal classPercentile;
+
+    /**
+     * Rank across all classes of the exam
+     */
+    private Integer examRank;
+    private Integer examDenseRank;
+    private BigDecimal examPercentile;
+}
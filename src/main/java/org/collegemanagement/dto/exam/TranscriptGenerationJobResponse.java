@@ -0,0 +1,32 @@
+package org.collegemanagement.dto.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.JobStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptGenerationJobResponse {
+
+    private String uuid;
+    private String academicYearUuid;
+    private String academicYearName;
+    private String classUuid;
+    private String className;
+    private JobStatus status;
+    private Integer totalStudents;
+    private Integer processedStudents;
+    private Integer progressPercentage;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package org.collegemanagement.dto.fees;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignFeeToClassesRequest {
+
+    @NotEmpty(message = "At least one class UUID is required")
+    private List<String> classUuids;
+}
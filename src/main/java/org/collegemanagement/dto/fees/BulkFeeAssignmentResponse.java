@@ -0,0 +1,22 @@
+package org.collegemanagement.dto.fees;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFeeAssignmentResponse {
+
+    private Integer feeStructureCount;
+    private Integer classCount;
+
+    /**
+     * Students newly assigned a fee; students that already had it are not counted
+     */
+    private Integer assignedCount;
+    private Integer installmentCount;
+}
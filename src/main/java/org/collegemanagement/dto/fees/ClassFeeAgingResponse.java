@@ -0,0 +1,26 @@
+package org.collegemanagement.dto.fees;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassFeeAgingResponse {
+
+    private String classUuid;
+    private String className;
+    private String section;
+    private Long studentsWithDues;
+    private BigDecimal notDue;
+    private BigDecimal days0To30;
+    private BigDecimal days31To60;
+    private BigDecimal days61To90;
+    private BigDecimal daysOver90;
+    private BigDecimal totalDue;
+}
@@ -0,0 +1,18 @@
+package org.collegemanagement.dto.fees;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Per-student fee aging CSV, written to the response as rows are read
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class FeeAgingExport {
+
+    private final String fileName;
+    private final StreamingResponseBody body;
+}
@@ -0,0 +1,19 @@
+package org.collegemanagement.dto.fees;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Fee ledger CSV, optionally gzipped, written to the response as payments are read
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class FeeLedgerExport {
+
+    private final String fileName;
+    private final boolean gzipped;
+    private final StreamingResponseBody body;
+}
@@ -0,0 +1,24 @@
+package org.collegemanagement.dto.fees;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.collegemanagement.enums.ReconciliationStatus;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeReconciliationEntryResponse {
+
+    private Long lineNumber;
+    private String transactionId;
+    private BigDecimal statementAmount;
+    private BigDecimal paymentAmount;
+    private String paymentUuid;
+    private ReconciliationStatus status;
+    private String message;
+}
@@ -0,0 +1,28 @@
+package org.collegemanagement.dto.fees;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeReconciliationResponse {
+
+    private String uuid;
+    private String fileName;
+    private Long totalRows;
+    private Long matchedRows;
+    private Long amountMismatchRows;
+    private Long unmatchedRows;
+    private Long postedRows;
+    private Long duplicateRows;
+    private Long invalidRows;
+    private LocalDateTime createdAt;
+    private Instant completedAt;
+}
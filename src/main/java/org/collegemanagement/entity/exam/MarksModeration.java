@@ -0,0 +1,86 @@
+package org.collegemanagement.entity.exam;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.entity.user.User;
+import org.collegemanagement.enums.ModerationRuleType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A moderation rule applied to the marks of an exam, or of one of its subjects.
+ * The marks it changed are logged as {@link MarksModerationEntry} rows so it can be reverted.
+ */
+@Entity
+@Table(
+        name = "marks_moderations",
+        indexes = {
+                @Index(name = "idx_marks_moderation_exam", columnList = "exam_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class MarksModeration extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    /**
+     * Moderated exam subject, null when the whole exam was moderated.
+     * A plain column: the log outlives subjects removed from the exam.
+     */
+    @Column(name = "exam_subject_uuid", length = 36)
+    private String examSubjectUuid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false, length = 20)
+    private ModerationRuleType ruleType;
+
+    /**
+     * GRACE: marks added
+     */
+    @Column(name = "grace_marks")
+    private Integer graceMarks;
+
+    /**
+     * GRACE: only marks at most this far below the pass mark are moderated
+     */
+    @Column(name = "within_marks")
+    private Integer withinMarks;
+
+    /**
+     * SCALE: factor applied to the marks
+     */
+    @Column(name = "scale_factor", precision = 6, scale = 3)
+    private BigDecimal scaleFactor;
+
+    @Column(length = 500)
+    private String remarks;
+
+    @Column(name = "affected_count", nullable = false)
+    private Integer affectedCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "applied_by")
+    private User appliedBy;
+
+    @Column(name = "reverted_at")
+    private Instant revertedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reverted_by")
+    private User revertedBy;
+
+    /**
+     * Marks restored by the revert; marks edited after the moderation are left as they are
+     */
+    @Column(name = "reverted_count")
+    private Integer revertedCount;
+}
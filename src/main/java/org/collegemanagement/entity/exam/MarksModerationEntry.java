@@ -0,0 +1,42 @@
+package org.collegemanagement.entity.exam;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+
+/**
+ * One mark changed by a moderation, with its value before and after.
+ * Written and read with set-based SQL only.
+ */
+@Entity
+@Table(
+        name = "marks_moderation_entries",
+        indexes = {
+                @Index(name = "idx_moderation_entry_moderation", columnList = "moderation_id"),
+                @Index(name = "idx_moderation_entry_marks", columnList = "student_marks_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class MarksModerationEntry extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "moderation_id", nullable = false)
+    private MarksModeration moderation;
+
+    /**
+     * A plain column: marks deleted after the moderation simply drop out of a revert
+     */
+    @Column(name = "student_marks_id", nullable = false)
+    private Long studentMarksId;
+
+    @Column(name = "previous_marks", nullable = false)
+    private Integer previousMarks;
+
+    @Column(name = "new_marks", nullable = false)
+    private Integer newMarks;
+}
@@ -0,0 +1,64 @@
+package org.collegemanagement.entity.exam;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.academic.ClassRoom;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.entity.student.Student;
+
+/**
+ * Materialized per-student totals for one exam.
+ * Derived from student_marks and refreshed whenever the student's marks for the exam change.
+ */
+@Entity
+@Table(
+        name = "student_exam_results",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_student_exam_result",
+                        columnNames = {"student_id", "exam_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_exam_result_exam_class", columnList = "exam_id, class_id"),
+                @Index(name = "idx_exam_result_student", columnList = "student_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class StudentExamResult extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "class_id", nullable = false)
+    private ClassRoom classRoom;
+
+    /**
+     * Sum of max marks over the subjects the student has marks for
+     */
+    @Column(name = "total_marks", nullable = false)
+    private Integer totalMarks;
+
+    @Column(name = "obtained_marks", nullable = false)
+    private Integer obtainedMarks;
+
+    @Column(name = "subject_count", nullable = false)
+    private Integer subjectCount;
+
+    /**
+     * Subjects at or above their pass marks
+     */
+    @Column(name = "passed_count", nullable = false)
+    private Integer passedCount;
+}
@@ -0,0 +1,64 @@
+package org.collegemanagement.entity.exam;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.entity.student.Student;
+import org.collegemanagement.entity.tenant.AcademicYear;
+
+import java.math.BigDecimal;
+
+/**
+ * Materialized per-student GPA inputs for one academic year.
+ * Derived from student_marks and refreshed whenever the student's marks in the year change.
+ */
+@Entity
+@Table(
+        name = "student_gpa_ledgers",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_student_gpa_ledger",
+                        columnNames = {"student_id", "academic_year_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_gpa_ledger_year", columnList = "academic_year_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class StudentGpaLedger extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "academic_year_id", nullable = false)
+    private AcademicYear academicYear;
+
+    /**
+     * Credits of graded subjects
+     */
+    @Column(name = "total_credits", nullable = false)
+    private Integer totalCredits;
+
+    /**
+     * Sum of grade points x credits over graded subjects
+     */
+    @Column(name = "weighted_grade_points", nullable = false, precision = 12, scale = 2)
+    private BigDecimal weightedGradePoints;
+
+    @Column(name = "marks_count", nullable = false)
+    private Integer marksCount;
+
+    /**
+     * Marks at or above their subject's pass marks
+     */
+    @Column(name = "passed_count", nullable = false)
+    private Integer passedCount;
+}
@@ -0,0 +1,78 @@
+package org.collegemanagement.entity.exam;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.academic.ClassRoom;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.entity.tenant.AcademicYear;
+import org.collegemanagement.entity.tenant.College;
+import org.collegemanagement.entity.user.User;
+import org.collegemanagement.enums.JobStatus;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "transcript_generation_jobs",
+        indexes = {
+                @Index(name = "idx_transcript_job_college", columnList = "college_id"),
+                @Index(name = "idx_transcript_job_year", columnList = "academic_year_id"),
+                @Index(name = "idx_transcript_job_status", columnList = "status")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class TranscriptGenerationJob extends BaseEntity {
+
+    /**
+     * Tenant (School / College)
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "college_id", nullable = false)
+    private College college;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "academic_year_id", nullable = false)
+    private AcademicYear academicYear;
+
+    /**
+     * Optional class filter; null means the whole academic year
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_id")
+    private ClassRoom classRoom;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "total_students", nullable = false)
+    private Integer totalStudents;
+
+    @Column(name = "processed_students", nullable = false)
+    private Integer processedStudents;
+
+    /**
+     * Checkpoint: highest student ID whose transcript has been committed.
+     * Students are processed in ascending ID order, so a resumed job continues after it.
+     */
+    @Column(name = "last_student_id", nullable = false)
+    private Long lastStudentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requested_by")
+    private User requestedBy;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
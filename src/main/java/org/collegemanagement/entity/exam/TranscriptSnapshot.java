@@ -0,0 +1,27 @@
+package org.collegemanagement.entity.exam;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+
+/**
+ * Rendered response of a published transcript, frozen at publish time.
+ * Stored as gzip-compressed JSON, kept in its own table so transcript queries never load it.
+ */
+@Entity
+@Table(name = "transcript_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class TranscriptSnapshot extends BaseEntity {
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "transcript_id", nullable = false, unique = true)
+    private StudentTranscript transcript;
+
+    @Column(name = "data", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+}
@@ -0,0 +1,63 @@
+package org.collegemanagement.entity.fees;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.entity.tenant.College;
+
+import java.math.BigDecimal;
+
+/**
+ * Running fee totals of a college, split over a fixed number of slots.
+ * A student fee always updates the same slot, so concurrent postings for different students rarely
+ * wait on each other; the college totals are the sum of its slots.
+ */
+@Entity
+@Table(
+        name = "college_fee_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_college_fee_rollup_slot",
+                        columnNames = {"college_id", "slot"}
+                )
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class CollegeFeeRollup extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "college_id", nullable = false)
+    private College college;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(name = "fee_count", nullable = false)
+    private Long feeCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "paid_amount", nullable = false)
+    private BigDecimal paidAmount;
+
+    @Column(name = "due_amount", nullable = false)
+    private BigDecimal dueAmount;
+
+    @Column(name = "pending_count", nullable = false)
+    private Long pendingCount;
+
+    @Column(name = "paid_count", nullable = false)
+    private Long paidCount;
+
+    @Column(name = "partially_paid_count", nullable = false)
+    private Long partiallyPaidCount;
+
+    @Column(name = "overdue_count", nullable = false)
+    private Long overdueCount;
+}
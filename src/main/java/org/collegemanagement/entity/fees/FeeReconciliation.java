@@ -0,0 +1,70 @@
+package org.collegemanagement.entity.fees;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.entity.tenant.College;
+import org.collegemanagement.entity.user.User;
+
+import java.time.Instant;
+
+/**
+ * One bank or UPI settlement file reconciled against the fee payments of a college.
+ * Each line of the file is kept as a {@link FeeReconciliationEntry}.
+ */
+@Entity
+@Table(
+        name = "fee_reconciliations",
+        indexes = {
+                @Index(name = "idx_fee_reconciliation_college", columnList = "college_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class FeeReconciliation extends BaseEntity {
+
+    /**
+     * Tenant (School / College)
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "college_id", nullable = false)
+    private College college;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "total_rows", nullable = false)
+    private Long totalRows;
+
+    @Column(name = "matched_rows", nullable = false)
+    private Long matchedRows;
+
+    @Column(name = "amount_mismatch_rows", nullable = false)
+    private Long amountMismatchRows;
+
+    @Column(name = "unmatched_rows", nullable = false)
+    private Long unmatchedRows;
+
+    @Column(name = "posted_rows", nullable = false)
+    private Long postedRows;
+
+    @Column(name = "duplicate_rows", nullable = false)
+    private Long duplicateRows;
+
+    @Column(name = "invalid_rows", nullable = false)
+    private Long invalidRows;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "imported_by")
+    private User importedBy;
+
+    /**
+     * Null while the file is being processed, or when processing stopped part way
+     */
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -0,0 +1,58 @@
+package org.collegemanagement.entity.fees;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.enums.ReconciliationStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a settlement file and the outcome of matching it.
+ * Written with JDBC batches only.
+ */
+@Entity
+@Table(
+        name = "fee_reconciliation_entries",
+        indexes = {
+                @Index(name = "idx_fee_reconciliation_entry_reconciliation", columnList = "reconciliation_id, status"),
+                @Index(name = "idx_fee_reconciliation_entry_payment", columnList = "fee_payment_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class FeeReconciliationEntry extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "reconciliation_id", nullable = false)
+    private FeeReconciliation reconciliation;
+
+    @Column(name = "line_number", nullable = false)
+    private Long lineNumber;
+
+    @Column(name = "transaction_id", length = 100)
+    private String transactionId;
+
+    @Column(name = "statement_amount")
+    private BigDecimal statementAmount;
+
+    /**
+     * A plain column: the matched or posted payment, null when there is none in the college
+     */
+    @Column(name = "fee_payment_id")
+    private Long feePaymentId;
+
+    @Column(name = "payment_amount")
+    private BigDecimal paymentAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReconciliationStatus status;
+
+    @Column(length = 500)
+    private String message;
+}
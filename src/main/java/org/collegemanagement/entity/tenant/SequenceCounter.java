@@ -0,0 +1,43 @@
+package org.collegemanagement.entity.tenant;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.collegemanagement.entity.base.BaseEntity;
+import org.collegemanagement.enums.SequenceSeries;
+
+/**
+ * Next unallocated number of a college's document series, per year for series that reset yearly
+ * (period year 0 otherwise).
+ */
+@Entity
+@Table(
+        name = "sequence_counters",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_sequence_counter",
+                        columnNames = {"college_id", "series", "period_year"}
+                )
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class SequenceCounter extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "college_id", nullable = false)
+    private College college;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SequenceSeries series;
+
+    @Column(name = "period_year", nullable = false)
+    private Integer periodYear;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -8,6 +8,7 @@ public enum AuditEntityType {
     EXAM,
     FEE_STRUCTURE,
     FEE_PAYMENT,
+    FEE_RECONCILIATION,
     LEAVE_REQUEST,
     ATTENDANCE_SESSION,
     DOCUMENT,
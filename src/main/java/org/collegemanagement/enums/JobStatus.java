@@ -0,0 +1,8 @@
+package org.collegemanagement.enums;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package org.collegemanagement.enums;
+
+public enum ModerationRuleType {
+    /**
+     * Add grace marks to everyone below the pass mark by at most a given margin
+     */
+    GRACE,
+    /**
+     * Multiply everyone's marks by a factor, capped at the maximum marks
+     */
+    SCALE
+}
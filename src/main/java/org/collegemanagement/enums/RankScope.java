@@ -0,0 +1,7 @@
+package org.collegemanagement.enums;
+
+public enum RankScope {
+    SECTION,
+    CLASS,
+    EXAM
+}
@@ -0,0 +1,10 @@
+package org.collegemanagement.enums;
+
+public enum ReconciliationStatus {
+    MATCHED,
+    AMOUNT_MISMATCH,
+    UNMATCHED,
+    POSTED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,22 @@
+package org.collegemanagement.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Numbered document series, each counted separately per college.
+ * A block size of 1 allocates inside the caller's transaction and leaves no gaps; larger blocks are
+ * reserved up front so concurrent callers do not wait on the counter row, at the cost of losing the
+ * unused rest of a block when the application stops.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SequenceSeries {
+    FEE_RECEIPT("RCT", true, 20),
+    INVOICE("INV", true, 1),
+    ADMISSION_APPLICATION("APP", true, 1);
+
+    private final String prefix;
+    private final boolean yearlyReset;
+    private final int blockSize;
+}
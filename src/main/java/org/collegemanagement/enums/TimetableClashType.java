@@ -0,0 +1,6 @@
+package org.collegemanagement.enums;
+
+public enum TimetableClashType {
+    CLASS,
+    TEACHER
+}
@@ -0,0 +1,18 @@
+package org.collegemanagement.events.exams;
+
+import org.collegemanagement.dto.NotificationRequest;
+
+import java.util.List;
+
+/**
+ * Domain Event: Published when marks are entered or updated in bulk for an exam subject.
+ *
+ * Student notifications are carried with the event so they can be written
+ * after the marks transaction commits instead of row by row inside it.
+ */
+public record StudentMarksRecordedEvent(
+        Long tenantId,
+        Long examId,
+        String examUuid,
+        List<NotificationRequest> notifications
+) {}
@@ -0,0 +1,17 @@
+package org.collegemanagement.events.exams;
+
+import org.collegemanagement.dto.NotificationRequest;
+
+import java.util.List;
+
+/**
+ * Domain Event: Published when transcripts are published in bulk.
+ *
+ * Student and parent notifications are carried with the event and written after
+ * the publishing transaction commits, together with the transcripts' snapshots.
+ */
+public record TranscriptsPublishedEvent(
+        Long tenantId,
+        List<Long> transcriptIds,
+        List<NotificationRequest> notifications
+) {}
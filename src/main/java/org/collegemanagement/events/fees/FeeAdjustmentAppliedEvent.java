@@ -0,0 +1,22 @@
+package org.collegemanagement.events.fees;
+
+import org.collegemanagement.enums.AdjustmentType;
+
+import java.math.BigDecimal;
+
+/**
+ * Domain Event: Published when a discount, waiver or penalty is applied to a student fee.
+ *
+ * Carries what the adjustment email needs, so the email is sent after the
+ * adjustment transaction commits.
+ */
+public record FeeAdjustmentAppliedEvent(
+        Long tenantId,
+        String email,
+        String collegeName,
+        String studentName,
+        AdjustmentType type,
+        BigDecimal amount,
+        BigDecimal netAmount,
+        BigDecimal dueAmount
+) {}
@@ -0,0 +1,22 @@
+package org.collegemanagement.events.fees;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Domain Event: Published when a payment is posted against a student fee.
+ *
+ * Carries what the receipt email needs, so the email is sent after the
+ * payment transaction commits instead of while the posting holds its locks.
+ */
+public record FeePaymentRecordedEvent(
+        Long tenantId,
+        String email,
+        String collegeName,
+        String studentName,
+        BigDecimal amount,
+        String receiptNumber,
+        String transactionId,
+        Instant paymentDate,
+        BigDecimal dueAmount
+) {}
@@ -0,0 +1,42 @@
+package org.collegemanagement.listeners.exams;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.enums.NotificationReferenceType;
+import org.collegemanagement.enums.NotificationType;
+import org.collegemanagement.events.exams.StudentMarksRecordedEvent;
+import org.collegemanagement.services.NotificationService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends marks notifications once the marks transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentMarksRecordedListener {
+
+    private final NotificationService notificationService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStudentMarksRecorded(StudentMarksRecordedEvent event) {
+        try {
+            int written = notificationService.createNotificationsInBatch(
+                    event.notifications(),
+                    NotificationType.IN_APP,
+                    NotificationReferenceType.EXAM,
+                    event.examId(),
+                    "/exams/" + event.examUuid() + "/result",
+                    5
+            );
+            log.debug("Queued {} marks notifications | exam={} | tenant={}", written, event.examUuid(), event.tenantId());
+        } catch (Exception e) {
+            log.warn("Failed to send marks notifications | exam={} | tenant={}: {}",
+                    event.examUuid(), event.tenantId(), e.getMessage());
+        }
+    }
+}
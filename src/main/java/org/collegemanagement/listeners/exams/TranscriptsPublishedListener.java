@@ -0,0 +1,60 @@
+package org.collegemanagement.listeners.exams;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.enums.NotificationReferenceType;
+import org.collegemanagement.enums.NotificationType;
+import org.collegemanagement.events.exams.TranscriptsPublishedEvent;
+import org.collegemanagement.services.NotificationService;
+import org.collegemanagement.services.impl.TranscriptSnapshotWriter;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Sends result notifications and freezes transcript snapshots once a bulk publication has committed.
+ * Until a transcript's snapshot is written it is served live.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TranscriptsPublishedListener {
+
+    private static final int SNAPSHOT_CHUNK_SIZE = 200;
+
+    private final NotificationService notificationService;
+    private final TranscriptSnapshotWriter transcriptSnapshotWriter;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTranscriptsPublished(TranscriptsPublishedEvent event) {
+        try {
+            int written = notificationService.createNotificationsInBatch(
+                    event.notifications(),
+                    NotificationType.IN_APP,
+                    NotificationReferenceType.RESULT,
+                    null,
+                    null,
+                    10
+            );
+            log.debug("Queued {} result notifications | tenant={}", written, event.tenantId());
+        } catch (Exception e) {
+            log.warn("Failed to send result notifications | tenant={}: {}", event.tenantId(), e.getMessage());
+        }
+
+        List<Long> transcriptIds = event.transcriptIds();
+        int snapshots = 0;
+        try {
+            for (int from = 0; from < transcriptIds.size(); from += SNAPSHOT_CHUNK_SIZE) {
+                List<Long> chunk = transcriptIds.subList(from, Math.min(from + SNAPSHOT_CHUNK_SIZE, transcriptIds.size()));
+                snapshots += transcriptSnapshotWriter.writeSnapshots(event.tenantId(), chunk);
+            }
+            log.debug("Wrote {} transcript snapshots | tenant={}", snapshots, event.tenantId());
+        } catch (Exception e) {
+            log.warn("Failed to write transcript snapshots after {} | tenant={}: {}", snapshots, event.tenantId(), e.getMessage());
+        }
+    }
+}
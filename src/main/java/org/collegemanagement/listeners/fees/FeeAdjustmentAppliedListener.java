@@ -0,0 +1,40 @@
+package org.collegemanagement.listeners.fees;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.events.fees.FeeAdjustmentAppliedEvent;
+import org.collegemanagement.services.EmailService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Emails the student about a fee adjustment once the adjustment transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeeAdjustmentAppliedListener {
+
+    private final EmailService emailService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeeAdjustmentApplied(FeeAdjustmentAppliedEvent event) {
+        try {
+            emailService.sendStudentFeeAdjustmentEmail(
+                    event.email(),
+                    event.collegeName(),
+                    event.studentName(),
+                    event.type(),
+                    event.amount(),
+                    event.netAmount(),
+                    event.dueAmount()
+            );
+        } catch (Exception e) {
+            log.warn("Failed to send fee adjustment email | type={} | tenant={}: {}",
+                    event.type(), event.tenantId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.collegemanagement.listeners.fees;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.events.fees.FeePaymentRecordedEvent;
+import org.collegemanagement.services.EmailService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Emails the payment receipt once the payment transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeePaymentRecordedListener {
+
+    private final EmailService emailService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onFeePaymentRecorded(FeePaymentRecordedEvent event) {
+        try {
+            emailService.sendStudentFeePaymentEmail(
+                    event.email(),
+                    event.collegeName(),
+                    event.studentName(),
+                    event.amount(),
+                    event.receiptNumber(),
+                    event.transactionId(),
+                    event.paymentDate(),
+                    event.dueAmount()
+            );
+        } catch (Exception e) {
+            log.warn("Failed to send fee payment email | receipt={} | tenant={}: {}",
+                    event.receiptNumber(), event.tenantId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.collegemanagement.mapper;
+
+import org.collegemanagement.dto.exam.MarksModerationResponse;
+import org.collegemanagement.entity.exam.MarksModeration;
+
+public final class MarksModerationMapper {
+
+    private MarksModerationMapper() {
+    }
+
+    /**
+     * Convert MarksModeration entity to MarksModerationResponse
+     */
+    public static MarksModerationResponse toResponse(MarksModeration moderation) {
+        if (moderation == null) {
+            return null;
+        }
+
+        return MarksModerationResponse.builder()
+                .uuid(moderation.getUuid())
+                .examUuid(moderation.getExam() != null ? moderation.getExam().getUuid() : null)
+                .examSubjectUuid(moderation.getExamSubjectUuid())
+                .ruleType(moderation.getRuleType())
+                .graceMarks(moderation.getGraceMarks())
+                .withinMarks(moderation.getWithinMarks())
+                .scaleFactor(moderation.getScaleFactor())
+                .remarks(moderation.getRemarks())
+                .affectedCount(moderation.getAffectedCount())
+                .appliedByName(moderation.getAppliedBy() != null ? moderation.getAppliedBy().getName() : null)
+                .reverted(moderation.getRevertedAt() != null)
+                .revertedAt(moderation.getRevertedAt())
+                .revertedByName(moderation.getRevertedBy() != null ? moderation.getRevertedBy().getName() : null)
+                .revertedCount(moderation.getRevertedCount())
+                .createdAt(moderation.getCreatedAt())
+                .build();
+    }
+}
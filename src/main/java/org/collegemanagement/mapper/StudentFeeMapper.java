@@ -5,10 +5,15 @@ import org.collegemanagement.entity.fees.FeeComponent;
 import org.collegemanagement.entity.fees.FeeInstallment;
 import org.collegemanagement.entity.fees.FeeInstallmentTemplate;
 import org.collegemanagement.entity.fees.FeePayment;
+import org.collegemanagement.entity.fees.FeeReconciliation;
 import org.collegemanagement.entity.fees.FeeStructure;
 import org.collegemanagement.entity.fees.StudentFee;
 import org.collegemanagement.entity.fees.FeeAdjustment;
 import org.collegemanagement.enums.FeeStatus;
+import org.collegemanagement.repositories.projection.ClassFeeAgingRow;
+import org.collegemanagement.repositories.projection.ClassFeeTotalsRow;
+import org.collegemanagement.repositories.projection.FeeAgingBuckets;
+import org.collegemanagement.repositories.projection.ReconciliationEntryRow;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -238,6 +243,129 @@ public final class StudentFeeMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Convert per-class fee totals to ClassFeeSummaryResponse
+     */
+    public static ClassFeeSummaryResponse toClassFeeSummaryResponse(ClassFeeTotalsRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return ClassFeeSummaryResponse.builder()
+                .classUuid(row.getClassUuid())
+                .className(row.getClassName())
+                .section(row.getSection())
+                .totalFees(row.getTotalAmount())
+                .totalPaid(row.getPaidAmount())
+                .totalDue(row.getDueAmount())
+                .totalStudents(row.getStudentCount())
+                .pendingCount(row.getPendingCount())
+                .paidCount(row.getPaidCount())
+                .partiallyPaidCount(row.getPartiallyPaidCount())
+                .overdueCount(row.getOverdueCount())
+                .build();
+    }
+
+    /**
+     * Convert per-class fee totals to ClassFeeSummaryResponse list
+     */
+    public static List<ClassFeeSummaryResponse> toClassFeeSummaryResponseList(List<ClassFeeTotalsRow> rows) {
+        if (rows == null) {
+            return List.of();
+        }
+        return rows.stream()
+                .map(StudentFeeMapper::toClassFeeSummaryResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convert per-class aging buckets to ClassFeeAgingResponse
+     */
+    public static ClassFeeAgingResponse toClassFeeAgingResponse(ClassFeeAgingRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        FeeAgingBuckets buckets = row.buckets();
+        return ClassFeeAgingResponse.builder()
+                .classUuid(row.classUuid())
+                .className(row.className())
+                .section(row.section())
+                .studentsWithDues(row.studentCount())
+                .notDue(buckets.notDue())
+                .days0To30(buckets.days0To30())
+                .days31To60(buckets.days31To60())
+                .days61To90(buckets.days61To90())
+                .daysOver90(buckets.daysOver90())
+                .totalDue(buckets.total())
+                .build();
+    }
+
+    /**
+     * Convert per-class aging buckets to FeeAgingReportResponse, with college totals summed from the classes
+     */
+    public static FeeAgingReportResponse toFeeAgingReportResponse(LocalDate asOfDate, List<ClassFeeAgingRow> rows) {
+        FeeAgingBuckets totals = FeeAgingBuckets.EMPTY;
+        for (ClassFeeAgingRow row : rows) {
+            totals = totals.plus(row.buckets());
+        }
+
+        return FeeAgingReportResponse.builder()
+                .asOfDate(asOfDate)
+                .notDue(totals.notDue())
+                .days0To30(totals.days0To30())
+                .days31To60(totals.days31To60())
+                .days61To90(totals.days61To90())
+                .daysOver90(totals.daysOver90())
+                .totalDue(totals.total())
+                .classes(rows.stream()
+                        .map(StudentFeeMapper::toClassFeeAgingResponse)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Convert FeeReconciliation entity to FeeReconciliationResponse
+     */
+    public static FeeReconciliationResponse toFeeReconciliationResponse(FeeReconciliation reconciliation) {
+        if (reconciliation == null) {
+            return null;
+        }
+
+        return FeeReconciliationResponse.builder()
+                .uuid(reconciliation.getUuid())
+                .fileName(reconciliation.getFileName())
+                .totalRows(reconciliation.getTotalRows())
+                .matchedRows(reconciliation.getMatchedRows())
+                .amountMismatchRows(reconciliation.getAmountMismatchRows())
+                .unmatchedRows(reconciliation.getUnmatchedRows())
+                .postedRows(reconciliation.getPostedRows())
+                .duplicateRows(reconciliation.getDuplicateRows())
+                .invalidRows(reconciliation.getInvalidRows())
+                .createdAt(reconciliation.getCreatedAt())
+                .completedAt(reconciliation.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * Convert a reconciled settlement line to FeeReconciliationEntryResponse
+     */
+    public static FeeReconciliationEntryResponse toFeeReconciliationEntryResponse(ReconciliationEntryRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return FeeReconciliationEntryResponse.builder()
+                .lineNumber(row.getLineNumber())
+                .transactionId(row.getTransactionId())
+                .statementAmount(row.getStatementAmount())
+                .paymentAmount(row.getPaymentAmount())
+                .paymentUuid(row.getPaymentUuid())
+                .status(row.getStatus())
+                .message(row.getMessage())
+                .build();
+    }
+
     /**
      * Calculate fee status based on paid and due amounts
      */
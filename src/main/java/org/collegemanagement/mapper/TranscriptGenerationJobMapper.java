@@ -0,0 +1,40 @@
+package org.collegemanagement.mapper;
+
+import org.collegemanagement.dto.exam.TranscriptGenerationJobResponse;
+import org.collegemanagement.entity.exam.TranscriptGenerationJob;
+
+public final class TranscriptGenerationJobMapper {
+
+    private TranscriptGenerationJobMapper() {
+    }
+
+    /**
+     * Convert TranscriptGenerationJob entity to TranscriptGenerationJobResponse
+     */
+    public static TranscriptGenerationJobResponse toResponse(TranscriptGenerationJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        int total = job.getTotalStudents() != null ? job.getTotalStudents() : 0;
+        int processed = job.getProcessedStudents() != null ? job.getProcessedStudents() : 0;
+        int progress = total > 0 ? Math.min(100, processed * 100 / total) : 100;
+
+        return TranscriptGenerationJobResponse.builder()
+                .uuid(job.getUuid())
+                .academicYearUuid(job.getAcademicYear() != null ? job.getAcademicYear().getUuid() : null)
+                .academicYearName(job.getAcademicYear() != null ? job.getAcademicYear().getYearName() : null)
+                .classUuid(job.getClassRoom() != null ? job.getClassRoom().getUuid() : null)
+                .className(job.getClassRoom() != null ? job.getClassRoom().getName() : null)
+                .status(job.getStatus())
+                .totalStudents(total)
+                .processedStudents(processed)
+                .progressPercentage(progress)
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
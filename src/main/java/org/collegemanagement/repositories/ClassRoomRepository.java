@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClassRoomRepository extends JpaRepository<ClassRoom, Long> {
@@ -17,5 +19,11 @@ public interface ClassRoomRepository extends JpaRepository<ClassRoom, Long> {
             AND c.college.id = :collegeId
             """)
     Optional<ClassRoom> findByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
-}
 
+    @Query("""
+            SELECT c FROM ClassRoom c
+            WHERE c.uuid IN :uuids
+            AND c.college.id = :collegeId
+            """)
+    List<ClassRoom> findByUuidInAndCollegeId(@Param("uuids") Collection<String> uuids, @Param("collegeId") Long collegeId);
+}
@@ -0,0 +1,40 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.fees.CollegeFeeRollup;
+import org.collegemanagement.repositories.projection.FeeRollupTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CollegeFeeRollupRepository extends JpaRepository<CollegeFeeRollup, Long>, CollegeFeeRollupRepositoryCustom {
+
+    /**
+     * Sum the rollup slots of a college
+     */
+    @Query("""
+            SELECT SUM(r.feeCount) AS feeCount,
+                   SUM(r.totalAmount) AS totalAmount,
+                   SUM(r.paidAmount) AS paidAmount,
+                   SUM(r.dueAmount) AS dueAmount,
+                   SUM(r.pendingCount) AS pendingCount,
+                   SUM(r.paidCount) AS paidCount,
+                   SUM(r.partiallyPaidCount) AS partiallyPaidCount,
+                   SUM(r.overdueCount) AS overdueCount
+            FROM CollegeFeeRollup r
+            WHERE r.college.id = :collegeId
+            """)
+    FeeRollupTotals findTotalsByCollegeId(@Param("collegeId") Long collegeId);
+
+    /**
+     * Find IDs of colleges that have student fees or a rollup
+     */
+    @Query("""
+            SELECT c.id FROM College c
+            WHERE EXISTS (SELECT 1 FROM StudentFee sf WHERE sf.student.college = c)
+            OR EXISTS (SELECT 1 FROM CollegeFeeRollup r WHERE r.college = c)
+            ORDER BY c.id ASC
+            """)
+    List<Long> findCollegeIdsToReconcile();
+}
@@ -0,0 +1,48 @@
+package org.collegemanagement.repositories;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Incremental maintenance and reconciliation reads of college fee rollups through plain SQL.
+ */
+public interface CollegeFeeRollupRepositoryCustom {
+
+    /**
+     * Number of rollup slots per college; a student fee belongs to slot {@code id % SLOTS}
+     */
+    int SLOTS = 16;
+
+    /**
+     * Add deltas to their rollup slots as JDBC batches, creating missing slots.
+     * Deltas for the same slot should be merged beforehand.
+     */
+    void applyDeltas(Collection<Delta> deltas);
+
+    /**
+     * Lock the college row until the transaction ends, serializing reconciliations of that college.
+     * As a locking read it does not open the transaction's snapshot, so reads issued after it see
+     * everything committed before the lock was granted.
+     */
+    void lockCollege(Long collegeId);
+
+    /**
+     * Sum the student fees of a college per rollup slot with a plain, non-locking read.
+     * Each returned delta holds the absolute totals of its slot.
+     */
+    List<Delta> findFeeTotalsBySlot(Long collegeId);
+
+    /**
+     * Read the rollup slots of a college with a plain, non-locking read.
+     * Each returned delta holds the stored totals of its slot.
+     */
+    List<Delta> findRollupSlots(Long collegeId);
+
+    /**
+     * Change of a college's fee totals within one rollup slot
+     */
+    record Delta(Long collegeId, int slot, long feeCount, BigDecimal totalAmount, BigDecimal paidAmount,
+                 BigDecimal dueAmount, long pendingCount, long paidCount, long partiallyPaidCount, long overdueCount) {
+    }
+}
@@ -0,0 +1,125 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class CollegeFeeRollupRepositoryCustomImpl implements CollegeFeeRollupRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO college_fee_rollups (uuid, created_at, updated_at, college_id, slot, fee_count, total_amount,
+                                             paid_amount, due_amount, pending_count, paid_count,
+                                             partially_paid_count, overdue_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                fee_count = fee_count + VALUES(fee_count),
+                total_amount = total_amount + VALUES(total_amount),
+                paid_amount = paid_amount + VALUES(paid_amount),
+                due_amount = due_amount + VALUES(due_amount),
+                pending_count = pending_count + VALUES(pending_count),
+                paid_count = paid_count + VALUES(paid_count),
+                partially_paid_count = partially_paid_count + VALUES(partially_paid_count),
+                overdue_count = overdue_count + VALUES(overdue_count),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private static final String LOCK_COLLEGE_SQL = """
+            SELECT id FROM colleges
+            WHERE id = :collegeId
+            FOR UPDATE
+            """;
+
+    private static final String FEE_TOTALS_SQL = """
+            SELECT MOD(sf.id, :slots) AS slot, COUNT(*) AS fee_count,
+                   SUM(COALESCE(sf.net_amount, sf.total_amount)) AS total_amount,
+                   SUM(sf.paid_amount) AS paid_amount, SUM(sf.due_amount) AS due_amount,
+                   SUM(CASE WHEN sf.status = 'PENDING' THEN 1 ELSE 0 END) AS pending_count,
+                   SUM(CASE WHEN sf.status = 'PAID' THEN 1 ELSE 0 END) AS paid_count,
+                   SUM(CASE WHEN sf.status = 'PARTIALLY_PAID' THEN 1 ELSE 0 END) AS partially_paid_count,
+                   SUM(CASE WHEN sf.status = 'OVERDUE' THEN 1 ELSE 0 END) AS overdue_count
+            FROM student_fees sf
+            JOIN students s ON s.id = sf.student_id
+            WHERE s.college_id = :collegeId
+            GROUP BY MOD(sf.id, :slots)
+            """;
+
+    private static final String ROLLUP_SLOTS_SQL = """
+            SELECT slot, fee_count, total_amount, paid_amount, due_amount, pending_count, paid_count,
+                   partially_paid_count, overdue_count
+            FROM college_fee_rollups
+            WHERE college_id = :collegeId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyDeltas(Collection<Delta> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+
+        // A fixed row order keeps concurrent batches from deadlocking on each other's slots
+        List<Delta> ordered = deltas.stream()
+                .sorted(Comparator.comparing(Delta::collegeId).thenComparingInt(Delta::slot))
+                .toList();
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, ordered, BATCH_SIZE, (ps, delta) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, delta.collegeId());
+            ps.setInt(5, delta.slot());
+            ps.setLong(6, delta.feeCount());
+            ps.setBigDecimal(7, delta.totalAmount());
+            ps.setBigDecimal(8, delta.paidAmount());
+            ps.setBigDecimal(9, delta.dueAmount());
+            ps.setLong(10, delta.pendingCount());
+            ps.setLong(11, delta.paidCount());
+            ps.setLong(12, delta.partiallyPaidCount());
+            ps.setLong(13, delta.overdueCount());
+        });
+    }
+
+    @Override
+    public void lockCollege(Long collegeId) {
+        jdbcTemplate.queryForList(LOCK_COLLEGE_SQL, new MapSqlParameterSource("collegeId", collegeId), Long.class);
+    }
+
+    @Override
+    public List<Delta> findFeeTotalsBySlot(Long collegeId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("collegeId", collegeId)
+                .addValue("slots", SLOTS);
+        return jdbcTemplate.query(FEE_TOTALS_SQL, params, (rs, rowNum) -> mapSlot(collegeId, rs));
+    }
+
+    @Override
+    public List<Delta> findRollupSlots(Long collegeId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("collegeId", collegeId);
+        return jdbcTemplate.query(ROLLUP_SLOTS_SQL, params, (rs, rowNum) -> mapSlot(collegeId, rs));
+    }
+
+    private static Delta mapSlot(Long collegeId, ResultSet rs) throws SQLException {
+        return new Delta(collegeId, rs.getInt("slot"), rs.getLong("fee_count"),
+                orZero(rs.getBigDecimal("total_amount")), orZero(rs.getBigDecimal("paid_amount")),
+                orZero(rs.getBigDecimal("due_amount")), rs.getLong("pending_count"), rs.getLong("paid_count"),
+                rs.getLong("partially_paid_count"), rs.getLong("overdue_count"));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -28,6 +28,12 @@ public interface CollegeRepository extends JpaRepository<College, Long> {
     """)
     List<Subject> findSubjectsByCollegeId(Long collegeId);
 
+    @Query("""
+    SELECT c.shortCode FROM College c
+    WHERE c.id = :collegeId
+    """)
+    Optional<String> findShortCodeById(Long collegeId);
+
     @EntityGraph(attributePaths = {
             "departments",
             "departments.head",
@@ -57,5 +57,24 @@ public interface ExamClassRepository extends JpaRepository<ExamClass, Long> {
             AND ec.classRoom.id = :classId
             """)
     Optional<ExamClass> findByExamIdAndClassRoomId(@Param("examId") Long examId, @Param("classId") Long classId);
-}
 
+    /**
+     * Find exam classes of an exam with their class rooms
+     */
+    @Query("""
+            SELECT ec FROM ExamClass ec
+            JOIN FETCH ec.classRoom c
+            WHERE ec.exam.id = :examId
+            ORDER BY c.name ASC, c.section ASC
+            """)
+    List<ExamClass> findWithClassRoomByExamId(@Param("examId") Long examId);
+
+    /**
+     * Count classes of an exam
+     */
+    @Query("""
+            SELECT COUNT(ec) FROM ExamClass ec
+            WHERE ec.exam.id = :examId
+            """)
+    long countByExamId(@Param("examId") Long examId);
+}
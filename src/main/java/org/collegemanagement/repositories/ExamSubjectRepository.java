@@ -1,6 +1,8 @@
 package org.collegemanagement.repositories;
 
 import org.collegemanagement.entity.exam.ExamSubject;
+import org.collegemanagement.repositories.projection.ExamSlotRow;
+import org.collegemanagement.repositories.projection.GroupCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -77,5 +79,70 @@ public interface ExamSubjectRepository extends JpaRepository<ExamSubject, Long>
             ORDER BY es.examDate ASC
             """)
     List<ExamSubject> findByDateRangeAndCollegeId(@Param("collegeId") Long collegeId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
 
+    /**
+     * Count subjects of an exam class
+     */
+    @Query("""
+            SELECT COUNT(es) FROM ExamSubject es
+            WHERE es.examClass.id = :examClassId
+            """)
+    long countByExamClassId(@Param("examClassId") Long examClassId);
+
+    /**
+     * Count subjects per exam class for an exam
+     */
+    @Query("""
+            SELECT es.examClass.id AS groupId, COUNT(es) AS total
+            FROM ExamSubject es
+            WHERE es.examClass.exam.id = :examId
+            GROUP BY es.examClass.id
+            """)
+    List<GroupCount> countByExamIdGroupByExamClass(@Param("examId") Long examId);
+
+    /**
+     * Count subjects across all classes of an exam
+     */
+    @Query("""
+            SELECT COUNT(es) FROM ExamSubject es
+            WHERE es.examClass.exam.id = :examId
+            """)
+    long countByExamId(@Param("examId") Long examId);
+
+    /**
+     * Find all subjects of an exam with their subject and class room
+     */
+    @Query("""
+            SELECT es FROM ExamSubject es
+            JOIN FETCH es.subject
+            JOIN FETCH es.examClass ec
+            JOIN FETCH ec.classRoom c
+            WHERE ec.exam.id = :examId
+            ORDER BY c.name ASC, c.section ASC, es.examDate ASC
+            """)
+    List<ExamSubject> findWithSubjectAndClassRoomByExamId(@Param("examId") Long examId);
+
+    /**
+     * Find the timetable slots of every subject in an exam
+     */
+    @Query("""
+            SELECT es.id AS examSubjectId,
+                   es.uuid AS examSubjectUuid,
+                   ec.id AS examClassId,
+                   c.name AS className,
+                   c.section AS section,
+                   s.name AS subjectName,
+                   s.code AS subjectCode,
+                   t.id AS teacherId,
+                   t.uuid AS teacherUuid,
+                   t.name AS teacherName,
+                   es.examDate AS examDate
+            FROM ExamSubject es
+            JOIN es.examClass ec
+            JOIN ec.classRoom c
+            JOIN es.subject s
+            LEFT JOIN es.assignedTeacher t
+            WHERE ec.exam.id = :examId
+            """)
+    List<ExamSlotRow> findSlotsByExamId(@Param("examId") Long examId);
+}
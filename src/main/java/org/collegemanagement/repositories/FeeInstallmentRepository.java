@@ -2,6 +2,7 @@ package org.collegemanagement.repositories;
 
 import org.collegemanagement.entity.fees.FeeInstallment;
 import org.collegemanagement.enums.InstallmentStatus;
+import org.collegemanagement.repositories.projection.InstallmentBalance;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,9 +11,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface FeeInstallmentRepository extends JpaRepository<FeeInstallment, Long> {
+public interface FeeInstallmentRepository extends JpaRepository<FeeInstallment, Long>, FeeInstallmentRepositoryCustom {
 
     @Query("""
             SELECT fi FROM FeeInstallment fi
@@ -40,13 +42,47 @@ public interface FeeInstallmentRepository extends JpaRepository<FeeInstallment,
             """)
     List<FeeInstallment> findByStudentFeeId(@Param("studentFeeId") Long studentFeeId);
 
+    /**
+     * Find installments of a student fee that still have an amount due, earliest first
+     */
+    @Query("""
+            SELECT fi.id AS id, fi.amount AS amount, fi.paidAmount AS paidAmount,
+                   fi.dueAmount AS dueAmount, fi.dueDate AS dueDate
+            FROM FeeInstallment fi
+            WHERE fi.studentFee.id = :studentFeeId
+            AND fi.dueAmount > 0
+            ORDER BY fi.dueDate ASC, fi.id ASC
+            """)
+    List<InstallmentBalance> findOpenBalancesByStudentFeeId(@Param("studentFeeId") Long studentFeeId);
+
+    /**
+     * Find the next page of a college's unpaid installments past their due date that are not yet overdue,
+     * in ID order after afterId
+     */
+    @Query("""
+            SELECT fi.id FROM FeeInstallment fi
+            WHERE fi.studentFee.student.college.id = :collegeId
+            AND fi.id > :afterId
+            AND fi.dueDate < :today
+            AND fi.dueAmount > 0
+            AND fi.status IN ('PENDING', 'PARTIALLY_PAID')
+            ORDER BY fi.id ASC
+            """)
+    List<Long> findOverdueCandidateIds(@Param("collegeId") Long collegeId,
+                                       @Param("today") LocalDate today,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    /**
+     * Mark installments overdue; rows paid off since they were selected are left alone
+     */
     @Modifying
     @Query("""
             UPDATE FeeInstallment fi
             SET fi.status = :status
-            WHERE fi.dueDate < :today
+            WHERE fi.id IN :ids
             AND fi.dueAmount > 0
             AND fi.status IN ('PENDING', 'PARTIALLY_PAID')
             """)
-    int markOverdue(@Param("status") InstallmentStatus status, @Param("today") LocalDate today);
+    int markOverdueByIdIn(@Param("ids") Collection<Long> ids, @Param("status") InstallmentStatus status);
 }
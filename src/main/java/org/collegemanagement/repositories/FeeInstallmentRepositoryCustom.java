@@ -0,0 +1,33 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.fees.FeeInstallment;
+import org.collegemanagement.enums.InstallmentStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Bulk write operations for fee installments that bypass the persistence context.
+ */
+public interface FeeInstallmentRepositoryCustom {
+
+    /**
+     * Insert new fee installments as JDBC batches.
+     * UUID and timestamps are assigned on the given instances before they are written.
+     */
+    void batchInsert(List<FeeInstallment> installments);
+
+    /**
+     * Apply payment allocations to installments as one JDBC batch.
+     * Each row is guarded by {@code due_amount >= amount}, so an allocation never drives an installment negative.
+     *
+     * @return number of installments updated
+     */
+    int batchApplyPayments(List<InstallmentPayment> payments);
+
+    /**
+     * Part of a fee payment allocated to one installment, and the installment's status afterwards
+     */
+    record InstallmentPayment(Long installmentId, BigDecimal amount, InstallmentStatus status) {
+    }
+}
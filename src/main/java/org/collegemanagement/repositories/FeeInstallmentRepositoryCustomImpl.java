@@ -0,0 +1,87 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.fees.FeeInstallment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class FeeInstallmentRepositoryCustomImpl implements FeeInstallmentRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO fee_installments (uuid, created_at, updated_at, student_fee_id, name, amount, paid_amount,
+                                          due_amount, status, due_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String APPLY_PAYMENT_SQL = """
+            UPDATE fee_installments
+            SET paid_amount = paid_amount + ?, due_amount = due_amount - ?, status = ?, updated_at = ?
+            WHERE id = ? AND due_amount >= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<FeeInstallment> installments) {
+        if (installments == null || installments.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (FeeInstallment installment : installments) {
+            if (installment.getUuid() == null) {
+                installment.setUuid(UUID.randomUUID().toString());
+            }
+            installment.setCreatedAt(now);
+            installment.setUpdatedAt(now);
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, installments, BATCH_SIZE, (ps, installment) -> {
+            ps.setString(1, installment.getUuid());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, installment.getStudentFee().getId());
+            ps.setString(5, installment.getName());
+            ps.setBigDecimal(6, installment.getAmount());
+            ps.setBigDecimal(7, installment.getPaidAmount());
+            ps.setBigDecimal(8, installment.getDueAmount());
+            ps.setString(9, installment.getStatus().name());
+            ps.setDate(10, Date.valueOf(installment.getDueDate()));
+        });
+    }
+
+    @Override
+    public int batchApplyPayments(List<InstallmentPayment> payments) {
+        if (payments == null || payments.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(APPLY_PAYMENT_SQL, payments, BATCH_SIZE, (ps, payment) -> {
+            ps.setBigDecimal(1, payment.amount());
+            ps.setBigDecimal(2, payment.amount());
+            ps.setString(3, payment.status().name());
+            ps.setTimestamp(4, timestamp);
+            ps.setLong(5, payment.installmentId());
+            ps.setBigDecimal(6, payment.amount());
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // rewriteBatchedStatements reports SUCCESS_NO_INFO for rows of a rewritten batch
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+}
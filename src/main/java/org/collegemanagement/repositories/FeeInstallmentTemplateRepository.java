@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface FeeInstallmentTemplateRepository extends JpaRepository<FeeInstallmentTemplate, Long> {
@@ -19,4 +20,14 @@ public interface FeeInstallmentTemplateRepository extends JpaRepository<FeeInsta
             @Param("feeStructureUuid") String feeStructureUuid,
             @Param("collegeId") Long collegeId
     );
+
+    /**
+     * Find the installment templates of the given fee structures, by structure and due date
+     */
+    @Query("""
+            SELECT fit FROM FeeInstallmentTemplate fit
+            WHERE fit.feeStructure.id IN :feeStructureIds
+            ORDER BY fit.feeStructure.id ASC, fit.dueDate ASC
+            """)
+    List<FeeInstallmentTemplate> findByFeeStructureIdIn(@Param("feeStructureIds") Collection<Long> feeStructureIds);
 }
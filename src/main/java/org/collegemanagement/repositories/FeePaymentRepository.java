@@ -1,17 +1,25 @@
 package org.collegemanagement.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.collegemanagement.entity.fees.FeePayment;
 import org.collegemanagement.enums.PaymentMode;
+import org.collegemanagement.enums.ReconciliationStatus;
+import org.collegemanagement.repositories.projection.FeeLedgerRow;
+import org.collegemanagement.repositories.projection.TransactionPaymentRow;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
 
@@ -86,6 +94,81 @@ public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
             Pageable pageable
     );
 
+    /**
+     * Stream the fee ledger of a college for a date range, oldest payment first
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQuery.FETCH_SIZE))
+    @Query("""
+            SELECT fp.uuid AS paymentUuid,
+                   fp.paymentDate AS paymentDate,
+                   r.receiptNumber AS receiptNumber,
+                   fp.amount AS amount,
+                   fp.paymentMode AS paymentMode,
+                   fp.transactionId AS transactionId,
+                   sf.uuid AS studentFeeUuid,
+                   s.uuid AS studentUuid,
+                   s.rollNumber AS rollNumber,
+                   u.name AS studentName,
+                   c.name AS className,
+                   c.section AS section
+            FROM FeePayment fp
+            JOIN fp.studentFee sf
+            JOIN sf.student s
+            JOIN s.user u
+            JOIN sf.feeStructure fs
+            JOIN fs.classRoom c
+            LEFT JOIN fp.receipt r
+            WHERE fp.paymentDate >= :startDate
+            AND fp.paymentDate <= :endDate
+            AND s.college.id = :collegeId
+            ORDER BY fp.paymentDate, fp.id
+            """)
+    Stream<FeeLedgerRow> streamLedgerByPaymentDateRangeAndCollegeId(
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate,
+            @Param("collegeId") Long collegeId
+    );
+
+    /**
+     * Stream the payments of a college with a transaction ID that no settlement file has matched or posted yet
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQuery.FETCH_SIZE))
+    @Query("""
+            SELECT fp.id AS id,
+                   fp.transactionId AS transactionId,
+                   fp.amount AS amount,
+                   s.college.id AS collegeId
+            FROM FeePayment fp
+            JOIN fp.studentFee sf
+            JOIN sf.student s
+            WHERE s.college.id = :collegeId
+            AND fp.transactionId IS NOT NULL
+            AND NOT EXISTS (
+                SELECT 1 FROM FeeReconciliationEntry e
+                WHERE e.feePaymentId = fp.id
+                AND e.status IN :reconciledStatuses
+            )
+            """)
+    Stream<TransactionPaymentRow> streamUnreconciledTransactionsByCollegeId(
+            @Param("collegeId") Long collegeId,
+            @Param("reconciledStatuses") Collection<ReconciliationStatus> reconciledStatuses
+    );
+
+    /**
+     * Find payments by transaction ID in any college; transaction IDs are unique across colleges
+     */
+    @Query("""
+            SELECT fp.id AS id,
+                   fp.transactionId AS transactionId,
+                   fp.amount AS amount,
+                   s.college.id AS collegeId
+            FROM FeePayment fp
+            JOIN fp.studentFee sf
+            JOIN sf.student s
+            WHERE fp.transactionId IN :transactionIds
+            """)
+    List<TransactionPaymentRow> findByTransactionIdIn(@Param("transactionIds") Collection<String> transactionIds);
+
     /**
      * Calculate total payment amount by student fee ID
      */
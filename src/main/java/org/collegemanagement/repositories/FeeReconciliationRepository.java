@@ -0,0 +1,58 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.fees.FeeReconciliation;
+import org.collegemanagement.enums.ReconciliationStatus;
+import org.collegemanagement.repositories.projection.ReconciliationEntryRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface FeeReconciliationRepository extends JpaRepository<FeeReconciliation, Long>, FeeReconciliationRepositoryCustom {
+
+    /**
+     * Find reconciliation by UUID and college ID (college isolation)
+     */
+    @Query("""
+            SELECT r FROM FeeReconciliation r
+            WHERE r.uuid = :uuid
+            AND r.college.id = :collegeId
+            """)
+    Optional<FeeReconciliation> findByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find the reconciliations of a college, latest first
+     */
+    @Query("""
+            SELECT r FROM FeeReconciliation r
+            WHERE r.college.id = :collegeId
+            ORDER BY r.id DESC
+            """)
+    Page<FeeReconciliation> findByCollegeId(@Param("collegeId") Long collegeId, Pageable pageable);
+
+    /**
+     * Find the lines of a reconciliation in file order, optionally of one status
+     */
+    @Query("""
+            SELECT e.lineNumber AS lineNumber,
+                   e.transactionId AS transactionId,
+                   e.statementAmount AS statementAmount,
+                   e.paymentAmount AS paymentAmount,
+                   fp.uuid AS paymentUuid,
+                   e.status AS status,
+                   e.message AS message
+            FROM FeeReconciliationEntry e
+            LEFT JOIN FeePayment fp ON fp.id = e.feePaymentId
+            WHERE e.reconciliation.id = :reconciliationId
+            AND (:status IS NULL OR e.status = :status)
+            ORDER BY e.lineNumber
+            """)
+    Page<ReconciliationEntryRow> findEntries(
+            @Param("reconciliationId") Long reconciliationId,
+            @Param("status") ReconciliationStatus status,
+            Pageable pageable
+    );
+}
@@ -0,0 +1,16 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.fees.FeeReconciliationEntry;
+
+import java.util.List;
+
+/**
+ * Bulk writes of reconciliation lines that bypass the persistence context.
+ */
+public interface FeeReconciliationRepositoryCustom {
+
+    /**
+     * Insert reconciliation lines as JDBC batches; the reconciliation of every entry must already be saved
+     */
+    void batchInsertEntries(List<FeeReconciliationEntry> entries);
+}
@@ -0,0 +1,52 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.fees.FeeReconciliationEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class FeeReconciliationRepositoryCustomImpl implements FeeReconciliationRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ENTRY_SQL = """
+            INSERT INTO fee_reconciliation_entries (uuid, created_at, updated_at, reconciliation_id, line_number,
+                                                    transaction_id, statement_amount, fee_payment_id, payment_amount,
+                                                    status, message)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsertEntries(List<FeeReconciliationEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setLong(4, entry.getReconciliation().getId());
+            ps.setLong(5, entry.getLineNumber());
+            ps.setString(6, entry.getTransactionId());
+            ps.setBigDecimal(7, entry.getStatementAmount());
+            if (entry.getFeePaymentId() != null) {
+                ps.setLong(8, entry.getFeePaymentId());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setBigDecimal(9, entry.getPaymentAmount());
+            ps.setString(10, entry.getStatus().name());
+            ps.setString(11, entry.getMessage());
+        });
+    }
+}
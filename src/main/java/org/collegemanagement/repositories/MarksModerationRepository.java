@@ -0,0 +1,46 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.MarksModeration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MarksModerationRepository extends JpaRepository<MarksModeration, Long>, MarksModerationRepositoryCustom {
+
+    /**
+     * Find moderation by UUID and college ID
+     */
+    @Query("""
+            SELECT m FROM MarksModeration m
+            JOIN FETCH m.exam e
+            WHERE m.uuid = :uuid
+            AND e.college.id = :collegeId
+            """)
+    Optional<MarksModeration> findByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find the moderations of an exam, latest first
+     */
+    @Query("""
+            SELECT m FROM MarksModeration m
+            LEFT JOIN FETCH m.appliedBy
+            LEFT JOIN FETCH m.revertedBy
+            WHERE m.exam.id = :examId
+            ORDER BY m.id DESC
+            """)
+    List<MarksModeration> findByExamId(@Param("examId") Long examId);
+
+    /**
+     * Check whether a moderation applied after the given one is still in effect
+     */
+    @Query("""
+            SELECT COUNT(m) > 0 FROM MarksModeration m
+            WHERE m.exam.id = :examId
+            AND m.id > :moderationId
+            AND m.revertedAt IS NULL
+            """)
+    boolean existsActiveAfter(@Param("examId") Long examId, @Param("moderationId") Long moderationId);
+}
@@ -0,0 +1,39 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.MarksModeration;
+import org.collegemanagement.repositories.projection.MarksModerationChange;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set-based evaluation, application and reversal of marks moderation rules.
+ * The rule and its scope (exam, optionally one exam subject) are read from the moderation.
+ */
+public interface MarksModerationRepositoryCustom {
+
+    /**
+     * Stream every mark the rule would change, ordered by subject and roll number
+     */
+    void forEachChange(MarksModeration moderation, Consumer<MarksModerationChange> action);
+
+    /**
+     * Log the marks the rule changes, update them with one statement and recompute their grades
+     * from the college's grade bands. The moderation must already be saved.
+     *
+     * @return number of marks changed
+     */
+    int apply(MarksModeration moderation, Long collegeId);
+
+    /**
+     * Restore the logged marks that still hold their moderated value and recompute their grades
+     *
+     * @return number of marks restored
+     */
+    int revert(MarksModeration moderation, Long collegeId);
+
+    /**
+     * Students whose marks are logged for the moderation
+     */
+    List<Long> findStudentIds(Long moderationId);
+}
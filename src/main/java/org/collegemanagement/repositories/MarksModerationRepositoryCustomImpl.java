@@ -0,0 +1,171 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.exam.MarksModeration;
+import org.collegemanagement.repositories.projection.MarksModerationChange;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class MarksModerationRepositoryCustomImpl implements MarksModerationRepositoryCustom {
+
+    /**
+     * Moderated marks of a GRACE rule: everyone within the margin below the pass mark, capped at the maximum
+     */
+    private static final String GRACE_MARKS = "LEAST(sm.marks_obtained + :graceMarks, es.max_marks)";
+    private static final String GRACE_FILTER = """
+            sm.marks_obtained < es.pass_marks
+            AND sm.marks_obtained >= es.pass_marks - :withinMarks
+            """;
+
+    /**
+     * Moderated marks of a SCALE rule, rounded half up and capped at the maximum
+     */
+    private static final String SCALE_MARKS = "LEAST(CAST(ROUND(sm.marks_obtained * :scaleFactor) AS SIGNED), es.max_marks)";
+    private static final String SCALE_FILTER = "1 = 1";
+
+    /**
+     * Marks in scope whose value the rule changes; %1$s is the moderated marks expression, %2$s the rule's filter
+     */
+    private static final String CHANGES_FILTER = """
+            WHERE ec.exam_id = :examId
+            AND (:examSubjectUuid IS NULL OR es.uuid = :examSubjectUuid)
+            AND %2$s
+            AND %1$s <> sm.marks_obtained
+            """;
+
+    private static final String PREVIEW_SQL = """
+            SELECT sm.uuid AS student_marks_uuid, sub.name AS subject_name, c.name AS class_name, c.section,
+                   s.roll_number, u.name AS student_name, sm.marks_obtained, %1$s AS new_marks,
+                   es.max_marks, es.pass_marks, g.grade
+            FROM student_marks sm
+            JOIN exam_subjects es ON es.id = sm.exam_subject_id
+            JOIN exam_classes ec ON ec.id = es.exam_class_id
+            JOIN subjects sub ON sub.id = es.subject_id
+            JOIN classes c ON c.id = ec.class_id
+            JOIN students s ON s.id = sm.student_id
+            JOIN users u ON u.id = s.user_id
+            LEFT JOIN grade_scales g ON g.id = sm.grade_scale_id
+            """ + CHANGES_FILTER + """
+            ORDER BY sub.name, c.name, c.section, s.roll_number
+            """;
+
+    private static final String LOG_SQL = """
+            INSERT INTO marks_moderation_entries (uuid, created_at, updated_at, moderation_id, student_marks_id,
+                                                  previous_marks, new_marks)
+            SELECT UUID(), NOW(), NOW(), :moderationId, sm.id, sm.marks_obtained, %1$s
+            FROM student_marks sm
+            JOIN exam_subjects es ON es.id = sm.exam_subject_id
+            JOIN exam_classes ec ON ec.id = es.exam_class_id
+            """ + CHANGES_FILTER;
+
+    private static final String APPLY_SQL = """
+            UPDATE student_marks sm
+            JOIN marks_moderation_entries me ON me.student_marks_id = sm.id
+            SET sm.marks_obtained = me.new_marks,
+                sm.updated_at = NOW()
+            WHERE me.moderation_id = :moderationId
+            """;
+
+    private static final String REVERT_SQL = """
+            UPDATE student_marks sm
+            JOIN marks_moderation_entries me ON me.student_marks_id = sm.id
+            SET sm.marks_obtained = me.previous_marks,
+                sm.updated_at = NOW()
+            WHERE me.moderation_id = :moderationId
+            AND sm.marks_obtained = me.new_marks
+            """;
+
+    /**
+     * Same precedence as the grade band lookup: the band with the highest minimum containing the marks
+     */
+    private static final String REGRADE_SQL = """
+            UPDATE student_marks sm
+            JOIN marks_moderation_entries me ON me.student_marks_id = sm.id
+            SET sm.grade_scale_id = (
+                SELECT g.id FROM grade_scales g
+                WHERE g.college_id = :collegeId
+                AND g.min_marks <= sm.marks_obtained
+                AND sm.marks_obtained <= g.max_marks
+                ORDER BY g.min_marks DESC
+                LIMIT 1
+            )
+            WHERE me.moderation_id = :moderationId
+            """;
+
+    private static final String STUDENT_IDS_SQL = """
+            SELECT DISTINCT sm.student_id
+            FROM marks_moderation_entries me
+            JOIN student_marks sm ON sm.id = me.student_marks_id
+            WHERE me.moderation_id = :moderationId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void forEachChange(MarksModeration moderation, Consumer<MarksModerationChange> action) {
+        jdbcTemplate.query(rule(PREVIEW_SQL, moderation), params(moderation), rs -> {
+            action.accept(new MarksModerationChange(
+                    rs.getString("student_marks_uuid"),
+                    rs.getString("subject_name"),
+                    rs.getString("class_name"),
+                    rs.getString("section"),
+                    rs.getString("roll_number"),
+                    rs.getString("student_name"),
+                    rs.getInt("marks_obtained"),
+                    rs.getInt("new_marks"),
+                    rs.getInt("max_marks"),
+                    rs.getInt("pass_marks"),
+                    rs.getString("grade")
+            ));
+        });
+    }
+
+    @Override
+    public int apply(MarksModeration moderation, Long collegeId) {
+        MapSqlParameterSource params = params(moderation)
+                .addValue("moderationId", moderation.getId())
+                .addValue("collegeId", collegeId);
+        int logged = jdbcTemplate.update(rule(LOG_SQL, moderation), params);
+        if (logged > 0) {
+            jdbcTemplate.update(APPLY_SQL, params);
+            jdbcTemplate.update(REGRADE_SQL, params);
+        }
+        return logged;
+    }
+
+    @Override
+    public int revert(MarksModeration moderation, Long collegeId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("moderationId", moderation.getId())
+                .addValue("collegeId", collegeId);
+        int restored = jdbcTemplate.update(REVERT_SQL, params);
+        jdbcTemplate.update(REGRADE_SQL, params);
+        return restored;
+    }
+
+    @Override
+    public List<Long> findStudentIds(Long moderationId) {
+        return jdbcTemplate.queryForList(STUDENT_IDS_SQL, new MapSqlParameterSource("moderationId", moderationId), Long.class);
+    }
+
+    private static String rule(String sql, MarksModeration moderation) {
+        return switch (moderation.getRuleType()) {
+            case GRACE -> sql.formatted(GRACE_MARKS, GRACE_FILTER);
+            case SCALE -> sql.formatted(SCALE_MARKS, SCALE_FILTER);
+        };
+    }
+
+    private static MapSqlParameterSource params(MarksModeration moderation) {
+        return new MapSqlParameterSource()
+                .addValue("examId", moderation.getExam().getId())
+                .addValue("examSubjectUuid", moderation.getExamSubjectUuid(), Types.VARCHAR)
+                .addValue("graceMarks", moderation.getGraceMarks(), Types.INTEGER)
+                .addValue("withinMarks", moderation.getWithinMarks(), Types.INTEGER)
+                .addValue("scaleFactor", moderation.getScaleFactor(), Types.DECIMAL);
+    }
+}
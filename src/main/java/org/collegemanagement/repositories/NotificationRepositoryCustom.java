@@ -0,0 +1,22 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.dto.NotificationRequest;
+import org.collegemanagement.enums.NotificationReferenceType;
+import org.collegemanagement.enums.NotificationType;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for notifications that bypass the persistence context.
+ */
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Insert one unread notification per request as JDBC batches.
+     * Receivers are not validated here; callers must resolve them within the tenant.
+     *
+     * @return number of notifications written
+     */
+    int batchInsert(List<NotificationRequest> requests, NotificationType type, NotificationReferenceType referenceType,
+                    Long referenceId, String actionUrl, int priority);
+}
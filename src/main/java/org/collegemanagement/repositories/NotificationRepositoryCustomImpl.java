@@ -0,0 +1,60 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.dto.NotificationRequest;
+import org.collegemanagement.enums.NotificationReferenceType;
+import org.collegemanagement.enums.NotificationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (uuid, created_at, updated_at, user_id, title, type, content,
+                                       reference_type, reference_id, action_url, priority, is_read)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<NotificationRequest> requests, NotificationType type, NotificationReferenceType referenceType,
+                           Long referenceId, String actionUrl, int priority) {
+        if (requests == null || requests.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, requests, BATCH_SIZE, (ps, request) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setLong(4, request.getReceiverId());
+            ps.setString(5, request.getTitle());
+            ps.setString(6, type.name());
+            ps.setString(7, request.getMessage());
+            if (referenceType != null) {
+                ps.setString(8, referenceType.name());
+            } else {
+                ps.setNull(8, Types.VARCHAR);
+            }
+            Long rowReferenceId = request.getReferenceId() != null ? request.getReferenceId() : referenceId;
+            if (rowReferenceId != null) {
+                ps.setLong(9, rowReferenceId);
+            } else {
+                ps.setNull(9, Types.BIGINT);
+            }
+            ps.setString(10, request.getActionUrl() != null ? request.getActionUrl() : actionUrl);
+            ps.setInt(11, priority);
+        });
+        return requests.size();
+    }
+}
@@ -0,0 +1,7 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.tenant.SequenceCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SequenceCounterRepository extends JpaRepository<SequenceCounter, Long>, SequenceCounterRepositoryCustom {
+}
@@ -0,0 +1,17 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.enums.SequenceSeries;
+
+/**
+ * Atomic reservation of sequence numbers through plain SQL.
+ */
+public interface SequenceCounterRepositoryCustom {
+
+    /**
+     * Reserve the next {@code count} numbers of a series, creating its counter on first use.
+     * The counter row stays locked until the surrounding transaction ends.
+     *
+     * @return the first reserved number
+     */
+    long reserve(Long collegeId, SequenceSeries series, int periodYear, int count);
+}
@@ -0,0 +1,54 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.enums.SequenceSeries;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class SequenceCounterRepositoryCustomImpl implements SequenceCounterRepositoryCustom {
+
+    private static final String CREATE_SQL = """
+            INSERT INTO sequence_counters (uuid, created_at, updated_at, college_id, series, period_year, next_value)
+            VALUES (:uuid, :now, :now, :collegeId, :series, :periodYear, 1)
+            ON DUPLICATE KEY UPDATE id = id
+            """;
+
+    private static final String LOCK_SQL = """
+            SELECT next_value FROM sequence_counters
+            WHERE college_id = :collegeId
+            AND series = :series
+            AND period_year = :periodYear
+            FOR UPDATE
+            """;
+
+    private static final String ADVANCE_SQL = """
+            UPDATE sequence_counters
+            SET next_value = next_value + :count, updated_at = :now
+            WHERE college_id = :collegeId
+            AND series = :series
+            AND period_year = :periodYear
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public long reserve(Long collegeId, SequenceSeries series, int periodYear, int count) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("uuid", UUID.randomUUID().toString())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("collegeId", collegeId)
+                .addValue("series", series.name())
+                .addValue("periodYear", periodYear)
+                .addValue("count", count);
+
+        jdbcTemplate.update(CREATE_SQL, params);
+        Long first = jdbcTemplate.queryForObject(LOCK_SQL, params, Long.class);
+        jdbcTemplate.update(ADVANCE_SQL, params);
+        return first != null ? first : 1L;
+    }
+}
@@ -0,0 +1,17 @@
+package org.collegemanagement.repositories;
+
+/**
+ * Settings for queries whose results are streamed rather than loaded into a list.
+ */
+public final class StreamingQuery {
+
+    /**
+     * Fetch size that makes MySQL Connector/J stream the result set row by row instead of buffering it
+     * (Integer.MIN_VALUE). Only the statement that sets it streams; the connection can run no other
+     * statement until the stream is closed.
+     */
+    public static final String FETCH_SIZE = "-2147483648";
+
+    private StreamingQuery() {
+    }
+}
@@ -2,10 +2,15 @@ package org.collegemanagement.repositories;
 
 import org.collegemanagement.entity.academic.StudentEnrollment;
 import org.collegemanagement.enums.EnrollmentStatus;
+import org.collegemanagement.repositories.projection.ClassStudentRef;
+import org.collegemanagement.repositories.projection.FeeAssignmentRow;
+import org.collegemanagement.repositories.projection.MarksRosterEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -120,5 +125,148 @@ public interface StudentEnrollmentRepository extends JpaRepository<StudentEnroll
             AND e.academicYear.id = :academicYearId
             """)
     boolean existsByStudentIdAndAcademicYearId(@Param("studentId") Long studentId, @Param("academicYearId") Long academicYearId);
-}
 
+    /**
+     * Find enrollments for a set of students in an academic year
+     */
+    @Query("""
+            SELECT e FROM StudentEnrollment e
+            WHERE e.student.id IN :studentIds
+            AND e.academicYear.id = :academicYearId
+            """)
+    List<StudentEnrollment> findByStudentIdInAndAcademicYearId(@Param("studentIds") Collection<Long> studentIds, @Param("academicYearId") Long academicYearId);
+
+    /**
+     * Find student IDs of active enrollments in a class
+     */
+    @Query("""
+            SELECT e.student.id FROM StudentEnrollment e
+            WHERE e.classRoom.id = :classId
+            AND e.college.id = :collegeId
+            AND e.status = 'ACTIVE'
+            """)
+    List<Long> findActiveStudentIdsByClassIdAndCollegeId(@Param("classId") Long classId, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find (class, student) pairs of active enrollments in all classes of an exam
+     */
+    @Query("""
+            SELECT e.classRoom.id AS classId, e.student.id AS studentId
+            FROM StudentEnrollment e
+            WHERE e.college.id = :collegeId
+            AND e.status = 'ACTIVE'
+            AND e.classRoom.id IN (
+                SELECT ec.classRoom.id FROM ExamClass ec WHERE ec.exam.id = :examId
+            )
+            """)
+    List<ClassStudentRef> findActiveClassStudentRefsByExamIdAndCollegeId(@Param("examId") Long examId, @Param("collegeId") Long collegeId);
+
+    /**
+     * Count active enrollments in all classes of an exam
+     */
+    @Query("""
+            SELECT COUNT(e) FROM StudentEnrollment e
+            WHERE e.college.id = :collegeId
+            AND e.status = 'ACTIVE'
+            AND e.classRoom.id IN (
+                SELECT ec.classRoom.id FROM ExamClass ec WHERE ec.exam.id = :examId
+            )
+            """)
+    long countActiveByExamIdAndCollegeId(@Param("examId") Long examId, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find the next page of student IDs enrolled in an academic year (optionally a single class) after a given student ID
+     */
+    @Query("""
+            SELECT e.student.id FROM StudentEnrollment e
+            WHERE e.college.id = :collegeId
+            AND e.academicYear.id = :academicYearId
+            AND (:classId IS NULL OR e.classRoom.id = :classId)
+            AND e.status <> 'DROPPED'
+            AND e.student.id > :afterStudentId
+            ORDER BY e.student.id ASC
+            """)
+    List<Long> findStudentIdsByAcademicYearAfter(@Param("collegeId") Long collegeId,
+                                                 @Param("academicYearId") Long academicYearId,
+                                                 @Param("classId") Long classId,
+                                                 @Param("afterStudentId") Long afterStudentId,
+                                                 Pageable pageable);
+
+    /**
+     * Count students enrolled in an academic year (optionally a single class)
+     */
+    @Query("""
+            SELECT COUNT(e) FROM StudentEnrollment e
+            WHERE e.college.id = :collegeId
+            AND e.academicYear.id = :academicYearId
+            AND (:classId IS NULL OR e.classRoom.id = :classId)
+            AND e.status <> 'DROPPED'
+            """)
+    long countStudentsByAcademicYear(@Param("collegeId") Long collegeId,
+                                     @Param("academicYearId") Long academicYearId,
+                                     @Param("classId") Long classId);
+
+    /**
+     * Find the roster of a class for marks entry in an exam subject: year-specific roll number (falling back to the
+     * student's roll number), user ID and the ID of marks already recorded for the subject
+     */
+    @Query("""
+            SELECT s.id AS studentId, COALESCE(e.rollNumber, s.rollNumber) AS rollNumber, u.id AS userId, m.id AS marksId
+            FROM StudentEnrollment e
+            JOIN e.student s
+            LEFT JOIN s.user u
+            LEFT JOIN StudentMarks m ON m.student.id = s.id AND m.examSubject.id = :examSubjectId
+            WHERE e.classRoom.id = :classId
+            AND e.academicYear.id = :academicYearId
+            AND e.status <> 'DROPPED'
+            """)
+    List<MarksRosterEntry> findMarksRoster(@Param("classId") Long classId,
+                                           @Param("academicYearId") Long academicYearId,
+                                           @Param("examSubjectId") Long examSubjectId);
+
+    /**
+     * Count the active enrollments of a class
+     */
+    @Query("""
+            SELECT COUNT(e) FROM StudentEnrollment e
+            WHERE e.classRoom.id = :classId
+            AND e.status = 'ACTIVE'
+            """)
+    long countActiveByClassId(@Param("classId") Long classId);
+
+    /**
+     * Find the students actively enrolled in the given classes that do not have the fee structure yet
+     */
+    @Query("""
+            SELECT DISTINCT e.student.id FROM StudentEnrollment e
+            WHERE e.classRoom.id IN :classIds
+            AND e.college.id = :collegeId
+            AND e.status = 'ACTIVE'
+            AND NOT EXISTS (
+                SELECT 1 FROM StudentFee sf
+                WHERE sf.student.id = e.student.id
+                AND sf.feeStructure.id = :feeStructureId
+            )
+            """)
+    List<Long> findStudentIdsWithoutFeeStructure(@Param("classIds") Collection<Long> classIds,
+                                                 @Param("feeStructureId") Long feeStructureId,
+                                                 @Param("collegeId") Long collegeId);
+
+    /**
+     * Find, for every fee structure of a college, the students actively enrolled in its class that do not have it yet
+     */
+    @Query("""
+            SELECT DISTINCT fs.id AS feeStructureId, e.student.id AS studentId
+            FROM FeeStructure fs
+            JOIN StudentEnrollment e ON e.classRoom.id = fs.classRoom.id
+            WHERE fs.college.id = :collegeId
+            AND e.status = 'ACTIVE'
+            AND NOT EXISTS (
+                SELECT 1 FROM StudentFee sf
+                WHERE sf.student.id = e.student.id
+                AND sf.feeStructure.id = fs.id
+            )
+            ORDER BY fs.id
+            """)
+    List<FeeAssignmentRow> findUnassignedFeeStructureStudents(@Param("collegeId") Long collegeId);
+}
@@ -0,0 +1,65 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.StudentExamResult;
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentExamResultRepository extends JpaRepository<StudentExamResult, Long>, StudentExamResultRepositoryCustom {
+
+    /**
+     * Find the materialized result of a student in an exam
+     */
+    @Query("""
+            SELECT r FROM StudentExamResult r
+            WHERE r.student.id = :studentId
+            AND r.exam.id = :examId
+            """)
+    Optional<StudentExamResult> findByStudentIdAndExamId(@Param("studentId") Long studentId, @Param("examId") Long examId);
+
+    /**
+     * Per-student totals of one class in an exam, read from the materialized results
+     */
+    @Query("""
+            SELECT r.classRoom.id AS classId,
+                   r.student.id AS studentId,
+                   CAST(r.totalMarks AS Long) AS totalMarks,
+                   CAST(r.obtainedMarks AS Long) AS obtainedMarks,
+                   CAST(r.subjectCount AS Long) AS subjectCount,
+                   CASE WHEN r.passedCount = r.subjectCount THEN 1 ELSE 0 END AS allPassed
+            FROM StudentExamResult r
+            WHERE r.exam.id = :examId
+            AND r.classRoom.id = :classId
+            """)
+    List<StudentExamAggregate> findAggregatesByExamIdAndClassId(@Param("examId") Long examId, @Param("classId") Long classId);
+
+    /**
+     * Per-student totals of every class in an exam, read from the materialized results
+     */
+    @Query("""
+            SELECT r.classRoom.id AS classId,
+                   r.student.id AS studentId,
+                   CAST(r.totalMarks AS Long) AS totalMarks,
+                   CAST(r.obtainedMarks AS Long) AS obtainedMarks,
+                   CAST(r.subjectCount AS Long) AS subjectCount,
+                   CASE WHEN r.passedCount = r.subjectCount THEN 1 ELSE 0 END AS allPassed
+            FROM StudentExamResult r
+            WHERE r.exam.id = :examId
+            """)
+    List<StudentExamAggregate> findAggregatesByExamId(@Param("examId") Long examId);
+
+    /**
+     * Delete the materialized results of an exam (before the exam itself is deleted)
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM StudentExamResult r
+            WHERE r.exam.id = :examId
+            """)
+    int deleteByExamId(@Param("examId") Long examId);
+}
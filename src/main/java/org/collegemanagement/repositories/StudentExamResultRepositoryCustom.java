@@ -0,0 +1,26 @@
+package org.collegemanagement.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based maintenance of the materialized student exam results.
+ */
+public interface StudentExamResultRepositoryCustom {
+
+    /**
+     * Re-derive the result rows of the given students for one exam from their marks.
+     * Rows of students that no longer have marks in the exam are removed.
+     */
+    void refresh(Long examId, Collection<Long> studentIds);
+
+    /**
+     * Re-derive every result row of one exam from its marks
+     */
+    void rebuildByExamId(Long examId);
+
+    /**
+     * Find IDs of exams that have marks but no result rows yet
+     */
+    List<Long> findExamIdsWithoutResults();
+}
@@ -0,0 +1,80 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StudentExamResultRepositoryCustomImpl implements StudentExamResultRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_exam_results (uuid, created_at, updated_at, student_id, exam_id, class_id,
+                                              total_marks, obtained_marks, subject_count, passed_count)
+            SELECT UUID(), NOW(), NOW(), sm.student_id, ec.exam_id, MIN(ec.class_id),
+                   SUM(es.max_marks), SUM(sm.marks_obtained), COUNT(*),
+                   SUM(CASE WHEN sm.marks_obtained >= es.pass_marks THEN 1 ELSE 0 END)
+            FROM student_marks sm
+            JOIN exam_subjects es ON es.id = sm.exam_subject_id
+            JOIN exam_classes ec ON ec.id = es.exam_class_id
+            %s
+            GROUP BY sm.student_id, ec.exam_id
+            ON DUPLICATE KEY UPDATE
+                class_id = VALUES(class_id),
+                total_marks = VALUES(total_marks),
+                obtained_marks = VALUES(obtained_marks),
+                subject_count = VALUES(subject_count),
+                passed_count = VALUES(passed_count),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM student_exam_results
+            WHERE exam_id = :examId
+            AND student_id IN (:studentIds)
+            AND NOT EXISTS (
+                SELECT 1 FROM student_marks sm
+                JOIN exam_subjects es ON es.id = sm.exam_subject_id
+                JOIN exam_classes ec ON ec.id = es.exam_class_id
+                WHERE ec.exam_id = student_exam_results.exam_id
+                AND sm.student_id = student_exam_results.student_id
+            )
+            """;
+
+    private static final String EXAMS_WITHOUT_RESULTS_SQL = """
+            SELECT DISTINCT ec.exam_id
+            FROM exam_classes ec
+            JOIN exam_subjects es ON es.exam_class_id = ec.id
+            WHERE EXISTS (SELECT 1 FROM student_marks sm WHERE sm.exam_subject_id = es.id)
+            AND NOT EXISTS (SELECT 1 FROM student_exam_results r WHERE r.exam_id = ec.exam_id)
+            ORDER BY ec.exam_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void refresh(Long examId, Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("examId", examId)
+                .addValue("studentIds", studentIds);
+        jdbcTemplate.update(UPSERT_SQL.formatted("WHERE ec.exam_id = :examId AND sm.student_id IN (:studentIds)"), params);
+        jdbcTemplate.update(DELETE_STALE_SQL, params);
+    }
+
+    @Override
+    public void rebuildByExamId(Long examId) {
+        jdbcTemplate.update(UPSERT_SQL.formatted("WHERE ec.exam_id = :examId"),
+                new MapSqlParameterSource("examId", examId));
+    }
+
+    @Override
+    public List<Long> findExamIdsWithoutResults() {
+        return jdbcTemplate.getJdbcTemplate().queryForList(EXAMS_WITHOUT_RESULTS_SQL, Long.class);
+    }
+}
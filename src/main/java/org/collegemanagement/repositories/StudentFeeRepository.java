@@ -1,19 +1,25 @@
 package org.collegemanagement.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.collegemanagement.entity.fees.StudentFee;
 import org.collegemanagement.enums.FeeStatus;
+import org.collegemanagement.repositories.projection.ClassFeeTotalsRow;
+import org.collegemanagement.repositories.projection.FeeTotalsRow;
+import org.collegemanagement.repositories.projection.StudentFeeBalance;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.time.LocalDate;
 
-public interface StudentFeeRepository extends JpaRepository<StudentFee, Long> {
+public interface StudentFeeRepository extends JpaRepository<StudentFee, Long>, StudentFeeRepositoryCustom {
 
     /**
      * Find student fee by UUID and college ID (college isolation)
@@ -25,6 +31,48 @@ public interface StudentFeeRepository extends JpaRepository<StudentFee, Long> {
             """)
     Optional<StudentFee> findByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
 
+    /**
+     * Find student fee ID by UUID and college ID (college isolation)
+     */
+    @Query("""
+            SELECT sf.id FROM StudentFee sf
+            WHERE sf.uuid = :uuid
+            AND sf.student.college.id = :collegeId
+            """)
+    Optional<Long> findIdByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find the due amount and status of a student fee by UUID and college ID, without locking it
+     */
+    @Query("""
+            SELECT sf.id AS id, sf.dueAmount AS dueAmount, sf.status AS status
+            FROM StudentFee sf
+            WHERE sf.uuid = :uuid
+            AND sf.student.college.id = :collegeId
+            """)
+    Optional<StudentFeeBalance> findBalanceByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find the current due amount and status of a student fee by ID and lock its row until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT sf.id AS id, sf.dueAmount AS dueAmount, sf.status AS status
+            FROM StudentFee sf
+            WHERE sf.id = :id
+            """)
+    Optional<StudentFeeBalance> findBalanceByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find student fee by ID and lock its row until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT sf FROM StudentFee sf
+            WHERE sf.id = :id
+            """)
+    Optional<StudentFee> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Find student fee by student ID and fee structure ID
      */
@@ -116,6 +164,48 @@ public interface StudentFeeRepository extends JpaRepository<StudentFee, Long> {
             """)
     Page<StudentFee> findByClassUuidAndCollegeId(@Param("classUuid") String classUuid, @Param("collegeId") Long collegeId, Pageable pageable);
 
+    /**
+     * Summarize student fees per class of a college, or of one class when classId is given.
+     * Classes without assigned fees are included with zero totals.
+     */
+    @Query("""
+            SELECT c.uuid AS classUuid, c.name AS className, c.section AS section,
+                   COUNT(DISTINCT sf.student.id) AS studentCount,
+                   COALESCE(SUM(COALESCE(sf.netAmount, sf.totalAmount)), 0) AS totalAmount,
+                   COALESCE(SUM(sf.paidAmount), 0) AS paidAmount,
+                   COALESCE(SUM(sf.dueAmount), 0) AS dueAmount,
+                   SUM(CASE WHEN sf.status = 'PENDING' THEN 1 ELSE 0 END) AS pendingCount,
+                   SUM(CASE WHEN sf.status = 'PAID' THEN 1 ELSE 0 END) AS paidCount,
+                   SUM(CASE WHEN sf.status = 'PARTIALLY_PAID' THEN 1 ELSE 0 END) AS partiallyPaidCount,
+                   SUM(CASE WHEN sf.status = 'OVERDUE' THEN 1 ELSE 0 END) AS overdueCount
+            FROM ClassRoom c
+            LEFT JOIN FeeStructure fs ON fs.classRoom.id = c.id
+            LEFT JOIN StudentFee sf ON sf.feeStructure.id = fs.id
+            WHERE c.college.id = :collegeId
+            AND (:classId IS NULL OR c.id = :classId)
+            GROUP BY c.id, c.uuid, c.name, c.section
+            ORDER BY c.name ASC, c.section ASC
+            """)
+    List<ClassFeeTotalsRow> summarizeByClass(@Param("collegeId") Long collegeId, @Param("classId") Long classId);
+
+    /**
+     * Summarize the student fees of one student
+     */
+    @Query("""
+            SELECT COUNT(DISTINCT sf.student.id) AS studentCount,
+                   COALESCE(SUM(COALESCE(sf.netAmount, sf.totalAmount)), 0) AS totalAmount,
+                   COALESCE(SUM(sf.paidAmount), 0) AS paidAmount,
+                   COALESCE(SUM(sf.dueAmount), 0) AS dueAmount,
+                   COALESCE(SUM(CASE WHEN sf.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pendingCount,
+                   COALESCE(SUM(CASE WHEN sf.status = 'PAID' THEN 1 ELSE 0 END), 0) AS paidCount,
+                   COALESCE(SUM(CASE WHEN sf.status = 'PARTIALLY_PAID' THEN 1 ELSE 0 END), 0) AS partiallyPaidCount,
+                   COALESCE(SUM(CASE WHEN sf.status = 'OVERDUE' THEN 1 ELSE 0 END), 0) AS overdueCount
+            FROM StudentFee sf
+            WHERE sf.student.id = :studentId
+            AND sf.student.college.id = :collegeId
+            """)
+    FeeTotalsRow summarizeByStudentId(@Param("studentId") Long studentId, @Param("collegeId") Long collegeId);
+
     /**
      * Count student fees by status and college ID
      */
@@ -126,6 +216,29 @@ public interface StudentFeeRepository extends JpaRepository<StudentFee, Long> {
             """)
     long countByStatusAndCollegeId(@Param("status") FeeStatus status, @Param("collegeId") Long collegeId);
 
+    /**
+     * Count student fees assigned from a fee structure
+     */
+    @Query("""
+            SELECT COUNT(sf) FROM StudentFee sf
+            WHERE sf.feeStructure.id = :feeStructureId
+            """)
+    long countByFeeStructureId(@Param("feeStructureId") Long feeStructureId);
+
+    /**
+     * Find student fees by IDs with their students and fee structures' classes
+     */
+    @Query("""
+            SELECT sf FROM StudentFee sf
+            JOIN FETCH sf.student s
+            LEFT JOIN FETCH s.user
+            JOIN FETCH sf.feeStructure fs
+            JOIN FETCH fs.classRoom
+            WHERE sf.id IN :ids
+            ORDER BY s.rollNumber ASC
+            """)
+    List<StudentFee> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find all overdue fees by due date (used for reminders)
      */
@@ -138,17 +251,26 @@ public interface StudentFeeRepository extends JpaRepository<StudentFee, Long> {
     List<StudentFee> findOverdueByDueDate(@Param("today") LocalDate today);
 
     /**
-     * Find overdue fees needing reminders (throttled)
+     * Find the next page of a college's overdue fees needing reminders (throttled), in ID order after afterId
      */
     @Query("""
             SELECT sf FROM StudentFee sf
-            WHERE sf.status = 'OVERDUE'
+            JOIN FETCH sf.student s
+            JOIN FETCH s.user
+            JOIN FETCH s.college c
+            WHERE c.id = :collegeId
+            AND sf.id > :afterId
+            AND sf.status = 'OVERDUE'
             AND sf.dueAmount > 0
             AND sf.dueDate < :today
             AND (sf.lastOverdueNotifiedAt IS NULL OR sf.lastOverdueNotifiedAt < :cutoff)
+            ORDER BY sf.id ASC
             """)
-    List<StudentFee> findOverdueForReminder(@Param("today") LocalDate today,
-                                            @Param("cutoff") java.time.Instant cutoff);
+    List<StudentFee> findOverdueForReminder(@Param("collegeId") Long collegeId,
+                                            @Param("today") LocalDate today,
+                                            @Param("cutoff") java.time.Instant cutoff,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
 
     /**
      * Calculate total due amount by college ID
@@ -178,16 +300,67 @@ public interface StudentFeeRepository extends JpaRepository<StudentFee, Long> {
     BigDecimal calculateTotalAmountByCollegeId(@Param("collegeId") Long collegeId);
 
     /**
-     * Mark overdue fees by due date
+     * Find IDs of colleges with unpaid fees past their due date
+     */
+    @Query("""
+            SELECT DISTINCT sf.student.college.id FROM StudentFee sf
+            WHERE sf.dueDate < :today
+            AND sf.dueAmount > 0
+            """)
+    List<Long> findCollegeIdsWithUnpaidFeesDueBefore(@Param("today") LocalDate today);
+
+    /**
+     * Set the status of student fees whose rows the caller has locked
      */
     @org.springframework.data.jpa.repository.Modifying
     @Query("""
             UPDATE StudentFee sf
             SET sf.status = :status
-            WHERE sf.dueDate < :today
-            AND sf.dueAmount > 0
-            AND sf.status IN ('PENDING', 'PARTIALLY_PAID')
+            WHERE sf.id IN :ids
+            """)
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") FeeStatus status);
+
+    /**
+     * Record when overdue reminders were sent for student fees
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("""
+            UPDATE StudentFee sf
+            SET sf.lastOverdueNotifiedAt = :notifiedAt
+            WHERE sf.id IN :ids
+            """)
+    int markOverdueNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") java.time.Instant notifiedAt);
+
+    /**
+     * Post a payment against a student fee in one conditional statement.
+     * Matches no row when the amount exceeds what is still due, so concurrent postings cannot overpay or lose an update,
+     * or when the status is no longer the one the caller read, so the caller knows the status it replaced;
+     * callers re-read the balance and retry in that case.
+     * The status is assigned first because MySQL evaluates SET assignments left to right against the updated row.
+     */
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE StudentFee sf
+            SET sf.status = CASE
+                    WHEN sf.paidAmount + :amount >= COALESCE(sf.netAmount, sf.totalAmount) THEN :paidStatus
+                    WHEN sf.dueDate < :today THEN :overdueStatus
+                    ELSE :partialStatus
+                END,
+                sf.netAmount = COALESCE(sf.netAmount, sf.totalAmount),
+                sf.paidAmount = sf.paidAmount + :amount,
+                sf.dueAmount = sf.dueAmount - :amount,
+                sf.updatedAt = :now
+            WHERE sf.id = :id
+            AND sf.dueAmount >= :amount
+            AND sf.status = :expectedStatus
             """)
-    int markOverdueByDueDate(@Param("status") FeeStatus status, @Param("today") java.time.LocalDate today);
+    int postPayment(@Param("id") Long id,
+                    @Param("amount") BigDecimal amount,
+                    @Param("expectedStatus") FeeStatus expectedStatus,
+                    @Param("today") LocalDate today,
+                    @Param("now") java.time.LocalDateTime now,
+                    @Param("paidStatus") FeeStatus paidStatus,
+                    @Param("overdueStatus") FeeStatus overdueStatus,
+                    @Param("partialStatus") FeeStatus partialStatus);
 }
 
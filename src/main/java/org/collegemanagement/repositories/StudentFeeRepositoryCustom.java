@@ -0,0 +1,44 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.fees.StudentFee;
+import org.collegemanagement.repositories.projection.ClassFeeAgingRow;
+import org.collegemanagement.repositories.projection.StudentFeeAgingRow;
+import org.collegemanagement.repositories.projection.StudentFeeStatusRow;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bulk writes and reports for student fees that bypass the persistence context.
+ */
+public interface StudentFeeRepositoryCustom {
+
+    /**
+     * Insert new student fees as JDBC batches. Students that already have the fee structure are skipped.
+     * UUID and timestamps are assigned on the given instances before they are written, and the IDs of the
+     * inserted rows are set on them afterwards; skipped instances keep a null ID.
+     *
+     * @return number of student fees inserted
+     */
+    int batchInsert(List<StudentFee> studentFees);
+
+    /**
+     * Lock the next chunk of a college's unpaid fees past their due date that are not yet overdue,
+     * in ID order after {@code afterId}. Must run in the transaction that marks them overdue.
+     */
+    List<StudentFeeStatusRow> lockOverdueCandidates(Long collegeId, LocalDate today, long afterId, int limit);
+
+    /**
+     * Age the outstanding dues of a college per class. Installments are aged by their own due dates;
+     * fees without installments by the fee's due date.
+     */
+    List<ClassFeeAgingRow> summarizeAgingByClass(Long collegeId, LocalDate asOfDate);
+
+    /**
+     * Stream the aged dues of every student with dues, ordered by class and roll number, from a streamed result set.
+     *
+     * @param minDaysOverdue only students with a due at least this many days past, or everyone when null
+     */
+    void forEachStudentAging(Long collegeId, LocalDate asOfDate, Integer minDaysOverdue, Consumer<StudentFeeAgingRow> action);
+}
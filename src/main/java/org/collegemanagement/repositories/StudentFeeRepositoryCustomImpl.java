@@ -0,0 +1,241 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.fees.StudentFee;
+import org.collegemanagement.enums.FeeStatus;
+import org.collegemanagement.repositories.projection.ClassFeeAgingRow;
+import org.collegemanagement.repositories.projection.FeeAgingBuckets;
+import org.collegemanagement.repositories.projection.StudentFeeAgingRow;
+import org.collegemanagement.repositories.projection.StudentFeeStatusRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class StudentFeeRepositoryCustomImpl implements StudentFeeRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * An existing (student, fee structure) row is left untouched and keeps its own UUID
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO student_fees (uuid, created_at, updated_at, student_id, fee_structure_id, total_amount,
+                                      net_amount, discount_amount, waiver_amount, penalty_amount, paid_amount,
+                                      due_amount, due_date, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE id = id
+            """;
+
+    private static final String FIND_IDS_SQL = """
+            SELECT id, uuid FROM student_fees
+            WHERE uuid IN (:uuids)
+            """;
+
+    private static final String LOCK_OVERDUE_SQL = """
+            SELECT sf.id, sf.status
+            FROM student_fees sf
+            JOIN students s ON s.id = sf.student_id
+            WHERE s.college_id = :collegeId
+            AND sf.id > :afterId
+            AND sf.due_date < :today
+            AND sf.due_amount > 0
+            AND sf.status IN ('PENDING', 'PARTIALLY_PAID')
+            ORDER BY sf.id
+            LIMIT :limit
+            FOR UPDATE OF sf
+            """;
+
+    /**
+     * Outstanding dues of a college. Adjustments change only the fee's due amount, so it is spread over the
+     * fee's unpaid installments earliest first; any part no installment covers (a penalty, or a fee without
+     * installments) falls due on the fee's own due date.
+     */
+    private static final String DUE_ITEMS = """
+            SELECT i.student_id, i.class_id, i.due_amount, i.due_date
+            FROM (
+                SELECT sf.student_id, fs.class_id, fi.due_date,
+                       LEAST(fi.due_amount, GREATEST(sf.due_amount
+                           - SUM(fi.due_amount) OVER (PARTITION BY fi.student_fee_id ORDER BY fi.due_date, fi.id)
+                           + fi.due_amount, 0)) AS due_amount
+                FROM fee_installments fi
+                JOIN student_fees sf ON sf.id = fi.student_fee_id
+                JOIN fee_structures fs ON fs.id = sf.fee_structure_id
+                WHERE fs.college_id = :collegeId
+                AND fi.due_amount > 0
+                AND sf.due_amount > 0
+            ) i
+            WHERE i.due_amount > 0
+            UNION ALL
+            SELECT sf.student_id, fs.class_id,
+                   sf.due_amount - COALESCE((SELECT SUM(fi.due_amount) FROM fee_installments fi
+                                             WHERE fi.student_fee_id = sf.id AND fi.due_amount > 0), 0),
+                   sf.due_date
+            FROM student_fees sf
+            JOIN fee_structures fs ON fs.id = sf.fee_structure_id
+            WHERE fs.college_id = :collegeId
+            AND sf.due_amount > COALESCE((SELECT SUM(fi.due_amount) FROM fee_installments fi
+                                          WHERE fi.student_fee_id = sf.id AND fi.due_amount > 0), 0)
+            """;
+
+    private static final String AGING_BUCKETS = """
+            COALESCE(SUM(CASE WHEN d.due_date IS NULL OR d.due_date > :asOfDate THEN d.due_amount END), 0) AS not_due,
+            COALESCE(SUM(CASE WHEN DATEDIFF(:asOfDate, d.due_date) BETWEEN 0 AND 30 THEN d.due_amount END), 0) AS days_0_30,
+            COALESCE(SUM(CASE WHEN DATEDIFF(:asOfDate, d.due_date) BETWEEN 31 AND 60 THEN d.due_amount END), 0) AS days_31_60,
+            COALESCE(SUM(CASE WHEN DATEDIFF(:asOfDate, d.due_date) BETWEEN 61 AND 90 THEN d.due_amount END), 0) AS days_61_90,
+            COALESCE(SUM(CASE WHEN DATEDIFF(:asOfDate, d.due_date) > 90 THEN d.due_amount END), 0) AS days_over_90
+            """;
+
+    private static final String CLASS_AGING_SQL = """
+            SELECT c.uuid AS class_uuid, c.name AS class_name, c.section,
+                   COUNT(DISTINCT d.student_id) AS student_count,
+            """ + AGING_BUCKETS + """
+            FROM (
+            """ + DUE_ITEMS + """
+            ) d
+            JOIN classes c ON c.id = d.class_id
+            GROUP BY c.id, c.uuid, c.name, c.section
+            ORDER BY c.name, c.section
+            """;
+
+    private static final String STUDENT_AGING_SQL = """
+            SELECT s.uuid AS student_uuid, s.roll_number, u.name AS student_name, c.name AS class_name, c.section,
+                   GREATEST(COALESCE(MAX(DATEDIFF(:asOfDate, d.due_date)), 0), 0) AS max_days_overdue,
+            """ + AGING_BUCKETS + """
+            FROM (
+            """ + DUE_ITEMS + """
+            ) d
+            JOIN students s ON s.id = d.student_id
+            JOIN users u ON u.id = s.user_id
+            JOIN classes c ON c.id = d.class_id
+            GROUP BY d.student_id, d.class_id, s.uuid, s.roll_number, u.name, c.name, c.section
+            HAVING :minDaysOverdue IS NULL OR MAX(DATEDIFF(:asOfDate, d.due_date)) >= :minDaysOverdue
+            ORDER BY c.name, c.section, s.roll_number
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<StudentFee> studentFees) {
+        if (studentFees == null || studentFees.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StudentFee studentFee : studentFees) {
+            if (studentFee.getUuid() == null) {
+                studentFee.setUuid(UUID.randomUUID().toString());
+            }
+            studentFee.setCreatedAt(now);
+            studentFee.setUpdatedAt(now);
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, studentFees, BATCH_SIZE, (ps, studentFee) -> {
+            ps.setString(1, studentFee.getUuid());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, studentFee.getStudent().getId());
+            ps.setLong(5, studentFee.getFeeStructure().getId());
+            ps.setBigDecimal(6, studentFee.getTotalAmount());
+            ps.setBigDecimal(7, studentFee.getNetAmount());
+            ps.setBigDecimal(8, studentFee.getDiscountAmount());
+            ps.setBigDecimal(9, studentFee.getWaiverAmount());
+            ps.setBigDecimal(10, studentFee.getPenaltyAmount());
+            ps.setBigDecimal(11, studentFee.getPaidAmount());
+            ps.setBigDecimal(12, studentFee.getDueAmount());
+            if (studentFee.getDueDate() != null) {
+                ps.setDate(13, Date.valueOf(studentFee.getDueDate()));
+            } else {
+                ps.setNull(13, Types.DATE);
+            }
+            ps.setString(14, studentFee.getStatus().name());
+        });
+
+        // Batched inserts do not report generated keys reliably; skipped rows simply have no match
+        Map<String, Long> idsByUuid = new HashMap<>(studentFees.size() * 2);
+        for (int from = 0; from < studentFees.size(); from += BATCH_SIZE) {
+            List<String> uuids = studentFees.subList(from, Math.min(from + BATCH_SIZE, studentFees.size())).stream()
+                    .map(StudentFee::getUuid)
+                    .toList();
+            jdbcTemplate.query(FIND_IDS_SQL, new MapSqlParameterSource("uuids", uuids), rs -> {
+                idsByUuid.put(rs.getString("uuid"), rs.getLong("id"));
+            });
+        }
+
+        for (StudentFee studentFee : studentFees) {
+            studentFee.setId(idsByUuid.get(studentFee.getUuid()));
+        }
+        return idsByUuid.size();
+    }
+
+    @Override
+    public List<StudentFeeStatusRow> lockOverdueCandidates(Long collegeId, LocalDate today, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("collegeId", collegeId)
+                .addValue("today", Date.valueOf(today))
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(LOCK_OVERDUE_SQL, params, (rs, rowNum) -> new StudentFeeStatusRow(
+                rs.getLong("id"),
+                FeeStatus.valueOf(rs.getString("status"))));
+    }
+
+    @Override
+    public List<ClassFeeAgingRow> summarizeAgingByClass(Long collegeId, LocalDate asOfDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("collegeId", collegeId)
+                .addValue("asOfDate", Date.valueOf(asOfDate));
+        return jdbcTemplate.query(CLASS_AGING_SQL, params, (rs, rowNum) -> new ClassFeeAgingRow(
+                rs.getString("class_uuid"),
+                rs.getString("class_name"),
+                rs.getString("section"),
+                rs.getLong("student_count"),
+                buckets(rs)));
+    }
+
+    @Override
+    public void forEachStudentAging(Long collegeId, LocalDate asOfDate, Integer minDaysOverdue,
+                                    Consumer<StudentFeeAgingRow> action) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("collegeId", collegeId)
+                .addValue("asOfDate", Date.valueOf(asOfDate))
+                .addValue("minDaysOverdue", minDaysOverdue, Types.INTEGER);
+
+        // A template of its own so only this statement streams its rows
+        JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streamingTemplate.setFetchSize(Integer.parseInt(StreamingQuery.FETCH_SIZE));
+        new NamedParameterJdbcTemplate(streamingTemplate).query(STUDENT_AGING_SQL, params, rs -> {
+            action.accept(new StudentFeeAgingRow(
+                    rs.getString("student_uuid"),
+                    rs.getString("roll_number"),
+                    rs.getString("student_name"),
+                    rs.getString("class_name"),
+                    rs.getString("section"),
+                    rs.getInt("max_days_overdue"),
+                    buckets(rs)));
+        });
+    }
+
+    private static FeeAgingBuckets buckets(ResultSet rs) throws SQLException {
+        return new FeeAgingBuckets(
+                rs.getBigDecimal("not_due"),
+                rs.getBigDecimal("days_0_30"),
+                rs.getBigDecimal("days_31_60"),
+                rs.getBigDecimal("days_61_90"),
+                rs.getBigDecimal("days_over_90"));
+    }
+}
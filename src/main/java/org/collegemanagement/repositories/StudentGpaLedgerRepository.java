@@ -0,0 +1,33 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.StudentGpaLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentGpaLedgerRepository extends JpaRepository<StudentGpaLedger, Long>, StudentGpaLedgerRepositoryCustom {
+
+    /**
+     * Find the GPA ledger row of a student for an academic year
+     */
+    @Query("""
+            SELECT l FROM StudentGpaLedger l
+            WHERE l.student.id = :studentId
+            AND l.academicYear.id = :academicYearId
+            """)
+    Optional<StudentGpaLedger> findByStudentIdAndAcademicYearId(@Param("studentId") Long studentId, @Param("academicYearId") Long academicYearId);
+
+    /**
+     * Find the GPA ledger rows of a set of students for an academic year
+     */
+    @Query("""
+            SELECT l FROM StudentGpaLedger l
+            WHERE l.student.id IN :studentIds
+            AND l.academicYear.id = :academicYearId
+            """)
+    List<StudentGpaLedger> findByStudentIdInAndAcademicYearId(@Param("studentIds") Collection<Long> studentIds, @Param("academicYearId") Long academicYearId);
+}
@@ -0,0 +1,31 @@
+package org.collegemanagement.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based maintenance of the materialized per-academic-year GPA ledger.
+ */
+public interface StudentGpaLedgerRepositoryCustom {
+
+    /**
+     * Re-derive the ledger rows of the given students for one academic year from their marks.
+     * Rows of students that no longer have marks in the year are removed.
+     */
+    void refresh(Long academicYearId, Collection<Long> studentIds);
+
+    /**
+     * Re-derive every ledger row of a college, e.g. after grade points were changed
+     */
+    void refreshByCollegeId(Long collegeId);
+
+    /**
+     * Re-derive every ledger row of one academic year from its marks
+     */
+    void rebuildByAcademicYearId(Long academicYearId);
+
+    /**
+     * Find IDs of academic years that have marks but no ledger rows yet
+     */
+    List<Long> findAcademicYearIdsWithoutLedger();
+}
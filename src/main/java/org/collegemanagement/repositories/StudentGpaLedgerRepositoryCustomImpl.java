@@ -0,0 +1,96 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StudentGpaLedgerRepositoryCustomImpl implements StudentGpaLedgerRepositoryCustom {
+
+    // Only graded subjects carry credits; every mark counts towards pass/fail
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_gpa_ledgers (uuid, created_at, updated_at, student_id, academic_year_id,
+                                             total_credits, weighted_grade_points, marks_count, passed_count)
+            SELECT UUID(), NOW(), NOW(), sm.student_id, e.academic_year_id,
+                   COALESCE(SUM(CASE WHEN gs.grade_points IS NOT NULL THEN s.credit ELSE 0 END), 0),
+                   COALESCE(SUM(gs.grade_points * s.credit), 0),
+                   COUNT(*),
+                   SUM(CASE WHEN sm.marks_obtained >= es.pass_marks THEN 1 ELSE 0 END)
+            FROM student_marks sm
+            JOIN exam_subjects es ON es.id = sm.exam_subject_id
+            JOIN subjects s ON s.id = es.subject_id
+            JOIN exam_classes ec ON ec.id = es.exam_class_id
+            JOIN exams e ON e.id = ec.exam_id
+            LEFT JOIN grade_scales gs ON gs.id = sm.grade_scale_id
+            %s
+            GROUP BY sm.student_id, e.academic_year_id
+            ON DUPLICATE KEY UPDATE
+                total_credits = VALUES(total_credits),
+                weighted_grade_points = VALUES(weighted_grade_points),
+                marks_count = VALUES(marks_count),
+                passed_count = VALUES(passed_count),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM student_gpa_ledgers
+            WHERE academic_year_id = :academicYearId
+            AND student_id IN (:studentIds)
+            AND NOT EXISTS (
+                SELECT 1 FROM student_marks sm
+                JOIN exam_subjects es ON es.id = sm.exam_subject_id
+                JOIN exam_classes ec ON ec.id = es.exam_class_id
+                JOIN exams e ON e.id = ec.exam_id
+                WHERE e.academic_year_id = student_gpa_ledgers.academic_year_id
+                AND sm.student_id = student_gpa_ledgers.student_id
+            )
+            """;
+
+    private static final String YEARS_WITHOUT_LEDGER_SQL = """
+            SELECT DISTINCT e.academic_year_id
+            FROM exams e
+            WHERE EXISTS (
+                SELECT 1 FROM exam_classes ec
+                JOIN exam_subjects es ON es.exam_class_id = ec.id
+                JOIN student_marks sm ON sm.exam_subject_id = es.id
+                WHERE ec.exam_id = e.id
+            )
+            AND NOT EXISTS (SELECT 1 FROM student_gpa_ledgers l WHERE l.academic_year_id = e.academic_year_id)
+            ORDER BY e.academic_year_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void refresh(Long academicYearId, Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("academicYearId", academicYearId)
+                .addValue("studentIds", studentIds);
+        jdbcTemplate.update(UPSERT_SQL.formatted("WHERE e.academic_year_id = :academicYearId AND sm.student_id IN (:studentIds)"), params);
+        jdbcTemplate.update(DELETE_STALE_SQL, params);
+    }
+
+    @Override
+    public void refreshByCollegeId(Long collegeId) {
+        jdbcTemplate.update(UPSERT_SQL.formatted("WHERE e.college_id = :collegeId"),
+                new MapSqlParameterSource("collegeId", collegeId));
+    }
+
+    @Override
+    public void rebuildByAcademicYearId(Long academicYearId) {
+        jdbcTemplate.update(UPSERT_SQL.formatted("WHERE e.academic_year_id = :academicYearId"),
+                new MapSqlParameterSource("academicYearId", academicYearId));
+    }
+
+    @Override
+    public List<Long> findAcademicYearIdsWithoutLedger() {
+        return jdbcTemplate.getJdbcTemplate().queryForList(YEARS_WITHOUT_LEDGER_SQL, Long.class);
+    }
+}
@@ -1,14 +1,21 @@
 package org.collegemanagement.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.collegemanagement.entity.exam.StudentMarks;
+import org.collegemanagement.repositories.projection.ReportCardMarkRow;
+import org.collegemanagement.repositories.projection.SubjectMarkRow;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface StudentMarksRepository extends JpaRepository<StudentMarks, Long> {
+public interface StudentMarksRepository extends JpaRepository<StudentMarks, Long>, StudentMarksRepositoryCustom {
 
     /**
      * Find student marks by UUID
@@ -114,5 +121,120 @@ public interface StudentMarksRepository extends JpaRepository<StudentMarks, Long
             ORDER BY sm.student.rollNumber ASC
             """)
     List<StudentMarks> findByClassUuidAndExamUuidAndCollegeId(@Param("classUuid") String classUuid, @Param("examUuid") String examUuid, @Param("collegeId") Long collegeId);
-}
 
+    /**
+     * Find student marks by exam subject for a set of students
+     */
+    @Query("""
+            SELECT sm FROM StudentMarks sm
+            WHERE sm.examSubject.id = :examSubjectId
+            AND sm.student.id IN :studentIds
+            """)
+    List<StudentMarks> findByExamSubjectIdAndStudentIdIn(@Param("examSubjectId") Long examSubjectId, @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Count marks entries recorded for an exam
+     */
+    @Query("""
+            SELECT COUNT(sm) FROM StudentMarks sm
+            WHERE sm.examSubject.examClass.exam.id = :examId
+            AND sm.marksObtained IS NOT NULL
+            """)
+    long countMarkedByExamId(@Param("examId") Long examId);
+
+    /**
+     * Find all marks of a set of students in a college, grouped by student, most recent exam first
+     */
+    @Query("""
+            SELECT sm FROM StudentMarks sm
+            JOIN FETCH sm.student s
+            LEFT JOIN FETCH s.user
+            JOIN FETCH sm.examSubject es
+            JOIN FETCH es.subject
+            LEFT JOIN FETCH sm.gradeScale
+            JOIN es.examClass ec
+            JOIN ec.exam e
+            WHERE s.id IN :studentIds
+            AND e.college.id = :collegeId
+            ORDER BY s.id, e.startDate DESC, es.examDate ASC
+            """)
+    List<StudentMarks> findByStudentIdInAndCollegeId(@Param("studentIds") Collection<Long> studentIds, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find all marks of a set of students across every exam of an academic year
+     */
+    @Query("""
+            SELECT sm FROM StudentMarks sm
+            JOIN FETCH sm.examSubject es
+            JOIN FETCH es.subject
+            LEFT JOIN FETCH sm.gradeScale
+            JOIN es.examClass ec
+            JOIN ec.exam e
+            WHERE sm.student.id IN :studentIds
+            AND e.academicYear.id = :academicYearId
+            AND e.college.id = :collegeId
+            """)
+    List<StudentMarks> findByStudentIdInAndAcademicYearId(@Param("studentIds") Collection<Long> studentIds,
+                                                          @Param("academicYearId") Long academicYearId,
+                                                          @Param("collegeId") Long collegeId);
+
+    /**
+     * Find IDs of students with marks in an exam
+     */
+    @Query("""
+            SELECT DISTINCT sm.student.id FROM StudentMarks sm
+            WHERE sm.examSubject.examClass.exam.id = :examId
+            """)
+    List<Long> findStudentIdsByExamId(@Param("examId") Long examId);
+
+    /**
+     * Find IDs of students with marks in an exam class
+     */
+    @Query("""
+            SELECT DISTINCT sm.student.id FROM StudentMarks sm
+            WHERE sm.examSubject.examClass.id = :examClassId
+            """)
+    List<Long> findStudentIdsByExamClassId(@Param("examClassId") Long examClassId);
+
+    /**
+     * Find IDs of students with marks in an exam subject
+     */
+    @Query("""
+            SELECT sm.student.id FROM StudentMarks sm
+            WHERE sm.examSubject.id = :examSubjectId
+            """)
+    List<Long> findStudentIdsByExamSubjectId(@Param("examSubjectId") Long examSubjectId);
+
+    /**
+     * Stream the marks of every subject in an exam as lightweight rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQuery.FETCH_SIZE))
+    @Query("""
+            SELECT sm.examSubject.id AS examSubjectId,
+                   sm.marksObtained AS marksObtained
+            FROM StudentMarks sm
+            WHERE sm.examSubject.examClass.exam.id = :examId
+            """)
+    Stream<SubjectMarkRow> streamMarkRowsByExamId(@Param("examId") Long examId);
+
+    /**
+     * Stream the report card lines of every student in an exam class, grouped by student
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQuery.FETCH_SIZE))
+    @Query("""
+            SELECT sm.student.id AS studentId,
+                   s.name AS subjectName,
+                   s.code AS subjectCode,
+                   es.maxMarks AS maxMarks,
+                   es.passMarks AS passMarks,
+                   sm.marksObtained AS marksObtained,
+                   g.grade AS grade
+            FROM StudentMarks sm
+            JOIN sm.examSubject es
+            JOIN es.subject s
+            LEFT JOIN sm.gradeScale g
+            WHERE es.examClass.id = :examClassId
+            ORDER BY sm.student.id, es.examDate, s.name
+            """)
+    Stream<ReportCardMarkRow> streamReportCardRowsByExamClassId(@Param("examClassId") Long examClassId);
+}
@@ -0,0 +1,23 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.StudentMarks;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for student marks that bypass the persistence context.
+ */
+public interface StudentMarksRepositoryCustom {
+
+    /**
+     * Insert new student marks as JDBC batches.
+     * UUID and timestamps are assigned on the given instances before they are written.
+     */
+    void batchInsert(List<StudentMarks> marks);
+
+    /**
+     * Insert or overwrite student marks (keyed by exam subject and student) as JDBC batches.
+     * Existing rows keep their UUID and creation time.
+     */
+    void batchUpsert(List<StudentMarks> marks);
+}
@@ -0,0 +1,73 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.exam.StudentMarks;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class StudentMarksRepositoryCustomImpl implements StudentMarksRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO student_marks (uuid, created_at, updated_at, exam_subject_id, student_id, marks_obtained, grade_scale_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_marks (uuid, created_at, updated_at, exam_subject_id, student_id, marks_obtained, grade_scale_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                marks_obtained = VALUES(marks_obtained),
+                grade_scale_id = VALUES(grade_scale_id),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<StudentMarks> marks) {
+        write(INSERT_SQL, marks);
+    }
+
+    @Override
+    public void batchUpsert(List<StudentMarks> marks) {
+        write(UPSERT_SQL, marks);
+    }
+
+    private void write(String sql, List<StudentMarks> marks) {
+        if (marks == null || marks.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StudentMarks studentMarks : marks) {
+            if (studentMarks.getUuid() == null) {
+                studentMarks.setUuid(UUID.randomUUID().toString());
+            }
+            studentMarks.setCreatedAt(now);
+            studentMarks.setUpdatedAt(now);
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(sql, marks, BATCH_SIZE, (ps, studentMarks) -> {
+            ps.setString(1, studentMarks.getUuid());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, studentMarks.getExamSubject().getId());
+            ps.setLong(5, studentMarks.getStudent().getId());
+            ps.setInt(6, studentMarks.getMarksObtained());
+            if (studentMarks.getGradeScale() != null) {
+                ps.setLong(7, studentMarks.getGradeScale().getId());
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+        });
+    }
+}
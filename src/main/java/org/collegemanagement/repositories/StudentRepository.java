@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -128,5 +130,26 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
             WHERE s.college.id = :collegeId
             """)
     long countByCollegeId(@Param("collegeId") Long collegeId);
-}
 
+    /**
+     * Find students by UUIDs and college ID (college isolation), fetching their user accounts
+     */
+    @Query("""
+            SELECT s FROM Student s
+            JOIN FETCH s.user
+            WHERE s.uuid IN :uuids
+            AND s.college.id = :collegeId
+            """)
+    List<Student> findByUuidInAndCollegeId(@Param("uuids") Collection<String> uuids, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find students by IDs and college ID (college isolation), fetching their user accounts
+     */
+    @Query("""
+            SELECT s FROM Student s
+            JOIN FETCH s.user
+            WHERE s.id IN :ids
+            AND s.college.id = :collegeId
+            """)
+    List<Student> findByIdInAndCollegeId(@Param("ids") Collection<Long> ids, @Param("collegeId") Long collegeId);
+}
@@ -1,17 +1,25 @@
 package org.collegemanagement.repositories;
 
 import org.collegemanagement.entity.exam.StudentTranscript;
+import org.collegemanagement.entity.user.User;
 import org.collegemanagement.enums.ResultStatus;
+import org.collegemanagement.repositories.projection.TranscriptRecipientRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface StudentTranscriptRepository extends JpaRepository<StudentTranscript, Long> {
+public interface StudentTranscriptRepository extends JpaRepository<StudentTranscript, Long>, StudentTranscriptRepositoryCustom {
 
     /**
      * Find student transcript by UUID and college ID (college isolation)
@@ -109,5 +117,78 @@ public interface StudentTranscriptRepository extends JpaRepository<StudentTransc
             AND st.published = true
             """)
     long countPublishedByAcademicYearUuidAndCollegeId(@Param("academicYearUuid") String academicYearUuid, @Param("collegeId") Long collegeId);
-}
 
+    /**
+     * Find unpublished transcripts of students enrolled in the given classes of an academic year,
+     * joined with the user IDs of each student and their parents
+     */
+    @Query("""
+            SELECT st.id AS transcriptId,
+                   st.uuid AS transcriptUuid,
+                   s.id AS studentId,
+                   s.rollNumber AS rollNumber,
+                   su.name AS studentName,
+                   su.id AS studentUserId,
+                   pu.id AS parentUserId,
+                   st.cgpa AS cgpa
+            FROM StudentTranscript st
+            JOIN st.student s
+            JOIN StudentEnrollment e ON e.student.id = s.id AND e.academicYear.id = st.academicYear.id
+            LEFT JOIN s.user su
+            LEFT JOIN ParentStudent ps ON ps.student.id = s.id
+            LEFT JOIN ps.parent p
+            LEFT JOIN p.user pu
+            WHERE st.academicYear.id = :academicYearId
+            AND s.college.id = :collegeId
+            AND e.classRoom.id IN :classIds
+            AND e.status <> 'DROPPED'
+            AND st.published = false
+            ORDER BY st.id
+            """)
+    List<TranscriptRecipientRow> findUnpublishedRecipientsByAcademicYearIdAndClassIds(@Param("academicYearId") Long academicYearId,
+                                                                                       @Param("classIds") Collection<Long> classIds,
+                                                                                       @Param("collegeId") Long collegeId);
+
+    /**
+     * Find which of the given transcripts are still unpublished and lock their rows until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT st.id FROM StudentTranscript st
+            WHERE st.id IN :ids
+            AND st.published = false
+            """)
+    List<Long> lockUnpublishedIdsIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Publish unpublished transcripts by ID
+     */
+    @Modifying
+    @Query("""
+            UPDATE StudentTranscript st
+            SET st.published = true,
+                st.publishedAt = :publishedAt,
+                st.approvedBy = :approvedBy,
+                st.updatedAt = :updatedAt
+            WHERE st.id IN :ids
+            AND st.published = false
+            """)
+    int publishByIdIn(@Param("ids") Collection<Long> ids,
+                      @Param("publishedAt") Instant publishedAt,
+                      @Param("approvedBy") User approvedBy,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find published transcripts by ID with everything their response needs
+     */
+    @Query("""
+            SELECT st FROM StudentTranscript st
+            JOIN FETCH st.student s
+            LEFT JOIN FETCH s.user
+            JOIN FETCH st.academicYear
+            LEFT JOIN FETCH st.approvedBy
+            WHERE st.id IN :ids
+            AND st.published = true
+            """)
+    List<StudentTranscript> findPublishedWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,18 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.StudentTranscript;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for student transcripts that bypass the persistence context.
+ */
+public interface StudentTranscriptRepositoryCustom {
+
+    /**
+     * Insert or refresh transcripts as JDBC batches, keyed by (student, academic year).
+     * Existing transcripts keep their UUID, publication state and remarks; only CGPA,
+     * credits and result status are overwritten.
+     */
+    void batchUpsert(List<StudentTranscript> transcripts);
+}
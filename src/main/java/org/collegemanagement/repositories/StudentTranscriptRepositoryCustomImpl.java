@@ -0,0 +1,48 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.exam.StudentTranscript;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class StudentTranscriptRepositoryCustomImpl implements StudentTranscriptRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_transcripts (uuid, created_at, updated_at, student_id, academic_year_id,
+                                             cgpa, total_credits, result_status, published)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)
+            ON DUPLICATE KEY UPDATE
+                cgpa = VALUES(cgpa),
+                total_credits = VALUES(total_credits),
+                result_status = VALUES(result_status),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchUpsert(List<StudentTranscript> transcripts) {
+        if (transcripts == null || transcripts.isEmpty()) {
+            return;
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, transcripts, BATCH_SIZE, (ps, transcript) -> {
+            ps.setString(1, transcript.getUuid() != null ? transcript.getUuid() : UUID.randomUUID().toString());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, transcript.getStudent().getId());
+            ps.setLong(5, transcript.getAcademicYear().getId());
+            ps.setBigDecimal(6, transcript.getCgpa());
+            ps.setInt(7, transcript.getTotalCredits());
+            ps.setString(8, transcript.getResultStatus().name());
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.TranscriptGenerationJob;
+import org.collegemanagement.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TranscriptGenerationJobRepository extends JpaRepository<TranscriptGenerationJob, Long> {
+
+    /**
+     * Find transcript generation job by UUID and college ID (college isolation)
+     */
+    @Query("""
+            SELECT j FROM TranscriptGenerationJob j
+            JOIN FETCH j.academicYear
+            LEFT JOIN FETCH j.classRoom
+            WHERE j.uuid = :uuid
+            AND j.college.id = :collegeId
+            """)
+    Optional<TranscriptGenerationJob> findByUuidAndCollegeId(@Param("uuid") String uuid, @Param("collegeId") Long collegeId);
+
+    /**
+     * Find jobs in the given statuses (used to resume interrupted jobs on startup)
+     */
+    @Query("""
+            SELECT j FROM TranscriptGenerationJob j
+            WHERE j.status IN :statuses
+            ORDER BY j.id ASC
+            """)
+    List<TranscriptGenerationJob> findByStatusIn(@Param("statuses") Collection<JobStatus> statuses);
+
+    /**
+     * Check if a job for the same academic year and class is already pending or running
+     */
+    @Query("""
+            SELECT COUNT(j) > 0 FROM TranscriptGenerationJob j
+            LEFT JOIN j.classRoom c
+            WHERE j.college.id = :collegeId
+            AND j.academicYear.id = :academicYearId
+            AND ((:classId IS NULL AND c.id IS NULL) OR c.id = :classId)
+            AND j.status IN :statuses
+            """)
+    boolean existsActiveJob(@Param("collegeId") Long collegeId,
+                            @Param("academicYearId") Long academicYearId,
+                            @Param("classId") Long classId,
+                            @Param("statuses") Collection<JobStatus> statuses);
+}
@@ -0,0 +1,57 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.TranscriptSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TranscriptSnapshotRepository extends JpaRepository<TranscriptSnapshot, Long>, TranscriptSnapshotRepositoryCustom {
+
+    /**
+     * Find the snapshot of a transcript
+     */
+    @Query("""
+            SELECT s FROM TranscriptSnapshot s
+            WHERE s.transcript.id = :transcriptId
+            """)
+    Optional<TranscriptSnapshot> findByTranscriptId(@Param("transcriptId") Long transcriptId);
+
+    /**
+     * Find the snapshots of several transcripts
+     */
+    @Query("""
+            SELECT s FROM TranscriptSnapshot s
+            WHERE s.transcript.id IN :transcriptIds
+            """)
+    List<TranscriptSnapshot> findByTranscriptIdIn(@Param("transcriptIds") Collection<Long> transcriptIds);
+
+    /**
+     * Delete the snapshot of a transcript
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM TranscriptSnapshot s
+            WHERE s.transcript.id = :transcriptId
+            """)
+    int deleteByTranscriptId(@Param("transcriptId") Long transcriptId);
+
+    /**
+     * Delete the snapshots of the given students' transcripts for an academic year
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM TranscriptSnapshot s
+            WHERE s.transcript.id IN (
+                SELECT t.id FROM StudentTranscript t
+                WHERE t.academicYear.id = :academicYearId
+                AND t.student.id IN :studentIds
+            )
+            """)
+    int deleteByAcademicYearIdAndStudentIdIn(@Param("academicYearId") Long academicYearId,
+                                             @Param("studentIds") Collection<Long> studentIds);
+}
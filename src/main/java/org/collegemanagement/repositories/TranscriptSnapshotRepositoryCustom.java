@@ -0,0 +1,17 @@
+package org.collegemanagement.repositories;
+
+import org.collegemanagement.entity.exam.TranscriptSnapshot;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for transcript snapshots that bypass the persistence context.
+ */
+public interface TranscriptSnapshotRepositoryCustom {
+
+    /**
+     * Insert or replace snapshots as JDBC batches, keyed by transcript.
+     * Existing snapshots keep their UUID; only the data is overwritten.
+     */
+    void batchUpsert(List<TranscriptSnapshot> snapshots);
+}
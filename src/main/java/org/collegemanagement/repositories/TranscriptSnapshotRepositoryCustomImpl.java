@@ -0,0 +1,42 @@
+package org.collegemanagement.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.exam.TranscriptSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class TranscriptSnapshotRepositoryCustomImpl implements TranscriptSnapshotRepositoryCustom {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO transcript_snapshots (uuid, created_at, updated_at, transcript_id, data)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                data = VALUES(data),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchUpsert(List<TranscriptSnapshot> snapshots) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            return;
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, snapshots, BATCH_SIZE, (ps, snapshot) -> {
+            ps.setString(1, snapshot.getUuid() != null ? snapshot.getUuid() : UUID.randomUUID().toString());
+            ps.setTimestamp(2, timestamp);
+            ps.setTimestamp(3, timestamp);
+            ps.setLong(4, snapshot.getTranscript().getId());
+            ps.setBytes(5, snapshot.getData());
+        });
+    }
+}
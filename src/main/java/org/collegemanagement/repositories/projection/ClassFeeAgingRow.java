@@ -0,0 +1,8 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * Aged due amounts of the students with dues in one class
+ */
+public record ClassFeeAgingRow(String classUuid, String className, String section, long studentCount,
+                               FeeAgingBuckets buckets) {
+}
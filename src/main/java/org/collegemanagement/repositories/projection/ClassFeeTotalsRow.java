@@ -0,0 +1,13 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * Fee totals of the student fees assigned through one class's fee structures
+ */
+public interface ClassFeeTotalsRow extends FeeTotalsRow {
+
+    String getClassUuid();
+
+    String getClassName();
+
+    String getSection();
+}
@@ -0,0 +1,11 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * (class, student) pair of an active enrollment
+ */
+public interface ClassStudentRef {
+
+    Long getClassId();
+
+    Long getStudentId();
+}
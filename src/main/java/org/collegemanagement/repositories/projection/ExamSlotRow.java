@@ -0,0 +1,31 @@
+package org.collegemanagement.repositories.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Timetable slot of one exam subject: class, assigned teacher and exam date
+ */
+public interface ExamSlotRow {
+
+    Long getExamSubjectId();
+
+    String getExamSubjectUuid();
+
+    Long getExamClassId();
+
+    String getClassName();
+
+    String getSection();
+
+    String getSubjectName();
+
+    String getSubjectCode();
+
+    Long getTeacherId();
+
+    String getTeacherUuid();
+
+    String getTeacherName();
+
+    LocalDate getExamDate();
+}
@@ -0,0 +1,26 @@
+package org.collegemanagement.repositories.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Due amounts by days past their due date; amounts due in the future or without a due date are not yet due
+ */
+public record FeeAgingBuckets(BigDecimal notDue, BigDecimal days0To30, BigDecimal days31To60,
+                              BigDecimal days61To90, BigDecimal daysOver90) {
+
+    public static final FeeAgingBuckets EMPTY =
+            new FeeAgingBuckets(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public BigDecimal total() {
+        return notDue.add(days0To30).add(days31To60).add(days61To90).add(daysOver90);
+    }
+
+    public FeeAgingBuckets plus(FeeAgingBuckets other) {
+        return new FeeAgingBuckets(
+                notDue.add(other.notDue),
+                days0To30.add(other.days0To30),
+                days31To60.add(other.days31To60),
+                days61To90.add(other.days61To90),
+                daysOver90.add(other.daysOver90));
+    }
+}
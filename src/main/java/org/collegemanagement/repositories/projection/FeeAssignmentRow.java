@@ -0,0 +1,11 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * A student who is due a fee structure but has not been assigned it
+ */
+public interface FeeAssignmentRow {
+
+    Long getFeeStructureId();
+
+    Long getStudentId();
+}
@@ -0,0 +1,36 @@
+package org.collegemanagement.repositories.projection;
+
+import org.collegemanagement.enums.PaymentMode;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One fee payment with its receipt, student and class, as exported to the fee ledger
+ */
+public interface FeeLedgerRow {
+
+    String getPaymentUuid();
+
+    Instant getPaymentDate();
+
+    String getReceiptNumber();
+
+    BigDecimal getAmount();
+
+    PaymentMode getPaymentMode();
+
+    String getTransactionId();
+
+    String getStudentFeeUuid();
+
+    String getStudentUuid();
+
+    String getRollNumber();
+
+    String getStudentName();
+
+    String getClassName();
+
+    String getSection();
+}
@@ -0,0 +1,25 @@
+package org.collegemanagement.repositories.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Fee totals of a college summed over its rollup slots; every value is null when the college has no rollup yet
+ */
+public interface FeeRollupTotals {
+
+    Long getFeeCount();
+
+    BigDecimal getTotalAmount();
+
+    BigDecimal getPaidAmount();
+
+    BigDecimal getDueAmount();
+
+    Long getPendingCount();
+
+    Long getPaidCount();
+
+    Long getPartiallyPaidCount();
+
+    Long getOverdueCount();
+}
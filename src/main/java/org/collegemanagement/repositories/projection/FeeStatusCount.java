@@ -0,0 +1,9 @@
+package org.collegemanagement.repositories.projection;
+
+import org.collegemanagement.enums.FeeStatus;
+
+/**
+ * Number of student fees of a college in one status
+ */
+public record FeeStatusCount(Long collegeId, FeeStatus status, long count) {
+}
@@ -0,0 +1,25 @@
+package org.collegemanagement.repositories.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated amounts and per-status counts of a set of student fees
+ */
+public interface FeeTotalsRow {
+
+    Long getStudentCount();
+
+    BigDecimal getTotalAmount();
+
+    BigDecimal getPaidAmount();
+
+    BigDecimal getDueAmount();
+
+    Long getPendingCount();
+
+    Long getPaidCount();
+
+    Long getPartiallyPaidCount();
+
+    Long getOverdueCount();
+}
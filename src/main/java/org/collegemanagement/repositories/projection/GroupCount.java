@@ -0,0 +1,11 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * Row count for a grouping key
+ */
+public interface GroupCount {
+
+    Long getGroupId();
+
+    Long getTotal();
+}
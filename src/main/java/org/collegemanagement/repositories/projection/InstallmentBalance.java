@@ -0,0 +1,20 @@
+package org.collegemanagement.repositories.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Outstanding balance of one fee installment, without loading the FeeInstallment entity
+ */
+public interface InstallmentBalance {
+
+    Long getId();
+
+    BigDecimal getAmount();
+
+    BigDecimal getPaidAmount();
+
+    BigDecimal getDueAmount();
+
+    LocalDate getDueDate();
+}
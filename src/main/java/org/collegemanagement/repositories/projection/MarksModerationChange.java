@@ -0,0 +1,18 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * One mark a moderation rule would change
+ */
+public record MarksModerationChange(
+        String studentMarksUuid,
+        String subjectName,
+        String className,
+        String section,
+        String rollNumber,
+        String studentName,
+        int previousMarks,
+        int newMarks,
+        int maxMarks,
+        int passMarks,
+        String previousGrade
+) {}
@@ -0,0 +1,15 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * Student on the roster of an exam subject's class, with the student's existing marks for that subject if any
+ */
+public interface MarksRosterEntry {
+
+    Long getStudentId();
+
+    String getRollNumber();
+
+    Long getUserId();
+
+    Long getMarksId();
+}
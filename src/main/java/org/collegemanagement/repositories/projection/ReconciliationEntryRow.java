@@ -0,0 +1,25 @@
+package org.collegemanagement.repositories.projection;
+
+import org.collegemanagement.enums.ReconciliationStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One reconciled settlement line, with the UUID of the payment it matched or posted
+ */
+public interface ReconciliationEntryRow {
+
+    Long getLineNumber();
+
+    String getTransactionId();
+
+    BigDecimal getStatementAmount();
+
+    BigDecimal getPaymentAmount();
+
+    String getPaymentUuid();
+
+    ReconciliationStatus getStatus();
+
+    String getMessage();
+}
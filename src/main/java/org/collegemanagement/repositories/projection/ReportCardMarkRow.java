@@ -0,0 +1,21 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * One subject line of a student's report card
+ */
+public interface ReportCardMarkRow {
+
+    Long getStudentId();
+
+    String getSubjectName();
+
+    String getSubjectCode();
+
+    Integer getMaxMarks();
+
+    Integer getPassMarks();
+
+    Integer getMarksObtained();
+
+    String getGrade();
+}
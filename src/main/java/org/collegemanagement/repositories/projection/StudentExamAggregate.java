@@ -0,0 +1,25 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * Per-student marks totals for one exam
+ */
+public interface StudentExamAggregate {
+
+    Long getClassId();
+
+    Long getStudentId();
+
+    /**
+     * Sum of max marks over the subjects the student has marks for
+     */
+    Long getTotalMarks();
+
+    Long getObtainedMarks();
+
+    Long getSubjectCount();
+
+    /**
+     * 1 when every subject is at or above its pass marks, otherwise 0
+     */
+    Integer getAllPassed();
+}
@@ -0,0 +1,8 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * Aged due amounts of one student for the fees of one class
+ */
+public record StudentFeeAgingRow(String studentUuid, String rollNumber, String studentName, String className,
+                                 String section, int maxDaysOverdue, FeeAgingBuckets buckets) {
+}
@@ -0,0 +1,17 @@
+package org.collegemanagement.repositories.projection;
+
+import org.collegemanagement.enums.FeeStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount still due and status of one student fee, without loading the StudentFee entity
+ */
+public interface StudentFeeBalance {
+
+    Long getId();
+
+    BigDecimal getDueAmount();
+
+    FeeStatus getStatus();
+}
@@ -0,0 +1,9 @@
+package org.collegemanagement.repositories.projection;
+
+import org.collegemanagement.enums.FeeStatus;
+
+/**
+ * ID and current status of a student fee
+ */
+public record StudentFeeStatusRow(Long id, FeeStatus status) {
+}
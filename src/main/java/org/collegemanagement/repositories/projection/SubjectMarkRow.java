@@ -0,0 +1,11 @@
+package org.collegemanagement.repositories.projection;
+
+/**
+ * One mark of an exam subject, without loading the StudentMarks entity
+ */
+public interface SubjectMarkRow {
+
+    Long getExamSubjectId();
+
+    Integer getMarksObtained();
+}
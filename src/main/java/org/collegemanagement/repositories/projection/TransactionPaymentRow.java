@@ -0,0 +1,17 @@
+package org.collegemanagement.repositories.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * A fee payment as indexed by its transaction ID for reconciliation
+ */
+public interface TransactionPaymentRow {
+
+    Long getId();
+
+    String getTransactionId();
+
+    BigDecimal getAmount();
+
+    Long getCollegeId();
+}
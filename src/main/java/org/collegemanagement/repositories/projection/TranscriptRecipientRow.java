@@ -0,0 +1,26 @@
+package org.collegemanagement.repositories.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Unpublished transcript with one of its notification recipients: one row per parent,
+ * or a single row with no parent when the student has none
+ */
+public interface TranscriptRecipientRow {
+
+    Long getTranscriptId();
+
+    String getTranscriptUuid();
+
+    Long getStudentId();
+
+    String getRollNumber();
+
+    String getStudentName();
+
+    Long getStudentUserId();
+
+    Long getParentUserId();
+
+    BigDecimal getCgpa();
+}
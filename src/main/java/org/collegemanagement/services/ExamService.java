@@ -2,8 +2,10 @@ package org.collegemanagement.services;
 
 import org.collegemanagement.dto.exam.*;
 import org.collegemanagement.enums.ExamType;
+import org.collegemanagement.enums.RankScope;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -95,6 +97,11 @@ public interface ExamService {
      */
     void removeSubjectFromExamClass(String examSubjectUuid);
 
+    /**
+     * Check an exam's timetable for classes or teachers with more than one subject on the same date
+     */
+    ExamTimetableValidationResponse validateExamTimetable(String examUuid);
+
     /**
      * Get exam subject by UUID
      */
@@ -127,6 +134,12 @@ public interface ExamService {
      */
     List<StudentMarksResponse> bulkUpdateStudentMarks(BulkStudentMarksRequest request);
 
+    /**
+     * Import student marks for an exam subject from a CSV sheet keyed by roll number.
+     * Valid rows are written; invalid rows are reported per line.
+     */
+    MarksImportResponse importStudentMarks(String examSubjectUuid, MultipartFile file);
+
     /**
      * Get student marks by UUID
      */
@@ -152,6 +165,28 @@ public interface ExamService {
      */
     void deleteStudentMarks(String studentMarksUuid);
 
+    // ========== Marks Moderation ==========
+
+    /**
+     * Preview the marks a moderation rule would change in an exam, or one of its subjects, without changing them
+     */
+    MarksModerationPreviewResponse previewMarksModeration(String examUuid, MarksModerationRequest request);
+
+    /**
+     * Apply a moderation rule to the marks of an exam, or one of its subjects, and recompute their grades
+     */
+    MarksModerationResponse applyMarksModeration(String examUuid, MarksModerationRequest request);
+
+    /**
+     * Revert a moderation, restoring the marks it changed that have not been edited since
+     */
+    MarksModerationResponse revertMarksModeration(String moderationUuid);
+
+    /**
+     * Get the moderations of an exam, latest first
+     */
+    List<MarksModerationResponse> getMarksModerations(String examUuid);
+
     // ========== Grade Scale Management ==========
 
     /**
@@ -206,6 +241,11 @@ public interface ExamService {
      */
     StudentTranscriptResponse unpublishTranscript(String transcriptUuid);
 
+    /**
+     * Publish every unpublished transcript of an academic year in the given classes
+     */
+    BulkPublishTranscriptsResponse publishTranscripts(BulkPublishTranscriptsRequest request);
+
     /**
      * Get transcript by UUID
      */
@@ -237,5 +277,20 @@ public interface ExamService {
      * Get class exam summaries for all classes in an exam
      */
     List<ClassExamSummaryResponse> getClassExamSummaries(String examUuid);
+
+    /**
+     * Get marks distribution statistics per exam subject and pass rates per subject across sections
+     */
+    ExamStatisticsResponse getExamStatistics(String examUuid);
+
+    /**
+     * Get the merit list of an exam for a section, a class (all its sections) or the whole exam
+     */
+    ExamRankingResponse getExamRanking(String examUuid, RankScope scope, String classUuid, int top);
+
+    /**
+     * Get a student's ranks and percentiles in an exam
+     */
+    StudentRankResponse getStudentRank(String examUuid, String studentUuid);
 }
 
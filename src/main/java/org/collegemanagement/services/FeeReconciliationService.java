@@ -0,0 +1,33 @@
+package org.collegemanagement.services;
+
+import org.collegemanagement.dto.fees.FeeReconciliationEntryResponse;
+import org.collegemanagement.dto.fees.FeeReconciliationResponse;
+import org.collegemanagement.enums.PaymentMode;
+import org.collegemanagement.enums.ReconciliationStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface FeeReconciliationService {
+
+    /**
+     * Reconcile a bank or UPI settlement CSV against the college's fee payments by transaction ID.
+     * When postMissing is set, lines without a payment that name a student fee are posted as payments.
+     */
+    FeeReconciliationResponse reconcileSettlementFile(MultipartFile file, boolean postMissing, PaymentMode paymentMode);
+
+    /**
+     * Get reconciliation by UUID
+     */
+    FeeReconciliationResponse getReconciliationByUuid(String reconciliationUuid);
+
+    /**
+     * Get the reconciliations of the college, latest first
+     */
+    Page<FeeReconciliationResponse> getAllReconciliations(Pageable pageable);
+
+    /**
+     * Get the lines of a reconciliation in file order, optionally of one status
+     */
+    Page<FeeReconciliationEntryResponse> getReconciliationEntries(String reconciliationUuid, ReconciliationStatus status, Pageable pageable);
+}
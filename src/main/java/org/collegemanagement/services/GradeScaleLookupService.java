@@ -0,0 +1,31 @@
+package org.collegemanagement.services;
+
+import org.collegemanagement.entity.exam.GradeScale;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * In-memory, per-college lookup of grade scale bands.
+ *
+ * Grade scales change rarely, so marks and percentages are resolved against a
+ * cached snapshot instead of issuing a range query for every mark written.
+ * Returned grade scales are detached and must be treated as read-only.
+ */
+public interface GradeScaleLookupService {
+
+    /**
+     * Find the grade band containing the given marks
+     */
+    Optional<GradeScale> findByMarks(Long collegeId, int marks);
+
+    /**
+     * Find the grade band containing the given percentage
+     */
+    Optional<GradeScale> findByPercentage(Long collegeId, BigDecimal percentage);
+
+    /**
+     * Rebuild the college's bands. Inside a transaction the rebuild runs after commit.
+     */
+    void refresh(Long collegeId);
+}
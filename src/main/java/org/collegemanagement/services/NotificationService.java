@@ -1,5 +1,6 @@
 package org.collegemanagement.services;
 
+import org.collegemanagement.dto.NotificationRequest;
 import org.collegemanagement.entity.communication.Notification;
 import org.collegemanagement.enums.NotificationReferenceType;
 import org.collegemanagement.enums.NotificationType;
@@ -20,6 +21,13 @@ public interface NotificationService {
     List<Notification> createNotifications(List<Long> userIds, String title, String content, NotificationType type,
                                           NotificationReferenceType referenceType, Long referenceId, String actionUrl, int priority);
 
+    /**
+     * Create notifications in a single batched insert.
+     * Receivers must already be resolved within the current tenant by the caller.
+     */
+    int createNotificationsInBatch(List<NotificationRequest> requests, NotificationType type,
+                                   NotificationReferenceType referenceType, Long referenceId, String actionUrl, int priority);
+
     /**
      * Mark notification as read
      */
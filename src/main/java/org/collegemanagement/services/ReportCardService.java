@@ -0,0 +1,14 @@
+package org.collegemanagement.services;
+
+import org.collegemanagement.dto.exam.ReportCardArchive;
+
+/**
+ * Server-side rendering of exam report cards
+ */
+public interface ReportCardService {
+
+    /**
+     * Render the report card of every student with results in an exam class as a streamed ZIP of HTML files
+     */
+    ReportCardArchive generateReportCards(String examUuid, String examClassUuid);
+}
@@ -0,0 +1,15 @@
+package org.collegemanagement.services;
+
+import org.collegemanagement.enums.SequenceSeries;
+
+/**
+ * Service for allocating sequential, per-college document numbers
+ */
+public interface SequenceService {
+
+    /**
+     * Allocate the next number of a series for a college, formatted with the series prefix,
+     * the college short code and, for yearly series, the year: e.g. {@code RCT-ABC-2026-000042}
+     */
+    String nextNumber(Long collegeId, SequenceSeries series);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface StudentFeeService {
@@ -59,6 +60,16 @@ public interface StudentFeeService {
      */
     List<StudentFeeResponse> assignFeeToClassStudents(String classUuid, String feeStructureUuid);
 
+    /**
+     * Assign a fee structure to the active students of several classes who do not have it yet
+     */
+    BulkFeeAssignmentResponse assignFeeToClasses(String feeStructureUuid, AssignFeeToClassesRequest request);
+
+    /**
+     * Assign every fee structure of the college to the active students of its class who do not have it yet
+     */
+    BulkFeeAssignmentResponse assignFeesToCollegeStudents();
+
     /**
      * Get student fee by UUID
      */
@@ -126,6 +137,11 @@ public interface StudentFeeService {
      */
     Page<FeePaymentResponse> getFeePaymentsByDateRange(Instant startDate, Instant endDate, Pageable pageable);
 
+    /**
+     * Export every fee payment within a date range as a CSV ledger, gzipped when requested
+     */
+    FeeLedgerExport exportFeeLedger(Instant startDate, Instant endDate, boolean gzip);
+
     /**
      * Get fee installments for a student fee
      */
@@ -157,5 +173,20 @@ public interface StudentFeeService {
      * Get class fee summary
      */
     ClassFeeSummaryResponse getClassFeeSummary(String classUuid);
+
+    /**
+     * Get fee summary of every class in the college
+     */
+    List<ClassFeeSummaryResponse> getAllClassFeeSummaries();
+
+    /**
+     * Get outstanding dues of every class bucketed by days past due, as of the given date (today when null)
+     */
+    FeeAgingReportResponse getFeeAgingReport(LocalDate asOfDate);
+
+    /**
+     * Export per-student aging buckets as CSV, optionally only students at least minDaysOverdue days overdue
+     */
+    FeeAgingExport exportStudentFeeAging(LocalDate asOfDate, Integer minDaysOverdue);
 }
 
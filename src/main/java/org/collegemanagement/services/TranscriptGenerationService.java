@@ -0,0 +1,25 @@
+package org.collegemanagement.services;
+
+import org.collegemanagement.dto.exam.GenerateTranscriptsRequest;
+import org.collegemanagement.dto.exam.TranscriptGenerationJobResponse;
+
+/**
+ * Bulk transcript generation for a whole academic year or a single class
+ */
+public interface TranscriptGenerationService {
+
+    /**
+     * Start a background job generating transcripts for every student of the cohort
+     */
+    TranscriptGenerationJobResponse startJob(GenerateTranscriptsRequest request);
+
+    /**
+     * Get job status and progress
+     */
+    TranscriptGenerationJobResponse getJob(String jobUuid);
+
+    /**
+     * Resume a failed or interrupted job from its last checkpoint
+     */
+    TranscriptGenerationJobResponse resumeJob(String jobUuid);
+}
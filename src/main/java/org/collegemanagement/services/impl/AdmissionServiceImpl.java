@@ -15,6 +15,7 @@ import org.collegemanagement.entity.user.User;
 import org.collegemanagement.enums.AdmissionStatus;
 import org.collegemanagement.enums.EnrollmentStatus;
 import org.collegemanagement.enums.RoleType;
+import org.collegemanagement.enums.SequenceSeries;
 import org.collegemanagement.enums.Status;
 import org.collegemanagement.exception.ResourceConflictException;
 import org.collegemanagement.exception.ResourceNotFoundException;
@@ -25,6 +26,7 @@ import org.collegemanagement.security.tenant.TenantAccessGuard;
 import org.collegemanagement.services.CollegeService;
 import org.collegemanagement.services.RoleService;
 import org.collegemanagement.services.AdmissionService;
+import org.collegemanagement.services.SequenceService;
 import org.collegemanagement.services.UserManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,9 +35,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -51,6 +50,7 @@ public class AdmissionServiceImpl implements AdmissionService {
     private final RoleService roleService;
     private final StudentEnrollmentRepository studentEnrollmentRepository;
     private final AcademicYearRepository academicYearRepository;
+    private final SequenceService sequenceService;
 
     @Override
     @Transactional
@@ -62,7 +62,7 @@ public class AdmissionServiceImpl implements AdmissionService {
         College college = getCollegeById(collegeId);
 
         // Generate application number
-        String applicationNo = generateApplicationNumber(collegeId);
+        String applicationNo = sequenceService.nextNumber(collegeId, SequenceSeries.ADMISSION_APPLICATION);
 
         // Find class if provided
         ClassRoom appliedClass = null;
@@ -415,25 +415,4 @@ public class AdmissionServiceImpl implements AdmissionService {
         tenantAccessGuard.assertCurrentTenant(college);
         return college;
     }
-
-    private String generateApplicationNumber(Long collegeId) {
-        String datePrefix = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String uniqueSuffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        String applicationNo = "APP-" + datePrefix + "-" + uniqueSuffix;
-
-        // Ensure uniqueness
-        int attempts = 0;
-        while (admissionApplicationRepository.existsByApplicationNoAndCollegeId(applicationNo, collegeId) && attempts < 10) {
-            uniqueSuffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            applicationNo = "APP-" + datePrefix + "-" + uniqueSuffix;
-            attempts++;
-        }
-
-        if (attempts >= 10) {
-            throw new IllegalStateException("Failed to generate unique application number");
-        }
-
-        return applicationNo;
-    }
 }
-
@@ -9,7 +9,10 @@ import org.collegemanagement.entity.attendance.AttendanceRecord;
 import org.collegemanagement.entity.attendance.AttendanceSession;
 import org.collegemanagement.entity.student.Student;
 import org.collegemanagement.entity.tenant.College;
+import org.collegemanagement.entity.user.User;
 import org.collegemanagement.enums.AttendanceStatus;
+import org.collegemanagement.enums.AuditAction;
+import org.collegemanagement.enums.AuditEntityType;
 import org.collegemanagement.exception.ResourceConflictException;
 import org.collegemanagement.exception.ResourceNotFoundException;
 import org.collegemanagement.mapper.AttendanceMapper;
@@ -20,10 +23,12 @@ import org.collegemanagement.repositories.StudentEnrollmentRepository;
 import org.collegemanagement.repositories.StudentRepository;
 import org.collegemanagement.security.tenant.TenantAccessGuard;
 import org.collegemanagement.services.AttendanceService;
+import org.collegemanagement.services.AuditService;
 import org.collegemanagement.services.CollegeService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +50,8 @@ public class AttendanceServiceImpl implements AttendanceService {
     private final StudentEnrollmentRepository studentEnrollmentRepository;
     private final TenantAccessGuard tenantAccessGuard;
     private final CollegeService collegeService;
+    private final AuditService auditService;
+    private final CascadeDeleter cascadeDeleter;
 
     @Override
     @Transactional
@@ -400,12 +407,35 @@ public class AttendanceServiceImpl implements AttendanceService {
         AttendanceSession session = attendanceSessionRepository.findByUuidAndCollegeId(sessionUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendance session not found with UUID: " + sessionUuid));
 
-        // Delete session (cascades to records)
-        attendanceSessionRepository.delete(session);
+        // Records are deleted in chunks without loading them
+        long deletedRows = cascadeDeleter.deleteAttendanceSession(session.getId());
+
+        User currentUser = getCurrentUser();
+        if (currentUser != null) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.DELETE,
+                    AuditEntityType.ATTENDANCE_SESSION,
+                    session.getId(),
+                    "Deleted attendance session of " + session.getDate() + " (" + deletedRows + " rows)"
+            );
+        }
     }
 
     // Helper methods
 
+    private User getCurrentUser() {
+        try {
+            Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            if (principal instanceof User) {
+                return (User) principal;
+            }
+        } catch (Exception e) {
+            log.debug("Could not get current user: {}", e.getMessage());
+        }
+        return null;
+    }
+
     private College getCollegeById(Long collegeId) {
         College college = collegeService.findById(collegeId);
         tenantAccessGuard.assertCurrentTenant(college);
@@ -0,0 +1,139 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Deletes an aggregate together with its dependent rows without loading any of them.
+ * <p>
+ * Children are removed bottom-up with {@code DELETE ... LIMIT} statements, each chunk in its own short
+ * transaction, so neither the persistence context nor the undo log grows with the size of the
+ * aggregate. The parent row and anything added to it meanwhile are then removed in the caller's
+ * transaction. An interrupted deletion leaves a consistent, smaller aggregate and can simply be retried.
+ * <p>
+ * Exams are the exception: their results, rankings and GPA ledger are derived from the marks, so a
+ * half-deleted exam would stay visible with wrong figures. An exam is deleted entirely in the caller's
+ * transaction, with one set-based statement per table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CascadeDeleter {
+
+    /**
+     * Parent IDs bound per statement
+     */
+    private static final int MAX_PARENT_IDS = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${bulk-delete.chunk-size:5000}")
+    private int chunkSize;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Delete an exam with its classes, subjects, marks and moderation log, all in the caller's transaction
+     *
+     * @return number of rows deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long deleteExam(Long examId) {
+        long started = System.nanoTime();
+        MapSqlParameterSource params = new MapSqlParameterSource("examId", examId);
+        long deleted = jdbcTemplate.update("""
+                DELETE me FROM marks_moderation_entries me
+                JOIN marks_moderations m ON m.id = me.moderation_id
+                WHERE m.exam_id = :examId
+                """, params);
+        deleted += jdbcTemplate.update("DELETE FROM marks_moderations WHERE exam_id = :examId", params);
+        deleted += jdbcTemplate.update("""
+                DELETE sm FROM student_marks sm
+                JOIN exam_subjects es ON es.id = sm.exam_subject_id
+                JOIN exam_classes ec ON ec.id = es.exam_class_id
+                WHERE ec.exam_id = :examId
+                """, params);
+        deleted += jdbcTemplate.update("""
+                DELETE es FROM exam_subjects es
+                JOIN exam_classes ec ON ec.id = es.exam_class_id
+                WHERE ec.exam_id = :examId
+                """, params);
+        deleted += jdbcTemplate.update("DELETE FROM exam_classes WHERE exam_id = :examId", params);
+        deleted += jdbcTemplate.update("DELETE FROM exams WHERE id = :examId", params);
+
+        log.debug("Deleted exam {} with {} rows in {} ms", examId, deleted, (System.nanoTime() - started) / 1_000_000);
+        return deleted;
+    }
+
+    /**
+     * Delete an attendance session with its records
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public long deleteAttendanceSession(Long sessionId) {
+        long deleted = deleteInChunks("attendance_records", "attendance_session_id", List.of(sessionId));
+
+        MapSqlParameterSource params = new MapSqlParameterSource("sessionId", sessionId);
+        deleted += jdbcTemplate.update("DELETE FROM attendance_records WHERE attendance_session_id = :sessionId", params);
+        deleted += jdbcTemplate.update("DELETE FROM attendance_sessions WHERE id = :sessionId", params);
+        return deleted;
+    }
+
+    /**
+     * Delete a fee structure with its components and installment templates.
+     * Student fees are not touched; callers must make sure none reference the structure.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public long deleteFeeStructure(Long feeStructureId) {
+        long deleted = deleteInChunks("fee_components", "fee_structure_id", List.of(feeStructureId))
+                + deleteInChunks("fee_installment_templates", "fee_structure_id", List.of(feeStructureId));
+
+        MapSqlParameterSource params = new MapSqlParameterSource("feeStructureId", feeStructureId);
+        deleted += jdbcTemplate.update("DELETE FROM fee_components WHERE fee_structure_id = :feeStructureId", params);
+        deleted += jdbcTemplate.update("DELETE FROM fee_installment_templates WHERE fee_structure_id = :feeStructureId", params);
+        deleted += jdbcTemplate.update("DELETE FROM fee_structures WHERE id = :feeStructureId", params);
+        return deleted;
+    }
+
+    /**
+     * Delete the rows of a table referencing the given parents, at most chunk-size rows per transaction
+     */
+    private long deleteInChunks(String table, String parentColumn, List<Long> parentIds) {
+        String sql = "DELETE FROM " + table + " WHERE " + parentColumn + " IN (:ids) LIMIT :limit";
+        long deleted = 0;
+        for (int from = 0; from < parentIds.size(); from += MAX_PARENT_IDS) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", parentIds.subList(from, Math.min(from + MAX_PARENT_IDS, parentIds.size())))
+                    .addValue("limit", chunkSize);
+            int rows;
+            do {
+                Integer chunk = chunkTransaction.execute(status -> jdbcTemplate.update(sql, params));
+                rows = chunk != null ? chunk : 0;
+                deleted += rows;
+            } while (rows >= chunkSize);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,88 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+
+/**
+ * Class level exam statistics folded in a single pass over per-student marks aggregates.
+ * Only enrolled students count towards the average and pass/fail figures.
+ */
+final class ClassExamStatistics {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final int totalStudents;
+    private int studentsWithMarks;
+    private int studentsWithPercentage;
+    private BigDecimal totalPercentage = BigDecimal.ZERO;
+    private int passedStudents;
+    private int failedStudents;
+
+    private ClassExamStatistics(int totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    static ClassExamStatistics of(Collection<? extends StudentExamAggregate> aggregates, Collection<Long> enrolledStudentIds) {
+        ClassExamStatistics statistics = new ClassExamStatistics(enrolledStudentIds.size());
+        for (StudentExamAggregate aggregate : aggregates) {
+            statistics.accept(aggregate, enrolledStudentIds.contains(aggregate.getStudentId()));
+        }
+        return statistics;
+    }
+
+    private void accept(StudentExamAggregate aggregate, boolean enrolled) {
+        studentsWithMarks++;
+        if (!enrolled) {
+            return;
+        }
+
+        long total = aggregate.getTotalMarks() != null ? aggregate.getTotalMarks() : 0L;
+        long obtained = aggregate.getObtainedMarks() != null ? aggregate.getObtainedMarks() : 0L;
+        if (total > 0) {
+            totalPercentage = totalPercentage.add(BigDecimal.valueOf(obtained)
+                    .divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP)
+                    .multiply(HUNDRED));
+            studentsWithPercentage++;
+        }
+
+        if (aggregate.getAllPassed() != null && aggregate.getAllPassed() == 1) {
+            passedStudents++;
+        } else {
+            failedStudents++;
+        }
+    }
+
+    int getTotalStudents() {
+        return totalStudents;
+    }
+
+    int getStudentsWithMarks() {
+        return studentsWithMarks;
+    }
+
+    int getPassedStudents() {
+        return passedStudents;
+    }
+
+    int getFailedStudents() {
+        return failedStudents;
+    }
+
+    BigDecimal getAveragePercentage() {
+        return studentsWithPercentage > 0 ?
+                totalPercentage.divide(BigDecimal.valueOf(studentsWithPercentage), 2, RoundingMode.HALF_UP) :
+                BigDecimal.ZERO;
+    }
+
+    BigDecimal getPassPercentage() {
+        return totalStudents > 0 ?
+                BigDecimal.valueOf(passedStudents)
+                        .divide(BigDecimal.valueOf(totalStudents), 4, RoundingMode.HALF_UP)
+                        .multiply(HUNDRED)
+                        .setScale(2, RoundingMode.HALF_UP) :
+                BigDecimal.ZERO;
+    }
+}
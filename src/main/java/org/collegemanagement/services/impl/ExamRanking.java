@@ -0,0 +1,219 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.enums.RankScope;
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable ranking of every student with results in one exam.
+ * <p>
+ * Scores (percentage in basis points) live in primitive arrays and are sorted once; ranks for
+ * sections, classes (all sections of a class name) and the whole exam are assigned in a single
+ * pass over that order, since every group's subsequence of a sorted order is itself sorted.
+ */
+final class ExamRanking {
+
+    private static final int MAX_SCORE = 10_000;
+
+    private final long[] studentIds;
+    private final long[] sectionIds;
+    private final int[] obtainedMarks;
+    private final int[] totalMarks;
+    private final int[] scores;
+    private final int[] order;
+    private final int[][] groups;
+    private final int[][] competitionRanks;
+    private final int[][] denseRanks;
+    private final int[][] groupSizes;
+    private final Map<Long, Integer> indexByStudentId;
+    private final Map<Long, Integer> sectionGroupById;
+    private final Map<String, Integer> classGroupByName;
+
+    private ExamRanking(long[] studentIds, long[] sectionIds, int[] obtainedMarks, int[] totalMarks, int[] scores,
+                        int[][] groups, Map<Long, Integer> sectionGroupById, Map<String, Integer> classGroupByName) {
+        int n = studentIds.length;
+        this.studentIds = studentIds;
+        this.sectionIds = sectionIds;
+        this.obtainedMarks = obtainedMarks;
+        this.totalMarks = totalMarks;
+        this.scores = scores;
+        this.groups = groups;
+        this.sectionGroupById = sectionGroupById;
+        this.classGroupByName = classGroupByName;
+
+        // Highest score first, ties in input order: (MAX_SCORE - score) in the high bits, index in the low bits
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) (MAX_SCORE - scores[i]) << 32) | i;
+        }
+        Arrays.sort(keys);
+        this.order = new int[n];
+        for (int k = 0; k < n; k++) {
+            order[k] = (int) keys[k];
+        }
+
+        int scopes = RankScope.values().length;
+        this.competitionRanks = new int[scopes][n];
+        this.denseRanks = new int[scopes][n];
+        this.groupSizes = new int[scopes][];
+        for (int s = 0; s < scopes; s++) {
+            assignRanks(s);
+        }
+
+        this.indexByStudentId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexByStudentId.put(studentIds[i], i);
+        }
+    }
+
+    /**
+     * @param rows             per-student totals of the exam
+     * @param classNameBySection class name of every section (class room) in the exam
+     */
+    static ExamRanking of(List<? extends StudentExamAggregate> rows, Map<Long, String> classNameBySection) {
+        int n = rows.size();
+        long[] studentIds = new long[n];
+        long[] sectionIds = new long[n];
+        int[] obtained = new int[n];
+        int[] total = new int[n];
+        int[] scores = new int[n];
+        int[] sectionGroup = new int[n];
+        int[] classGroup = new int[n];
+        Map<Long, Integer> sectionGroupById = new HashMap<>();
+        Map<String, Integer> classGroupByName = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            StudentExamAggregate row = rows.get(i);
+            studentIds[i] = row.getStudentId();
+            sectionIds[i] = row.getClassId();
+            obtained[i] = row.getObtainedMarks().intValue();
+            total[i] = row.getTotalMarks().intValue();
+            scores[i] = total[i] > 0 ? (int) Math.round(obtained[i] * (double) MAX_SCORE / total[i]) : 0;
+            sectionGroup[i] = sectionGroupById.computeIfAbsent(row.getClassId(), k -> sectionGroupById.size());
+            String className = classNameBySection.getOrDefault(row.getClassId(), String.valueOf(row.getClassId()));
+            classGroup[i] = classGroupByName.computeIfAbsent(className, k -> classGroupByName.size());
+        }
+
+        int[][] groups = new int[RankScope.values().length][];
+        groups[RankScope.SECTION.ordinal()] = sectionGroup;
+        groups[RankScope.CLASS.ordinal()] = classGroup;
+        groups[RankScope.EXAM.ordinal()] = new int[n];
+
+        return new ExamRanking(studentIds, sectionIds, obtained, total, scores, groups, sectionGroupById, classGroupByName);
+    }
+
+    private void assignRanks(int scope) {
+        int[] groupOf = groups[scope];
+        int groupCount = 0;
+        for (int g : groupOf) {
+            groupCount = Math.max(groupCount, g + 1);
+        }
+
+        int[] seen = new int[groupCount];
+        int[] dense = new int[groupCount];
+        int[] lastCompetition = new int[groupCount];
+        int[] lastScore = new int[groupCount];
+        Arrays.fill(lastScore, -1);
+
+        for (int i : order) {
+            int g = groupOf[i];
+            seen[g]++;
+            if (scores[i] != lastScore[g]) {
+                lastScore[g] = scores[i];
+                lastCompetition[g] = seen[g];
+                dense[g]++;
+            }
+            competitionRanks[scope][i] = lastCompetition[g];
+            denseRanks[scope][i] = dense[g];
+        }
+        groupSizes[scope] = seen;
+    }
+
+    int size() {
+        return studentIds.length;
+    }
+
+    /**
+     * Index of the student in this ranking, or -1 when the student has no results in the exam
+     */
+    int indexOf(Long studentId) {
+        return indexByStudentId.getOrDefault(studentId, -1);
+    }
+
+    /**
+     * Group of a scope: the section (class room) ID for SECTION, the class name for CLASS, ignored for EXAM.
+     * Returns -1 when nobody in the exam belongs to the group.
+     */
+    int group(RankScope scope, Long sectionId, String className) {
+        return switch (scope) {
+            case SECTION -> sectionGroupById.getOrDefault(sectionId, -1);
+            case CLASS -> classGroupByName.getOrDefault(className, -1);
+            case EXAM -> 0;
+        };
+    }
+
+    /**
+     * Indices of the best {@code limit} students of a group, best first
+     */
+    int[] top(RankScope scope, int group, int limit) {
+        int[] groupOf = groups[scope.ordinal()];
+        int[] result = new int[Math.min(limit, groupSize(scope, group))];
+        int count = 0;
+        for (int k = 0; k < order.length && count < result.length; k++) {
+            int i = order[k];
+            if (groupOf[i] == group) {
+                result[count++] = i;
+            }
+        }
+        return result;
+    }
+
+    int groupSize(RankScope scope, int group) {
+        int[] sizes = groupSizes[scope.ordinal()];
+        return group >= 0 && group < sizes.length ? sizes[group] : 0;
+    }
+
+    long studentId(int index) {
+        return studentIds[index];
+    }
+
+    long sectionId(int index) {
+        return sectionIds[index];
+    }
+
+    int obtainedMarks(int index) {
+        return obtainedMarks[index];
+    }
+
+    int totalMarks(int index) {
+        return totalMarks[index];
+    }
+
+    BigDecimal percentage(int index) {
+        return BigDecimal.valueOf(scores[index], 2);
+    }
+
+    int competitionRank(RankScope scope, int index) {
+        return competitionRanks[scope.ordinal()][index];
+    }
+
+    int denseRank(RankScope scope, int index) {
+        return denseRanks[scope.ordinal()][index];
+    }
+
+    /**
+     * Share of the student's group scoring at or below the student, as a percentage
+     */
+    BigDecimal percentile(RankScope scope, int index) {
+        int groupSize = groupSizes[scope.ordinal()][groups[scope.ordinal()][index]];
+        int atOrBelow = groupSize - competitionRanks[scope.ordinal()][index] + 1;
+        return BigDecimal.valueOf(atOrBelow * 100L)
+                .divide(BigDecimal.valueOf(groupSize), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,118 @@
+package org.collegemanagement.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.entity.exam.ExamClass;
+import org.collegemanagement.repositories.ExamClassRepository;
+import org.collegemanagement.repositories.StudentExamResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-exam cache of {@link ExamRanking}s, kept until the exam's marks change.
+ * <p>
+ * A ranking being built is tracked with a version that every eviction of the exam bumps; a ranking
+ * built while a marks write was in flight is returned to its caller but not cached, so a stale ranking
+ * can never outlive the write. Versions are dropped once no build of the exam is running.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExamRankingCache {
+
+    private final StudentExamResultRepository studentExamResultRepository;
+    private final ExamClassRepository examClassRepository;
+
+    @Value("${exams.ranking.cache-size:200}")
+    private int maxEntries;
+
+    /**
+     * Builds in flight, by exam; guarded by {@code rankings}
+     */
+    private final Map<Long, Load> loads = new HashMap<>();
+
+    private final Map<Long, ExamRanking> rankings = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ExamRanking> eldest) {
+            return size() > maxEntries;
+        }
+    });
+
+    ExamRanking get(Long examId) {
+        ExamRanking ranking = rankings.get(examId);
+        if (ranking != null) {
+            return ranking;
+        }
+
+        Load load;
+        long before;
+        synchronized (rankings) {
+            load = loads.computeIfAbsent(examId, id -> new Load());
+            load.running++;
+            before = load.version;
+        }
+        try {
+            ranking = load(examId);
+            synchronized (rankings) {
+                if (load.version == before) {
+                    rankings.put(examId, ranking);
+                }
+            }
+            return ranking;
+        } finally {
+            synchronized (rankings) {
+                if (--load.running == 0) {
+                    loads.remove(examId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the exam's ranking now and, inside a transaction, once more after commit
+     */
+    public void evict(Long examId) {
+        invalidate(examId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(examId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Long examId) {
+        synchronized (rankings) {
+            Load load = loads.get(examId);
+            if (load != null) {
+                load.version++;
+            }
+            rankings.remove(examId);
+        }
+    }
+
+    private ExamRanking load(Long examId) {
+        long startedAt = System.currentTimeMillis();
+        Map<Long, String> classNameBySection = new HashMap<>();
+        for (ExamClass examClass : examClassRepository.findWithClassRoomByExamId(examId)) {
+            classNameBySection.put(examClass.getClassRoom().getId(), examClass.getClassRoom().getName());
+        }
+        ExamRanking ranking = ExamRanking.of(studentExamResultRepository.findAggregatesByExamId(examId), classNameBySection);
+        log.debug("Built ranking of {} students for exam {} in {} ms", ranking.size(), examId, System.currentTimeMillis() - startedAt);
+        return ranking;
+    }
+
+    private static final class Load {
+        private long version;
+        private int running;
+    }
+}
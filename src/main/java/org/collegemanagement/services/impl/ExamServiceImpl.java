@@ -2,6 +2,7 @@ package org.collegemanagement.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.dto.NotificationRequest;
 import org.collegemanagement.dto.exam.*;
 import org.collegemanagement.entity.academic.ClassRoom;
 import org.collegemanagement.entity.academic.StudentEnrollment;
@@ -12,47 +13,78 @@ import org.collegemanagement.entity.tenant.AcademicYear;
 import org.collegemanagement.entity.tenant.College;
 import org.collegemanagement.entity.user.User;
 import org.collegemanagement.enums.ExamType;
+import org.collegemanagement.enums.ModerationRuleType;
+import org.collegemanagement.enums.RankScope;
 import org.collegemanagement.enums.ResultStatus;
+import org.collegemanagement.enums.TimetableClashType;
+import org.collegemanagement.events.exams.StudentMarksRecordedEvent;
+import org.collegemanagement.events.exams.TranscriptsPublishedEvent;
 import org.collegemanagement.exception.ResourceConflictException;
 import org.collegemanagement.exception.ResourceNotFoundException;
 import org.collegemanagement.mapper.ExamMapper;
 import org.collegemanagement.mapper.GradeScaleMapper;
+import org.collegemanagement.mapper.MarksModerationMapper;
 import org.collegemanagement.mapper.StudentMarksMapper;
 import org.collegemanagement.mapper.StudentTranscriptMapper;
 import org.collegemanagement.repositories.*;
+import org.collegemanagement.repositories.projection.ClassStudentRef;
+import org.collegemanagement.repositories.projection.ExamSlotRow;
+import org.collegemanagement.repositories.projection.GroupCount;
+import org.collegemanagement.repositories.projection.MarksRosterEntry;
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+import org.collegemanagement.repositories.projection.SubjectMarkRow;
+import org.collegemanagement.repositories.projection.TranscriptRecipientRow;
 import org.collegemanagement.security.tenant.TenantAccessGuard;
 import org.collegemanagement.services.AuditService;
 import org.collegemanagement.services.CollegeService;
 import org.collegemanagement.services.ExamService;
+import org.collegemanagement.services.GradeScaleLookupService;
 import org.collegemanagement.services.NotificationService;
 import org.collegemanagement.enums.AuditAction;
 import org.collegemanagement.enums.AuditEntityType;
 import org.collegemanagement.enums.NotificationReferenceType;
 import org.collegemanagement.enums.NotificationType;
+import org.collegemanagement.utils.CsvReader;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExamServiceImpl implements ExamService {
 
+    private static final int MARKS_IMPORT_BATCH_SIZE = 500;
+    private static final int MARKS_IMPORT_MAX_REPORTED_ERRORS = 1000;
+    private static final int TRANSCRIPT_PUBLISH_CHUNK_SIZE = 1000;
+    private static final int MODERATION_PREVIEW_MAX_CHANGES = 1000;
+
     private final ExamRepository examRepository;
     private final ExamClassRepository examClassRepository;
     private final ExamSubjectRepository examSubjectRepository;
     private final StudentMarksRepository studentMarksRepository;
     private final GradeScaleRepository gradeScaleRepository;
     private final StudentTranscriptRepository studentTranscriptRepository;
+    private final StudentExamResultRepository studentExamResultRepository;
+    private final StudentGpaLedgerRepository studentGpaLedgerRepository;
     private final AcademicYearRepository academicYearRepository;
     private final ClassRoomRepository classRoomRepository;
     private final SubjectRepository subjectRepository;
@@ -65,6 +97,13 @@ public class ExamServiceImpl implements ExamService {
     private final CollegeService collegeService;
     private final NotificationService notificationService;
     private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GradeScaleLookupService gradeScaleLookupService;
+    private final ExamRankingCache examRankingCache;
+    private final CascadeDeleter cascadeDeleter;
+    private final MarksModerationRepository marksModerationRepository;
+    private final TranscriptSnapshotRepository transcriptSnapshotRepository;
+    private final TranscriptSnapshotCache transcriptSnapshotCache;
 
     // ========== Exam Management ==========
 
@@ -285,20 +324,27 @@ public class ExamServiceImpl implements ExamService {
         Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
 
-        // Create audit log before deletion
+        Long examId = exam.getId();
+        Long academicYearId = exam.getAcademicYear().getId();
+        List<Long> studentIds = studentMarksRepository.findStudentIdsByExamId(examId);
+        studentExamResultRepository.deleteByExamId(examId);
+
+        // Classes, subjects and marks are deleted set-based without loading them, in this transaction so
+        // the exam, its results and the GPA ledger disappear together
+        long deletedRows = cascadeDeleter.deleteExam(examId);
+        studentGpaLedgerRepository.refresh(academicYearId, studentIds);
+        examRankingCache.evict(examId);
+
         User currentUser = getCurrentUser();
         if (currentUser != null) {
             auditService.createAuditLog(
                     currentUser.getId(),
                     AuditAction.DELETE,
                     AuditEntityType.EXAM,
-                    exam.getId(),
-                    "Deleted exam: " + exam.getName()
+                    examId,
+                    "Deleted exam: " + exam.getName() + " (" + deletedRows + " rows)"
             );
         }
-
-        // Delete will cascade to exam classes, subjects, and marks
-        examRepository.delete(exam);
     }
 
     @Override
@@ -308,29 +354,11 @@ public class ExamServiceImpl implements ExamService {
         Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
 
-        int totalClasses = exam.getExamClasses() != null ? exam.getExamClasses().size() : 0;
-        int totalSubjects = 0;
-        int totalStudents = 0;
-        int studentsWithMarks = 0;
-
-        if (exam.getExamClasses() != null) {
-            for (ExamClass examClass : exam.getExamClasses()) {
-                if (examClass.getSubjects() != null) {
-                    totalSubjects += examClass.getSubjects().size();
-                    for (ExamSubject examSubject : examClass.getSubjects()) {
-                        if (examSubject.getMarks() != null) {
-                            studentsWithMarks += (int) examSubject.getMarks().stream()
-                                    .filter(m -> m.getMarksObtained() != null)
-                                    .count();
-                        }
-                    }
-                }
-                // Count students in class
-                List<StudentEnrollment> enrollments = studentEnrollmentRepository.findByClassIdAndCollegeId(
-                        examClass.getClassRoom().getId(), collegeId);
-                totalStudents += enrollments.size();
-            }
-        }
+        // Counts only; no exam class, subject, marks or enrollment entities are loaded
+        int totalClasses = (int) examClassRepository.countByExamId(exam.getId());
+        int totalSubjects = (int) examSubjectRepository.countByExamId(exam.getId());
+        int totalStudents = (int) studentEnrollmentRepository.countActiveByExamIdAndCollegeId(exam.getId(), collegeId);
+        int studentsWithMarks = (int) studentMarksRepository.countMarkedByExamId(exam.getId());
 
         boolean isCompleted = exam.getEndDate() != null && Instant.now().isAfter(exam.getEndDate());
 
@@ -395,7 +423,10 @@ public class ExamServiceImpl implements ExamService {
             throw new ResourceNotFoundException("Exam class does not belong to the specified exam");
         }
 
+        List<Long> studentIds = studentMarksRepository.findStudentIdsByExamClassId(examClass.getId());
+        Exam exam = examClass.getExam();
         examClassRepository.delete(examClass);
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(), studentIds);
     }
 
     @Override
@@ -459,6 +490,7 @@ public class ExamServiceImpl implements ExamService {
             }
         }
 
+        checkTimetableClash(examSubject);
         examSubject = examSubjectRepository.save(examSubject);
 
         // Create audit log
@@ -520,8 +552,14 @@ public class ExamServiceImpl implements ExamService {
             throw new ResourceConflictException("Pass marks cannot be greater than maximum marks");
         }
 
+        checkTimetableClash(examSubject);
         examSubject = examSubjectRepository.save(examSubject);
 
+        // Max/pass marks and subject credits feed the materialized results
+        Exam exam = examSubject.getExamClass().getExam();
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(),
+                studentMarksRepository.findStudentIdsByExamSubjectId(examSubject.getId()));
+
         return ExamMapper.toExamSubjectResponse(examSubject);
     }
 
@@ -533,7 +571,53 @@ public class ExamServiceImpl implements ExamService {
         ExamSubject examSubject = examSubjectRepository.findByUuidAndCollegeId(examSubjectUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam subject not found with UUID: " + examSubjectUuid));
 
+        List<Long> studentIds = studentMarksRepository.findStudentIdsByExamSubjectId(examSubject.getId());
+        Exam exam = examSubject.getExamClass().getExam();
         examSubjectRepository.delete(examSubject);
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(), studentIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ExamTimetableValidationResponse validateExamTimetable(String examUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+
+        ExamTimetable timetable = ExamTimetable.of(examSubjectRepository.findSlotsByExamId(exam.getId()));
+
+        List<ExamTimetableValidationResponse.TimetableClash> clashes = new ArrayList<>();
+        for (List<ExamSlotRow> occupants : timetable.classClashes()) {
+            ExamSlotRow slot = occupants.get(0);
+            clashes.add(ExamTimetableValidationResponse.TimetableClash.builder()
+                    .type(TimetableClashType.CLASS)
+                    .examDate(slot.getExamDate())
+                    .className(slot.getClassName())
+                    .section(slot.getSection())
+                    .subjects(toClashingSubjects(occupants))
+                    .build());
+        }
+        for (List<ExamSlotRow> occupants : timetable.teacherClashes()) {
+            ExamSlotRow slot = occupants.get(0);
+            clashes.add(ExamTimetableValidationResponse.TimetableClash.builder()
+                    .type(TimetableClashType.TEACHER)
+                    .examDate(slot.getExamDate())
+                    .teacherUuid(slot.getTeacherUuid())
+                    .teacherName(slot.getTeacherName())
+                    .subjects(toClashingSubjects(occupants))
+                    .build());
+        }
+        clashes.sort(Comparator.comparing(ExamTimetableValidationResponse.TimetableClash::getExamDate)
+                .thenComparing(ExamTimetableValidationResponse.TimetableClash::getType));
+
+        return ExamTimetableValidationResponse.builder()
+                .examUuid(exam.getUuid())
+                .examName(exam.getName())
+                .subjectCount(timetable.size())
+                .valid(clashes.isEmpty())
+                .clashes(clashes)
+                .build();
     }
 
     @Override
@@ -566,6 +650,7 @@ public class ExamServiceImpl implements ExamService {
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with UUID: " + request.getTeacherUuid()));
 
         examSubject.setAssignedTeacher(teacher);
+        checkTimetableClash(examSubject);
         examSubject = examSubjectRepository.save(examSubject);
 
         return ExamMapper.toExamSubjectResponse(examSubject);
@@ -625,6 +710,7 @@ public class ExamServiceImpl implements ExamService {
                 .build();
 
         studentMarks = studentMarksRepository.save(studentMarks);
+        refreshStudentResults(examClass.getExam().getId(), academicYear.getId(), List.of(student.getId()));
 
         return StudentMarksMapper.toResponse(studentMarks);
     }
@@ -653,6 +739,8 @@ public class ExamServiceImpl implements ExamService {
         studentMarks = studentMarksRepository.save(studentMarks);
 
         Student student = studentMarks.getStudent();
+        Exam exam = examSubject.getExamClass().getExam();
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(), List.of(student.getId()));
         
         // Create audit log
         User currentUser = getCurrentUser();
@@ -695,81 +783,115 @@ public class ExamServiceImpl implements ExamService {
         ExamSubject examSubject = examSubjectRepository.findByUuidAndCollegeId(request.getExamSubjectUuid(), collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam subject not found with UUID: " + request.getExamSubjectUuid()));
 
-        List<StudentMarksResponse> responses = new ArrayList<>();
-
         // Get exam class and academic year for validation
         ExamClass examClass = examSubject.getExamClass();
-        AcademicYear academicYear = examClass.getExam().getAcademicYear();
+        Exam exam = examClass.getExam();
+        AcademicYear academicYear = exam.getAcademicYear();
         ClassRoom classRoom = examClass.getClassRoom();
 
+        // Last entry wins when the same student appears more than once
+        Map<String, Integer> marksByStudentUuid = new LinkedHashMap<>();
         for (BulkStudentMarksRequest.StudentMarksEntry entry : request.getMarks()) {
-            Student student = studentRepository.findByUuidAndCollegeId(entry.getStudentUuid(), collegeId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Student not found with UUID: " + entry.getStudentUuid()));
-
-            // Validate student enrollment - check if student is enrolled in the class for this academic year
-            Optional<StudentEnrollment> enrollment = studentEnrollmentRepository.findByStudentIdAndAcademicYearId(
-                    student.getId(), academicYear.getId());
-            
-            if (enrollment.isEmpty()) {
+            marksByStudentUuid.put(entry.getStudentUuid(), entry.getMarksObtained());
+        }
+        if (marksByStudentUuid.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Resolve students, enrollments and existing marks with one query each; grades come from the in-memory bands
+        Map<String, Student> studentsByUuid = studentRepository.findByUuidInAndCollegeId(marksByStudentUuid.keySet(), collegeId)
+                .stream()
+                .collect(Collectors.toMap(Student::getUuid, s -> s));
+        for (String studentUuid : marksByStudentUuid.keySet()) {
+            if (!studentsByUuid.containsKey(studentUuid)) {
+                throw new ResourceNotFoundException("Student not found with UUID: " + studentUuid);
+            }
+        }
+
+        Set<Long> studentIds = studentsByUuid.values().stream()
+                .map(Student::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, StudentEnrollment> enrollmentsByStudentId = studentEnrollmentRepository
+                .findByStudentIdInAndAcademicYearId(studentIds, academicYear.getId())
+                .stream()
+                .collect(Collectors.toMap(e -> e.getStudent().getId(), e -> e));
+
+        Map<Long, StudentMarks> existingMarksByStudentId = studentMarksRepository
+                .findByExamSubjectIdAndStudentIdIn(examSubject.getId(), studentIds)
+                .stream()
+                .collect(Collectors.toMap(m -> m.getStudent().getId(), m -> m));
+
+        // Validate every row in memory before writing anything
+        List<StudentMarks> toInsert = new ArrayList<>();
+        List<StudentMarks> toUpdate = new ArrayList<>();
+        List<StudentMarks> written = new ArrayList<>();
+        List<NotificationRequest> notifications = new ArrayList<>();
+        String subjectName = examSubject.getSubject().getName();
+
+        for (Map.Entry<String, Integer> entry : marksByStudentUuid.entrySet()) {
+            Student student = studentsByUuid.get(entry.getKey());
+            Integer marksObtained = entry.getValue();
+
+            StudentEnrollment studentEnrollment = enrollmentsByStudentId.get(student.getId());
+            if (studentEnrollment == null) {
                 throw new ResourceConflictException(
                         "Student " + student.getRollNumber() + " is not enrolled in academic year " + academicYear.getYearName());
             }
-            
-            StudentEnrollment studentEnrollment = enrollment.get();
             if (!studentEnrollment.getClassRoom().getId().equals(classRoom.getId())) {
                 throw new ResourceConflictException(
-                        "Student " + student.getRollNumber() + " is not enrolled in class " + classRoom.getName() + 
+                        "Student " + student.getRollNumber() + " is not enrolled in class " + classRoom.getName() +
                         " for academic year " + academicYear.getYearName());
             }
 
             // Validate marks
-            if (entry.getMarksObtained() < 0 || entry.getMarksObtained() > examSubject.getMaxMarks()) {
+            if (marksObtained < 0 || marksObtained > examSubject.getMaxMarks()) {
                 throw new ResourceConflictException("Marks obtained must be between 0 and " + examSubject.getMaxMarks() + " for student " + student.getRollNumber());
             }
 
-            // Find or create student marks
-            Optional<StudentMarks> existingMarks = studentMarksRepository.findByExamSubjectIdAndStudentId(
-                    examSubject.getId(), student.getId());
+            GradeScale gradeScale = findGradeByMarks(marksObtained, collegeId);
 
-            StudentMarks studentMarks;
-            if (existingMarks.isPresent()) {
-                studentMarks = existingMarks.get();
-                studentMarks.setMarksObtained(entry.getMarksObtained());
+            StudentMarks studentMarks = existingMarksByStudentId.get(student.getId());
+            boolean updated = studentMarks != null;
+            if (updated) {
+                studentMarks.setMarksObtained(marksObtained);
+                studentMarks.setGradeScale(gradeScale);
+                toUpdate.add(studentMarks);
             } else {
                 studentMarks = StudentMarks.builder()
                         .examSubject(examSubject)
                         .student(student)
-                        .marksObtained(entry.getMarksObtained())
+                        .marksObtained(marksObtained)
+                        .gradeScale(gradeScale)
                         .build();
+                toInsert.add(studentMarks);
             }
+            written.add(studentMarks);
 
-            // Find grade based on marks
-            GradeScale gradeScale = findGradeByMarks(entry.getMarksObtained(), collegeId);
-            studentMarks.setGradeScale(gradeScale);
-
-            studentMarks = studentMarksRepository.save(studentMarks);
-            responses.add(StudentMarksMapper.toResponse(studentMarks));
-
-            // Send notification to student about marks entry/update
             if (student.getUser() != null && student.getUser().getId() != null) {
-                try {
-                    String action = existingMarks.isPresent() ? "updated" : "entered";
-                    notificationService.createNotification(
-                            student.getUser().getId(),
-                            "Marks " + action.substring(0, 1).toUpperCase() + action.substring(1) + ": " + examSubject.getSubject().getName(),
-                            "Your marks for " + examSubject.getSubject().getName() + " have been " + action + ". Marks: " + entry.getMarksObtained() + "/" + examSubject.getMaxMarks(),
-                            NotificationType.IN_APP,
-                            NotificationReferenceType.EXAM,
-                            examSubject.getExamClass().getExam().getId(),
-                            "/exams/" + examSubject.getExamClass().getExam().getUuid() + "/result",
-                            5
-                    );
-                } catch (Exception e) {
-                    log.warn("Failed to send notification to student {}: {}", student.getRollNumber(), e.getMessage());
-                }
+                String action = updated ? "updated" : "entered";
+                notifications.add(NotificationRequest.builder()
+                        .receiverId(student.getUser().getId())
+                        .title("Marks " + (updated ? "Updated" : "Entered") + ": " + subjectName)
+                        .message("Your marks for " + subjectName + " have been " + action + ". Marks: " + marksObtained + "/" + examSubject.getMaxMarks())
+                        .build());
             }
         }
 
+        // Updates are flushed by Hibernate in JDBC batches; inserts go straight through a JDBC batch
+        studentMarksRepository.saveAll(toUpdate);
+        studentMarksRepository.batchInsert(toInsert);
+        refreshStudentResults(exam.getId(), academicYear.getId(), studentIds);
+
+        List<StudentMarksResponse> responses = written.stream()
+                .map(StudentMarksMapper::toResponse)
+                .collect(Collectors.toList());
+
+        // Notifications are written after commit
+        if (!notifications.isEmpty()) {
+            eventPublisher.publishEvent(new StudentMarksRecordedEvent(collegeId, exam.getId(), exam.getUuid(), notifications));
+        }
+
         // Create audit log for bulk operation
         User currentUser = getCurrentUser();
         if (currentUser != null) {
@@ -778,13 +900,180 @@ public class ExamServiceImpl implements ExamService {
                     AuditAction.UPDATE,
                     AuditEntityType.EXAM,
                     examSubject.getId(),
-                    "Bulk updated marks for " + responses.size() + " students in " + examSubject.getSubject().getName()
+                    "Bulk updated marks for " + responses.size() + " students in " + subjectName
             );
         }
 
         return responses;
     }
 
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public MarksImportResponse importStudentMarks(String examSubjectUuid, MultipartFile file) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        ExamSubject examSubject = examSubjectRepository.findByUuidAndCollegeId(examSubjectUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam subject not found with UUID: " + examSubjectUuid));
+        if (file == null || file.isEmpty()) {
+            throw new ResourceConflictException("Marks file is empty");
+        }
+
+        ExamClass examClass = examSubject.getExamClass();
+        Exam exam = examClass.getExam();
+        AcademicYear academicYear = exam.getAcademicYear();
+        ClassRoom classRoom = examClass.getClassRoom();
+        int maxMarks = examSubject.getMaxMarks();
+        String subjectName = examSubject.getSubject().getName();
+
+        // The roster bounds memory: the file is streamed, only the class's students are held
+        Map<String, MarksRosterEntry> rosterByRollNumber = new HashMap<>();
+        Set<String> ambiguousRollNumbers = new HashSet<>();
+        for (MarksRosterEntry entry : studentEnrollmentRepository.findMarksRoster(classRoom.getId(), academicYear.getId(), examSubject.getId())) {
+            if (entry.getRollNumber() == null) {
+                continue;
+            }
+            String rollNumber = entry.getRollNumber().trim();
+            if (rosterByRollNumber.putIfAbsent(rollNumber, entry) != null) {
+                ambiguousRollNumbers.add(rollNumber);
+            }
+        }
+
+        List<MarksImportResponse.RowError> errors = new ArrayList<>();
+        Set<Long> writtenStudentIds = new HashSet<>();
+        List<StudentMarks> batch = new ArrayList<>(MARKS_IMPORT_BATCH_SIZE);
+        List<NotificationRequest> notifications = new ArrayList<>();
+        long totalRows = 0;
+        long failedRows = 0;
+        long insertedRows = 0;
+
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
+            List<String> header = reader.readRecord();
+            int rollColumn = -1;
+            int marksColumn = -1;
+            for (int i = 0; header != null && i < header.size(); i++) {
+                String name = header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+                if (name.equals("rollnumber") || name.equals("rollno") || name.equals("roll")) {
+                    rollColumn = i;
+                } else if (name.equals("marks") || name.equals("marksobtained")) {
+                    marksColumn = i;
+                }
+            }
+            if (rollColumn < 0 || marksColumn < 0) {
+                throw new ResourceConflictException("Marks file must have a header row with 'roll_number' and 'marks' columns");
+            }
+
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                totalRows++;
+                long lineNumber = reader.getRecordLineNumber();
+                String rollNumber = rollColumn < record.size() ? record.get(rollColumn).trim() : "";
+                String marksCell = marksColumn < record.size() ? record.get(marksColumn).trim() : "";
+
+                String error = null;
+                MarksRosterEntry entry = rosterByRollNumber.get(rollNumber);
+                Integer marksObtained = null;
+                if (rollNumber.isEmpty()) {
+                    error = "Roll number is required";
+                } else if (entry == null) {
+                    error = "No student with roll number " + rollNumber + " is enrolled in class " + classRoom.getName() +
+                            " for academic year " + academicYear.getYearName();
+                } else if (ambiguousRollNumbers.contains(rollNumber)) {
+                    error = "Roll number " + rollNumber + " is shared by more than one student in class " + classRoom.getName();
+                } else if (writtenStudentIds.contains(entry.getStudentId())) {
+                    error = "Duplicate row for roll number " + rollNumber;
+                } else if (marksCell.isEmpty()) {
+                    error = "Marks are required";
+                } else {
+                    try {
+                        marksObtained = new BigDecimal(marksCell).intValueExact();
+                        if (marksObtained < 0 || marksObtained > maxMarks) {
+                            error = "Marks obtained must be between 0 and " + maxMarks;
+                        }
+                    } catch (NumberFormatException | ArithmeticException e) {
+                        error = "Marks must be a whole number";
+                    }
+                }
+
+                if (error != null) {
+                    failedRows++;
+                    if (errors.size() < MARKS_IMPORT_MAX_REPORTED_ERRORS) {
+                        errors.add(MarksImportResponse.RowError.builder()
+                                .lineNumber(lineNumber)
+                                .rollNumber(rollNumber)
+                                .marks(marksCell)
+                                .message(error)
+                                .build());
+                    }
+                    continue;
+                }
+
+                writtenStudentIds.add(entry.getStudentId());
+                if (entry.getMarksId() == null) {
+                    insertedRows++;
+                }
+                batch.add(StudentMarks.builder()
+                        .examSubject(examSubject)
+                        .student(studentRepository.getReferenceById(entry.getStudentId()))
+                        .marksObtained(marksObtained)
+                        .gradeScale(findGradeByMarks(marksObtained, collegeId))
+                        .build());
+                if (batch.size() == MARKS_IMPORT_BATCH_SIZE) {
+                    studentMarksRepository.batchUpsert(batch);
+                    batch.clear();
+                }
+
+                if (entry.getUserId() != null) {
+                    boolean updated = entry.getMarksId() != null;
+                    notifications.add(NotificationRequest.builder()
+                            .receiverId(entry.getUserId())
+                            .title("Marks " + (updated ? "Updated" : "Entered") + ": " + subjectName)
+                            .message("Your marks for " + subjectName + " have been " + (updated ? "updated" : "entered") + ". Marks: " + marksObtained + "/" + maxMarks)
+                            .build());
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceConflictException("Unable to read marks file: " + e.getMessage());
+        }
+        studentMarksRepository.batchUpsert(batch);
+        refreshStudentResults(exam.getId(), academicYear.getId(), writtenStudentIds);
+
+        // Notifications are written after commit
+        if (!notifications.isEmpty()) {
+            eventPublisher.publishEvent(new StudentMarksRecordedEvent(collegeId, exam.getId(), exam.getUuid(), notifications));
+        }
+
+        long importedRows = writtenStudentIds.size();
+        User currentUser = getCurrentUser();
+        if (currentUser != null && importedRows > 0) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.UPDATE,
+                    AuditEntityType.EXAM,
+                    examSubject.getId(),
+                    "Imported marks for " + importedRows + " students in " + subjectName + " from " + file.getOriginalFilename() +
+                    " (" + failedRows + " rows rejected)"
+            );
+        }
+
+        return MarksImportResponse.builder()
+                .examSubjectUuid(examSubject.getUuid())
+                .subjectName(subjectName)
+                .className(classRoom.getName())
+                .section(classRoom.getSection())
+                .maxMarks(maxMarks)
+                .totalRows(totalRows)
+                .importedRows(importedRows)
+                .insertedRows(insertedRows)
+                .updatedRows(importedRows - insertedRows)
+                .failedRows(failedRows)
+                .errorsTruncated(failedRows > errors.size())
+                .errors(errors)
+                .build();
+    }
+
     @Override
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER', 'STUDENT')")
     public StudentMarksResponse getStudentMarksByUuid(String studentMarksUuid) {
@@ -826,16 +1115,10 @@ public class ExamServiceImpl implements ExamService {
                 .map(StudentMarksMapper::toResponse)
                 .collect(Collectors.toList());
 
-        // Calculate totals
-        int totalMarks = marks.stream()
-                .filter(m -> m.getExamSubject() != null)
-                .mapToInt(m -> m.getExamSubject().getMaxMarks() != null ? m.getExamSubject().getMaxMarks() : 0)
-                .sum();
-
-        int obtainedMarks = marks.stream()
-                .filter(m -> m.getMarksObtained() != null)
-                .mapToInt(StudentMarks::getMarksObtained)
-                .sum();
+        // Totals come from the materialized result row maintained on marks writes
+        Optional<StudentExamResult> result = studentExamResultRepository.findByStudentIdAndExamId(student.getId(), exam.getId());
+        int totalMarks = result.map(StudentExamResult::getTotalMarks).orElse(0);
+        int obtainedMarks = result.map(StudentExamResult::getObtainedMarks).orElse(0);
 
         BigDecimal percentage = totalMarks > 0 ?
                 BigDecimal.valueOf(obtainedMarks)
@@ -848,19 +1131,17 @@ public class ExamServiceImpl implements ExamService {
         GradeScale overallGrade = findGradeByPercentage(percentage.intValue(), collegeId).orElse(null);
 
         // Check if passed (all subjects passed)
-        boolean isPassed = marks.stream()
-                .allMatch(m -> m.getMarksObtained() != null &&
-                        m.getExamSubject() != null &&
-                        m.getExamSubject().getPassMarks() != null &&
-                        m.getMarksObtained() >= m.getExamSubject().getPassMarks());
+        boolean isPassed = result.map(r -> r.getPassedCount().equals(r.getSubjectCount())).orElse(true);
 
         // Get student enrollment for class info
         Optional<StudentEnrollment> enrollment = studentEnrollmentRepository.findActiveByStudentIdAndCollegeId(student.getId(), collegeId);
         String className = enrollment.map(e -> e.getClassRoom().getName()).orElse(null);
         String section = enrollment.map(e -> e.getClassRoom().getSection()).orElse(null);
 
-        // Calculate rank (simplified - would need more complex query in production)
-        int rankInClass = 1; // Placeholder - would require ranking query
+        // Rank within the student's section, from the cached exam ranking
+        ExamRanking ranking = examRankingCache.get(exam.getId());
+        int rankIndex = ranking.indexOf(student.getId());
+        Integer rankInClass = rankIndex >= 0 ? ranking.competitionRank(RankScope.SECTION, rankIndex) : null;
 
         return StudentExamResultResponse.builder()
                 .examUuid(exam.getUuid())
@@ -888,7 +1169,161 @@ public class ExamServiceImpl implements ExamService {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
         StudentMarks studentMarks = studentMarksRepository.findByUuidAndCollegeId(studentMarksUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student marks not found with UUID: " + studentMarksUuid));
+
+        Long studentId = studentMarks.getStudent().getId();
+        Exam exam = studentMarks.getExamSubject().getExamClass().getExam();
         studentMarksRepository.delete(studentMarks);
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(), List.of(studentId));
+    }
+
+    // ========== Marks Moderation ==========
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public MarksModerationPreviewResponse previewMarksModeration(String examUuid, MarksModerationRequest request) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+        MarksModeration moderation = toMarksModeration(exam, request);
+
+        // Every change is counted, only the first ones are returned
+        List<MarksModerationPreviewResponse.MarksChange> changes = new ArrayList<>();
+        int[] counts = new int[4];
+        marksModerationRepository.forEachChange(moderation, change -> {
+            String newGrade = gradeScaleLookupService.findByMarks(collegeId, change.newMarks())
+                    .map(GradeScale::getGrade)
+                    .orElse(null);
+            boolean passedBefore = change.previousMarks() >= change.passMarks();
+            boolean passedAfter = change.newMarks() >= change.passMarks();
+            counts[0]++;
+            if (!passedBefore && passedAfter) {
+                counts[1]++;
+            } else if (passedBefore && !passedAfter) {
+                counts[2]++;
+            }
+            if (!Objects.equals(change.previousGrade(), newGrade)) {
+                counts[3]++;
+            }
+            if (changes.size() < MODERATION_PREVIEW_MAX_CHANGES) {
+                changes.add(MarksModerationPreviewResponse.MarksChange.builder()
+                        .studentMarksUuid(change.studentMarksUuid())
+                        .rollNumber(change.rollNumber())
+                        .studentName(change.studentName())
+                        .subjectName(change.subjectName())
+                        .className(change.className())
+                        .section(change.section())
+                        .maxMarks(change.maxMarks())
+                        .passMarks(change.passMarks())
+                        .previousMarks(change.previousMarks())
+                        .newMarks(change.newMarks())
+                        .previousGrade(change.previousGrade())
+                        .newGrade(newGrade)
+                        .build());
+            }
+        });
+
+        return MarksModerationPreviewResponse.builder()
+                .examUuid(exam.getUuid())
+                .examSubjectUuid(moderation.getExamSubjectUuid())
+                .ruleType(moderation.getRuleType())
+                .affectedCount(counts[0])
+                .newlyPassedCount(counts[1])
+                .newlyFailedCount(counts[2])
+                .gradeChangedCount(counts[3])
+                .changes(changes)
+                .truncated(counts[0] > changes.size())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public MarksModerationResponse applyMarksModeration(String examUuid, MarksModerationRequest request) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+        MarksModeration moderation = toMarksModeration(exam, request);
+
+        User currentUser = getCurrentUser();
+        moderation.setAppliedBy(currentUser);
+        moderation = marksModerationRepository.saveAndFlush(moderation);
+
+        // Logged, updated and regraded with three set-based statements; no marks are loaded
+        int affected = marksModerationRepository.apply(moderation, collegeId);
+        if (affected == 0) {
+            throw new ResourceConflictException("The moderation rule does not change any marks");
+        }
+        moderation.setAffectedCount(affected);
+        moderation = marksModerationRepository.save(moderation);
+
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(),
+                marksModerationRepository.findStudentIds(moderation.getId()));
+
+        if (currentUser != null) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.UPDATE,
+                    AuditEntityType.EXAM,
+                    exam.getId(),
+                    "Applied " + moderation.getRuleType() + " moderation to " + affected + " marks in exam " + exam.getName()
+            );
+        }
+
+        return MarksModerationMapper.toResponse(moderation);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public MarksModerationResponse revertMarksModeration(String moderationUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        MarksModeration moderation = marksModerationRepository.findByUuidAndCollegeId(moderationUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Moderation not found with UUID: " + moderationUuid));
+
+        if (moderation.getRevertedAt() != null) {
+            throw new ResourceConflictException("Moderation has already been reverted");
+        }
+        Exam exam = moderation.getExam();
+        // Later moderations were computed from this one's marks, so they are reverted first
+        if (marksModerationRepository.existsActiveAfter(exam.getId(), moderation.getId())) {
+            throw new ResourceConflictException("Revert the later moderations of this exam first");
+        }
+
+        int restored = marksModerationRepository.revert(moderation, collegeId);
+
+        User currentUser = getCurrentUser();
+        moderation.setRevertedAt(Instant.now());
+        moderation.setRevertedBy(currentUser);
+        moderation.setRevertedCount(restored);
+        moderation = marksModerationRepository.save(moderation);
+
+        refreshStudentResults(exam.getId(), exam.getAcademicYear().getId(),
+                marksModerationRepository.findStudentIds(moderation.getId()));
+
+        if (currentUser != null) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.UPDATE,
+                    AuditEntityType.EXAM,
+                    exam.getId(),
+                    "Reverted " + moderation.getRuleType() + " moderation in exam " + exam.getName() + ": restored " + restored + " of " + moderation.getAffectedCount() + " marks"
+            );
+        }
+
+        return MarksModerationMapper.toResponse(moderation);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public List<MarksModerationResponse> getMarksModerations(String examUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+
+        return marksModerationRepository.findByExamId(exam.getId()).stream()
+                .map(MarksModerationMapper::toResponse)
+                .collect(Collectors.toList());
     }
 
     // ========== Grade Scale Management ==========
@@ -919,6 +1354,13 @@ public class ExamServiceImpl implements ExamService {
                 .build();
 
         gradeScale = gradeScaleRepository.save(gradeScale);
+        gradeScaleLookupService.refresh(collegeId);
+
+        // Grade points feed every GPA ledger row of the college
+        if (request.getGradePoints() != null) {
+            gradeScaleRepository.flush();
+            studentGpaLedgerRepository.refreshByCollegeId(collegeId);
+        }
 
         // Create audit log
         User currentUser = getCurrentUser();
@@ -967,6 +1409,7 @@ public class ExamServiceImpl implements ExamService {
         }
 
         gradeScale = gradeScaleRepository.save(gradeScale);
+        gradeScaleLookupService.refresh(collegeId);
 
         // Create audit log
         User currentUser = getCurrentUser();
@@ -1029,6 +1472,7 @@ public class ExamServiceImpl implements ExamService {
         }
 
         gradeScaleRepository.delete(gradeScale);
+        gradeScaleLookupService.refresh(collegeId);
     }
 
     // ========== Student Transcript Management ==========
@@ -1062,49 +1506,23 @@ public class ExamServiceImpl implements ExamService {
                     .build();
         }
 
-        // Get all exams for this academic year
-        List<Exam> exams = examRepository.findByAcademicYearUuidAndCollegeId(academicYearUuid, collegeId, Pageable.unpaged())
-                .getContent();
-
-        // Get all marks for this student in this academic year
-        List<StudentMarks> allMarks = new ArrayList<>();
-        for (Exam exam : exams) {
-            List<StudentMarks> examMarks = studentMarksRepository.findByStudentUuidAndExamUuidAndCollegeId(
-                    studentUuid, exam.getUuid(), collegeId);
-            allMarks.addAll(examMarks);
-        }
-
-        // Calculate CGPA and credits
-        BigDecimal totalGradePoints = BigDecimal.ZERO;
-        int totalCredits = 0;
-
-        for (StudentMarks marks : allMarks) {
-            if (marks.getExamSubject() != null && marks.getExamSubject().getSubject() != null) {
-                Integer credits = marks.getExamSubject().getSubject().getCredit();
-                if (credits != null && marks.getGradeScale() != null && marks.getGradeScale().getGradePoints() != null) {
-                    totalCredits += credits;
-                    totalGradePoints = totalGradePoints.add(
-                            marks.getGradeScale().getGradePoints().multiply(BigDecimal.valueOf(credits))
-                    );
-                }
-            }
-        }
-
-        BigDecimal cgpa = totalCredits > 0 ?
-                totalGradePoints.divide(BigDecimal.valueOf(totalCredits), 4, RoundingMode.HALF_UP)
-                        .setScale(2, RoundingMode.HALF_UP) :
-                BigDecimal.ZERO;
+        // All marks for this student in this academic year, for the transcript body
+        List<StudentMarks> allMarks = studentMarksRepository.findByStudentIdInAndAcademicYearId(
+                List.of(student.getId()), academicYear.getId(), collegeId);
 
-        // Determine result status
-        ResultStatus resultStatus = determineResultStatus(allMarks);
+        // CGPA, credits and result status come from the GPA ledger maintained on marks writes
+        TranscriptCalculator.Result result = studentGpaLedgerRepository
+                .findByStudentIdAndAcademicYearId(student.getId(), academicYear.getId())
+                .map(TranscriptCalculator::fromLedger)
+                .orElseGet(TranscriptCalculator::withheld);
 
-        transcript.setCgpa(cgpa);
-        transcript.setTotalCredits(totalCredits);
-        transcript.setResultStatus(resultStatus);
+        transcript.setCgpa(result.cgpa());
+        transcript.setTotalCredits(result.totalCredits());
+        transcript.setResultStatus(result.resultStatus());
 
         transcript = studentTranscriptRepository.save(transcript);
 
-        return StudentTranscriptMapper.toResponse(transcript, allMarks);
+        return saveTranscriptSnapshot(transcript, StudentTranscriptMapper.toResponse(transcript, allMarks));
     }
 
     @Override
@@ -1128,7 +1546,7 @@ public class ExamServiceImpl implements ExamService {
         List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
                 transcript.getStudent().getUuid(), collegeId);
 
-        return StudentTranscriptMapper.toResponse(transcript, marks);
+        return saveTranscriptSnapshot(transcript, StudentTranscriptMapper.toResponse(transcript, marks));
     }
 
     @Override
@@ -1208,11 +1626,113 @@ public class ExamServiceImpl implements ExamService {
             }
         }
 
-        // Get marks for response
+        // Get marks for response; the response is frozen as the transcript's snapshot
         List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
                 transcript.getStudent().getUuid(), collegeId);
 
-        return StudentTranscriptMapper.toResponse(transcript, marks);
+        return saveTranscriptSnapshot(transcript, StudentTranscriptMapper.toResponse(transcript, marks));
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public BulkPublishTranscriptsResponse publishTranscripts(BulkPublishTranscriptsRequest request) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        AcademicYear academicYear = academicYearRepository.findByUuidAndCollegeId(request.getAcademicYearUuid(), collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Academic year not found with UUID: " + request.getAcademicYearUuid()));
+
+        Set<String> classUuids = new LinkedHashSet<>(request.getClassUuids());
+        List<ClassRoom> classRooms = classRoomRepository.findByUuidInAndCollegeId(classUuids, collegeId);
+        if (classRooms.size() != classUuids.size()) {
+            Set<String> found = classRooms.stream().map(ClassRoom::getUuid).collect(Collectors.toSet());
+            String missing = classUuids.stream().filter(uuid -> !found.contains(uuid)).findFirst().orElse("");
+            throw new ResourceNotFoundException("Class not found with UUID: " + missing);
+        }
+        List<Long> classIds = classRooms.stream().map(ClassRoom::getId).toList();
+
+        // One query yields every unpublished transcript with its student's and parents' user IDs,
+        // grouped by transcript
+        List<TranscriptRecipientRow> rows = studentTranscriptRepository.findUnpublishedRecipientsByAcademicYearIdAndClassIds(
+                academicYear.getId(), classIds, collegeId);
+
+        Set<Long> candidateIds = new LinkedHashSet<>();
+        for (TranscriptRecipientRow row : rows) {
+            candidateIds.add(row.getTranscriptId());
+        }
+
+        // A concurrent call may publish some of these first: lock the ones still unpublished and flip only those,
+        // so each transcript is announced and snapshotted by exactly one call
+        User approvingUser = getCurrentUser();
+        Instant publishedAt = Instant.now();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        List<Long> candidates = new ArrayList<>(candidateIds);
+        Set<Long> flippedIds = new HashSet<>();
+        int published = 0;
+        for (int from = 0; from < candidates.size(); from += TRANSCRIPT_PUBLISH_CHUNK_SIZE) {
+            List<Long> chunk = studentTranscriptRepository.lockUnpublishedIdsIn(
+                    candidates.subList(from, Math.min(from + TRANSCRIPT_PUBLISH_CHUNK_SIZE, candidates.size())));
+            if (!chunk.isEmpty()) {
+                published += studentTranscriptRepository.publishByIdIn(chunk, publishedAt, approvingUser, updatedAt);
+                flippedIds.addAll(chunk);
+            }
+        }
+
+        String yearName = academicYear.getYearName();
+        List<Long> transcriptIds = new ArrayList<>(flippedIds.size());
+        List<NotificationRequest> notifications = new ArrayList<>();
+        Long previousTranscriptId = null;
+        for (TranscriptRecipientRow row : rows) {
+            if (!flippedIds.contains(row.getTranscriptId())) {
+                continue;
+            }
+            String actionUrl = "/transcripts/" + row.getTranscriptUuid();
+            if (!row.getTranscriptId().equals(previousTranscriptId)) {
+                previousTranscriptId = row.getTranscriptId();
+                transcriptIds.add(row.getTranscriptId());
+                if (row.getStudentUserId() != null) {
+                    notifications.add(NotificationRequest.builder()
+                            .receiverId(row.getStudentUserId())
+                            .title("Results Published: " + yearName)
+                            .message("Your results for academic year " + yearName + " have been published. CGPA: " + row.getCgpa())
+                            .referenceId(row.getTranscriptId())
+                            .actionUrl(actionUrl)
+                            .build());
+                }
+            }
+            if (row.getParentUserId() != null) {
+                notifications.add(NotificationRequest.builder()
+                        .receiverId(row.getParentUserId())
+                        .title("Results Published: " + row.getRollNumber() + " - " + yearName)
+                        .message("Results for " + row.getRollNumber() + " (" + (row.getStudentName() != null ? row.getStudentName() : "") + ") have been published. CGPA: " + row.getCgpa())
+                        .referenceId(row.getTranscriptId())
+                        .actionUrl(actionUrl)
+                        .build());
+            }
+        }
+
+        // Notifications and snapshots are written once the publication has committed
+        if (!transcriptIds.isEmpty()) {
+            eventPublisher.publishEvent(new TranscriptsPublishedEvent(collegeId, transcriptIds, notifications));
+        }
+
+        if (approvingUser != null && published > 0) {
+            auditService.createAuditLog(
+                    approvingUser.getId(),
+                    AuditAction.APPROVE,
+                    AuditEntityType.EXAM,
+                    academicYear.getId(),
+                    "Published " + published + " transcripts for academic year " + yearName + " in " + classRooms.size() + " classes"
+            );
+        }
+
+        return BulkPublishTranscriptsResponse.builder()
+                .academicYearUuid(academicYear.getUuid())
+                .academicYearName(yearName)
+                .classCount(classRooms.size())
+                .publishedTranscripts(published)
+                .notificationsQueued(notifications.size())
+                .publishedAt(publishedAt)
+                .build();
     }
 
     @Override
@@ -1233,21 +1753,22 @@ public class ExamServiceImpl implements ExamService {
         List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
                 transcript.getStudent().getUuid(), collegeId);
 
-        return StudentTranscriptMapper.toResponse(transcript, marks);
+        return saveTranscriptSnapshot(transcript, StudentTranscriptMapper.toResponse(transcript, marks));
     }
 
     @Override
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER', 'STUDENT')")
     public StudentTranscriptResponse getTranscriptByUuid(String transcriptUuid) {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        StudentTranscriptResponse cached = transcriptSnapshotCache.get(transcriptUuid, collegeId);
+        if (cached != null) {
+            return cached;
+        }
+
         StudentTranscript transcript = studentTranscriptRepository.findByUuidAndCollegeId(transcriptUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transcript not found with UUID: " + transcriptUuid));
 
-        // Get marks for response
-        List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
-                transcript.getStudent().getUuid(), collegeId);
-
-        return StudentTranscriptMapper.toResponse(transcript, marks);
+        return toTranscriptResponses(List.of(transcript), collegeId).get(0);
     }
 
     @Override
@@ -1256,13 +1777,7 @@ public class ExamServiceImpl implements ExamService {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
         List<StudentTranscript> transcripts = studentTranscriptRepository.findByStudentUuidAndCollegeId(studentUuid, collegeId);
 
-        return transcripts.stream()
-                .map(t -> {
-                    List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
-                            t.getStudent().getUuid(), collegeId);
-                    return StudentTranscriptMapper.toResponse(t, marks);
-                })
-                .collect(Collectors.toList());
+        return toTranscriptResponses(transcripts, collegeId);
     }
 
     @Override
@@ -1272,11 +1787,7 @@ public class ExamServiceImpl implements ExamService {
         Page<StudentTranscript> transcripts = studentTranscriptRepository.findByAcademicYearUuidAndCollegeId(
                 academicYearUuid, collegeId, pageable);
 
-        return transcripts.map(t -> {
-            List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
-                    t.getStudent().getUuid(), collegeId);
-            return StudentTranscriptMapper.toResponse(t, marks);
-        });
+        return new PageImpl<>(toTranscriptResponses(transcripts.getContent(), collegeId), pageable, transcripts.getTotalElements());
     }
 
     @Override
@@ -1286,11 +1797,7 @@ public class ExamServiceImpl implements ExamService {
         Page<StudentTranscript> transcripts = studentTranscriptRepository.findPublishedByAcademicYearUuidAndCollegeId(
                 academicYearUuid, collegeId, pageable);
 
-        return transcripts.map(t -> {
-            List<StudentMarks> marks = studentMarksRepository.findByStudentUuidAndCollegeId(
-                    t.getStudent().getUuid(), collegeId);
-            return StudentTranscriptMapper.toResponse(t, marks);
-        });
+        return new PageImpl<>(toTranscriptResponses(transcripts.getContent(), collegeId), pageable, transcripts.getTotalElements());
     }
 
     // ========== Reports and Summaries ==========
@@ -1309,121 +1816,275 @@ public class ExamServiceImpl implements ExamService {
         ExamClass examClass = examClassRepository.findByExamIdAndClassRoomId(exam.getId(), classRoom.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Class is not part of this exam"));
 
-        // Get all students in class
-        List<StudentEnrollment> enrollments = studentEnrollmentRepository.findByClassUuidAndCollegeId(classUuid, collegeId);
-        int totalStudents = enrollments.size();
-
-        // Get all marks for this exam and class
-        List<StudentMarks> allMarks = studentMarksRepository.findByClassUuidAndExamUuidAndCollegeId(
-                classUuid, examUuid, collegeId);
-
-        int studentsWithMarks = (int) allMarks.stream()
-                .map(StudentMarks::getStudent)
-                .map(Student::getUuid)
-                .distinct()
-                .count();
-
-        int totalSubjects = examClass.getSubjects() != null ? examClass.getSubjects().size() : 0;
-
-        // Calculate average percentage
-        BigDecimal totalPercentage = BigDecimal.ZERO;
-        int studentsCount = 0;
-
-        for (StudentEnrollment enrollment : enrollments) {
-            List<StudentMarks> studentMarks = allMarks.stream()
-                    .filter(m -> m.getStudent().getId().equals(enrollment.getStudent().getId()))
-                    .collect(Collectors.toList());
-
-            if (!studentMarks.isEmpty()) {
-                int total = studentMarks.stream()
-                        .filter(m -> m.getExamSubject() != null)
-                        .mapToInt(m -> m.getExamSubject().getMaxMarks() != null ? m.getExamSubject().getMaxMarks() : 0)
-                        .sum();
-
-                int obtained = studentMarks.stream()
-                        .filter(m -> m.getMarksObtained() != null)
-                        .mapToInt(StudentMarks::getMarksObtained)
-                        .sum();
-
-                if (total > 0) {
-                    BigDecimal percentage = BigDecimal.valueOf(obtained)
-                            .divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100));
-                    totalPercentage = totalPercentage.add(percentage);
-                    studentsCount++;
-                }
-            }
+        // Enrolled students and materialized per-student results, each in one query
+        Set<Long> enrolledStudentIds = new HashSet<>(
+                studentEnrollmentRepository.findActiveStudentIdsByClassIdAndCollegeId(classRoom.getId(), collegeId));
+        ClassExamStatistics statistics = ClassExamStatistics.of(
+                studentExamResultRepository.findAggregatesByExamIdAndClassId(exam.getId(), classRoom.getId()), enrolledStudentIds);
+
+        int totalSubjects = (int) examSubjectRepository.countByExamClassId(examClass.getId());
+
+        return ClassExamSummaryResponse.builder()
+                .examUuid(exam.getUuid())
+                .examName(exam.getName())
+                .classUuid(classRoom.getUuid())
+                .className(classRoom.getName())
+                .section(classRoom.getSection())
+                .totalStudents(statistics.getTotalStudents())
+                .studentsWithMarks(statistics.getStudentsWithMarks())
+                .totalSubjects(totalSubjects)
+                .averagePercentage(statistics.getAveragePercentage())
+                .passedStudents(statistics.getPassedStudents())
+                .failedStudents(statistics.getFailedStudents())
+                .passPercentage(statistics.getPassPercentage())
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public List<ClassExamSummaryResponse> getClassExamSummaries(String examUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+
+        List<ExamClass> examClasses = examClassRepository.findWithClassRoomByExamId(exam.getId());
+        if (examClasses.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        BigDecimal averagePercentage = studentsCount > 0 ?
-                totalPercentage.divide(BigDecimal.valueOf(studentsCount), 2, RoundingMode.HALF_UP) :
-                BigDecimal.ZERO;
+        // Materialized results and enrollments for the whole exam, partitioned by class in one pass each
+        Map<Long, List<StudentExamAggregate>> aggregatesByClassId = new HashMap<>();
+        for (StudentExamAggregate aggregate : studentExamResultRepository.findAggregatesByExamId(exam.getId())) {
+            aggregatesByClassId.computeIfAbsent(aggregate.getClassId(), k -> new ArrayList<>()).add(aggregate);
+        }
 
-        // Count passed/failed students
-        int passedStudents = 0;
-        int failedStudents = 0;
+        Map<Long, Set<Long>> enrolledStudentIdsByClassId = new HashMap<>();
+        for (ClassStudentRef ref : studentEnrollmentRepository.findActiveClassStudentRefsByExamIdAndCollegeId(exam.getId(), collegeId)) {
+            enrolledStudentIdsByClassId.computeIfAbsent(ref.getClassId(), k -> new HashSet<>()).add(ref.getStudentId());
+        }
 
-        for (StudentEnrollment enrollment : enrollments) {
-            List<StudentMarks> studentMarks = allMarks.stream()
-                    .filter(m -> m.getStudent().getId().equals(enrollment.getStudent().getId()))
-                    .collect(Collectors.toList());
+        Map<Long, Long> subjectCountByExamClassId = examSubjectRepository.countByExamIdGroupByExamClass(exam.getId())
+                .stream()
+                .collect(Collectors.toMap(GroupCount::getGroupId, GroupCount::getTotal));
+
+        List<ClassExamSummaryResponse> summaries = new ArrayList<>(examClasses.size());
+        for (ExamClass examClass : examClasses) {
+            ClassRoom classRoom = examClass.getClassRoom();
+            ClassExamStatistics statistics = ClassExamStatistics.of(
+                    aggregatesByClassId.getOrDefault(classRoom.getId(), Collections.emptyList()),
+                    enrolledStudentIdsByClassId.getOrDefault(classRoom.getId(), Collections.emptySet()));
+
+            summaries.add(ClassExamSummaryResponse.builder()
+                    .examUuid(exam.getUuid())
+                    .examName(exam.getName())
+                    .classUuid(classRoom.getUuid())
+                    .className(classRoom.getName())
+                    .section(classRoom.getSection())
+                    .totalStudents(statistics.getTotalStudents())
+                    .studentsWithMarks(statistics.getStudentsWithMarks())
+                    .totalSubjects(subjectCountByExamClassId.getOrDefault(examClass.getId(), 0L).intValue())
+                    .averagePercentage(statistics.getAveragePercentage())
+                    .passedStudents(statistics.getPassedStudents())
+                    .failedStudents(statistics.getFailedStudents())
+                    .passPercentage(statistics.getPassPercentage())
+                    .build());
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ExamStatisticsResponse getExamStatistics(String examUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
 
-            if (!studentMarks.isEmpty()) {
-                boolean passed = studentMarks.stream()
-                        .allMatch(m -> m.getMarksObtained() != null &&
-                                m.getExamSubject() != null &&
-                                m.getExamSubject().getPassMarks() != null &&
-                                m.getMarksObtained() >= m.getExamSubject().getPassMarks());
+        List<ExamSubject> examSubjects = examSubjectRepository.findWithSubjectAndClassRoomByExamId(exam.getId());
+        Map<Long, MarksDistribution> distributions = new HashMap<>();
+        for (ExamSubject examSubject : examSubjects) {
+            distributions.put(examSubject.getId(), new MarksDistribution(examSubject.getMaxMarks(), examSubject.getPassMarks()));
+        }
 
-                if (passed) {
-                    passedStudents++;
-                } else {
-                    failedStudents++;
+        // One forward-only pass over the exam's marks; no entities are materialized
+        try (Stream<SubjectMarkRow> rows = studentMarksRepository.streamMarkRowsByExamId(exam.getId())) {
+            rows.forEach(row -> {
+                MarksDistribution distribution = distributions.get(row.getExamSubjectId());
+                if (distribution != null && row.getMarksObtained() != null) {
+                    distribution.add(row.getMarksObtained());
                 }
-            }
+            });
         }
 
-        BigDecimal passPercentage = totalStudents > 0 ?
-                BigDecimal.valueOf(passedStudents)
-                        .divide(BigDecimal.valueOf(totalStudents), 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100))
-                        .setScale(2, RoundingMode.HALF_UP) :
-                BigDecimal.ZERO;
+        List<ExamStatisticsResponse.ExamSubjectStatistics> subjects = new ArrayList<>(examSubjects.size());
+        Map<String, ExamStatisticsResponse.SubjectPassRate> passRates = new LinkedHashMap<>();
+        for (ExamSubject examSubject : examSubjects) {
+            MarksDistribution distribution = distributions.get(examSubject.getId());
+            ClassRoom classRoom = examSubject.getExamClass().getClassRoom();
+            Subject subject = examSubject.getSubject();
+
+            int[] bands = distribution.getBands();
+            List<ExamStatisticsResponse.MarksBand> histogram = new ArrayList<>(bands.length);
+            int bandWidth = 100 / MarksDistribution.BANDS;
+            for (int band = 0; band < bands.length; band++) {
+                histogram.add(ExamStatisticsResponse.MarksBand.builder()
+                        .fromPercentage(band * bandWidth)
+                        .toPercentage((band + 1) * bandWidth)
+                        .students(bands[band])
+                        .build());
+            }
 
-        return ClassExamSummaryResponse.builder()
+            subjects.add(ExamStatisticsResponse.ExamSubjectStatistics.builder()
+                    .examSubjectUuid(examSubject.getUuid())
+                    .subjectName(subject.getName())
+                    .subjectCode(subject.getCode())
+                    .classUuid(classRoom.getUuid())
+                    .className(classRoom.getName())
+                    .section(classRoom.getSection())
+                    .maxMarks(examSubject.getMaxMarks())
+                    .passMarks(examSubject.getPassMarks())
+                    .studentsWithMarks(distribution.getCount())
+                    .mean(distribution.getMean())
+                    .median(distribution.getMedian())
+                    .standardDeviation(distribution.getStandardDeviation())
+                    .highest(distribution.getHighest())
+                    .lowest(distribution.getLowest())
+                    .passedStudents(distribution.getPassed())
+                    .passPercentage(distribution.getPassRate())
+                    .histogram(histogram)
+                    .build());
+
+            // Subjects are defined per section, so the same subject across sections shares class name and code
+            ExamStatisticsResponse.SubjectPassRate passRate = passRates.computeIfAbsent(
+                    classRoom.getName() + "|" + subject.getCode(),
+                    key -> ExamStatisticsResponse.SubjectPassRate.builder()
+                            .className(classRoom.getName())
+                            .subjectName(subject.getName())
+                            .subjectCode(subject.getCode())
+                            .sections(0)
+                            .studentsWithMarks(0L)
+                            .passedStudents(0L)
+                            .build());
+            passRate.setSections(passRate.getSections() + 1);
+            passRate.setStudentsWithMarks(passRate.getStudentsWithMarks() + distribution.getCount());
+            passRate.setPassedStudents(passRate.getPassedStudents() + distribution.getPassed());
+        }
+        for (ExamStatisticsResponse.SubjectPassRate passRate : passRates.values()) {
+            passRate.setPassPercentage(MarksDistribution.rate(passRate.getPassedStudents(), passRate.getStudentsWithMarks()));
+        }
+
+        return ExamStatisticsResponse.builder()
                 .examUuid(exam.getUuid())
                 .examName(exam.getName())
-                .classUuid(classRoom.getUuid())
-                .className(classRoom.getName())
-                .section(classRoom.getSection())
-                .totalStudents(totalStudents)
-                .studentsWithMarks(studentsWithMarks)
-                .totalSubjects(totalSubjects)
-                .averagePercentage(averagePercentage)
-                .passedStudents(passedStudents)
-                .failedStudents(failedStudents)
-                .passPercentage(passPercentage)
+                .subjects(subjects)
+                .subjectPassRates(new ArrayList<>(passRates.values()))
                 .build();
     }
 
     @Override
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
-    public List<ClassExamSummaryResponse> getClassExamSummaries(String examUuid) {
+    public ExamRankingResponse getExamRanking(String examUuid, RankScope scope, String classUuid, int top) {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
         Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
 
-        if (exam.getExamClasses() == null || exam.getExamClasses().isEmpty()) {
-            return Collections.emptyList();
+        ClassRoom classRoom = null;
+        if (scope != RankScope.EXAM) {
+            if (classUuid == null || classUuid.isBlank()) {
+                throw new ResourceConflictException("Class UUID is required for " + scope + " ranking");
+            }
+            classRoom = classRoomRepository.findByUuidAndCollegeId(classUuid, collegeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Class not found with UUID: " + classUuid));
         }
 
-        return exam.getExamClasses().stream()
-                .map(ec -> getClassExamSummary(examUuid, ec.getClassRoom().getUuid()))
-                .collect(Collectors.toList());
+        ExamRanking ranking = examRankingCache.get(exam.getId());
+        int group = ranking.group(scope,
+                classRoom != null ? classRoom.getId() : null,
+                classRoom != null ? classRoom.getName() : null);
+        int groupSize = ranking.groupSize(scope, group);
+        int[] indices = ranking.top(scope, group, top > 0 ? top : groupSize);
+
+        return ExamRankingResponse.builder()
+                .examUuid(exam.getUuid())
+                .examName(exam.getName())
+                .scope(scope)
+                .classUuid(classRoom != null ? classRoom.getUuid() : null)
+                .className(classRoom != null ? classRoom.getName() : null)
+                .section(scope == RankScope.SECTION ? classRoom.getSection() : null)
+                .totalStudents(groupSize)
+                .rankings(toRankResponses(ranking, indices, exam.getId(), collegeId))
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER', 'STUDENT', 'PARENT')")
+    public StudentRankResponse getStudentRank(String examUuid, String studentUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+
+        Student student = studentRepository.findByUuidAndCollegeId(studentUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with UUID: " + studentUuid));
+
+        ExamRanking ranking = examRankingCache.get(exam.getId());
+        int index = ranking.indexOf(student.getId());
+        if (index < 0) {
+            throw new ResourceNotFoundException("No results found for student " + student.getRollNumber() + " in this exam");
+        }
+
+        return toRankResponses(ranking, new int[]{index}, exam.getId(), collegeId).get(0);
     }
 
     // ========== Helper Methods ==========
 
+    /**
+     * Build rank responses for the given ranking entries, resolving students and sections with one query each
+     */
+    private List<StudentRankResponse> toRankResponses(ExamRanking ranking, int[] indices, Long examId, Long collegeId) {
+        if (indices.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Long> studentIds = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            studentIds.add(ranking.studentId(index));
+        }
+        Map<Long, Student> studentsById = studentRepository.findByIdInAndCollegeId(studentIds, collegeId)
+                .stream()
+                .collect(Collectors.toMap(Student::getId, s -> s));
+        Map<Long, ClassRoom> sectionsById = examClassRepository.findWithClassRoomByExamId(examId)
+                .stream()
+                .map(ExamClass::getClassRoom)
+                .collect(Collectors.toMap(ClassRoom::getId, c -> c, (a, b) -> a));
+
+        List<StudentRankResponse> responses = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            Student student = studentsById.get(ranking.studentId(index));
+            ClassRoom section = sectionsById.get(ranking.sectionId(index));
+            responses.add(StudentRankResponse.builder()
+                    .studentUuid(student != null ? student.getUuid() : null)
+                    .studentName(student != null && student.getUser() != null ? student.getUser().getName() : null)
+                    .rollNumber(student != null ? student.getRollNumber() : null)
+                    .classUuid(section != null ? section.getUuid() : null)
+                    .className(section != null ? section.getName() : null)
+                    .section(section != null ? section.getSection() : null)
+                    .obtainedMarks(ranking.obtainedMarks(index))
+                    .totalMarks(ranking.totalMarks(index))
+                    .percentage(ranking.percentage(index))
+                    .sectionRank(ranking.competitionRank(RankScope.SECTION, index))
+                    .sectionDenseRank(ranking.denseRank(RankScope.SECTION, index))
+                    .sectionPercentile(ranking.percentile(RankScope.SECTION, index))
+                    .classRank(ranking.competitionRank(RankScope.CLASS, index))
+                    .classDenseRank(ranking.denseRank(RankScope.CLASS, index))
+                    .classPercentile(ranking.percentile(RankScope.CLASS, index))
+                    .examRank(ranking.competitionRank(RankScope.EXAM, index))
+                    .examDenseRank(ranking.denseRank(RankScope.EXAM, index))
+                    .examPercentile(ranking.percentile(RankScope.EXAM, index))
+                    .build());
+        }
+        return responses;
+    }
+
     private College getCollegeById(Long collegeId) {
         College college = collegeService.findById(collegeId);
         tenantAccessGuard.assertCurrentTenant(college);
@@ -1445,34 +2106,153 @@ public class ExamServiceImpl implements ExamService {
         return null;
     }
 
-    private GradeScale findGradeByMarks(Integer marks, Long collegeId) {
-        return gradeScaleRepository.findGradeByMarksAndCollegeId(marks, collegeId)
-                .orElse(null);
+    /**
+     * Re-derive the materialized exam results and GPA ledger rows of the given students from their marks.
+     * Pending entity changes are flushed first because the refresh runs as plain SQL.
+     */
+    private void refreshStudentResults(Long examId, Long academicYearId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        studentMarksRepository.flush();
+        studentExamResultRepository.refresh(examId, studentIds);
+        studentGpaLedgerRepository.refresh(academicYearId, studentIds);
+        examRankingCache.evict(examId);
     }
 
-    private Optional<GradeScale> findGradeByPercentage(Integer percentage, Long collegeId) {
-        return gradeScaleRepository.findGradeByPercentageAndCollegeId(
-                BigDecimal.valueOf(percentage), collegeId);
+    /**
+     * Freeze the response of a published transcript as its snapshot, or drop the snapshot of an unpublished one
+     */
+    private StudentTranscriptResponse saveTranscriptSnapshot(StudentTranscript transcript, StudentTranscriptResponse response) {
+        if (Boolean.TRUE.equals(transcript.getPublished())) {
+            TranscriptSnapshot snapshot = transcriptSnapshotRepository.findByTranscriptId(transcript.getId())
+                    .orElseGet(() -> TranscriptSnapshot.builder().transcript(transcript).build());
+            snapshot.setData(transcriptSnapshotCache.encode(response));
+            transcriptSnapshotRepository.save(snapshot);
+        } else {
+            transcriptSnapshotRepository.deleteByTranscriptId(transcript.getId());
+        }
+        transcriptSnapshotCache.evict(transcript.getUuid());
+        return response;
     }
 
-    private ResultStatus determineResultStatus(List<StudentMarks> marks) {
-        if (marks == null || marks.isEmpty()) {
-            return ResultStatus.WITHHELD;
+    /**
+     * Published transcripts are served from their snapshots (cache first, then one query for the misses);
+     * the others are built from the student's marks, loaded once per student
+     */
+    private List<StudentTranscriptResponse> toTranscriptResponses(List<StudentTranscript> transcripts, Long collegeId) {
+        long generation = transcriptSnapshotCache.generation();
+        StudentTranscriptResponse[] responses = new StudentTranscriptResponse[transcripts.size()];
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < responses.length; i++) {
+            StudentTranscript transcript = transcripts.get(i);
+            if (Boolean.TRUE.equals(transcript.getPublished())) {
+                responses[i] = transcriptSnapshotCache.get(transcript.getUuid(), collegeId);
+                if (responses[i] == null) {
+                    missingIds.add(transcript.getId());
+                }
+            }
         }
 
-        // Check if all subjects passed
-        boolean allPassed = marks.stream()
-                .allMatch(m -> m.getMarksObtained() != null &&
-                        m.getExamSubject() != null &&
-                        m.getExamSubject().getPassMarks() != null &&
-                        m.getMarksObtained() >= m.getExamSubject().getPassMarks());
+        Map<Long, byte[]> snapshots = missingIds.isEmpty() ? Collections.emptyMap() :
+                transcriptSnapshotRepository.findByTranscriptIdIn(missingIds).stream()
+                        .collect(Collectors.toMap(s -> s.getTranscript().getId(), TranscriptSnapshot::getData));
+        Map<String, List<StudentMarks>> marksByStudentUuid = new HashMap<>();
+        for (int i = 0; i < responses.length; i++) {
+            if (responses[i] != null) {
+                continue;
+            }
+            StudentTranscript transcript = transcripts.get(i);
+            byte[] data = snapshots.get(transcript.getId());
+            if (data != null) {
+                transcriptSnapshotCache.put(transcript.getUuid(), collegeId, transcript.getStudent().getId(), data, generation);
+                responses[i] = transcriptSnapshotCache.decode(data);
+            } else {
+                List<StudentMarks> marks = marksByStudentUuid.computeIfAbsent(transcript.getStudent().getUuid(),
+                        studentUuid -> studentMarksRepository.findByStudentUuidAndCollegeId(studentUuid, collegeId));
+                responses[i] = StudentTranscriptMapper.toResponse(transcript, marks);
+            }
+        }
+        return Arrays.asList(responses);
+    }
 
-        if (allPassed) {
-            // Could add logic to determine PROMOTED vs PASS based on CGPA or other criteria
-            return ResultStatus.PASS;
-        } else {
-            return ResultStatus.FAIL;
+    /**
+     * Reject an exam subject whose class, or assigned teacher, already has another subject of the exam on the same date
+     */
+    private void checkTimetableClash(ExamSubject examSubject) {
+        if (examSubject.getExamDate() == null) {
+            return;
+        }
+        ExamClass examClass = examSubject.getExamClass();
+        ExamTimetable timetable = ExamTimetable.of(examSubjectRepository.findSlotsByExamId(examClass.getExam().getId()));
+
+        ExamSlotRow classClash = timetable.findClassClash(examClass.getId(), examSubject.getExamDate(), examSubject.getId());
+        if (classClash != null) {
+            throw new ResourceConflictException("Class " + classClash.getClassName() + " already has " +
+                    classClash.getSubjectName() + " scheduled on " + examSubject.getExamDate());
+        }
+
+        User teacher = examSubject.getAssignedTeacher();
+        ExamSlotRow teacherClash = teacher != null ?
+                timetable.findTeacherClash(teacher.getId(), examSubject.getExamDate(), examSubject.getId()) : null;
+        if (teacherClash != null) {
+            throw new ResourceConflictException("Teacher " + teacherClash.getTeacherName() + " is already assigned to " +
+                    teacherClash.getSubjectName() + " of class " + teacherClash.getClassName() + " on " + examSubject.getExamDate());
         }
     }
-}
 
+    private static List<ExamTimetableValidationResponse.ClashingSubject> toClashingSubjects(List<ExamSlotRow> occupants) {
+        List<ExamTimetableValidationResponse.ClashingSubject> subjects = new ArrayList<>(occupants.size());
+        for (ExamSlotRow occupant : occupants) {
+            subjects.add(ExamTimetableValidationResponse.ClashingSubject.builder()
+                    .examSubjectUuid(occupant.getExamSubjectUuid())
+                    .subjectName(occupant.getSubjectName())
+                    .subjectCode(occupant.getSubjectCode())
+                    .className(occupant.getClassName())
+                    .section(occupant.getSection())
+                    .build());
+        }
+        return subjects;
+    }
+
+    /**
+     * Validate a moderation request for its rule type and build the (unsaved) moderation it describes
+     */
+    private MarksModeration toMarksModeration(Exam exam, MarksModerationRequest request) {
+        if (request.getExamSubjectUuid() != null) {
+            ExamSubject examSubject = examSubjectRepository.findByUuidAndCollegeId(request.getExamSubjectUuid(), exam.getCollege().getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Exam subject not found with UUID: " + request.getExamSubjectUuid()));
+            if (!examSubject.getExamClass().getExam().getId().equals(exam.getId())) {
+                throw new ResourceNotFoundException("Exam subject does not belong to the specified exam");
+            }
+        }
+
+        boolean grace = request.getRuleType() == ModerationRuleType.GRACE;
+        if (grace && request.getGraceMarks() == null) {
+            throw new ResourceConflictException("Grace marks are required for a GRACE moderation");
+        }
+        if (!grace && request.getScaleFactor() == null) {
+            throw new ResourceConflictException("Scale factor is required for a SCALE moderation");
+        }
+
+        return MarksModeration.builder()
+                .exam(exam)
+                .examSubjectUuid(request.getExamSubjectUuid())
+                .ruleType(request.getRuleType())
+                .graceMarks(grace ? request.getGraceMarks() : null)
+                .withinMarks(grace ? (request.getWithinMarks() != null ? request.getWithinMarks() : request.getGraceMarks()) : null)
+                .scaleFactor(grace ? null : request.getScaleFactor())
+                .remarks(request.getRemarks())
+                .affectedCount(0)
+                .build();
+    }
+
+    private GradeScale findGradeByMarks(Integer marks, Long collegeId) {
+        return gradeScaleLookupService.findByMarks(collegeId, marks)
+                .orElse(null);
+    }
+
+    private Optional<GradeScale> findGradeByPercentage(Integer percentage, Long collegeId) {
+        return gradeScaleLookupService.findByPercentage(collegeId, BigDecimal.valueOf(percentage));
+    }
+}
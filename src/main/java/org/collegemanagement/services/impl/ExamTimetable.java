@@ -0,0 +1,97 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.repositories.projection.ExamSlotRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Occupancy index of an exam's timetable.
+ * <p>
+ * Subjects are bucketed once by (exam class, date) and (assigned teacher, date) in hash maps, so checking
+ * a subject against the rest of the exam and listing every clash are both linear in the number of subjects.
+ */
+final class ExamTimetable {
+
+    private record Slot(long ownerId, LocalDate date) {
+    }
+
+    private final int size;
+    private final Map<Slot, List<ExamSlotRow>> classSlots = new HashMap<>();
+    private final Map<Slot, List<ExamSlotRow>> teacherSlots = new HashMap<>();
+
+    private ExamTimetable(List<ExamSlotRow> rows) {
+        this.size = rows.size();
+        for (ExamSlotRow row : rows) {
+            if (row.getExamDate() == null) {
+                continue;
+            }
+            classSlots.computeIfAbsent(new Slot(row.getExamClassId(), row.getExamDate()), k -> new ArrayList<>(1)).add(row);
+            if (row.getTeacherId() != null) {
+                teacherSlots.computeIfAbsent(new Slot(row.getTeacherId(), row.getExamDate()), k -> new ArrayList<>(1)).add(row);
+            }
+        }
+    }
+
+    static ExamTimetable of(List<ExamSlotRow> rows) {
+        return new ExamTimetable(rows);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Another subject of the same exam class on the given date, or null
+     */
+    ExamSlotRow findClassClash(Long examClassId, LocalDate date, Long excludeExamSubjectId) {
+        return date == null ? null : first(classSlots.get(new Slot(examClassId, date)), excludeExamSubjectId);
+    }
+
+    /**
+     * Another subject assigned to the same teacher on the given date, or null
+     */
+    ExamSlotRow findTeacherClash(Long teacherId, LocalDate date, Long excludeExamSubjectId) {
+        return teacherId == null || date == null ? null : first(teacherSlots.get(new Slot(teacherId, date)), excludeExamSubjectId);
+    }
+
+    /**
+     * Every (class, date) slot holding more than one subject
+     */
+    List<List<ExamSlotRow>> classClashes() {
+        return clashes(classSlots);
+    }
+
+    /**
+     * Every (teacher, date) slot holding more than one subject
+     */
+    List<List<ExamSlotRow>> teacherClashes() {
+        return clashes(teacherSlots);
+    }
+
+    private static ExamSlotRow first(List<ExamSlotRow> occupants, Long excludeExamSubjectId) {
+        if (occupants == null) {
+            return null;
+        }
+        for (ExamSlotRow occupant : occupants) {
+            if (!Objects.equals(occupant.getExamSubjectId(), excludeExamSubjectId)) {
+                return occupant;
+            }
+        }
+        return null;
+    }
+
+    private static List<List<ExamSlotRow>> clashes(Map<Slot, List<ExamSlotRow>> slots) {
+        List<List<ExamSlotRow>> clashes = new ArrayList<>();
+        for (List<ExamSlotRow> occupants : slots.values()) {
+            if (occupants.size() > 1) {
+                clashes.add(occupants);
+            }
+        }
+        return clashes;
+    }
+}
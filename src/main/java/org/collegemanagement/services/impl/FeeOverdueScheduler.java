@@ -1,5 +1,7 @@
 package org.collegemanagement.services.impl;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.collegemanagement.enums.FeeStatus;
@@ -7,17 +9,35 @@ import org.collegemanagement.enums.InstallmentStatus;
 import org.collegemanagement.entity.fees.StudentFee;
 import org.collegemanagement.repositories.FeeInstallmentRepository;
 import org.collegemanagement.repositories.StudentFeeRepository;
+import org.collegemanagement.repositories.projection.FeeStatusCount;
+import org.collegemanagement.repositories.projection.StudentFeeStatusRow;
 import org.collegemanagement.services.EmailService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * Marks unpaid fees and installments overdue and reminds students about them.
+ * <p>
+ * Work is split per college and walked in ID order (keyset pages), each chunk in its own short
+ * transaction, so neither a large college nor a slow mail server holds locks for the whole run.
+ * Reminders are sent by a small bounded pool and recorded afterwards with one update per chunk.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -26,50 +46,198 @@ public class FeeOverdueScheduler {
     private final StudentFeeRepository studentFeeRepository;
     private final FeeInstallmentRepository feeInstallmentRepository;
     private final EmailService emailService;
+    private final FeeRollupUpdater feeRollupUpdater;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${fees.overdue.reminder-hours:24}")
     private long reminderHours;
 
+    @Value("${fees.overdue.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${fees.overdue.reminder-threads:4}")
+    private int reminderThreads;
+
+    private ThreadPoolTaskExecutor reminderExecutor;
+    private TransactionTemplate chunkTransaction;
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void init() {
+        // Bounded queue + caller-runs: the job thread sends reminders itself when the pool falls behind
+        reminderExecutor = new ThreadPoolTaskExecutor();
+        reminderExecutor.setCorePoolSize(reminderThreads);
+        reminderExecutor.setMaxPoolSize(reminderThreads);
+        reminderExecutor.setQueueCapacity(reminderThreads * 10);
+        reminderExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        reminderExecutor.setThreadNamePrefix("fee-reminder-");
+        reminderExecutor.initialize();
+
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reminderExecutor.shutdown();
+    }
+
     @Scheduled(cron = "${fees.overdue.cron:0 30 1 * * ?}")
-    @Transactional
     public void markOverdueFees() {
+        long startedAt = System.currentTimeMillis();
         LocalDate today = LocalDate.now();
-        int feesUpdated = studentFeeRepository.markOverdueByDueDate(FeeStatus.OVERDUE, today);
-        int installmentsUpdated = feeInstallmentRepository.markOverdue(InstallmentStatus.OVERDUE, today);
+        Instant cutoff = Instant.now().minus(reminderHours, ChronoUnit.HOURS);
+
+        List<Long> collegeIds = studentFeeRepository.findCollegeIdsWithUnpaidFeesDueBefore(today);
+        int feesUpdated = 0;
+        int installmentsUpdated = 0;
+        int remindersSent = 0;
+        for (Long collegeId : collegeIds) {
+            try {
+                feesUpdated += markCollegeFeesOverdue(collegeId, today);
+                installmentsUpdated += markCollegeInstallmentsOverdue(collegeId, today);
+                remindersSent += sendCollegeReminders(collegeId, today, cutoff);
+            } catch (Exception e) {
+                log.warn("Failed to process overdue fees of college {}: {}", collegeId, e.getMessage());
+            }
+        }
 
-        sendOverdueReminders(today);
+        log.info("Overdue run over {} colleges in {} ms: fees marked {}, installments marked {}, reminders sent {}",
+                collegeIds.size(), System.currentTimeMillis() - startedAt, feesUpdated, installmentsUpdated, remindersSent);
+    }
 
-        if (feesUpdated > 0 || installmentsUpdated > 0) {
-            log.info("Marked overdue fees: {}, overdue installments: {}", feesUpdated, installmentsUpdated);
+    private int markCollegeFeesOverdue(Long collegeId, LocalDate today) {
+        int updated = 0;
+        long afterId = 0;
+        while (true) {
+            long chunkStartedAt = System.currentTimeMillis();
+            long from = afterId;
+            List<StudentFeeStatusRow> rows = chunkTransaction.execute(status -> {
+                List<StudentFeeStatusRow> locked = studentFeeRepository.lockOverdueCandidates(collegeId, today, from, chunkSize);
+                if (!locked.isEmpty()) {
+                    feeRollupUpdater.recordStatusChanges(countByStatus(collegeId, locked), FeeStatus.OVERDUE);
+                    studentFeeRepository.updateStatusByIdIn(locked.stream().map(StudentFeeStatusRow::id).toList(), FeeStatus.OVERDUE);
+                }
+                return locked;
+            });
+            if (rows == null || rows.isEmpty()) {
+                return updated;
+            }
+            updated += rows.size();
+            afterId = rows.get(rows.size() - 1).id();
+            logChunk("overdue fees", collegeId, rows.size(), chunkStartedAt);
+            if (rows.size() < chunkSize) {
+                return updated;
+            }
         }
     }
 
-    private void sendOverdueReminders(LocalDate today) {
-        Instant cutoff = Instant.now().minus(reminderHours, ChronoUnit.HOURS);
-        List<StudentFee> overdueFees = studentFeeRepository.findOverdueForReminder(today, cutoff);
-        for (StudentFee studentFee : overdueFees) {
-            if (studentFee.getStudent() == null || studentFee.getStudent().getUser() == null) {
-                continue;
+    private int markCollegeInstallmentsOverdue(Long collegeId, LocalDate today) {
+        int updated = 0;
+        long afterId = 0;
+        while (true) {
+            long chunkStartedAt = System.currentTimeMillis();
+            List<Long> ids = feeInstallmentRepository.findOverdueCandidateIds(collegeId, today, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                return updated;
             }
-            String email = studentFee.getStudent().getUser().getEmail();
-            if (email == null || email.isBlank()) {
-                continue;
+            Integer marked = chunkTransaction.execute(status -> feeInstallmentRepository.markOverdueByIdIn(ids, InstallmentStatus.OVERDUE));
+            updated += marked != null ? marked : 0;
+            afterId = ids.get(ids.size() - 1);
+            logChunk("overdue installments", collegeId, ids.size(), chunkStartedAt);
+            if (ids.size() < chunkSize) {
+                return updated;
             }
-            String collegeName = studentFee.getStudent().getCollege() != null ? studentFee.getStudent().getCollege().getName() : "College";
-            String studentName = studentFee.getStudent().getUser().getName();
-            try {
-                emailService.sendStudentFeeOverdueEmail(
-                        email,
-                        collegeName,
-                        studentName != null ? studentName : "Student",
-                        studentFee.getDueAmount(),
-                        studentFee.getDueDate()
-                );
-                studentFee.setLastOverdueNotifiedAt(Instant.now());
-                studentFeeRepository.save(studentFee);
-            } catch (Exception e) {
-                log.warn("Failed to send overdue reminder to {}: {}", email, e.getMessage());
+        }
+    }
+
+    private int sendCollegeReminders(Long collegeId, LocalDate today, Instant cutoff) {
+        int sent = 0;
+        long afterId = 0;
+        while (true) {
+            long chunkStartedAt = System.currentTimeMillis();
+            long from = afterId;
+            List<OverdueReminder> reminders = readTransaction.execute(status ->
+                    studentFeeRepository.findOverdueForReminder(collegeId, today, cutoff, from, PageRequest.of(0, chunkSize)).stream()
+                            .map(FeeOverdueScheduler::toReminder)
+                            .toList());
+            if (reminders == null || reminders.isEmpty()) {
+                return sent;
+            }
+
+            // No transaction is open while mail is sent
+            List<CompletableFuture<Long>> deliveries = reminders.stream()
+                    .filter(reminder -> reminder.email() != null && !reminder.email().isBlank())
+                    .map(reminder -> CompletableFuture.supplyAsync(() -> send(reminder), reminderExecutor))
+                    .toList();
+            List<Long> notifiedIds = deliveries.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!notifiedIds.isEmpty()) {
+                Instant notifiedAt = Instant.now();
+                chunkTransaction.executeWithoutResult(status -> studentFeeRepository.markOverdueNotified(notifiedIds, notifiedAt));
             }
+
+            sent += notifiedIds.size();
+            afterId = reminders.get(reminders.size() - 1).studentFeeId();
+            logChunk("overdue reminders", collegeId, reminders.size(), chunkStartedAt);
+            if (reminders.size() < chunkSize) {
+                return sent;
+            }
+        }
+    }
+
+    /**
+     * @return the student fee ID when the reminder was sent, otherwise null
+     */
+    private Long send(OverdueReminder reminder) {
+        try {
+            emailService.sendStudentFeeOverdueEmail(
+                    reminder.email(),
+                    reminder.collegeName(),
+                    reminder.studentName(),
+                    reminder.dueAmount(),
+                    reminder.dueDate()
+            );
+            return reminder.studentFeeId();
+        } catch (Exception e) {
+            log.warn("Failed to send overdue reminder to {}: {}", reminder.email(), e.getMessage());
+            return null;
         }
     }
+
+    private static OverdueReminder toReminder(StudentFee studentFee) {
+        String collegeName = studentFee.getStudent().getCollege() != null ? studentFee.getStudent().getCollege().getName() : "College";
+        String studentName = studentFee.getStudent().getUser().getName();
+        return new OverdueReminder(
+                studentFee.getId(),
+                studentFee.getStudent().getUser().getEmail(),
+                collegeName,
+                studentName != null ? studentName : "Student",
+                studentFee.getDueAmount(),
+                studentFee.getDueDate());
+    }
+
+    private static List<FeeStatusCount> countByStatus(Long collegeId, List<StudentFeeStatusRow> rows) {
+        Map<FeeStatus, Long> counts = new EnumMap<>(FeeStatus.class);
+        for (StudentFeeStatusRow row : rows) {
+            counts.merge(row.status(), 1L, Long::sum);
+        }
+        return counts.entrySet().stream()
+                .map(entry -> new FeeStatusCount(collegeId, entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static void logChunk(String step, Long collegeId, int rows, long chunkStartedAt) {
+        log.info("Processed {} of college {}: {} rows in {} ms", step, collegeId, rows, System.currentTimeMillis() - chunkStartedAt);
+    }
+
+    /**
+     * What a reminder needs, copied out of the entities so no session is required while sending
+     */
+    private record OverdueReminder(Long studentFeeId, String email, String collegeName, String studentName,
+                                   BigDecimal dueAmount, LocalDate dueDate) {
+    }
 }
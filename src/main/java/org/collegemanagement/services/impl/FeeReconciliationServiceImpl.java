@@ -0,0 +1,467 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.dto.fees.CreateFeePaymentRequest;
+import org.collegemanagement.dto.fees.FeeReconciliationEntryResponse;
+import org.collegemanagement.dto.fees.FeeReconciliationResponse;
+import org.collegemanagement.entity.fees.FeeReconciliation;
+import org.collegemanagement.entity.fees.FeeReconciliationEntry;
+import org.collegemanagement.entity.tenant.College;
+import org.collegemanagement.entity.user.User;
+import org.collegemanagement.enums.AuditAction;
+import org.collegemanagement.enums.AuditEntityType;
+import org.collegemanagement.enums.PaymentMode;
+import org.collegemanagement.enums.ReconciliationStatus;
+import org.collegemanagement.exception.ResourceConflictException;
+import org.collegemanagement.exception.ResourceNotFoundException;
+import org.collegemanagement.mapper.StudentFeeMapper;
+import org.collegemanagement.repositories.FeePaymentRepository;
+import org.collegemanagement.repositories.FeeReconciliationRepository;
+import org.collegemanagement.repositories.projection.TransactionPaymentRow;
+import org.collegemanagement.security.tenant.TenantAccessGuard;
+import org.collegemanagement.services.AuditService;
+import org.collegemanagement.services.CollegeService;
+import org.collegemanagement.services.FeeReconciliationService;
+import org.collegemanagement.services.StudentFeeService;
+import org.collegemanagement.utils.CsvReader;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles settlement files against fee payments.
+ * <p>
+ * The college's unreconciled transaction IDs are loaded into a hash index once, and the file is
+ * streamed line by line against it. Lines the index misses are looked up a chunk at a time, since they
+ * may belong to payments reconciled by an earlier file, and the rest are optionally posted as payments.
+ * Outcomes are written to the reconciliation table as JDBC batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeeReconciliationServiceImpl implements FeeReconciliationService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final List<ReconciliationStatus> RECONCILED_STATUSES = List.of(ReconciliationStatus.MATCHED, ReconciliationStatus.POSTED);
+
+    private final FeeReconciliationRepository feeReconciliationRepository;
+    private final FeePaymentRepository feePaymentRepository;
+    private final StudentFeeService studentFeeService;
+    private final CollegeService collegeService;
+    private final TenantAccessGuard tenantAccessGuard;
+    private final AuditService auditService;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public FeeReconciliationResponse reconcileSettlementFile(MultipartFile file, boolean postMissing, PaymentMode paymentMode) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        if (file == null || file.isEmpty()) {
+            throw new ResourceConflictException("Settlement file is empty");
+        }
+        College college = collegeService.findById(collegeId);
+        tenantAccessGuard.assertCurrentTenant(college);
+        User currentUser = getCurrentUser();
+
+        FeeReconciliation reconciliation;
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
+            // A file without the required columns is rejected before anything is recorded for it
+            Columns columns = Columns.of(reader.readRecord());
+
+            reconciliation = feeReconciliationRepository.save(FeeReconciliation.builder()
+                    .college(college)
+                    .fileName(file.getOriginalFilename())
+                    .totalRows(0L)
+                    .matchedRows(0L)
+                    .amountMismatchRows(0L)
+                    .unmatchedRows(0L)
+                    .postedRows(0L)
+                    .duplicateRows(0L)
+                    .invalidRows(0L)
+                    .importedBy(currentUser)
+                    .build());
+
+            Reconciler reconciler = new Reconciler(reconciliation, columns, collegeId, postMissing, paymentMode,
+                    loadUnreconciledPayments(collegeId));
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                reconciler.accept(reader.getRecordLineNumber(), record);
+            }
+            reconciler.finish();
+        } catch (IOException e) {
+            throw new ResourceConflictException("Unable to read settlement file: " + e.getMessage());
+        }
+
+        reconciliation.setCompletedAt(Instant.now());
+        reconciliation = feeReconciliationRepository.save(reconciliation);
+
+        if (currentUser != null) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.UPLOAD,
+                    AuditEntityType.FEE_RECONCILIATION,
+                    reconciliation.getId(),
+                    "Reconciled settlement file " + file.getOriginalFilename() + ": " + reconciliation.getMatchedRows() + " matched, " +
+                    reconciliation.getAmountMismatchRows() + " amount mismatches, " + reconciliation.getUnmatchedRows() + " unmatched, " +
+                    reconciliation.getPostedRows() + " posted"
+            );
+        }
+
+        return StudentFeeMapper.toFeeReconciliationResponse(reconciliation);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public FeeReconciliationResponse getReconciliationByUuid(String reconciliationUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+
+        return StudentFeeMapper.toFeeReconciliationResponse(findReconciliation(reconciliationUuid, collegeId));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public Page<FeeReconciliationResponse> getAllReconciliations(Pageable pageable) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+
+        return feeReconciliationRepository.findByCollegeId(collegeId, pageable)
+                .map(StudentFeeMapper::toFeeReconciliationResponse);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public Page<FeeReconciliationEntryResponse> getReconciliationEntries(String reconciliationUuid, ReconciliationStatus status, Pageable pageable) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        FeeReconciliation reconciliation = findReconciliation(reconciliationUuid, collegeId);
+
+        return feeReconciliationRepository.findEntries(reconciliation.getId(), status, pageable)
+                .map(StudentFeeMapper::toFeeReconciliationEntryResponse);
+    }
+
+    // Helper methods
+
+    private FeeReconciliation findReconciliation(String reconciliationUuid, Long collegeId) {
+        return feeReconciliationRepository.findByUuidAndCollegeId(reconciliationUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation not found with UUID: " + reconciliationUuid));
+    }
+
+    /**
+     * Index the college's payments that no settlement file has matched yet by transaction ID
+     */
+    private Map<String, IndexedPayment> loadUnreconciledPayments(Long collegeId) {
+        Map<String, IndexedPayment> index = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TransactionPaymentRow> rows = feePaymentRepository.streamUnreconciledTransactionsByCollegeId(collegeId, RECONCILED_STATUSES)) {
+                rows.forEach(row -> index.put(row.getTransactionId(), new IndexedPayment(row.getId(), row.getAmount())));
+            }
+        });
+        return index;
+    }
+
+    private User getCurrentUser() {
+        try {
+            Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            if (principal instanceof User) {
+                return (User) principal;
+            }
+        } catch (Exception e) {
+            log.debug("Could not get current user: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    private static String cell(List<String> record, int column) {
+        return column >= 0 && column < record.size() ? record.get(column).trim() : "";
+    }
+
+    private static String columnName(String header) {
+        return header.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+    }
+
+    /**
+     * Matches the lines of one settlement file, buffering entries and lookups into chunks
+     */
+    private final class Reconciler {
+
+        private final FeeReconciliation reconciliation;
+        private final Columns columns;
+        private final Long collegeId;
+        private final boolean postMissing;
+        private final PaymentMode defaultPaymentMode;
+        private final Map<String, IndexedPayment> index;
+        private final Set<String> seenTransactionIds = new HashSet<>();
+        private final List<FeeReconciliationEntry> entries = new ArrayList<>(CHUNK_SIZE);
+        private final List<SettlementLine> misses = new ArrayList<>(CHUNK_SIZE);
+        private final Map<ReconciliationStatus, Long> counts = new EnumMap<>(ReconciliationStatus.class);
+
+        private Reconciler(FeeReconciliation reconciliation, Columns columns, Long collegeId, boolean postMissing,
+                           PaymentMode defaultPaymentMode, Map<String, IndexedPayment> index) {
+            this.reconciliation = reconciliation;
+            this.columns = columns;
+            this.collegeId = collegeId;
+            this.postMissing = postMissing;
+            this.defaultPaymentMode = defaultPaymentMode;
+            this.index = index;
+        }
+
+        void accept(long lineNumber, List<String> record) {
+            String transactionId = cell(record, columns.transaction());
+            String amountCell = cell(record, columns.amount()).replace(",", "");
+
+            if (transactionId.isEmpty()) {
+                addEntry(lineNumber, null, null, null, ReconciliationStatus.INVALID, "Transaction ID is required");
+                return;
+            }
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(amountCell);
+            } catch (NumberFormatException e) {
+                amount = null;
+            }
+            if (amount == null || amount.signum() <= 0) {
+                addEntry(lineNumber, transactionId, null, null, ReconciliationStatus.INVALID, "Amount must be a positive number");
+                return;
+            }
+            if (!seenTransactionIds.add(transactionId)) {
+                addEntry(lineNumber, transactionId, amount, null, ReconciliationStatus.DUPLICATE, "Transaction ID repeated in the file");
+                return;
+            }
+
+            IndexedPayment payment = index.get(transactionId);
+            if (payment != null) {
+                if (payment.amount().compareTo(amount) == 0) {
+                    addEntry(lineNumber, transactionId, amount, payment, ReconciliationStatus.MATCHED, null);
+                } else {
+                    addEntry(lineNumber, transactionId, amount, payment, ReconciliationStatus.AMOUNT_MISMATCH,
+                            "Statement amount " + amount.toPlainString() + " differs from payment amount " + payment.amount().toPlainString());
+                }
+                return;
+            }
+
+            String studentFeeUuid = cell(record, columns.studentFee());
+            Instant paymentDate = null;
+            PaymentMode paymentMode = defaultPaymentMode;
+            try {
+                String dateCell = cell(record, columns.paymentDate());
+                if (!dateCell.isEmpty()) {
+                    paymentDate = dateCell.length() > 10 ?
+                            Instant.parse(dateCell) :
+                            LocalDate.parse(dateCell).atStartOfDay(ZoneId.systemDefault()).toInstant();
+                }
+                String modeCell = cell(record, columns.paymentMode());
+                if (!modeCell.isEmpty()) {
+                    paymentMode = PaymentMode.valueOf(modeCell.toUpperCase(Locale.ROOT).replace(' ', '_'));
+                }
+            } catch (DateTimeParseException e) {
+                addEntry(lineNumber, transactionId, amount, null, ReconciliationStatus.INVALID, "Payment date must be an ISO date or timestamp");
+                return;
+            } catch (IllegalArgumentException e) {
+                addEntry(lineNumber, transactionId, amount, null, ReconciliationStatus.INVALID, "Unknown payment mode");
+                return;
+            }
+
+            misses.add(new SettlementLine(lineNumber, transactionId, amount, studentFeeUuid, paymentDate, paymentMode));
+            if (misses.size() == CHUNK_SIZE) {
+                resolveMisses();
+            }
+        }
+
+        void finish() {
+            resolveMisses();
+            flushEntries();
+
+            reconciliation.setMatchedRows(count(ReconciliationStatus.MATCHED));
+            reconciliation.setAmountMismatchRows(count(ReconciliationStatus.AMOUNT_MISMATCH));
+            reconciliation.setUnmatchedRows(count(ReconciliationStatus.UNMATCHED));
+            reconciliation.setPostedRows(count(ReconciliationStatus.POSTED));
+            reconciliation.setDuplicateRows(count(ReconciliationStatus.DUPLICATE));
+            reconciliation.setInvalidRows(count(ReconciliationStatus.INVALID));
+            reconciliation.setTotalRows(counts.values().stream().mapToLong(Long::longValue).sum());
+        }
+
+        /**
+         * Look the missed lines up in one query: they may have been reconciled by an earlier file.
+         * The rest are unmatched, or posted when requested and the line names a student fee.
+         */
+        private void resolveMisses() {
+            if (misses.isEmpty()) {
+                return;
+            }
+
+            Map<String, TransactionPaymentRow> recorded = feePaymentRepository.findByTransactionIdIn(
+                            misses.stream().map(SettlementLine::transactionId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(TransactionPaymentRow::getTransactionId, Function.identity()));
+
+            List<SettlementLine> toPost = new ArrayList<>();
+            for (SettlementLine line : misses) {
+                TransactionPaymentRow payment = recorded.get(line.transactionId());
+                if (payment != null && collegeId.equals(payment.getCollegeId())) {
+                    addEntry(line.lineNumber(), line.transactionId(), line.amount(),
+                            new IndexedPayment(payment.getId(), payment.getAmount()), ReconciliationStatus.DUPLICATE,
+                            "Transaction ID is already recorded and reconciled");
+                } else if (payment != null) {
+                    // Another college's payment; reported like any unknown ID so its existence is not revealed
+                    addEntry(line.lineNumber(), line.transactionId(), line.amount(), null, ReconciliationStatus.UNMATCHED,
+                            "No payment with this transaction ID");
+                } else if (postMissing && !line.studentFeeUuid().isEmpty()) {
+                    toPost.add(line);
+                } else {
+                    addEntry(line.lineNumber(), line.transactionId(), line.amount(), null, ReconciliationStatus.UNMATCHED,
+                            postMissing ? "No payment with this transaction ID and no student fee to post it to" :
+                                    "No payment with this transaction ID");
+                }
+            }
+            misses.clear();
+
+            postPayments(toPost);
+        }
+
+        /**
+         * Post a chunk of missing payments through the regular payment path, each in its own transaction,
+         * so a line that cannot be posted is rejected alone and never rolls back a receipt already sent.
+         * The posted payments are then linked with one lookup.
+         */
+        private void postPayments(List<SettlementLine> lines) {
+            List<SettlementLine> posted = new ArrayList<>(lines.size());
+            for (SettlementLine line : lines) {
+                try {
+                    studentFeeService.recordFeePayment(CreateFeePaymentRequest.builder()
+                            .studentFeeUuid(line.studentFeeUuid())
+                            .amount(line.amount())
+                            .paymentMode(line.paymentMode())
+                            .transactionId(line.transactionId())
+                            .paymentDate(line.paymentDate())
+                            .build());
+                    posted.add(line);
+                } catch (RuntimeException e) {
+                    addEntry(line.lineNumber(), line.transactionId(), line.amount(), null, ReconciliationStatus.INVALID,
+                            "Payment could not be posted: " + e.getMessage());
+                }
+            }
+            if (posted.isEmpty()) {
+                return;
+            }
+
+            Map<String, TransactionPaymentRow> payments = feePaymentRepository.findByTransactionIdIn(
+                            posted.stream().map(SettlementLine::transactionId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(TransactionPaymentRow::getTransactionId, Function.identity()));
+            for (SettlementLine line : posted) {
+                TransactionPaymentRow payment = payments.get(line.transactionId());
+                addEntry(line.lineNumber(), line.transactionId(), line.amount(),
+                        payment != null ? new IndexedPayment(payment.getId(), payment.getAmount()) : null,
+                        ReconciliationStatus.POSTED, null);
+            }
+        }
+
+        private void addEntry(long lineNumber, String transactionId, BigDecimal statementAmount, IndexedPayment payment,
+                            ReconciliationStatus status, String message) {
+            entries.add(FeeReconciliationEntry.builder()
+                    .reconciliation(reconciliation)
+                    .lineNumber(lineNumber)
+                    .transactionId(transactionId)
+                    .statementAmount(statementAmount)
+                    .feePaymentId(payment != null ? payment.id() : null)
+                    .paymentAmount(payment != null ? payment.amount() : null)
+                    .status(status)
+                    .message(truncate(message))
+                    .build());
+            counts.merge(status, 1L, Long::sum);
+            if (entries.size() >= CHUNK_SIZE) {
+                flushEntries();
+            }
+        }
+
+        private void flushEntries() {
+            feeReconciliationRepository.batchInsertEntries(entries);
+            entries.clear();
+        }
+
+        private long count(ReconciliationStatus status) {
+            return counts.getOrDefault(status, 0L);
+        }
+    }
+
+    /**
+     * Positions of the settlement file's columns, -1 for an optional column the file lacks
+     */
+    private record Columns(int transaction, int amount, int studentFee, int paymentDate, int paymentMode) {
+
+        static Columns of(List<String> header) {
+            int transaction = -1;
+            int amount = -1;
+            int studentFee = -1;
+            int paymentDate = -1;
+            int paymentMode = -1;
+            for (int i = 0; header != null && i < header.size(); i++) {
+                switch (columnName(header.get(i))) {
+                    case "transactionid", "txnid", "utr" -> transaction = i;
+                    case "amount" -> amount = i;
+                    case "studentfeeuuid", "studentfee" -> studentFee = i;
+                    case "paymentdate", "date" -> paymentDate = i;
+                    case "paymentmode", "mode" -> paymentMode = i;
+                    default -> {
+                    }
+                }
+            }
+            if (transaction < 0 || amount < 0) {
+                throw new ResourceConflictException("Settlement file must have a header row with 'transaction_id' and 'amount' columns");
+            }
+            return new Columns(transaction, amount, studentFee, paymentDate, paymentMode);
+        }
+    }
+
+    private record IndexedPayment(Long id, BigDecimal amount) {
+    }
+
+    private record SettlementLine(long lineNumber, String transactionId, BigDecimal amount, String studentFeeUuid,
+                                  Instant paymentDate, PaymentMode paymentMode) {
+    }
+}
@@ -0,0 +1,159 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.repositories.CollegeFeeRollupRepository;
+import org.collegemanagement.repositories.CollegeFeeRollupRepositoryCustom.Delta;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Corrects college fee rollups against the student fees, one college per short transaction, and logs
+ * any drift the incremental updates left behind. Also seeds the rollups on the first start.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeeRollupReconciler {
+
+    private final CollegeFeeRollupRepository collegeFeeRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate collegeTransaction;
+
+    @PostConstruct
+    void init() {
+        collegeTransaction = new TransactionTemplate(transactionManager);
+        collegeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Both reads must come from one snapshot for the correction to be exact
+        collegeTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (collegeFeeRollupRepository.count() > 0) {
+            return;
+        }
+        reconcileAll();
+    }
+
+    @Scheduled(cron = "${fees.rollup.reconcile-cron:0 15 * * * ?}")
+    public void reconcileAll() {
+        long startedAt = System.currentTimeMillis();
+        List<Long> collegeIds = collegeFeeRollupRepository.findCollegeIdsToReconcile();
+        int drifted = 0;
+        for (Long collegeId : collegeIds) {
+            try {
+                if (reconcile(collegeId)) {
+                    drifted++;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to reconcile fee rollup of college {}: {}", collegeId, e.getMessage());
+            }
+        }
+        log.info("Reconciled fee rollups of {} colleges in {} ms, {} had drifted",
+                collegeIds.size(), System.currentTimeMillis() - startedAt, drifted);
+    }
+
+    /**
+     * Bring the rollup of one college in line with its student fees.
+     * <p>
+     * Fee totals and rollup slots are read without locks from the same snapshot, and only the
+     * difference is added to the slots. Deltas that postings commit after the snapshot are kept, and
+     * no fee row is ever locked, so the reconciler cannot deadlock with or block the posting paths.
+     * Only the college row is locked, before the snapshot is taken, so a concurrent reconciliation of
+     * the same college (another instance, or the scheduled run overlapping the seed) waits and then
+     * sees the corrections of the first instead of applying them a second time.
+     *
+     * @return whether the college totals differ from the incrementally maintained ones
+     */
+    public boolean reconcile(Long collegeId) {
+        Boolean drifted = collegeTransaction.execute(status -> {
+            collegeFeeRollupRepository.lockCollege(collegeId);
+            Map<Integer, Delta> rollup = bySlot(collegeFeeRollupRepository.findRollupSlots(collegeId));
+            Map<Integer, Delta> fees = bySlot(collegeFeeRollupRepository.findFeeTotalsBySlot(collegeId));
+
+            Set<Integer> slots = new TreeSet<>(rollup.keySet());
+            slots.addAll(fees.keySet());
+            Delta empty = new Delta(collegeId, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, 0, 0);
+            List<Delta> corrections = new ArrayList<>();
+            Delta drift = empty;
+            for (Integer slot : slots) {
+                Delta correction = subtract(fees.getOrDefault(slot, empty), rollup.getOrDefault(slot, empty), slot);
+                if (!isZero(correction)) {
+                    corrections.add(correction);
+                    drift = add(drift, correction);
+                }
+            }
+            if (rollup.isEmpty() && corrections.isEmpty()) {
+                // Keep an empty rollup so the college is not reconciled on every read
+                corrections.add(empty);
+            }
+            collegeFeeRollupRepository.applyDeltas(corrections);
+
+            // Status moves are booked against the first slot, so only the college totals tell real drift
+            boolean changed = !rollup.isEmpty() && !isZero(drift);
+            if (changed) {
+                log.warn("Fee rollup of college {} had drifted by {} fees / {} due, corrected",
+                        collegeId, drift.feeCount(), drift.dueAmount());
+            }
+            return changed;
+        });
+        return Boolean.TRUE.equals(drifted);
+    }
+
+    private static Map<Integer, Delta> bySlot(List<Delta> slots) {
+        Map<Integer, Delta> bySlot = new HashMap<>();
+        for (Delta slot : slots) {
+            bySlot.put(slot.slot(), slot);
+        }
+        return bySlot;
+    }
+
+    private static Delta subtract(Delta a, Delta b, int slot) {
+        return new Delta(a.collegeId(), slot, a.feeCount() - b.feeCount(),
+                a.totalAmount().subtract(b.totalAmount()),
+                a.paidAmount().subtract(b.paidAmount()),
+                a.dueAmount().subtract(b.dueAmount()),
+                a.pendingCount() - b.pendingCount(),
+                a.paidCount() - b.paidCount(),
+                a.partiallyPaidCount() - b.partiallyPaidCount(),
+                a.overdueCount() - b.overdueCount());
+    }
+
+    private static Delta add(Delta a, Delta b) {
+        return new Delta(a.collegeId(), a.slot(), a.feeCount() + b.feeCount(),
+                a.totalAmount().add(b.totalAmount()),
+                a.paidAmount().add(b.paidAmount()),
+                a.dueAmount().add(b.dueAmount()),
+                a.pendingCount() + b.pendingCount(),
+                a.paidCount() + b.paidCount(),
+                a.partiallyPaidCount() + b.partiallyPaidCount(),
+                a.overdueCount() + b.overdueCount());
+    }
+
+    private static boolean isZero(Delta delta) {
+        return delta.feeCount() == 0
+                && delta.totalAmount().signum() == 0
+                && delta.paidAmount().signum() == 0
+                && delta.dueAmount().signum() == 0
+                && delta.pendingCount() == 0
+                && delta.paidCount() == 0
+                && delta.partiallyPaidCount() == 0
+                && delta.overdueCount() == 0;
+    }
+}
@@ -0,0 +1,189 @@
+package org.collegemanagement.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.fees.StudentFee;
+import org.collegemanagement.enums.FeeStatus;
+import org.collegemanagement.repositories.CollegeFeeRollupRepository;
+import org.collegemanagement.repositories.CollegeFeeRollupRepositoryCustom;
+import org.collegemanagement.repositories.projection.FeeStatusCount;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the college fee rollups in step with student fee writes.
+ * <p>
+ * Callers pass the balance of a student fee before and after a change, and the difference is added
+ * to the fee's rollup slot. Within a transaction the differences are collected in memory and written
+ * once just before commit. Anything that slips past these hooks is corrected by {@link FeeRollupReconciler}.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeeRollupUpdater {
+
+    private final CollegeFeeRollupRepository collegeFeeRollupRepository;
+
+    /**
+     * The part of a student fee that the rollup counts
+     */
+    public record Balance(BigDecimal totalAmount, BigDecimal paidAmount, BigDecimal dueAmount, FeeStatus status) {
+
+        public static Balance of(StudentFee studentFee) {
+            BigDecimal total = studentFee.getNetAmount() != null ? studentFee.getNetAmount() : studentFee.getTotalAmount();
+            return new Balance(total, studentFee.getPaidAmount(), studentFee.getDueAmount(), studentFee.getStatus());
+        }
+    }
+
+    /**
+     * Count newly assigned student fees; instances without an ID were not inserted and are ignored
+     */
+    public void recordAssigned(Long collegeId, Collection<StudentFee> studentFees) {
+        PendingDeltas pending = pendingDeltas();
+        for (StudentFee studentFee : studentFees) {
+            if (studentFee.getId() == null) {
+                continue;
+            }
+            pending.slot(collegeId, slotOf(studentFee.getId())).add(Balance.of(studentFee), 1);
+        }
+        pending.flushIfUnbound();
+    }
+
+    public void recordChange(Long collegeId, Long studentFeeId, Balance before, Balance after) {
+        PendingDeltas pending = pendingDeltas();
+        SlotDelta delta = pending.slot(collegeId, slotOf(studentFeeId));
+        delta.add(before, -1);
+        delta.add(after, 1);
+        pending.flushIfUnbound();
+    }
+
+    /**
+     * Move counted fees from their current status to a new one; amounts are unchanged
+     */
+    public void recordStatusChanges(Collection<FeeStatusCount> counts, FeeStatus newStatus) {
+        PendingDeltas pending = pendingDeltas();
+        for (FeeStatusCount count : counts) {
+            // Status moves are not tied to one fee, so they are booked against the first slot
+            SlotDelta delta = pending.slot(count.collegeId(), 0);
+            delta.statusCounts[count.status().ordinal()] -= count.count();
+            delta.statusCounts[newStatus.ordinal()] += count.count();
+        }
+        pending.flushIfUnbound();
+    }
+
+    /**
+     * The deltas collected by the current transaction, registered on first use; outside a
+     * transaction a fresh instance is returned and applied right away
+     */
+    private PendingDeltas pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingDeltas(collegeFeeRollupRepository, false);
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDeltas pending) {
+                return pending;
+            }
+        }
+        PendingDeltas pending = new PendingDeltas(collegeFeeRollupRepository, true);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private static int slotOf(Long studentFeeId) {
+        return (int) (studentFeeId % CollegeFeeRollupRepositoryCustom.SLOTS);
+    }
+
+    /**
+     * Deltas merged per college and slot, written once just before the transaction commits so the
+     * slot rows stay locked only for the commit itself, however long the transaction runs
+     */
+    private static final class PendingDeltas implements TransactionSynchronization {
+
+        private final CollegeFeeRollupRepository collegeFeeRollupRepository;
+        private final boolean bound;
+        private final Map<Long, Map<Integer, SlotDelta>> slots = new HashMap<>();
+
+        PendingDeltas(CollegeFeeRollupRepository collegeFeeRollupRepository, boolean bound) {
+            this.collegeFeeRollupRepository = collegeFeeRollupRepository;
+            this.bound = bound;
+        }
+
+        SlotDelta slot(Long collegeId, int slot) {
+            return slots.computeIfAbsent(collegeId, id -> new HashMap<>())
+                    .computeIfAbsent(slot, s -> new SlotDelta());
+        }
+
+        void flushIfUnbound() {
+            if (!bound) {
+                flush();
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flush();
+        }
+
+        private void flush() {
+            List<CollegeFeeRollupRepositoryCustom.Delta> deltas = new ArrayList<>();
+            slots.forEach((collegeId, bySlot) -> bySlot.forEach((slot, delta) -> {
+                if (!delta.isEmpty()) {
+                    deltas.add(delta.toDelta(collegeId, slot));
+                }
+            }));
+            slots.clear();
+            collegeFeeRollupRepository.applyDeltas(deltas);
+        }
+    }
+
+    private static final class SlotDelta {
+
+        private long feeCount;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        private BigDecimal paidAmount = BigDecimal.ZERO;
+        private BigDecimal dueAmount = BigDecimal.ZERO;
+        private final long[] statusCounts = new long[FeeStatus.values().length];
+
+        void add(Balance balance, int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            feeCount += sign;
+            totalAmount = totalAmount.add(orZero(balance.totalAmount()).multiply(factor));
+            paidAmount = paidAmount.add(orZero(balance.paidAmount()).multiply(factor));
+            dueAmount = dueAmount.add(orZero(balance.dueAmount()).multiply(factor));
+            if (balance.status() != null) {
+                statusCounts[balance.status().ordinal()] += sign;
+            }
+        }
+
+        boolean isEmpty() {
+            if (feeCount != 0 || totalAmount.signum() != 0 || paidAmount.signum() != 0 || dueAmount.signum() != 0) {
+                return false;
+            }
+            for (long count : statusCounts) {
+                if (count != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        CollegeFeeRollupRepositoryCustom.Delta toDelta(Long collegeId, int slot) {
+            return new CollegeFeeRollupRepositoryCustom.Delta(collegeId, slot, feeCount, totalAmount, paidAmount,
+                    dueAmount,
+                    statusCounts[FeeStatus.PENDING.ordinal()],
+                    statusCounts[FeeStatus.PAID.ordinal()],
+                    statusCounts[FeeStatus.PARTIALLY_PAID.ordinal()],
+                    statusCounts[FeeStatus.OVERDUE.ordinal()]);
+        }
+
+        private static BigDecimal orZero(BigDecimal value) {
+            return value != null ? value : BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.collegemanagement.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.entity.exam.GradeScale;
+import org.collegemanagement.repositories.GradeScaleRepository;
+import org.collegemanagement.services.GradeScaleLookupService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeScaleLookupServiceImpl implements GradeScaleLookupService {
+
+    private final GradeScaleRepository gradeScaleRepository;
+
+    private final Map<Long, GradeBands> bandsByCollege = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<GradeScale> findByMarks(Long collegeId, int marks) {
+        return Optional.ofNullable(bands(collegeId).find(marks, marks));
+    }
+
+    @Override
+    public Optional<GradeScale> findByPercentage(Long collegeId, BigDecimal percentage) {
+        if (percentage == null) {
+            return Optional.empty();
+        }
+        // Bands have integer bounds: min <= p  <=>  min <= floor(p), and p <= max  <=>  ceil(p) <= max
+        int floor = percentage.setScale(0, RoundingMode.FLOOR).intValue();
+        int ceil = percentage.setScale(0, RoundingMode.CEILING).intValue();
+        return Optional.ofNullable(bands(collegeId).find(floor, ceil));
+    }
+
+    @Override
+    public void refresh(Long collegeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild(collegeId);
+                }
+            });
+        } else {
+            rebuild(collegeId);
+        }
+    }
+
+    private GradeBands bands(Long collegeId) {
+        return bandsByCollege.computeIfAbsent(collegeId, this::load);
+    }
+
+    /**
+     * Load a fresh snapshot and swap it in with a single put, so readers see either the old or the new bands
+     */
+    private void rebuild(Long collegeId) {
+        bandsByCollege.put(collegeId, load(collegeId));
+        log.debug("Rebuilt grade scale bands for college {}", collegeId);
+    }
+
+    private GradeBands load(Long collegeId) {
+        return GradeBands.of(gradeScaleRepository.findAllByCollegeId(collegeId));
+    }
+
+    /**
+     * Immutable bands sorted by minimum marks, searched with a binary search
+     */
+    private static final class GradeBands {
+
+        private final int[] minMarks;
+        private final int[] maxMarks;
+        private final GradeScale[] grades;
+
+        private GradeBands(int[] minMarks, int[] maxMarks, GradeScale[] grades) {
+            this.minMarks = minMarks;
+            this.maxMarks = maxMarks;
+            this.grades = grades;
+        }
+
+        static GradeBands of(List<GradeScale> gradeScales) {
+            GradeScale[] sorted = gradeScales.stream()
+                    .sorted(Comparator.comparing(GradeScale::getMinMarks))
+                    .toArray(GradeScale[]::new);
+            int[] min = new int[sorted.length];
+            int[] max = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                min[i] = sorted[i].getMinMarks();
+                max[i] = sorted[i].getMaxMarks();
+            }
+            return new GradeBands(min, max, sorted);
+        }
+
+        /**
+         * Find the band with the highest minimum such that min <= low and high <= max,
+         * matching the precedence of the repository range query
+         */
+        GradeScale find(int low, int high) {
+            int lo = 0;
+            int hi = minMarks.length - 1;
+            int candidate = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (minMarks[mid] <= low) {
+                    candidate = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            // Bands normally do not overlap, so this usually stops at the first candidate
+            for (int i = candidate; i >= 0; i--) {
+                if (high <= maxMarks[i]) {
+                    return grades[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.utils.HtmlTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled HTML templates under {@code templates/}, loaded and compiled once per path
+ */
+@Component
+public class HtmlTemplateCache {
+
+    private final Map<String, HtmlTemplate> templates = new ConcurrentHashMap<>();
+
+    public HtmlTemplate get(String path) {
+        return templates.computeIfAbsent(path, HtmlTemplateCache::load);
+    }
+
+    private static HtmlTemplate load(String path) {
+        ClassPathResource resource = new ClassPathResource("templates/" + path);
+        try (InputStream in = resource.getInputStream()) {
+            return HtmlTemplate.compile(StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load template " + path, e);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.collegemanagement.entity.finance.Invoice;
 import org.collegemanagement.entity.finance.Payment;
 import org.collegemanagement.entity.subscription.Subscription;
 import org.collegemanagement.enums.InvoiceStatus;
+import org.collegemanagement.enums.SequenceSeries;
 import org.collegemanagement.exception.ResourceNotFoundException;
 import org.collegemanagement.repositories.InvoiceRepository;
 import org.collegemanagement.repositories.PaymentRepository;
@@ -15,6 +16,7 @@ import org.collegemanagement.repositories.SubscriptionRepository;
 import org.collegemanagement.security.tenant.TenantAccessGuard;
 import org.collegemanagement.services.EmailService;
 import org.collegemanagement.services.InvoiceService;
+import org.collegemanagement.services.SequenceService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,9 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -38,6 +38,7 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final PaymentRepository paymentRepository;
     private final TenantAccessGuard tenantAccessGuard;
     private final EmailService emailService;
+    private final SequenceService sequenceService;
 
     @Override
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
@@ -55,7 +56,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
 
         // Generate invoice number
-        String invoiceNumber = generateInvoiceNumber();
+        String invoiceNumber = sequenceService.nextNumber(subscription.getCollege().getId(), SequenceSeries.INVOICE);
 
         // Calculate period dates
         LocalDate periodStart = subscription.getStartsAt();
@@ -255,26 +256,6 @@ public class InvoiceServiceImpl implements InvoiceService {
                 .build();
     }
 
-    private String generateInvoiceNumber() {
-        String datePrefix = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String uniqueSuffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        String invoiceNumber = "INV-" + datePrefix + "-" + uniqueSuffix;
-
-        // Ensure uniqueness
-        int attempts = 0;
-        while (invoiceRepository.existsByInvoiceNumber(invoiceNumber) && attempts < 10) {
-            uniqueSuffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            invoiceNumber = "INV-" + datePrefix + "-" + uniqueSuffix;
-            attempts++;
-        }
-
-        if (attempts >= 10) {
-            throw new IllegalStateException("Failed to generate unique invoice number");
-        }
-
-        return invoiceNumber;
-    }
-
     private InvoiceResponse mapToResponse(Invoice invoice, Long collegeId) {
         List<Payment> payments = paymentRepository.findByInvoiceIdAndCollegeId(invoice.getId(), collegeId);
         long paymentCount = payments.size();
@@ -0,0 +1,125 @@
+package org.collegemanagement.services.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Single-pass distribution of one exam subject's marks.
+ * <p>
+ * Mean and variance use Welford's online algorithm; marks are integers in [0, maxMarks], so an
+ * exact median comes from a fixed-size frequency array and the histogram from ten percentage bands.
+ * Memory is bounded by maxMarks, not by the number of students.
+ */
+final class MarksDistribution {
+
+    static final int BANDS = 10;
+
+    private final int maxMarks;
+    private final int passMarks;
+    private final int[] frequency;
+    private final int[] bands = new int[BANDS];
+
+    private long count;
+    private double mean;
+    private double m2;
+    private int lowest = Integer.MAX_VALUE;
+    private int highest = Integer.MIN_VALUE;
+    private int passed;
+
+    MarksDistribution(int maxMarks, int passMarks) {
+        this.maxMarks = Math.max(maxMarks, 0);
+        this.passMarks = passMarks;
+        this.frequency = new int[this.maxMarks + 1];
+    }
+
+    void add(int marks) {
+        count++;
+        double delta = marks - mean;
+        mean += delta / count;
+        m2 += delta * (marks - mean);
+
+        lowest = Math.min(lowest, marks);
+        highest = Math.max(highest, marks);
+        if (marks >= passMarks) {
+            passed++;
+        }
+
+        int clamped = Math.min(Math.max(marks, 0), maxMarks);
+        frequency[clamped]++;
+        // Full marks belong to the top band
+        int band = maxMarks > 0 ? Math.min(clamped * BANDS / maxMarks, BANDS - 1) : BANDS - 1;
+        bands[band]++;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    int getPassed() {
+        return passed;
+    }
+
+    Integer getLowest() {
+        return count > 0 ? lowest : null;
+    }
+
+    Integer getHighest() {
+        return count > 0 ? highest : null;
+    }
+
+    BigDecimal getMean() {
+        return count > 0 ? scale(mean) : null;
+    }
+
+    /**
+     * Population standard deviation
+     */
+    BigDecimal getStandardDeviation() {
+        return count > 0 ? scale(Math.sqrt(m2 / count)) : null;
+    }
+
+    BigDecimal getMedian() {
+        if (count == 0) {
+            return null;
+        }
+        long lowerRank = (count - 1) / 2;
+        long upperRank = count / 2;
+        int lower = -1;
+        int upper = -1;
+        long seen = 0;
+        for (int marks = 0; marks < frequency.length && upper < 0; marks++) {
+            seen += frequency[marks];
+            if (lower < 0 && seen > lowerRank) {
+                lower = marks;
+            }
+            if (seen > upperRank) {
+                upper = marks;
+            }
+        }
+        return scale((lower + upper) / 2.0);
+    }
+
+    BigDecimal getPassRate() {
+        return rate(passed, count);
+    }
+
+    /**
+     * Students per percentage band: [0-10), [10-20), ... [90-100]
+     */
+    int[] getBands() {
+        return bands.clone();
+    }
+
+    static BigDecimal rate(long part, long whole) {
+        return whole > 0 ?
+                BigDecimal.valueOf(part)
+                        .divide(BigDecimal.valueOf(whole), 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                        .setScale(2, RoundingMode.HALF_UP) :
+                BigDecimal.ZERO;
+    }
+
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -2,6 +2,7 @@ package org.collegemanagement.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.dto.NotificationRequest;
 import org.collegemanagement.entity.communication.Notification;
 import org.collegemanagement.entity.user.User;
 import org.collegemanagement.enums.NotificationReferenceType;
@@ -70,6 +71,16 @@ public class NotificationServiceImpl implements NotificationService {
         return notifications;
     }
 
+    @Override
+    @Transactional
+    public int createNotificationsInBatch(List<NotificationRequest> requests, NotificationType type,
+                                          NotificationReferenceType referenceType, Long referenceId, String actionUrl, int priority) {
+        if (requests == null || requests.isEmpty()) {
+            return 0;
+        }
+        return notificationRepository.batchInsert(requests, type, referenceType, referenceId, actionUrl, priority);
+    }
+
     @Override
     @Transactional
     public void markAsRead(Long notificationId) {
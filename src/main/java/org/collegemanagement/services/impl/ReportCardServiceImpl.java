@@ -0,0 +1,296 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.dto.exam.ReportCardArchive;
+import org.collegemanagement.entity.academic.ClassRoom;
+import org.collegemanagement.entity.exam.Exam;
+import org.collegemanagement.entity.exam.ExamClass;
+import org.collegemanagement.entity.exam.GradeScale;
+import org.collegemanagement.entity.student.Student;
+import org.collegemanagement.enums.RankScope;
+import org.collegemanagement.exception.ResourceNotFoundException;
+import org.collegemanagement.repositories.ExamClassRepository;
+import org.collegemanagement.repositories.ExamRepository;
+import org.collegemanagement.repositories.StudentExamResultRepository;
+import org.collegemanagement.repositories.StudentMarksRepository;
+import org.collegemanagement.repositories.StudentRepository;
+import org.collegemanagement.repositories.projection.ReportCardMarkRow;
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+import org.collegemanagement.security.tenant.TenantAccessGuard;
+import org.collegemanagement.services.GradeScaleLookupService;
+import org.collegemanagement.services.ReportCardService;
+import org.collegemanagement.utils.HtmlTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders the report cards of a whole exam class into a ZIP streamed to the client.
+ * <p>
+ * Everything that needs the tenant or security context (exam, class, totals, ranks and overall grades)
+ * is resolved on the request thread. The response body then reads the class's marks once, grouped by
+ * student, in its own read-only transaction; each card is rendered on a bounded worker pool and written
+ * as a ZIP entry in order. At most {@code 2 * workerThreads} cards are in flight at any time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCardServiceImpl implements ReportCardService {
+
+    private static final String CARD_TEMPLATE = "report-card/report-card.html";
+    private static final String SUBJECT_ROW_TEMPLATE = "report-card/report-card-subject-row.html";
+
+    private final ExamRepository examRepository;
+    private final ExamClassRepository examClassRepository;
+    private final StudentMarksRepository studentMarksRepository;
+    private final StudentExamResultRepository studentExamResultRepository;
+    private final StudentRepository studentRepository;
+    private final GradeScaleLookupService gradeScaleLookupService;
+    private final ExamRankingCache examRankingCache;
+    private final HtmlTemplateCache htmlTemplateCache;
+    private final TenantAccessGuard tenantAccessGuard;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${exams.report-cards.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${exams.report-cards.download-timeout:10m}")
+    private Duration downloadTimeout;
+
+    private ThreadPoolTaskExecutor renderExecutor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        // Bounded queue + caller-runs: a download that outpaces the workers renders cards itself
+        renderExecutor = new ThreadPoolTaskExecutor();
+        renderExecutor.setCorePoolSize(workerThreads);
+        renderExecutor.setMaxPoolSize(workerThreads);
+        renderExecutor.setQueueCapacity(workerThreads * 4);
+        renderExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        renderExecutor.setThreadNamePrefix("report-card-");
+        renderExecutor.initialize();
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderExecutor.shutdown();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'TEACHER')")
+    public ReportCardArchive generateReportCards(String examUuid, String examClassUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        Exam exam = examRepository.findByUuidAndCollegeId(examUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with UUID: " + examUuid));
+        ExamClass examClass = examClassRepository.findByUuidAndCollegeId(examClassUuid, collegeId)
+                .filter(ec -> ec.getExam().getId().equals(exam.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Exam class not found with UUID: " + examClassUuid));
+        ClassRoom classRoom = examClass.getClassRoom();
+
+        List<StudentExamAggregate> results = studentExamResultRepository.findAggregatesByExamIdAndClassId(exam.getId(), classRoom.getId());
+        if (results.isEmpty()) {
+            throw new ResourceNotFoundException("No results found for class " + classRoom.getName() + " in this exam");
+        }
+        Map<Long, Student> studentsById = studentRepository.findByIdInAndCollegeId(
+                        results.stream().map(StudentExamAggregate::getStudentId).toList(), collegeId)
+                .stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        ExamRanking ranking = examRankingCache.get(exam.getId());
+        int sectionSize = ranking.groupSize(RankScope.SECTION, ranking.group(RankScope.SECTION, classRoom.getId(), classRoom.getName()));
+
+        Map<String, String> common = new HashMap<>();
+        common.put("collegeName", exam.getCollege().getName());
+        common.put("examName", exam.getName());
+        common.put("academicYear", exam.getAcademicYear().getYearName());
+        common.put("className", classRoom.getName());
+        common.put("section", classRoom.getSection());
+
+        Map<Long, CardHeader> headers = new HashMap<>(results.size() * 2);
+        Set<String> entryNames = new HashSet<>();
+        for (StudentExamAggregate result : results) {
+            Student student = studentsById.get(result.getStudentId());
+            if (student == null) {
+                continue;
+            }
+            long totalMarks = result.getTotalMarks();
+            long obtainedMarks = result.getObtainedMarks();
+            BigDecimal percentage = totalMarks > 0 ?
+                    BigDecimal.valueOf(obtainedMarks)
+                            .divide(BigDecimal.valueOf(totalMarks), 4, RoundingMode.HALF_UP)
+                            .multiply(BigDecimal.valueOf(100))
+                            .setScale(2, RoundingMode.HALF_UP) :
+                    BigDecimal.ZERO;
+            GradeScale overallGrade = gradeScaleLookupService
+                    .findByPercentage(collegeId, BigDecimal.valueOf(percentage.intValue()))
+                    .orElse(null);
+            int rankIndex = ranking.indexOf(student.getId());
+            String studentName = student.getUser() != null ? student.getUser().getName() : "";
+
+            Map<String, String> values = new HashMap<>(common);
+            values.put("studentName", studentName);
+            values.put("rollNumber", student.getRollNumber());
+            values.put("totalMarks", String.valueOf(totalMarks));
+            values.put("obtainedMarks", String.valueOf(obtainedMarks));
+            values.put("percentage", percentage.toPlainString());
+            values.put("overallGrade", overallGrade != null ? overallGrade.getGrade() : "-");
+            values.put("rank", rankIndex >= 0 ? ranking.competitionRank(RankScope.SECTION, rankIndex) + " of " + sectionSize : "-");
+            values.put("result", result.getAllPassed() == 1 ? "PASS" : "FAIL");
+
+            String entryName = slug(student.getRollNumber() + "-" + studentName);
+            if (!entryNames.add(entryName)) {
+                entryName = entryName + "-" + student.getUuid();
+                entryNames.add(entryName);
+            }
+            headers.put(student.getId(), new CardHeader(entryName + ".html", values));
+        }
+
+        Long examClassId = examClass.getId();
+        String fileName = "report-cards-" + slug(exam.getName()) + "-" + slug(classRoom.getName() +
+                (classRoom.getSection() != null ? "-" + classRoom.getSection() : "")) + ".zip";
+        return ReportCardArchive.builder()
+                .fileName(fileName)
+                .studentCount(headers.size())
+                .timeoutMillis(downloadTimeout.toMillis())
+                .body(out -> new ArchiveWriter(out).write(examClassId, headers))
+                .build();
+    }
+
+    private static Map<String, String> subjectValues(ReportCardMarkRow row) {
+        Map<String, String> values = new HashMap<>();
+        values.put("subjectName", row.getSubjectName());
+        values.put("subjectCode", row.getSubjectCode());
+        values.put("maxMarks", String.valueOf(row.getMaxMarks()));
+        values.put("passMarks", String.valueOf(row.getPassMarks()));
+        values.put("marksObtained", String.valueOf(row.getMarksObtained()));
+        values.put("grade", row.getGrade() != null ? row.getGrade() : "-");
+        values.put("result", row.getMarksObtained() >= row.getPassMarks() ? "PASS" : "FAIL");
+        return values;
+    }
+
+    private static String slug(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+
+    private record CardHeader(String entryName, Map<String, String> values) {
+    }
+
+    private record RenderedCard(String entryName, byte[] html) {
+    }
+
+    /**
+     * Writes one archive: hands each student's lines to the render pool and writes finished cards in order
+     */
+    private final class ArchiveWriter {
+
+        private final ZipOutputStream zip;
+        private final Deque<CompletableFuture<RenderedCard>> pending = new ArrayDeque<>();
+        private final HtmlTemplate cardTemplate = htmlTemplateCache.get(CARD_TEMPLATE);
+        private final HtmlTemplate rowTemplate = htmlTemplateCache.get(SUBJECT_ROW_TEMPLATE);
+
+        private ArchiveWriter(OutputStream out) {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        }
+
+        void write(Long examClassId, Map<Long, CardHeader> headers) throws IOException {
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<ReportCardMarkRow> rows = studentMarksRepository.streamReportCardRowsByExamClassId(examClassId)) {
+                        Long studentId = null;
+                        List<Map<String, String>> lines = new ArrayList<>();
+                        Iterator<ReportCardMarkRow> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            ReportCardMarkRow row = iterator.next();
+                            if (!row.getStudentId().equals(studentId)) {
+                                submit(headers.get(studentId), lines);
+                                studentId = row.getStudentId();
+                                lines = new ArrayList<>();
+                            }
+                            lines.add(subjectValues(row));
+                        }
+                        submit(headers.get(studentId), lines);
+                    }
+                });
+                while (!pending.isEmpty()) {
+                    writeNext();
+                }
+                zip.finish();
+                zip.flush();
+            } catch (UncheckedIOException e) {
+                pending.forEach(future -> future.cancel(false));
+                log.warn("Report card download for exam class {} aborted: {}", examClassId, e.getMessage());
+                throw e.getCause();
+            }
+        }
+
+        private void submit(CardHeader header, List<Map<String, String>> lines) {
+            if (header == null || lines.isEmpty()) {
+                return;
+            }
+            pending.add(CompletableFuture.supplyAsync(() -> render(header, lines), renderExecutor));
+            if (pending.size() >= workerThreads * 2) {
+                writeNext();
+            }
+        }
+
+        private RenderedCard render(CardHeader header, List<Map<String, String>> lines) {
+            StringBuilder subjectRows = new StringBuilder(lines.size() * 700);
+            for (Map<String, String> line : lines) {
+                rowTemplate.render(line, subjectRows);
+            }
+            Map<String, String> values = new HashMap<>(header.values());
+            values.put("subjectRows", subjectRows.toString());
+            return new RenderedCard(header.entryName(), cardTemplate.render(values).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeNext() {
+            try {
+                RenderedCard card = pending.poll().join();
+                zip.putNextEntry(new ZipEntry(card.entryName()));
+                zip.write(card.html());
+                zip.closeEntry();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.enums.SequenceSeries;
+import org.collegemanagement.exception.ResourceNotFoundException;
+import org.collegemanagement.repositories.CollegeRepository;
+import org.collegemanagement.repositories.SequenceCounterRepository;
+import org.collegemanagement.services.SequenceService;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out document numbers from per-college counters in {@code sequence_counters}.
+ * <p>
+ * Gap-free series (block size 1) advance the counter in the caller's transaction, so a rolled-back
+ * document releases its number and committed numbers are consecutive. Other series serve a block
+ * of numbers from memory. The next block is reserved on a refill thread in a short transaction of
+ * its own once the current one runs low, so callers neither hold the block's monitor across the
+ * refill nor borrow a second connection for it.
+ */
+@Service
+@RequiredArgsConstructor
+public class SequenceServiceImpl implements SequenceService {
+
+    private final SequenceCounterRepository sequenceCounterRepository;
+    private final CollegeRepository collegeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<BlockKey, Block> blocks = new ConcurrentHashMap<>();
+
+    private TransactionTemplate callerTransaction;
+    private TransactionTemplate blockTransaction;
+    private ThreadPoolTaskExecutor refillExecutor;
+
+    @PostConstruct
+    void init() {
+        callerTransaction = new TransactionTemplate(transactionManager);
+        blockTransaction = new TransactionTemplate(transactionManager);
+        blockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        refillExecutor = new ThreadPoolTaskExecutor();
+        refillExecutor.setCorePoolSize(2);
+        refillExecutor.setMaxPoolSize(2);
+        refillExecutor.setThreadNamePrefix("sequence-refill-");
+        refillExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refillExecutor.shutdown();
+    }
+
+    @Override
+    public String nextNumber(Long collegeId, SequenceSeries series) {
+        int year = LocalDate.now().getYear();
+        int periodYear = series.isYearlyReset() ? year : 0;
+
+        if (series.getBlockSize() <= 1) {
+            Long value = callerTransaction.execute(status -> sequenceCounterRepository.reserve(collegeId, series, periodYear, 1));
+            return format(series, shortCode(collegeId), periodYear, value);
+        }
+
+        BlockKey key = new BlockKey(collegeId, series, periodYear);
+        Block block = blocks.computeIfAbsent(key, k -> new Block());
+        while (true) {
+            CompletableFuture<Range> refill;
+            synchronized (block) {
+                if (block.next < block.limit) {
+                    long value = block.next++;
+                    // Reserve the next block ahead of time on a refill thread, so callers rarely wait for one
+                    if (block.refill == null && block.limit - block.next <= series.getBlockSize() / 4) {
+                        block.refill = reserveBlock(key);
+                    }
+                    return format(series, block.shortCode, periodYear, value);
+                }
+                if (block.refill == null) {
+                    block.refill = reserveBlock(key);
+                }
+                refill = block.refill;
+            }
+
+            // Wait outside the monitor, so other callers of the series are not stuck behind the refill
+            Range range;
+            try {
+                range = refill.join();
+            } catch (CompletionException e) {
+                synchronized (block) {
+                    if (block.refill == refill) {
+                        block.refill = null;
+                    }
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            synchronized (block) {
+                if (block.refill == refill) {
+                    block.next = range.first();
+                    block.limit = range.first() + series.getBlockSize();
+                    block.shortCode = range.shortCode();
+                    block.refill = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserve a block of a counter in its own transaction on a refill thread, never on the caller's connection
+     */
+    private CompletableFuture<Range> reserveBlock(BlockKey key) {
+        return CompletableFuture.supplyAsync(() -> blockTransaction.execute(status -> new Range(
+                sequenceCounterRepository.reserve(key.collegeId(), key.series(), key.periodYear(), key.series().getBlockSize()),
+                shortCode(key.collegeId()))), refillExecutor);
+    }
+
+    private String shortCode(Long collegeId) {
+        return collegeRepository.findShortCodeById(collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("College not found with ID: " + collegeId));
+    }
+
+    private static String format(SequenceSeries series, String shortCode, int periodYear, long value) {
+        return periodYear > 0 ?
+                String.format("%s-%s-%d-%06d", series.getPrefix(), shortCode.toUpperCase(), periodYear, value) :
+                String.format("%s-%s-%06d", series.getPrefix(), shortCode.toUpperCase(), value);
+    }
+
+    private record BlockKey(Long collegeId, SequenceSeries series, int periodYear) {
+    }
+
+    private record Range(long first, String shortCode) {
+    }
+
+    /**
+     * Reserved numbers [next, limit) of one counter, and the reservation of the next block once one is under way
+     */
+    private static final class Block {
+
+        private long next;
+        private long limit;
+        private String shortCode;
+        private CompletableFuture<Range> refill;
+    }
+}
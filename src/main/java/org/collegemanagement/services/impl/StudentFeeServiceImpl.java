@@ -1,5 +1,6 @@
 package org.collegemanagement.services.impl;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.collegemanagement.dto.fees.*;
@@ -17,43 +18,83 @@ import org.collegemanagement.entity.student.Student;
 import org.collegemanagement.entity.tenant.College;
 import org.collegemanagement.entity.user.User;
 import org.collegemanagement.enums.AdjustmentType;
+import org.collegemanagement.enums.AuditAction;
+import org.collegemanagement.enums.AuditEntityType;
 import org.collegemanagement.enums.FeeStatus;
 import org.collegemanagement.enums.InstallmentStatus;
 import org.collegemanagement.enums.RoleType;
+import org.collegemanagement.enums.SequenceSeries;
+import org.collegemanagement.events.fees.FeeAdjustmentAppliedEvent;
+import org.collegemanagement.events.fees.FeePaymentRecordedEvent;
 import org.collegemanagement.exception.ResourceConflictException;
 import org.collegemanagement.exception.ResourceNotFoundException;
 import org.collegemanagement.mapper.StudentFeeMapper;
 import org.collegemanagement.repositories.*;
+import org.collegemanagement.repositories.projection.ClassFeeTotalsRow;
+import org.collegemanagement.repositories.projection.FeeAgingBuckets;
+import org.collegemanagement.repositories.projection.FeeAssignmentRow;
+import org.collegemanagement.repositories.projection.FeeLedgerRow;
+import org.collegemanagement.repositories.projection.FeeRollupTotals;
+import org.collegemanagement.repositories.projection.FeeTotalsRow;
+import org.collegemanagement.repositories.projection.InstallmentBalance;
+import org.collegemanagement.repositories.projection.StudentFeeBalance;
 import org.collegemanagement.security.tenant.TenantAccessGuard;
+import org.collegemanagement.services.AuditService;
 import org.collegemanagement.services.CollegeService;
-import org.collegemanagement.services.EmailService;
+import org.collegemanagement.services.SequenceService;
 import org.collegemanagement.services.StudentFeeService;
+import org.collegemanagement.utils.CsvWriter;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StudentFeeServiceImpl implements StudentFeeService {
 
+    private static final int FEE_ASSIGNMENT_CHUNK_SIZE = 1000;
+
+    /**
+     * Attempts to post a payment whose fee changed status under it before giving up
+     */
+    private static final int MAX_PAYMENT_POSTING_ATTEMPTS = 3;
+
     private final FeeStructureRepository feeStructureRepository;
     private final StudentFeeRepository studentFeeRepository;
     private final FeePaymentRepository feePaymentRepository;
     private final FeeInstallmentRepository feeInstallmentRepository;
+    private final FeeInstallmentTemplateRepository feeInstallmentTemplateRepository;
     private final FeeAdjustmentRepository feeAdjustmentRepository;
     private final FeeReceiptRepository feeReceiptRepository;
     private final ClassRoomRepository classRoomRepository;
@@ -61,7 +102,22 @@ public class StudentFeeServiceImpl implements StudentFeeService {
     private final StudentEnrollmentRepository studentEnrollmentRepository;
     private final TenantAccessGuard tenantAccessGuard;
     private final CollegeService collegeService;
-    private final EmailService emailService;
+    private final AuditService auditService;
+    private final CascadeDeleter cascadeDeleter;
+    private final CollegeFeeRollupRepository collegeFeeRollupRepository;
+    private final FeeRollupUpdater feeRollupUpdater;
+    private final FeeRollupReconciler feeRollupReconciler;
+    private final SequenceService sequenceService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     // ========== Fee Structure Management ==========
 
@@ -236,15 +292,26 @@ public class StudentFeeServiceImpl implements StudentFeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Fee structure not found with UUID: " + feeStructureUuid));
 
         // Check if any student fees are associated with this structure
-        long studentFeeCount = studentFeeRepository.findByFeeStructureUuidAndCollegeId(
-                feeStructureUuid, collegeId, Pageable.unpaged()).getTotalElements();
+        long studentFeeCount = studentFeeRepository.countByFeeStructureId(feeStructure.getId());
 
         if (studentFeeCount > 0) {
             throw new ResourceConflictException(
                     "Cannot delete fee structure. " + studentFeeCount + " student(s) have fees assigned to this structure.");
         }
 
-        feeStructureRepository.delete(feeStructure);
+        // Components and installment templates are deleted in chunks without loading them
+        long deletedRows = cascadeDeleter.deleteFeeStructure(feeStructure.getId());
+
+        User currentUser = getCurrentUser();
+        if (currentUser != null) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.DELETE,
+                    AuditEntityType.FEE_STRUCTURE,
+                    feeStructure.getId(),
+                    "Deleted fee structure " + feeStructureUuid + " (" + deletedRows + " rows)"
+            );
+        }
     }
 
     @Override
@@ -314,6 +381,7 @@ public class StudentFeeServiceImpl implements StudentFeeService {
                 .build();
 
         studentFee = studentFeeRepository.save(studentFee);
+        feeRollupUpdater.recordAssigned(collegeId, List.of(studentFee));
 
         createInstallmentsForStudentFee(studentFee, feeStructure);
 
@@ -334,45 +402,115 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         FeeStructure feeStructure = feeStructureRepository.findByUuidAndCollegeId(feeStructureUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Fee structure not found with UUID: " + feeStructureUuid));
 
-        // Get all active enrollments for the class
-        List<StudentEnrollment> enrollments = studentEnrollmentRepository.findByClassUuidAndCollegeId(classUuid, collegeId);
-
-        if (enrollments.isEmpty()) {
+        if (studentEnrollmentRepository.countActiveByClassId(classRoom.getId()) == 0) {
             throw new ResourceNotFoundException("No active students found in class " + classRoom.getName());
         }
 
-        List<StudentFeeResponse> assignedFees = new ArrayList<>();
+        // One anti-join finds the students without the fee; fees and installments go out as JDBC batches
+        List<Long> studentIds = studentEnrollmentRepository.findStudentIdsWithoutFeeStructure(
+                List.of(classRoom.getId()), feeStructure.getId(), collegeId);
+        List<FeeInstallmentTemplate> templates = feeInstallmentTemplateRepository.findByFeeStructureIdIn(List.of(feeStructure.getId()));
+        List<StudentFee> inserted = insertStudentFees(feeStructure, templates, studentIds);
 
-        for (StudentEnrollment enrollment : enrollments) {
-            Student student = enrollment.getStudent();
+        List<Long> insertedIds = inserted.stream().map(StudentFee::getId).toList();
+        return insertedIds.isEmpty() ? List.of() :
+                StudentFeeMapper.toStudentFeeResponseList(studentFeeRepository.findWithDetailsByIdIn(insertedIds));
+    }
 
-            // Check if fee is already assigned
-            if (studentFeeRepository.findByStudentIdAndFeeStructureId(student.getId(), feeStructure.getId()).isEmpty()) {
-                // Create student fee
-                StudentFee studentFee = StudentFee.builder()
-                        .student(student)
-                        .feeStructure(feeStructure)
-                        .totalAmount(feeStructure.getTotalAmount())
-                        .netAmount(feeStructure.getTotalAmount())
-                        .discountAmount(BigDecimal.ZERO)
-                        .waiverAmount(BigDecimal.ZERO)
-                        .penaltyAmount(BigDecimal.ZERO)
-                        .paidAmount(BigDecimal.ZERO)
-                        .dueAmount(feeStructure.getTotalAmount())
-                        .dueDate(feeStructure.getDueDate())
-                        .status(FeeStatus.PENDING)
-                        .payments(new HashSet<>())
-                        .installments(new HashSet<>())
-                        .adjustments(new HashSet<>())
-                        .build();
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public BulkFeeAssignmentResponse assignFeeToClasses(String feeStructureUuid, AssignFeeToClassesRequest request) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
 
-                studentFee = studentFeeRepository.save(studentFee);
-                createInstallmentsForStudentFee(studentFee, feeStructure);
-                assignedFees.add(StudentFeeMapper.toStudentFeeResponse(studentFee));
-            }
+        FeeStructure feeStructure = feeStructureRepository.findByUuidAndCollegeId(feeStructureUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Fee structure not found with UUID: " + feeStructureUuid));
+
+        Set<String> classUuids = new LinkedHashSet<>(request.getClassUuids());
+        List<ClassRoom> classRooms = classRoomRepository.findByUuidInAndCollegeId(classUuids, collegeId);
+        if (classRooms.size() != classUuids.size()) {
+            Set<String> found = classRooms.stream().map(ClassRoom::getUuid).collect(Collectors.toSet());
+            String missing = classUuids.stream().filter(uuid -> !found.contains(uuid)).findFirst().orElse("");
+            throw new ResourceNotFoundException("Class not found with UUID: " + missing);
+        }
+
+        List<Long> classIds = classRooms.stream().map(ClassRoom::getId).toList();
+        List<Long> studentIds = studentEnrollmentRepository.findStudentIdsWithoutFeeStructure(classIds, feeStructure.getId(), collegeId);
+        List<FeeInstallmentTemplate> templates = feeInstallmentTemplateRepository.findByFeeStructureIdIn(List.of(feeStructure.getId()));
+        int assigned = insertStudentFees(feeStructure, templates, studentIds).size();
+
+        User currentUser = getCurrentUser();
+        if (currentUser != null && assigned > 0) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.CREATE,
+                    AuditEntityType.FEE_STRUCTURE,
+                    feeStructure.getId(),
+                    "Assigned fee structure " + feeStructureUuid + " to " + assigned + " students in " + classRooms.size() + " classes"
+            );
+        }
+
+        return BulkFeeAssignmentResponse.builder()
+                .feeStructureCount(1)
+                .classCount(classRooms.size())
+                .assignedCount(assigned)
+                .installmentCount(assigned * templates.size())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public BulkFeeAssignmentResponse assignFeesToCollegeStudents() {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+
+        // Every (structure, student) pair still to assign, grouped by structure, from one anti-join
+        Map<Long, List<Long>> studentIdsByStructure = new LinkedHashMap<>();
+        for (FeeAssignmentRow row : studentEnrollmentRepository.findUnassignedFeeStructureStudents(collegeId)) {
+            studentIdsByStructure.computeIfAbsent(row.getFeeStructureId(), id -> new ArrayList<>()).add(row.getStudentId());
+        }
+        if (studentIdsByStructure.isEmpty()) {
+            return BulkFeeAssignmentResponse.builder()
+                    .feeStructureCount(0)
+                    .classCount(0)
+                    .assignedCount(0)
+                    .installmentCount(0)
+                    .build();
+        }
+
+        Map<Long, FeeStructure> structuresById = feeStructureRepository.findAllById(studentIdsByStructure.keySet()).stream()
+                .collect(Collectors.toMap(FeeStructure::getId, fs -> fs));
+        Map<Long, List<FeeInstallmentTemplate>> templatesByStructure = feeInstallmentTemplateRepository
+                .findByFeeStructureIdIn(studentIdsByStructure.keySet()).stream()
+                .collect(Collectors.groupingBy(t -> t.getFeeStructure().getId()));
+
+        int assigned = 0;
+        int installments = 0;
+        for (Map.Entry<Long, List<Long>> entry : studentIdsByStructure.entrySet()) {
+            List<FeeInstallmentTemplate> templates = templatesByStructure.getOrDefault(entry.getKey(), List.of());
+            int count = insertStudentFees(structuresById.get(entry.getKey()), templates, entry.getValue()).size();
+            assigned += count;
+            installments += count * templates.size();
+        }
+
+        User currentUser = getCurrentUser();
+        if (currentUser != null && assigned > 0) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.CREATE,
+                    AuditEntityType.FEE_STRUCTURE,
+                    collegeId,
+                    "Assigned " + studentIdsByStructure.size() + " fee structures to " + assigned + " students"
+            );
         }
 
-        return assignedFees;
+        // Fee structures are unique per class
+        return BulkFeeAssignmentResponse.builder()
+                .feeStructureCount(studentIdsByStructure.size())
+                .classCount(studentIdsByStructure.size())
+                .assignedCount(assigned)
+                .installmentCount(installments)
+                .build();
     }
 
     @Override
@@ -473,14 +611,15 @@ public class StudentFeeServiceImpl implements StudentFeeService {
     public FeePaymentResponse recordFeePayment(CreateFeePaymentRequest request) {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
 
-        // Find student fee
-        StudentFee studentFee = studentFeeRepository.findByUuidAndCollegeId(request.getStudentFeeUuid(), collegeId)
+        // Read without a lock; the conditional update below is what serializes postings to the fee
+        StudentFeeBalance balance = studentFeeRepository.findBalanceByUuidAndCollegeId(request.getStudentFeeUuid(), collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student fee not found with UUID: " + request.getStudentFeeUuid()));
+        Long studentFeeId = balance.getId();
 
         // Validate payment amount
-        if (request.getAmount().compareTo(studentFee.getDueAmount()) > 0) {
+        if (request.getAmount().compareTo(balance.getDueAmount()) > 0) {
             throw new ResourceConflictException(
-                    "Payment amount (" + request.getAmount() + ") cannot exceed due amount (" + studentFee.getDueAmount() + ")");
+                    "Payment amount (" + request.getAmount() + ") cannot exceed due amount (" + balance.getDueAmount() + ")");
         }
 
         // Check transaction ID uniqueness if provided
@@ -490,6 +629,37 @@ public class StudentFeeServiceImpl implements StudentFeeService {
             }
         }
 
+        // Post the payment atomically; the conditional update guards against overpayment and a concurrent status change
+        FeeStatus replacedStatus = balance.getStatus();
+        int posted = postPayment(studentFeeId, request.getAmount(), replacedStatus);
+        for (int attempt = 1; posted == 0 && attempt < MAX_PAYMENT_POSTING_ATTEMPTS; attempt++) {
+            // Another posting moved the fee on since it was read: the locking read sees past this transaction's
+            // snapshot, so only a due amount that genuinely no longer covers the payment is a conflict
+            StudentFeeBalance current = studentFeeRepository.findBalanceByIdForUpdate(studentFeeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student fee not found with UUID: " + request.getStudentFeeUuid()));
+            if (request.getAmount().compareTo(current.getDueAmount()) > 0) {
+                throw new ResourceConflictException(
+                        "Payment amount (" + request.getAmount() + ") cannot exceed due amount (" + current.getDueAmount() + ")");
+            }
+            replacedStatus = current.getStatus();
+            posted = postPayment(studentFeeId, request.getAmount(), replacedStatus);
+        }
+        if (posted == 0) {
+            throw new ResourceConflictException(
+                    "Student fee kept changing while the payment was being posted, please retry: " + request.getStudentFeeUuid());
+        }
+
+        // Read back once; the balance before the payment follows from the posted amount and the status it replaced
+        StudentFee studentFee = studentFeeRepository.findByUuidAndCollegeId(request.getStudentFeeUuid(), collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student fee not found with UUID: " + request.getStudentFeeUuid()));
+        FeeRollupUpdater.Balance after = FeeRollupUpdater.Balance.of(studentFee);
+        FeeRollupUpdater.Balance before = new FeeRollupUpdater.Balance(
+                after.totalAmount(),
+                after.paidAmount().subtract(request.getAmount()),
+                after.dueAmount().add(request.getAmount()),
+                replacedStatus);
+        feeRollupUpdater.recordChange(collegeId, studentFeeId, before, after);
+
         // Create fee payment
         FeePayment feePayment = FeePayment.builder()
                 .studentFee(studentFee)
@@ -504,58 +674,31 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         // Allocate payment to installments if any
         allocatePaymentToInstallments(studentFee, request.getAmount());
 
-        // Update student fee
-        BigDecimal effectiveNet = getEffectiveNetAmount(studentFee);
-        if (studentFee.getNetAmount() == null) {
-            studentFee.setNetAmount(effectiveNet);
-        }
-        BigDecimal newPaidAmount = studentFee.getPaidAmount().add(request.getAmount());
-        BigDecimal newDueAmount = effectiveNet.subtract(newPaidAmount);
-
-        studentFee.setPaidAmount(newPaidAmount);
-        studentFee.setDueAmount(newDueAmount);
-
-        // Update status
-        FeeStatus newStatus = StudentFeeMapper.calculateFeeStatus(
-                effectiveNet, newPaidAmount, newDueAmount, studentFee.getDueDate());
-        studentFee.setStatus(newStatus);
-
-        // Add payment to student fee's payment collection
-        studentFee.getPayments().add(feePayment);
-        studentFeeRepository.save(studentFee);
-
         // Create receipt
         FeeReceipt receipt = FeeReceipt.builder()
                 .feePayment(feePayment)
-                .receiptNumber(generateReceiptNumber())
+                .receiptNumber(sequenceService.nextNumber(collegeId, SequenceSeries.FEE_RECEIPT))
                 .issuedAt(Instant.now())
                 .issuedBy(getCurrentUser())
                 .build();
         feeReceiptRepository.save(receipt);
         feePayment.setReceipt(receipt);
 
-        // Send payment receipt email (non-blocking)
-        try {
-            Student student = studentFee.getStudent();
-            if (student != null && student.getUser() != null && student.getUser().getEmail() != null) {
-                String email = student.getUser().getEmail();
-                if (!email.isBlank()) {
-                    String collegeName = student.getCollege() != null ? student.getCollege().getName() : "College";
-                    String studentName = student.getUser().getName() != null ? student.getUser().getName() : "Student";
-                    emailService.sendStudentFeePaymentEmail(
-                            email,
-                            collegeName,
-                            studentName,
-                            request.getAmount(),
-                            receipt.getReceiptNumber(),
-                            request.getTransactionId(),
-                            feePayment.getPaymentDate(),
-                            studentFee.getDueAmount()
-                    );
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to send fee payment email: {}", e.getMessage());
+        // Payment receipt email is sent after commit
+        Student student = studentFee.getStudent();
+        if (student != null && student.getUser() != null && student.getUser().getEmail() != null
+                && !student.getUser().getEmail().isBlank()) {
+            eventPublisher.publishEvent(new FeePaymentRecordedEvent(
+                    collegeId,
+                    student.getUser().getEmail(),
+                    student.getCollege() != null ? student.getCollege().getName() : "College",
+                    student.getUser().getName() != null ? student.getUser().getName() : "Student",
+                    request.getAmount(),
+                    receipt.getReceiptNumber(),
+                    request.getTransactionId(),
+                    feePayment.getPaymentDate(),
+                    studentFee.getDueAmount()
+            ));
         }
 
         return StudentFeeMapper.toFeePaymentResponse(feePayment);
@@ -635,6 +778,42 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         return feePayments.map(StudentFeeMapper::toFeePaymentResponse);
     }
 
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public FeeLedgerExport exportFeeLedger(Instant startDate, Instant endDate, boolean gzip) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+
+        // Validate date range
+        if (startDate.isAfter(endDate)) {
+            throw new ResourceConflictException("Start date cannot be after end date");
+        }
+
+        String fileName = "fee-ledger-" + LocalDate.ofInstant(startDate, ZoneOffset.UTC) + "-to-"
+                + LocalDate.ofInstant(endDate, ZoneOffset.UTC) + (gzip ? ".csv.gz" : ".csv");
+        return FeeLedgerExport.builder()
+                .fileName(fileName)
+                .gzipped(gzip)
+                .body(csvBody(gzip, new String[]{"Payment Date", "Receipt Number", "Payment UUID", "Amount", "Payment Mode",
+                        "Transaction ID", "Student Fee UUID", "Student UUID", "Roll Number", "Student Name",
+                        "Class", "Section"}, csv ->
+                        // Rows are projections, not entities, so the persistence context stays empty however many are read
+                        readOnlyTransaction.executeWithoutResult(status -> {
+                            try (Stream<FeeLedgerRow> rows = feePaymentRepository.streamLedgerByPaymentDateRangeAndCollegeId(startDate, endDate, collegeId)) {
+                                rows.forEach(row -> {
+                                    try {
+                                        csv.writeRecord(row.getPaymentDate(), row.getReceiptNumber(), row.getPaymentUuid(),
+                                                row.getAmount(), row.getPaymentMode(), row.getTransactionId(),
+                                                row.getStudentFeeUuid(), row.getStudentUuid(), row.getRollNumber(),
+                                                row.getStudentName(), row.getClassName(), row.getSection());
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                });
+                            }
+                        })))
+                .build();
+    }
+
     @Override
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT', 'TEACHER', 'STUDENT')")
     public List<FeeInstallmentResponse> getFeeInstallmentsByStudentFeeUuid(String studentFeeUuid) {
@@ -656,8 +835,12 @@ public class StudentFeeServiceImpl implements StudentFeeService {
     public FeeAdjustmentResponse applyFeeAdjustment(String studentFeeUuid, FeeAdjustmentRequest request) {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
 
-        StudentFee studentFee = studentFeeRepository.findByUuidAndCollegeId(studentFeeUuid, collegeId)
+        // Locked so a concurrent payment cannot be overwritten when the recalculated fee is saved
+        Long studentFeeId = studentFeeRepository.findIdByUuidAndCollegeId(studentFeeUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student fee not found with UUID: " + studentFeeUuid));
+        StudentFee studentFee = studentFeeRepository.findByIdForUpdate(studentFeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student fee not found with UUID: " + studentFeeUuid));
+        FeeRollupUpdater.Balance before = FeeRollupUpdater.Balance.of(studentFee);
 
         FeeAdjustment adjustment = FeeAdjustment.builder()
                 .studentFee(studentFee)
@@ -669,28 +852,22 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         studentFee.getAdjustments().add(adjustment);
 
         applyAdjustmentToStudentFee(studentFee, request.getType(), request.getAmount());
-
-        // Send adjustment email (non-blocking)
-        try {
-            Student student = studentFee.getStudent();
-            if (student != null && student.getUser() != null && student.getUser().getEmail() != null) {
-                String email = student.getUser().getEmail();
-                if (!email.isBlank()) {
-                    String collegeName = student.getCollege() != null ? student.getCollege().getName() : "College";
-                    String studentName = student.getUser().getName() != null ? student.getUser().getName() : "Student";
-                    emailService.sendStudentFeeAdjustmentEmail(
-                            email,
-                            collegeName,
-                            studentName,
-                            request.getType(),
-                            request.getAmount(),
-                            studentFee.getNetAmount(),
-                            studentFee.getDueAmount()
-                    );
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to send fee adjustment email: {}", e.getMessage());
+        feeRollupUpdater.recordChange(collegeId, studentFeeId, before, FeeRollupUpdater.Balance.of(studentFee));
+
+        // Adjustment email is sent after commit
+        Student student = studentFee.getStudent();
+        if (student != null && student.getUser() != null && student.getUser().getEmail() != null
+                && !student.getUser().getEmail().isBlank()) {
+            eventPublisher.publishEvent(new FeeAdjustmentAppliedEvent(
+                    collegeId,
+                    student.getUser().getEmail(),
+                    student.getCollege() != null ? student.getCollege().getName() : "College",
+                    student.getUser().getName() != null ? student.getUser().getName() : "Student",
+                    request.getType(),
+                    request.getAmount(),
+                    studentFee.getNetAmount(),
+                    studentFee.getDueAmount()
+            ));
         }
 
         return StudentFeeMapper.toFeeAdjustmentResponse(adjustment);
@@ -730,34 +907,7 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         StudentEnrollment enrollment = studentEnrollmentRepository.findActiveByStudentIdAndCollegeId(student.getId(), collegeId)
                 .orElse(null);
 
-        // Calculate summary
-        BigDecimal totalFees = studentFees.stream()
-                .map(this::getEffectiveNetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalPaid = studentFees.stream()
-                .map(StudentFee::getPaidAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalDue = studentFees.stream()
-                .map(StudentFee::getDueAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long pendingCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.PENDING)
-                .count();
-
-        long paidCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.PAID)
-                .count();
-
-        long partiallyPaidCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.PARTIALLY_PAID)
-                .count();
-
-        long overdueCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.OVERDUE)
-                .count();
+        FeeTotalsRow totals = studentFeeRepository.summarizeByStudentId(student.getId(), collegeId);
 
         return StudentFeeSummaryResponse.builder()
                 .studentUuid(student.getUuid())
@@ -765,13 +915,13 @@ public class StudentFeeServiceImpl implements StudentFeeService {
                 .rollNumber(student.getRollNumber())
                 .className(enrollment != null && enrollment.getClassRoom() != null ?
                         enrollment.getClassRoom().getName() : null)
-                .totalFees(totalFees)
-                .totalPaid(totalPaid)
-                .totalDue(totalDue)
-                .pendingCount(pendingCount)
-                .paidCount(paidCount)
-                .partiallyPaidCount(partiallyPaidCount)
-                .overdueCount(overdueCount)
+                .totalFees(totals.getTotalAmount())
+                .totalPaid(totals.getPaidAmount())
+                .totalDue(totals.getDueAmount())
+                .pendingCount(totals.getPendingCount())
+                .paidCount(totals.getPaidCount())
+                .partiallyPaidCount(totals.getPartiallyPaidCount())
+                .overdueCount(totals.getOverdueCount())
                 .fees(StudentFeeMapper.toStudentFeeResponseList(studentFees))
                 .build();
     }
@@ -781,25 +931,24 @@ public class StudentFeeServiceImpl implements StudentFeeService {
     public CollegeFeeSummaryResponse getCollegeFeeSummary() {
         Long collegeId = tenantAccessGuard.getCurrentTenantId();
 
-        BigDecimal totalFees = studentFeeRepository.calculateTotalAmountByCollegeId(collegeId);
-        BigDecimal totalPaid = studentFeeRepository.calculateTotalPaidAmountByCollegeId(collegeId);
-        BigDecimal totalDue = studentFeeRepository.calculateTotalDueAmountByCollegeId(collegeId);
+        // Maintained incrementally by fee writes; a college without a rollup yet gets one built on first read
+        FeeRollupTotals totals = collegeFeeRollupRepository.findTotalsByCollegeId(collegeId);
+        if (totals.getFeeCount() == null) {
+            feeRollupReconciler.reconcile(collegeId);
+            totals = collegeFeeRollupRepository.findTotalsByCollegeId(collegeId);
+        }
 
         long totalStudents = studentRepository.countByCollegeId(collegeId);
-        long pendingCount = studentFeeRepository.countByStatusAndCollegeId(FeeStatus.PENDING, collegeId);
-        long paidCount = studentFeeRepository.countByStatusAndCollegeId(FeeStatus.PAID, collegeId);
-        long partiallyPaidCount = studentFeeRepository.countByStatusAndCollegeId(FeeStatus.PARTIALLY_PAID, collegeId);
-        long overdueCount = studentFeeRepository.countByStatusAndCollegeId(FeeStatus.OVERDUE, collegeId);
 
         return CollegeFeeSummaryResponse.builder()
-                .totalFees(totalFees != null ? totalFees : BigDecimal.ZERO)
-                .totalPaid(totalPaid != null ? totalPaid : BigDecimal.ZERO)
-                .totalDue(totalDue != null ? totalDue : BigDecimal.ZERO)
+                .totalFees(totals.getTotalAmount() != null ? totals.getTotalAmount() : BigDecimal.ZERO)
+                .totalPaid(totals.getPaidAmount() != null ? totals.getPaidAmount() : BigDecimal.ZERO)
+                .totalDue(totals.getDueAmount() != null ? totals.getDueAmount() : BigDecimal.ZERO)
                 .totalStudents(totalStudents)
-                .pendingCount(pendingCount)
-                .paidCount(paidCount)
-                .partiallyPaidCount(partiallyPaidCount)
-                .overdueCount(overdueCount)
+                .pendingCount(totals.getPendingCount() != null ? totals.getPendingCount() : 0L)
+                .paidCount(totals.getPaidCount() != null ? totals.getPaidCount() : 0L)
+                .partiallyPaidCount(totals.getPartiallyPaidCount() != null ? totals.getPartiallyPaidCount() : 0L)
+                .overdueCount(totals.getOverdueCount() != null ? totals.getOverdueCount() : 0L)
                 .build();
     }
 
@@ -812,67 +961,136 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         ClassRoom classRoom = classRoomRepository.findByUuidAndCollegeId(classUuid, collegeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found with UUID: " + classUuid));
 
-        // Get all student fees for the class
-        List<StudentFee> studentFees = studentFeeRepository.findByClassUuidAndCollegeId(
-                classUuid, collegeId, Pageable.unpaged()).getContent();
+        // One grouped query; the class exists, so exactly one row comes back
+        List<ClassFeeTotalsRow> rows = studentFeeRepository.summarizeByClass(collegeId, classRoom.getId());
+        return StudentFeeMapper.toClassFeeSummaryResponse(rows.get(0));
+    }
 
-        // Calculate summary
-        BigDecimal totalFees = studentFees.stream()
-                .map(this::getEffectiveNetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT', 'TEACHER')")
+    public List<ClassFeeSummaryResponse> getAllClassFeeSummaries() {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
 
-        BigDecimal totalPaid = studentFees.stream()
-                .map(StudentFee::getPaidAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return StudentFeeMapper.toClassFeeSummaryResponseList(studentFeeRepository.summarizeByClass(collegeId, null));
+    }
 
-        BigDecimal totalDue = studentFees.stream()
-                .map(StudentFee::getDueAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public FeeAgingReportResponse getFeeAgingReport(LocalDate asOfDate) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        LocalDate asOf = asOfDate != null ? asOfDate : LocalDate.now();
 
-        long totalStudents = studentFees.stream()
-                .map(StudentFee::getStudent)
-                .distinct()
-                .count();
-
-        long pendingCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.PENDING)
-                .count();
-
-        long paidCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.PAID)
-                .count();
-
-        long partiallyPaidCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.PARTIALLY_PAID)
-                .count();
-
-        long overdueCount = studentFees.stream()
-                .filter(sf -> sf.getStatus() == FeeStatus.OVERDUE)
-                .count();
-
-        return ClassFeeSummaryResponse.builder()
-                .classUuid(classRoom.getUuid())
-                .className(classRoom.getName())
-                .section(classRoom.getSection())
-                .totalFees(totalFees)
-                .totalPaid(totalPaid)
-                .totalDue(totalDue)
-                .totalStudents(totalStudents)
-                .pendingCount(pendingCount)
-                .paidCount(paidCount)
-                .partiallyPaidCount(partiallyPaidCount)
-                .overdueCount(overdueCount)
+        return StudentFeeMapper.toFeeAgingReportResponse(asOf, studentFeeRepository.summarizeAgingByClass(collegeId, asOf));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN', 'ACCOUNTANT')")
+    public FeeAgingExport exportStudentFeeAging(LocalDate asOfDate, Integer minDaysOverdue) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        LocalDate asOf = asOfDate != null ? asOfDate : LocalDate.now();
+
+        return FeeAgingExport.builder()
+                .fileName("fee-aging-" + asOf + ".csv")
+                .body(csvBody(false, new String[]{"Roll Number", "Student Name", "Class", "Section", "Max Days Overdue",
+                        "Not Due", "0-30 Days", "31-60 Days", "61-90 Days", "Over 90 Days", "Total Due"}, csv ->
+                        studentFeeRepository.forEachStudentAging(collegeId, asOf, minDaysOverdue, row -> {
+                            FeeAgingBuckets buckets = row.buckets();
+                            try {
+                                csv.writeRecord(row.rollNumber(), row.studentName(), row.className(), row.section(),
+                                        row.maxDaysOverdue(), buckets.notDue(), buckets.days0To30(), buckets.days31To60(),
+                                        buckets.days61To90(), buckets.daysOver90(), buckets.total());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })))
                 .build();
     }
 
     // Helper methods
 
+    /**
+     * Body of a streamed CSV export: the header, then the records {@code rows} writes, optionally gzipped.
+     * The body runs after the request thread returns, so everything tenant-bound must be resolved before it is built.
+     */
+    private static StreamingResponseBody csvBody(boolean gzip, String[] header, CsvRows rows) {
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8)));
+            csv.writeRecord((Object[]) header);
+            rows.writeTo(csv);
+            csv.flush();
+            if (target instanceof GZIPOutputStream gzipped) {
+                // Writes the gzip trailer without closing the response stream
+                gzipped.finish();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface CsvRows {
+
+        void writeTo(CsvWriter csv) throws IOException;
+    }
+
     private College getCollegeById(Long collegeId) {
         College college = collegeService.findById(collegeId);
         tenantAccessGuard.assertCurrentTenant(college);
         return college;
     }
 
+    /**
+     * Build the fees and installments of one fee structure for the given students in memory and write them
+     * as JDBC batches, a chunk of students at a time. Students assigned the structure concurrently are skipped.
+     *
+     * @param templates installment templates of the structure, by due date
+     * @return the inserted student fees, with their IDs
+     */
+    private List<StudentFee> insertStudentFees(FeeStructure feeStructure, List<FeeInstallmentTemplate> templates, List<Long> studentIds) {
+        List<StudentFee> inserted = new ArrayList<>(studentIds.size());
+        for (int from = 0; from < studentIds.size(); from += FEE_ASSIGNMENT_CHUNK_SIZE) {
+            List<StudentFee> studentFees = new ArrayList<>();
+            for (Long studentId : studentIds.subList(from, Math.min(from + FEE_ASSIGNMENT_CHUNK_SIZE, studentIds.size()))) {
+                // Only the ID is written; the student is never attached to the persistence context
+                studentFees.add(StudentFee.builder()
+                        .student(Student.builder().id(studentId).build())
+                        .feeStructure(feeStructure)
+                        .totalAmount(feeStructure.getTotalAmount())
+                        .netAmount(feeStructure.getTotalAmount())
+                        .discountAmount(BigDecimal.ZERO)
+                        .waiverAmount(BigDecimal.ZERO)
+                        .penaltyAmount(BigDecimal.ZERO)
+                        .paidAmount(BigDecimal.ZERO)
+                        .dueAmount(feeStructure.getTotalAmount())
+                        .dueDate(feeStructure.getDueDate())
+                        .status(FeeStatus.PENDING)
+                        .build());
+            }
+            studentFeeRepository.batchInsert(studentFees);
+            feeRollupUpdater.recordAssigned(feeStructure.getCollege().getId(), studentFees);
+
+            List<FeeInstallment> installments = new ArrayList<>();
+            for (StudentFee studentFee : studentFees) {
+                if (studentFee.getId() == null) {
+                    continue;
+                }
+                inserted.add(studentFee);
+                for (FeeInstallmentTemplate template : templates) {
+                    installments.add(FeeInstallment.builder()
+                            .studentFee(studentFee)
+                            .name(template.getName())
+                            .amount(template.getAmount())
+                            .paidAmount(BigDecimal.ZERO)
+                            .dueAmount(template.getAmount())
+                            .status(InstallmentStatus.PENDING)
+                            .dueDate(template.getDueDate())
+                            .build());
+                }
+            }
+            feeInstallmentRepository.batchInsert(installments);
+        }
+        return inserted;
+    }
+
     private void createInstallmentsForStudentFee(StudentFee studentFee, FeeStructure feeStructure) {
         if (feeStructure.getInstallmentTemplates() == null || feeStructure.getInstallmentTemplates().isEmpty()) {
             return;
@@ -897,36 +1115,53 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         }
     }
 
+    /**
+     * Post a payment if the fee is still in the expected status and its due amount covers the payment
+     *
+     * @return number of fees updated, 0 or 1
+     */
+    private int postPayment(Long studentFeeId, BigDecimal amount, FeeStatus expectedStatus) {
+        return studentFeeRepository.postPayment(
+                studentFeeId,
+                amount,
+                expectedStatus,
+                LocalDate.now(),
+                LocalDateTime.now(),
+                FeeStatus.PAID,
+                FeeStatus.OVERDUE,
+                FeeStatus.PARTIALLY_PAID);
+    }
+
     private void allocatePaymentToInstallments(StudentFee studentFee, BigDecimal paymentAmount) {
         if (paymentAmount == null || paymentAmount.compareTo(BigDecimal.ZERO) <= 0) {
             return;
         }
 
-        List<FeeInstallment> installments = feeInstallmentRepository.findByStudentFeeId(studentFee.getId());
-        if (installments.isEmpty()) {
+        List<InstallmentBalance> balances = feeInstallmentRepository.findOpenBalancesByStudentFeeId(studentFee.getId());
+        if (balances.isEmpty()) {
             return;
         }
 
+        List<FeeInstallmentRepositoryCustom.InstallmentPayment> payments = new ArrayList<>();
         BigDecimal remaining = paymentAmount;
-        for (FeeInstallment installment : installments) {
+        for (InstallmentBalance balance : balances) {
             if (remaining.compareTo(BigDecimal.ZERO) <= 0) {
                 break;
             }
-            if (installment.getDueAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                continue;
-            }
 
-            BigDecimal apply = remaining.min(installment.getDueAmount());
-            BigDecimal newPaid = installment.getPaidAmount().add(apply);
-            BigDecimal newDue = installment.getAmount().subtract(newPaid);
-
-            installment.setPaidAmount(newPaid);
-            installment.setDueAmount(newDue);
-            installment.setStatus(calculateInstallmentStatus(installment.getAmount(), newPaid, newDue, installment.getDueDate()));
-            feeInstallmentRepository.save(installment);
+            BigDecimal apply = remaining.min(balance.getDueAmount());
+            BigDecimal newPaid = balance.getPaidAmount().add(apply);
+            BigDecimal newDue = balance.getDueAmount().subtract(apply);
+            InstallmentStatus status = calculateInstallmentStatus(balance.getAmount(), newPaid, newDue, balance.getDueDate());
+            payments.add(new FeeInstallmentRepositoryCustom.InstallmentPayment(balance.getId(), apply, status));
 
             remaining = remaining.subtract(apply);
         }
+
+        int updated = feeInstallmentRepository.batchApplyPayments(payments);
+        if (updated != payments.size()) {
+            throw new ResourceConflictException("Installments of student fee changed while the payment was being posted");
+        }
     }
 
     private InstallmentStatus calculateInstallmentStatus(BigDecimal totalAmount, BigDecimal paidAmount, BigDecimal dueAmount, LocalDate dueDate) {
@@ -1022,12 +1257,6 @@ public class StudentFeeServiceImpl implements StudentFeeService {
         studentFeeRepository.save(studentFee);
     }
 
-    private String generateReceiptNumber() {
-        String timestamp = String.valueOf(Instant.now().toEpochMilli());
-        String suffix = java.util.UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return "FEE-" + timestamp + "-" + suffix;
-    }
-
     private User getCurrentUser() {
         try {
             Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -1077,15 +1306,5 @@ public class StudentFeeServiceImpl implements StudentFeeService {
             throw new AccessDeniedException("Access denied");
         }
     }
-
-    private BigDecimal getEffectiveNetAmount(StudentFee studentFee) {
-        if (studentFee == null) {
-            return BigDecimal.ZERO;
-        }
-        if (studentFee.getNetAmount() != null) {
-            return studentFee.getNetAmount();
-        }
-        return studentFee.getTotalAmount() != null ? studentFee.getTotalAmount() : BigDecimal.ZERO;
-    }
 }
 
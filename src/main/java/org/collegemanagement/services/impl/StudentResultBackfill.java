@@ -0,0 +1,60 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.repositories.StudentExamResultRepository;
+import org.collegemanagement.repositories.StudentGpaLedgerRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Populates the materialized exam results and GPA ledger from existing marks for exams and
+ * academic years that have none yet, e.g. on the first start after the tables were added.
+ * <p>
+ * Runs in the background after startup, one exam or academic year per short transaction, so a
+ * large backlog neither delays readiness nor holds locks and undo for the whole marks table.
+ * An interrupted run resumes where it stopped on the next start.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentResultBackfill {
+
+    private final StudentExamResultRepository studentExamResultRepository;
+    private final StudentGpaLedgerRepository studentGpaLedgerRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate unitTransaction;
+
+    @PostConstruct
+    void init() {
+        unitTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> examIds = studentExamResultRepository.findExamIdsWithoutResults();
+        List<Long> academicYearIds = studentGpaLedgerRepository.findAcademicYearIdsWithoutLedger();
+        if (examIds.isEmpty() && academicYearIds.isEmpty()) {
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        for (Long examId : examIds) {
+            unitTransaction.executeWithoutResult(status -> studentExamResultRepository.rebuildByExamId(examId));
+        }
+        for (Long academicYearId : academicYearIds) {
+            unitTransaction.executeWithoutResult(status -> studentGpaLedgerRepository.rebuildByAcademicYearId(academicYearId));
+        }
+        log.info("Backfilled results of {} exams and the GPA ledger of {} academic years in {} ms",
+                examIds.size(), academicYearIds.size(), System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,42 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.entity.exam.StudentGpaLedger;
+import org.collegemanagement.enums.ResultStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * CGPA, credits and result status of a student for an academic year, derived from the GPA ledger.
+ * Shared by single transcript generation and the bulk transcript job.
+ */
+final class TranscriptCalculator {
+
+    private TranscriptCalculator() {
+    }
+
+    record Result(BigDecimal cgpa, int totalCredits, ResultStatus resultStatus) {
+    }
+
+    /**
+     * CGPA = weighted grade points / graded credits; PASS only when every mark is at or above its pass marks
+     */
+    static Result fromLedger(StudentGpaLedger ledger) {
+        if (ledger == null || ledger.getMarksCount() == 0) {
+            return withheld();
+        }
+
+        int totalCredits = ledger.getTotalCredits();
+        BigDecimal cgpa = totalCredits > 0 ?
+                ledger.getWeightedGradePoints().divide(BigDecimal.valueOf(totalCredits), 4, RoundingMode.HALF_UP)
+                        .setScale(2, RoundingMode.HALF_UP) :
+                BigDecimal.ZERO;
+        ResultStatus resultStatus = ledger.getPassedCount().equals(ledger.getMarksCount()) ? ResultStatus.PASS : ResultStatus.FAIL;
+
+        return new Result(cgpa, totalCredits, resultStatus);
+    }
+
+    static Result withheld() {
+        return new Result(BigDecimal.ZERO, 0, ResultStatus.WITHHELD);
+    }
+}
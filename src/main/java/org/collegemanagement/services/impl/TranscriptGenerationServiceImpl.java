@@ -0,0 +1,394 @@
+package org.collegemanagement.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.collegemanagement.dto.exam.GenerateTranscriptsRequest;
+import org.collegemanagement.dto.exam.TranscriptGenerationJobResponse;
+import org.collegemanagement.entity.academic.ClassRoom;
+import org.collegemanagement.entity.exam.StudentGpaLedger;
+import org.collegemanagement.entity.exam.StudentTranscript;
+import org.collegemanagement.entity.exam.TranscriptGenerationJob;
+import org.collegemanagement.entity.tenant.AcademicYear;
+import org.collegemanagement.entity.tenant.College;
+import org.collegemanagement.entity.user.User;
+import org.collegemanagement.enums.AuditAction;
+import org.collegemanagement.enums.AuditEntityType;
+import org.collegemanagement.enums.JobStatus;
+import org.collegemanagement.exception.ResourceConflictException;
+import org.collegemanagement.exception.ResourceNotFoundException;
+import org.collegemanagement.mapper.TranscriptGenerationJobMapper;
+import org.collegemanagement.repositories.AcademicYearRepository;
+import org.collegemanagement.repositories.ClassRoomRepository;
+import org.collegemanagement.repositories.StudentEnrollmentRepository;
+import org.collegemanagement.repositories.StudentGpaLedgerRepository;
+import org.collegemanagement.repositories.StudentRepository;
+import org.collegemanagement.repositories.StudentTranscriptRepository;
+import org.collegemanagement.repositories.TranscriptGenerationJobRepository;
+import org.collegemanagement.repositories.TranscriptSnapshotRepository;
+import org.collegemanagement.security.tenant.TenantAccessGuard;
+import org.collegemanagement.services.AuditService;
+import org.collegemanagement.services.CollegeService;
+import org.collegemanagement.services.TranscriptGenerationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Generates transcripts for a whole cohort in the background.
+ * <p>
+ * Students are walked in ascending ID order in windows of {@code chunkSize * workerThreads}.
+ * Each window is split into chunks that are processed in parallel, one short transaction per chunk
+ * (one GPA ledger query, one batched upsert). After a window completes the job checkpoint is committed,
+ * so an interrupted job resumes from the last completed window; re-processing a window is idempotent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TranscriptGenerationServiceImpl implements TranscriptGenerationService {
+
+    private static final List<JobStatus> ACTIVE_STATUSES = List.of(JobStatus.PENDING, JobStatus.RUNNING);
+
+    private final TranscriptGenerationJobRepository jobRepository;
+    private final AcademicYearRepository academicYearRepository;
+    private final ClassRoomRepository classRoomRepository;
+    private final StudentRepository studentRepository;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final StudentGpaLedgerRepository studentGpaLedgerRepository;
+    private final StudentTranscriptRepository studentTranscriptRepository;
+    private final TranscriptSnapshotRepository transcriptSnapshotRepository;
+    private final TranscriptSnapshotCache transcriptSnapshotCache;
+    private final TenantAccessGuard tenantAccessGuard;
+    private final CollegeService collegeService;
+    private final AuditService auditService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${exams.transcripts.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${exams.transcripts.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${exams.transcripts.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolTaskExecutor jobExecutor;
+    private ThreadPoolTaskExecutor chunkExecutor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        jobExecutor = new ThreadPoolTaskExecutor();
+        jobExecutor.setCorePoolSize(maxConcurrentJobs);
+        jobExecutor.setMaxPoolSize(maxConcurrentJobs);
+        jobExecutor.setQueueCapacity(100);
+        jobExecutor.setThreadNamePrefix("transcript-job-");
+        jobExecutor.initialize();
+
+        // Bounded queue + caller-runs: a job thread that outpaces the workers processes chunks itself
+        chunkExecutor = new ThreadPoolTaskExecutor();
+        chunkExecutor.setCorePoolSize(workerThreads);
+        chunkExecutor.setMaxPoolSize(workerThreads);
+        chunkExecutor.setQueueCapacity(workerThreads);
+        chunkExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        chunkExecutor.setThreadNamePrefix("transcript-chunk-");
+        chunkExecutor.initialize();
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdown();
+        chunkExecutor.shutdown();
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public TranscriptGenerationJobResponse startJob(GenerateTranscriptsRequest request) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        College college = collegeService.findById(collegeId);
+        tenantAccessGuard.assertCurrentTenant(college);
+
+        AcademicYear academicYear = academicYearRepository.findByUuidAndCollegeId(request.getAcademicYearUuid(), collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Academic year not found with UUID: " + request.getAcademicYearUuid()));
+
+        ClassRoom classRoom = null;
+        if (request.getClassUuid() != null && !request.getClassUuid().isBlank()) {
+            classRoom = classRoomRepository.findByUuidAndCollegeId(request.getClassUuid(), collegeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Class not found with UUID: " + request.getClassUuid()));
+            if (!classRoom.getAcademicYear().getId().equals(academicYear.getId())) {
+                throw new ResourceConflictException("Class " + classRoom.getName() + " does not belong to the same academic year");
+            }
+        }
+        Long classId = classRoom != null ? classRoom.getId() : null;
+
+        if (jobRepository.existsActiveJob(collegeId, academicYear.getId(), classId, ACTIVE_STATUSES)) {
+            throw new ResourceConflictException("A transcript generation job is already in progress for this academic year");
+        }
+
+        long totalStudents = studentEnrollmentRepository.countStudentsByAcademicYear(collegeId, academicYear.getId(), classId);
+
+        User currentUser = getCurrentUser();
+        TranscriptGenerationJob job = TranscriptGenerationJob.builder()
+                .college(college)
+                .academicYear(academicYear)
+                .classRoom(classRoom)
+                .status(JobStatus.PENDING)
+                .totalStudents((int) totalStudents)
+                .processedStudents(0)
+                .lastStudentId(0L)
+                .requestedBy(currentUser)
+                .build();
+        job = jobRepository.save(job);
+
+        if (currentUser != null) {
+            auditService.createAuditLog(
+                    currentUser.getId(),
+                    AuditAction.CREATE,
+                    AuditEntityType.EXAM,
+                    job.getId(),
+                    "Started transcript generation for " + totalStudents + " students of academic year " + academicYear.getYearName()
+            );
+        }
+
+        submitAfterCommit(job.getId());
+
+        return TranscriptGenerationJobMapper.toResponse(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public TranscriptGenerationJobResponse getJob(String jobUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        TranscriptGenerationJob job = jobRepository.findByUuidAndCollegeId(jobUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transcript generation job not found with UUID: " + jobUuid));
+        return TranscriptGenerationJobMapper.toResponse(job);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COLLEGE_ADMIN')")
+    public TranscriptGenerationJobResponse resumeJob(String jobUuid) {
+        Long collegeId = tenantAccessGuard.getCurrentTenantId();
+        TranscriptGenerationJob job = jobRepository.findByUuidAndCollegeId(jobUuid, collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transcript generation job not found with UUID: " + jobUuid));
+
+        if (job.getStatus() == JobStatus.COMPLETED) {
+            throw new ResourceConflictException("Transcript generation job is already completed");
+        }
+        if (runningJobs.contains(job.getId())) {
+            throw new ResourceConflictException("Transcript generation job is already running");
+        }
+
+        job.setStatus(JobStatus.PENDING);
+        job.setErrorMessage(null);
+        job = jobRepository.save(job);
+
+        submitAfterCommit(job.getId());
+
+        return TranscriptGenerationJobMapper.toResponse(job);
+    }
+
+    /**
+     * Pick up jobs that were pending or running when the application last stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<TranscriptGenerationJob> interrupted = jobRepository.findByStatusIn(ACTIVE_STATUSES);
+        for (TranscriptGenerationJob job : interrupted) {
+            log.info("Resuming transcript generation job {} after student {}", job.getUuid(), job.getLastStudentId());
+            submit(job.getId());
+        }
+    }
+
+    private void submitAfterCommit(Long jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(jobId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(jobId);
+            }
+        });
+    }
+
+    private void submit(Long jobId) {
+        if (!runningJobs.add(jobId)) {
+            return;
+        }
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    runningJobs.remove(jobId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Job stays PENDING and is picked up by a manual resume or the next startup
+            runningJobs.remove(jobId);
+            log.warn("Transcript generation job {} could not be scheduled: {}", jobId, e.getMessage());
+        }
+    }
+
+    private void runJob(Long jobId) {
+        JobCheckpoint start = transactionTemplate.execute(status -> {
+            TranscriptGenerationJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStatus() == JobStatus.COMPLETED) {
+                return null;
+            }
+            job.setStatus(JobStatus.RUNNING);
+            job.setErrorMessage(null);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(Instant.now());
+            }
+            return new JobCheckpoint(
+                    job.getCollege().getId(),
+                    job.getAcademicYear().getId(),
+                    job.getClassRoom() != null ? job.getClassRoom().getId() : null,
+                    job.getLastStudentId(),
+                    job.getProcessedStudents()
+            );
+        });
+        if (start == null) {
+            return;
+        }
+
+        long lastStudentId = start.lastStudentId();
+        int processed = start.processedStudents();
+        int windowSize = chunkSize * workerThreads;
+        long startedAt = System.currentTimeMillis();
+
+        try {
+            while (true) {
+                List<Long> studentIds = studentEnrollmentRepository.findStudentIdsByAcademicYearAfter(
+                        start.collegeId(), start.academicYearId(), start.classId(), lastStudentId, PageRequest.of(0, windowSize));
+                if (studentIds.isEmpty()) {
+                    break;
+                }
+
+                List<CompletableFuture<Void>> chunks = new ArrayList<>();
+                for (int from = 0; from < studentIds.size(); from += chunkSize) {
+                    List<Long> chunk = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size()));
+                    chunks.add(CompletableFuture.runAsync(
+                            () -> generateChunk(chunk, start.academicYearId()), chunkExecutor));
+                }
+                CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+
+                lastStudentId = studentIds.get(studentIds.size() - 1);
+                processed += studentIds.size();
+                saveCheckpoint(jobId, lastStudentId, processed);
+            }
+
+            finishJob(jobId, JobStatus.COMPLETED, null);
+            log.info("Transcript generation job {} completed: {} students in {} ms",
+                    jobId, processed, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Transcript generation job {} failed after student {}", jobId, lastStudentId, cause);
+            finishJob(jobId, JobStatus.FAILED, Objects.toString(cause.getMessage(), cause.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Derive and upsert transcripts for one chunk of students from their GPA ledger rows in a single transaction
+     */
+    private void generateChunk(List<Long> studentIds, Long academicYearId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, StudentGpaLedger> ledgerByStudent = new HashMap<>();
+            for (StudentGpaLedger ledger : studentGpaLedgerRepository.findByStudentIdInAndAcademicYearId(studentIds, academicYearId)) {
+                ledgerByStudent.put(ledger.getStudent().getId(), ledger);
+            }
+
+            AcademicYear academicYear = academicYearRepository.getReferenceById(academicYearId);
+            List<StudentTranscript> transcripts = new ArrayList<>(studentIds.size());
+            for (Long studentId : studentIds) {
+                TranscriptCalculator.Result result = TranscriptCalculator.fromLedger(ledgerByStudent.get(studentId));
+                transcripts.add(StudentTranscript.builder()
+                        .student(studentRepository.getReferenceById(studentId))
+                        .academicYear(academicYear)
+                        .cgpa(result.cgpa())
+                        .totalCredits(result.totalCredits())
+                        .resultStatus(result.resultStatus())
+                        .published(false)
+                        .build());
+            }
+
+            studentTranscriptRepository.batchUpsert(transcripts);
+
+            // Recomputed values supersede any published snapshot; those transcripts are served live until republished
+            if (transcriptSnapshotRepository.deleteByAcademicYearIdAndStudentIdIn(academicYearId, studentIds) > 0) {
+                transcriptSnapshotCache.evictStudents(studentIds);
+            }
+        });
+    }
+
+    private void saveCheckpoint(Long jobId, long lastStudentId, int processed) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setLastStudentId(lastStudentId);
+            job.setProcessedStudents(processed);
+            if (processed > job.getTotalStudents()) {
+                job.setTotalStudents(processed);
+            }
+        }));
+    }
+
+    private void finishJob(Long jobId, JobStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage != null && errorMessage.length() > 1000 ? errorMessage.substring(0, 1000) : errorMessage);
+            if (status == JobStatus.COMPLETED) {
+                job.setCompletedAt(Instant.now());
+                job.setTotalStudents(job.getProcessedStudents());
+            }
+        }));
+    }
+
+    /**
+     * Get current authenticated user
+     */
+    private User getCurrentUser() {
+        try {
+            Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            if (principal instanceof User) {
+                return (User) principal;
+            }
+        } catch (Exception e) {
+            log.debug("Could not get current user: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private record JobCheckpoint(Long collegeId, Long academicYearId, Long classId, long lastStudentId, int processedStudents) {
+    }
+}
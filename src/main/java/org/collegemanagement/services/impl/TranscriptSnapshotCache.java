@@ -0,0 +1,127 @@
+package org.collegemanagement.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.dto.exam.StudentTranscriptResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and in-memory LRU of published transcript snapshots.
+ * <p>
+ * Entries hold the compressed bytes rather than response objects, so the cache stays compact and
+ * every hit hands out a fresh, independently mutable response. Every eviction bumps a generation
+ * counter; a snapshot read from the database before an eviction is not cached after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TranscriptSnapshotCache {
+
+    private record Entry(Long collegeId, Long studentId, byte[] data) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${exams.transcripts.snapshot-cache-size:5000}")
+    private int maxEntries;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<String, Entry> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    });
+
+    byte[] encode(StudentTranscriptResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(2048);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, response);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode transcript snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    StudentTranscriptResponse decode(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(in, StudentTranscriptResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode transcript snapshot", e);
+        }
+    }
+
+    /**
+     * Current generation, to be read before loading a snapshot from the database
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cached snapshot of a transcript of the given college, or null
+     */
+    StudentTranscriptResponse get(String transcriptUuid, Long collegeId) {
+        Entry entry = snapshots.get(transcriptUuid);
+        return entry != null && entry.collegeId().equals(collegeId) ? decode(entry.data()) : null;
+    }
+
+    void put(String transcriptUuid, Long collegeId, Long studentId, byte[] data, long loadedAtGeneration) {
+        synchronized (snapshots) {
+            if (generation.get() == loadedAtGeneration) {
+                snapshots.put(transcriptUuid, new Entry(collegeId, studentId, data));
+            }
+        }
+    }
+
+    /**
+     * Drop a transcript's snapshot now and, inside a transaction, once more after commit
+     */
+    public void evict(String transcriptUuid) {
+        invalidate(() -> snapshots.remove(transcriptUuid));
+    }
+
+    /**
+     * Drop the snapshots of the given students' transcripts, now and after commit
+     */
+    public void evictStudents(Collection<Long> studentIds) {
+        Set<Long> ids = Set.copyOf(studentIds);
+        invalidate(() -> snapshots.values().removeIf(entry -> ids.contains(entry.studentId())));
+    }
+
+    private void invalidate(Runnable removal) {
+        Runnable invalidation = () -> {
+            synchronized (snapshots) {
+                generation.incrementAndGet();
+                removal.run();
+            }
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
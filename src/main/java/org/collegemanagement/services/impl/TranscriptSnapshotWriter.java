@@ -0,0 +1,64 @@
+package org.collegemanagement.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.collegemanagement.entity.exam.StudentMarks;
+import org.collegemanagement.entity.exam.StudentTranscript;
+import org.collegemanagement.entity.exam.TranscriptSnapshot;
+import org.collegemanagement.mapper.StudentTranscriptMapper;
+import org.collegemanagement.repositories.StudentMarksRepository;
+import org.collegemanagement.repositories.StudentTranscriptRepository;
+import org.collegemanagement.repositories.TranscriptSnapshotRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Freezes many published transcripts at once: one query for the transcripts, one for their
+ * students' marks and one batched upsert of the encoded snapshots per call.
+ */
+@Component
+@RequiredArgsConstructor
+public class TranscriptSnapshotWriter {
+
+    private final StudentTranscriptRepository studentTranscriptRepository;
+    private final StudentMarksRepository studentMarksRepository;
+    private final TranscriptSnapshotRepository transcriptSnapshotRepository;
+    private final TranscriptSnapshotCache transcriptSnapshotCache;
+
+    /**
+     * Write snapshots of the given transcripts that are still published
+     *
+     * @return number of snapshots written
+     */
+    @Transactional
+    public int writeSnapshots(Long collegeId, Collection<Long> transcriptIds) {
+        List<StudentTranscript> transcripts = studentTranscriptRepository.findPublishedWithDetailsByIdIn(transcriptIds);
+        if (transcripts.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> studentIds = transcripts.stream()
+                .map(t -> t.getStudent().getId())
+                .distinct()
+                .toList();
+        Map<Long, List<StudentMarks>> marksByStudentId = studentMarksRepository.findByStudentIdInAndCollegeId(studentIds, collegeId)
+                .stream()
+                .collect(Collectors.groupingBy(m -> m.getStudent().getId()));
+
+        List<TranscriptSnapshot> snapshots = new ArrayList<>(transcripts.size());
+        for (StudentTranscript transcript : transcripts) {
+            List<StudentMarks> marks = marksByStudentId.getOrDefault(transcript.getStudent().getId(), List.of());
+            snapshots.add(TranscriptSnapshot.builder()
+                    .transcript(transcript)
+                    .data(transcriptSnapshotCache.encode(StudentTranscriptMapper.toResponse(transcript, marks)))
+                    .build());
+        }
+        transcriptSnapshotRepository.batchUpsert(snapshots);
+        return snapshots.size();
+    }
+}
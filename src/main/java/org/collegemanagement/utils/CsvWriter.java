@@ -0,0 +1,111 @@
+package org.collegemanagement.utils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Forward-only RFC 4180 CSV writer.
+ * <p>
+ * Records go straight to the underlying writer, so exports of any size are written in constant
+ * memory. Fields are quoted only when they contain a separator, quote or line break; records end
+ * with CRLF. Wrap the target in a buffered writer, since each field is written separately.
+ * <p>
+ * Exports are opened in spreadsheets, so text fields starting with a formula trigger ({@code = + - @},
+ * tab or carriage return) are prefixed with an apostrophe and shown as text rather than evaluated.
+ * Numbers are written as they are.
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    private static final char QUOTE = '"';
+    private static final String LINE_END = "\r\n";
+    private static final char FORMULA_ESCAPE = '\'';
+
+    private final Writer writer;
+    private final char separator;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer writer) {
+        this(writer, ',');
+    }
+
+    public CsvWriter(Writer writer, char separator) {
+        this.writer = writer;
+        this.separator = separator;
+    }
+
+    /**
+     * Write a complete record; null fields are written empty
+     */
+    public void writeRecord(Object... fields) throws IOException {
+        for (Object field : fields) {
+            writeField(field);
+        }
+        endRecord();
+    }
+
+    /**
+     * Append one field to the current record
+     */
+    public void writeField(Object value) throws IOException {
+        if (!firstField) {
+            writer.write(separator);
+        }
+        firstField = false;
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (!(value instanceof Number) && isFormula(text)) {
+            text = FORMULA_ESCAPE + text;
+        }
+        if (needsQuoting(text)) {
+            writer.write(QUOTE);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == QUOTE) {
+                    writer.write(QUOTE);
+                }
+                writer.write(c);
+            }
+            writer.write(QUOTE);
+        } else {
+            writer.write(text);
+        }
+    }
+
+    public void endRecord() throws IOException {
+        writer.write(LINE_END);
+        firstField = true;
+    }
+
+    private static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == separator || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,97 @@
+package org.collegemanagement.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of an HTML template using the {@code {{name}}} placeholders of the email templates.
+ * <p>
+ * The source is split once into literal segments and placeholder names, so rendering is a single
+ * append pass with no searching or intermediate strings. {@code {{name}}} values are HTML-escaped;
+ * {@code {{{name}}}} values (pre-rendered fragments) are inserted as is. Instances are immutable and
+ * safe to share between threads.
+ */
+public final class HtmlTemplate {
+
+    private final String[] literals;
+    private final String[] names;
+    private final boolean[] raw;
+    private final int sizeHint;
+
+    private HtmlTemplate(String[] literals, String[] names, boolean[] raw, int sizeHint) {
+        this.literals = literals;
+        this.names = names;
+        this.raw = raw;
+        this.sizeHint = sizeHint;
+    }
+
+    public static HtmlTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                break;
+            }
+            boolean isRaw = source.startsWith("{{{", start);
+            String close = isRaw ? "}}}" : "}}";
+            int end = source.indexOf(close, start);
+            if (end < 0) {
+                break;
+            }
+            literals.add(source.substring(position, start));
+            names.add(source.substring(start + (isRaw ? 3 : 2), end).trim());
+            raw.add(isRaw);
+            position = end + close.length();
+        }
+        literals.add(source.substring(position));
+
+        boolean[] rawFlags = new boolean[raw.size()];
+        for (int i = 0; i < rawFlags.length; i++) {
+            rawFlags[i] = raw.get(i);
+        }
+        return new HtmlTemplate(literals.toArray(String[]::new), names.toArray(String[]::new), rawFlags, source.length());
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(sizeHint + 256);
+        render(values, out);
+        return out.toString();
+    }
+
+    /**
+     * Render into the given builder; missing values render as empty
+     */
+    public void render(Map<String, String> values, StringBuilder out) {
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(names[i]);
+            if (value != null) {
+                if (raw[i]) {
+                    out.append(value);
+                } else {
+                    escape(value, out);
+                }
+            }
+        }
+        out.append(literals[names.length]);
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
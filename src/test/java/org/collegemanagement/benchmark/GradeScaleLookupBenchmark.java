@@ -0,0 +1,98 @@
+package org.collegemanagement.benchmark;
+
+import org.collegemanagement.CollegeManagementApplication;
+import org.collegemanagement.entity.exam.GradeScale;
+import org.collegemanagement.repositories.GradeScaleRepository;
+import org.collegemanagement.services.GradeScaleLookupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving marks to a grade through the in-memory band index with the repository range query.
+ * <p>
+ * Both paths run against the same application context and database, so the college given by
+ * {@code collegeId} must have grade scales. Run {@link #main} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeScaleLookupBenchmark {
+
+    @Param("1")
+    public long collegeId;
+
+    private ConfigurableApplicationContext context;
+    private GradeScaleLookupService gradeScaleLookupService;
+    private GradeScaleRepository gradeScaleRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CollegeManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        gradeScaleLookupService = context.getBean(GradeScaleLookupService.class);
+        gradeScaleRepository = context.getBean(GradeScaleRepository.class);
+        // Load the bands up front so the first measured lookup does not include the query that builds them
+        gradeScaleLookupService.findByMarks(collegeId, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Marks cycling through 0..100 per thread, so every band is hit
+     */
+    @State(Scope.Thread)
+    public static class Marks {
+
+        private int next;
+
+        int next() {
+            int marks = next;
+            next = (next + 7) % 101;
+            return marks;
+        }
+    }
+
+    @Benchmark
+    public Optional<GradeScale> inMemoryLookup(Marks marks) {
+        return gradeScaleLookupService.findByMarks(collegeId, marks.next());
+    }
+
+    @Benchmark
+    public Optional<GradeScale> repositoryLookup(Marks marks) {
+        return gradeScaleRepository.findGradeByMarksAndCollegeId(marks.next(), collegeId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GradeScaleLookupBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,75 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.repositories.ExamClassRepository;
+import org.collegemanagement.repositories.StudentExamResultRepository;
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExamRankingCacheTest {
+
+    private static final Long EXAM_ID = 1L;
+
+    private StudentExamResultRepository studentExamResultRepository;
+    private ExamRankingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        studentExamResultRepository = mock(StudentExamResultRepository.class);
+        cache = new ExamRankingCache(studentExamResultRepository, mock(ExamClassRepository.class));
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        when(studentExamResultRepository.findAggregatesByExamId(EXAM_ID)).thenReturn(List.of());
+    }
+
+    @Test
+    void rankingIsBuiltOnceUntilEvicted() {
+        ExamRanking first = cache.get(EXAM_ID);
+
+        assertThat(cache.get(EXAM_ID)).isSameAs(first);
+        verify(studentExamResultRepository, times(1)).findAggregatesByExamId(EXAM_ID);
+
+        cache.evict(EXAM_ID);
+
+        assertThat(cache.get(EXAM_ID)).isNotSameAs(first);
+        verify(studentExamResultRepository, times(2)).findAggregatesByExamId(EXAM_ID);
+    }
+
+    @Test
+    void rankingBuiltWhileTheExamIsEvictedIsNotCached() {
+        // A marks write evicts the exam while its ranking is being read
+        when(studentExamResultRepository.findAggregatesByExamId(EXAM_ID)).thenAnswer(invocation -> {
+            cache.evict(EXAM_ID);
+            return List.<StudentExamAggregate>of();
+        });
+
+        ExamRanking stale = cache.get(EXAM_ID);
+
+        assertThat(stale).isNotNull();
+        assertThat(cache.get(EXAM_ID)).isNotSameAs(stale);
+        verify(studentExamResultRepository, times(2)).findAggregatesByExamId(EXAM_ID);
+    }
+
+    @Test
+    void buildVersionsAreDroppedOnceNoBuildIsRunning() {
+        when(studentExamResultRepository.findAggregatesByExamId(EXAM_ID)).thenAnswer(invocation -> {
+            cache.evict(EXAM_ID);
+            return List.<StudentExamAggregate>of();
+        });
+
+        cache.get(EXAM_ID);
+        cache.get(2L);
+
+        Map<?, ?> loads = (Map<?, ?>) ReflectionTestUtils.getField(cache, "loads");
+        assertThat(loads).isEmpty();
+    }
+}
@@ -0,0 +1,151 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.enums.RankScope;
+import org.collegemanagement.repositories.projection.StudentExamAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamRankingTest {
+
+    private static final long SECTION_A = 1L;
+    private static final long SECTION_B = 2L;
+    private static final long SECTION_C = 3L;
+
+    private ExamRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        // Sections A and B are class "10", section C is class "11"
+        ranking = ExamRanking.of(List.of(
+                new Aggregate(SECTION_A, 1L, 90, 100),
+                new Aggregate(SECTION_A, 2L, 80, 100),
+                new Aggregate(SECTION_A, 3L, 80, 100),
+                new Aggregate(SECTION_A, 4L, 70, 100),
+                new Aggregate(SECTION_B, 5L, 40, 50),
+                new Aggregate(SECTION_B, 6L, 60, 100),
+                new Aggregate(SECTION_C, 7L, 95, 100)
+        ), Map.of(SECTION_A, "10", SECTION_B, "10", SECTION_C, "11"));
+    }
+
+    @Test
+    void competitionRanksSkipPlacesAfterTies() {
+        assertThat(competitionRanks(RankScope.SECTION, 1L, 2L, 3L, 4L)).containsExactly(1, 2, 2, 4);
+        assertThat(competitionRanks(RankScope.CLASS, 1L, 2L, 3L, 5L, 4L, 6L)).containsExactly(1, 2, 2, 2, 5, 6);
+        assertThat(competitionRanks(RankScope.EXAM, 7L, 1L, 2L, 3L, 5L, 4L, 6L)).containsExactly(1, 2, 3, 3, 3, 6, 7);
+    }
+
+    @Test
+    void denseRanksDoNotSkipPlacesAfterTies() {
+        assertThat(denseRanks(RankScope.SECTION, 1L, 2L, 3L, 4L)).containsExactly(1, 2, 2, 3);
+        assertThat(denseRanks(RankScope.CLASS, 1L, 2L, 3L, 5L, 4L, 6L)).containsExactly(1, 2, 2, 2, 3, 4);
+        assertThat(denseRanks(RankScope.EXAM, 7L, 1L, 2L, 3L, 5L, 4L, 6L)).containsExactly(1, 2, 3, 3, 3, 4, 5);
+    }
+
+    @Test
+    void percentileCountsTheGroupAtOrBelowTheStudent() {
+        assertThat(ranking.percentile(RankScope.SECTION, ranking.indexOf(1L))).isEqualByComparingTo("100.00");
+        assertThat(ranking.percentile(RankScope.SECTION, ranking.indexOf(2L))).isEqualByComparingTo("75.00");
+        assertThat(ranking.percentile(RankScope.SECTION, ranking.indexOf(3L))).isEqualByComparingTo("75.00");
+        assertThat(ranking.percentile(RankScope.SECTION, ranking.indexOf(4L))).isEqualByComparingTo("25.00");
+        // Only the last of the six students in class "10" is at or below itself
+        assertThat(ranking.percentile(RankScope.CLASS, ranking.indexOf(6L))).isEqualByComparingTo("16.67");
+        assertThat(ranking.percentile(RankScope.SECTION, ranking.indexOf(7L))).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void percentageIsObtainedOverTotalMarks() {
+        assertThat(ranking.percentage(ranking.indexOf(5L))).isEqualByComparingTo("80.00");
+        assertThat(ranking.obtainedMarks(ranking.indexOf(5L))).isEqualTo(40);
+        assertThat(ranking.totalMarks(ranking.indexOf(5L))).isEqualTo(50);
+    }
+
+    @Test
+    void topListsTheBestOfAGroupWithTiesInInputOrder() {
+        int sectionA = ranking.group(RankScope.SECTION, SECTION_A, null);
+        assertThat(studentIds(ranking.top(RankScope.SECTION, sectionA, 3))).containsExactly(1L, 2L, 3L);
+
+        int class10 = ranking.group(RankScope.CLASS, null, "10");
+        assertThat(ranking.groupSize(RankScope.CLASS, class10)).isEqualTo(6);
+        assertThat(studentIds(ranking.top(RankScope.CLASS, class10, 10))).containsExactly(1L, 2L, 3L, 5L, 4L, 6L);
+
+        assertThat(studentIds(ranking.top(RankScope.EXAM, 0, 2))).containsExactly(7L, 1L);
+    }
+
+    @Test
+    void unknownStudentsAndGroupsAreReportedAsMissing() {
+        assertThat(ranking.indexOf(99L)).isEqualTo(-1);
+        assertThat(ranking.group(RankScope.SECTION, 99L, null)).isEqualTo(-1);
+        assertThat(ranking.group(RankScope.CLASS, null, "12")).isEqualTo(-1);
+        assertThat(ranking.groupSize(RankScope.CLASS, -1)).isZero();
+    }
+
+    @Test
+    void emptyExamHasNoRanks() {
+        ExamRanking empty = ExamRanking.of(List.of(), Map.of());
+
+        assertThat(empty.size()).isZero();
+        assertThat(empty.top(RankScope.EXAM, 0, 10)).isEmpty();
+    }
+
+    private int[] competitionRanks(RankScope scope, Long... studentIds) {
+        int[] ranks = new int[studentIds.length];
+        for (int i = 0; i < studentIds.length; i++) {
+            ranks[i] = ranking.competitionRank(scope, ranking.indexOf(studentIds[i]));
+        }
+        return ranks;
+    }
+
+    private int[] denseRanks(RankScope scope, Long... studentIds) {
+        int[] ranks = new int[studentIds.length];
+        for (int i = 0; i < studentIds.length; i++) {
+            ranks[i] = ranking.denseRank(scope, ranking.indexOf(studentIds[i]));
+        }
+        return ranks;
+    }
+
+    private long[] studentIds(int[] indices) {
+        long[] ids = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            ids[i] = ranking.studentId(indices[i]);
+        }
+        return ids;
+    }
+
+    private record Aggregate(Long classId, Long studentId, long obtained, long total) implements StudentExamAggregate {
+
+        @Override
+        public Long getClassId() {
+            return classId;
+        }
+
+        @Override
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public Long getTotalMarks() {
+            return total;
+        }
+
+        @Override
+        public Long getObtainedMarks() {
+            return obtained;
+        }
+
+        @Override
+        public Long getSubjectCount() {
+            return 1L;
+        }
+
+        @Override
+        public Integer getAllPassed() {
+            return 1;
+        }
+    }
+}
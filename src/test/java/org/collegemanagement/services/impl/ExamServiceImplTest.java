@@ -0,0 +1,322 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.dto.exam.AssignTeacherToExamSubjectRequest;
+import org.collegemanagement.dto.exam.ExamSubjectResponse;
+import org.collegemanagement.dto.exam.MarksImportResponse;
+import org.collegemanagement.entity.academic.ClassRoom;
+import org.collegemanagement.entity.academic.Subject;
+import org.collegemanagement.entity.exam.Exam;
+import org.collegemanagement.entity.exam.ExamClass;
+import org.collegemanagement.entity.exam.ExamSubject;
+import org.collegemanagement.entity.tenant.AcademicYear;
+import org.collegemanagement.entity.user.User;
+import org.collegemanagement.events.exams.StudentMarksRecordedEvent;
+import org.collegemanagement.exception.ResourceConflictException;
+import org.collegemanagement.repositories.ExamSubjectRepository;
+import org.collegemanagement.repositories.StudentEnrollmentRepository;
+import org.collegemanagement.repositories.StudentExamResultRepository;
+import org.collegemanagement.repositories.StudentGpaLedgerRepository;
+import org.collegemanagement.repositories.StudentMarksRepository;
+import org.collegemanagement.repositories.StudentRepository;
+import org.collegemanagement.repositories.TeacherRepository;
+import org.collegemanagement.repositories.projection.ExamSlotRow;
+import org.collegemanagement.repositories.projection.MarksRosterEntry;
+import org.collegemanagement.security.tenant.TenantAccessGuard;
+import org.collegemanagement.services.GradeScaleLookupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExamServiceImplTest {
+
+    private static final Long COLLEGE_ID = 1L;
+
+    @Mock
+    private ExamSubjectRepository examSubjectRepository;
+    @Mock
+    private StudentMarksRepository studentMarksRepository;
+    @Mock
+    private StudentExamResultRepository studentExamResultRepository;
+    @Mock
+    private StudentGpaLedgerRepository studentGpaLedgerRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private StudentEnrollmentRepository studentEnrollmentRepository;
+    @Mock
+    private TenantAccessGuard tenantAccessGuard;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private GradeScaleLookupService gradeScaleLookupService;
+    @Mock
+    private ExamRankingCache examRankingCache;
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @InjectMocks
+    private ExamServiceImpl examService;
+
+    @BeforeEach
+    void setUpTenant() {
+        when(tenantAccessGuard.getCurrentTenantId()).thenReturn(COLLEGE_ID);
+    }
+
+    @Nested
+    class ImportStudentMarks {
+
+        private static final String SUBJECT_UUID = "exam-subject";
+
+        @BeforeEach
+        void setUp() {
+            ExamSubject examSubject = ExamSubject.builder()
+                    .id(10L)
+                    .uuid(SUBJECT_UUID)
+                    .maxMarks(100)
+                    .subject(Subject.builder().name("Mathematics").build())
+                    .examClass(ExamClass.builder()
+                            .exam(Exam.builder()
+                                    .id(5L)
+                                    .uuid("exam")
+                                    .academicYear(AcademicYear.builder().id(3L).yearName("2026-27").build())
+                                    .build())
+                            .classRoom(ClassRoom.builder().id(7L).name("10").section("A").build())
+                            .build())
+                    .build();
+            when(examSubjectRepository.findByUuidAndCollegeId(SUBJECT_UUID, COLLEGE_ID)).thenReturn(Optional.of(examSubject));
+            when(studentEnrollmentRepository.findMarksRoster(7L, 3L, 10L)).thenReturn(List.of(
+                    new RosterEntry(101L, "1", 201L, null),
+                    new RosterEntry(102L, "2", null, null),
+                    new RosterEntry(103L, "3", null, null),
+                    new RosterEntry(104L, "4", 204L, 500L)));
+        }
+
+        @Test
+        void importsValidRowsAndReportsRejectedOnesByLine() {
+            MarksImportResponse response = examService.importStudentMarks(SUBJECT_UUID, csv(
+                    "\uFEFFRoll Number,Marks,Note\r\n" +
+                    "1,50,\"late, but\nsubmitted\"\r\n" +  // lines 2-3
+                    "2,101,\r\n" +                         // line 4: above max marks
+                    "3,4.5,\r\n" +                         // line 5: not a whole number
+                    "4,,\r\n" +                            // line 6: no marks
+                    "1,60,\r\n" +                          // line 7: duplicate
+                    "99,10,\r\n" +                         // line 8: not enrolled
+                    ",,\r\n" +                             // line 9: blank, skipped
+                    "4,70,\r\n"));                         // line 10: updates existing marks
+
+            assertThat(response.getTotalRows()).isEqualTo(7);
+            assertThat(response.getImportedRows()).isEqualTo(2);
+            assertThat(response.getInsertedRows()).isEqualTo(1);
+            assertThat(response.getUpdatedRows()).isEqualTo(1);
+            assertThat(response.getFailedRows()).isEqualTo(5);
+            assertThat(response.getErrorsTruncated()).isFalse();
+            assertThat(response.getErrors())
+                    .extracting(MarksImportResponse.RowError::getLineNumber)
+                    .containsExactly(4L, 5L, 6L, 7L, 8L);
+            assertThat(response.getErrors().get(0).getMessage()).isEqualTo("Marks obtained must be between 0 and 100");
+            assertThat(response.getErrors().get(3).getMessage()).isEqualTo("Duplicate row for roll number 1");
+
+            verify(studentMarksRepository).batchUpsert(argThat(marks -> marks.size() == 2));
+            verify(eventPublisher).publishEvent(any(StudentMarksRecordedEvent.class));
+        }
+
+        @Test
+        void errorReportIsCappedAtOneThousandRows() {
+            StringBuilder file = new StringBuilder("roll_number,marks\n");
+            for (int i = 0; i < 1005; i++) {
+                file.append("x").append(i).append(",10\n");
+            }
+
+            MarksImportResponse response = examService.importStudentMarks(SUBJECT_UUID, csv(file.toString()));
+
+            assertThat(response.getFailedRows()).isEqualTo(1005);
+            assertThat(response.getErrors()).hasSize(1000);
+            assertThat(response.getErrors().get(999).getLineNumber()).isEqualTo(1001L);
+            assertThat(response.getErrorsTruncated()).isTrue();
+            assertThat(response.getImportedRows()).isZero();
+        }
+
+        @Test
+        void fileWithoutRollNumberAndMarksColumnsIsRejected() {
+            assertThatThrownBy(() -> examService.importStudentMarks(SUBJECT_UUID, csv("name,score\nA,10\n")))
+                    .isInstanceOf(ResourceConflictException.class)
+                    .hasMessageContaining("roll_number");
+        }
+
+        private MockMultipartFile csv(String content) {
+            return new MockMultipartFile("file", "marks.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Nested
+    class AssignTeacherToExamSubject {
+
+        private static final String SUBJECT_UUID = "physics-10a";
+        private static final String TEACHER_UUID = "teacher";
+        private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+        private ExamSubject examSubject;
+
+        @BeforeEach
+        void setUp() {
+            examSubject = ExamSubject.builder()
+                    .id(12L)
+                    .uuid(SUBJECT_UUID)
+                    .examDate(MONDAY)
+                    .subject(Subject.builder().name("Physics").build())
+                    .examClass(ExamClass.builder()
+                            .id(1L)
+                            .exam(Exam.builder().id(5L).uuid("exam").build())
+                            .classRoom(ClassRoom.builder().id(7L).name("10").section("A").build())
+                            .build())
+                    .build();
+            when(examSubjectRepository.findByUuidAndCollegeId(SUBJECT_UUID, COLLEGE_ID)).thenReturn(Optional.of(examSubject));
+            when(teacherRepository.findTeacherByUuidAndCollegeId(TEACHER_UUID, COLLEGE_ID))
+                    .thenReturn(Optional.of(User.builder().id(50L).uuid(TEACHER_UUID).name("R. Iyer").build()));
+        }
+
+        @Test
+        void rejectsAnotherSubjectOfTheClassOnTheSameDate() {
+            when(examSubjectRepository.findSlotsByExamId(5L)).thenReturn(List.of(
+                    new SlotRow(11L, 1L, "A", "Mathematics", null, MONDAY),
+                    new SlotRow(12L, 1L, "A", "Physics", null, MONDAY)));
+
+            assertThatThrownBy(() -> examService.assignTeacherToExamSubject(SUBJECT_UUID, request()))
+                    .isInstanceOf(ResourceConflictException.class)
+                    .hasMessage("Class 10 already has Mathematics scheduled on 2026-03-02");
+            verify(examSubjectRepository, never()).save(any());
+        }
+
+        @Test
+        void rejectsATeacherAlreadyInvigilatingAnotherClassThatDay() {
+            when(examSubjectRepository.findSlotsByExamId(5L)).thenReturn(List.of(
+                    new SlotRow(12L, 1L, "A", "Physics", null, MONDAY),
+                    new SlotRow(21L, 2L, "B", "Chemistry", 50L, MONDAY)));
+
+            assertThatThrownBy(() -> examService.assignTeacherToExamSubject(SUBJECT_UUID, request()))
+                    .isInstanceOf(ResourceConflictException.class)
+                    .hasMessage("Teacher R. Iyer is already assigned to Chemistry of class 10 on 2026-03-02");
+            verify(examSubjectRepository, never()).save(any());
+        }
+
+        @Test
+        void acceptsBackToBackDaysAndTheSubjectsOwnSlot() {
+            when(examSubjectRepository.findSlotsByExamId(5L)).thenReturn(List.of(
+                    new SlotRow(11L, 1L, "A", "Mathematics", 50L, MONDAY.minusDays(1)),
+                    new SlotRow(12L, 1L, "A", "Physics", 50L, MONDAY),
+                    new SlotRow(21L, 2L, "B", "Chemistry", 50L, MONDAY.plusDays(1))));
+            when(examSubjectRepository.save(examSubject)).thenReturn(examSubject);
+
+            ExamSubjectResponse response = examService.assignTeacherToExamSubject(SUBJECT_UUID, request());
+
+            assertThat(response.getAssignedTeacherUuid()).isEqualTo(TEACHER_UUID);
+            assertThat(response.getExamDate()).isEqualTo(MONDAY);
+        }
+
+        private AssignTeacherToExamSubjectRequest request() {
+            return AssignTeacherToExamSubjectRequest.builder().teacherUuid(TEACHER_UUID).build();
+        }
+    }
+
+    private record SlotRow(Long examSubjectId, Long examClassId, String section, String subjectName, Long teacherId,
+                           LocalDate examDate) implements ExamSlotRow {
+
+        @Override
+        public Long getExamSubjectId() {
+            return examSubjectId;
+        }
+
+        @Override
+        public String getExamSubjectUuid() {
+            return "exam-subject-" + examSubjectId;
+        }
+
+        @Override
+        public Long getExamClassId() {
+            return examClassId;
+        }
+
+        @Override
+        public String getClassName() {
+            return "10";
+        }
+
+        @Override
+        public String getSection() {
+            return section;
+        }
+
+        @Override
+        public String getSubjectName() {
+            return subjectName;
+        }
+
+        @Override
+        public String getSubjectCode() {
+            return null;
+        }
+
+        @Override
+        public Long getTeacherId() {
+            return teacherId;
+        }
+
+        @Override
+        public String getTeacherUuid() {
+            return teacherId == null ? null : "teacher-" + teacherId;
+        }
+
+        @Override
+        public String getTeacherName() {
+            return teacherId == null ? null : "R. Iyer";
+        }
+
+        @Override
+        public LocalDate getExamDate() {
+            return examDate;
+        }
+    }
+
+    private record RosterEntry(Long studentId, String rollNumber, Long userId, Long marksId) implements MarksRosterEntry {
+
+        @Override
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public String getRollNumber() {
+            return rollNumber;
+        }
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public Long getMarksId() {
+            return marksId;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.repositories.projection.ExamSlotRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamTimetableTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private static final long CLASS_10A = 1L;
+    private static final long CLASS_10B = 2L;
+    private static final long TEACHER = 50L;
+
+    @Test
+    void twoSubjectsOfOneClassOnTheSameDateClash() {
+        ExamTimetable timetable = ExamTimetable.of(List.of(
+                slot(1L, CLASS_10A, MONDAY, null, "Mathematics"),
+                slot(2L, CLASS_10A, MONDAY, null, "Physics")));
+
+        assertThat(timetable.findClassClash(CLASS_10A, MONDAY, 2L).getSubjectName()).isEqualTo("Mathematics");
+        assertThat(timetable.findClassClash(CLASS_10A, MONDAY, null)).isNotNull();
+        assertThat(timetable.classClashes()).singleElement()
+                .satisfies(occupants -> assertThat(occupants).extracting(ExamSlotRow::getExamSubjectId).containsExactly(1L, 2L));
+        assertThat(timetable.teacherClashes()).isEmpty();
+    }
+
+    @Test
+    void oneTeacherAcrossTwoClassesOnTheSameDateClashes() {
+        ExamTimetable timetable = ExamTimetable.of(List.of(
+                slot(1L, CLASS_10A, MONDAY, TEACHER, "Mathematics"),
+                slot(2L, CLASS_10B, MONDAY, TEACHER, "Mathematics")));
+
+        assertThat(timetable.findClassClash(CLASS_10B, MONDAY, 2L)).isNull();
+        assertThat(timetable.findTeacherClash(TEACHER, MONDAY, 2L).getExamClassId()).isEqualTo(CLASS_10A);
+        assertThat(timetable.findTeacherClash(99L, MONDAY, 2L)).isNull();
+        assertThat(timetable.classClashes()).isEmpty();
+        assertThat(timetable.teacherClashes()).singleElement()
+                .satisfies(occupants -> assertThat(occupants).hasSize(2));
+    }
+
+    @Test
+    void backToBackDaysTouchButDoNotClash() {
+        ExamTimetable timetable = ExamTimetable.of(List.of(
+                slot(1L, CLASS_10A, MONDAY, TEACHER, "Mathematics"),
+                slot(2L, CLASS_10A, TUESDAY, TEACHER, "Physics")));
+
+        assertThat(timetable.findClassClash(CLASS_10A, TUESDAY, 2L)).isNull();
+        assertThat(timetable.findTeacherClash(TEACHER, TUESDAY, 2L)).isNull();
+        assertThat(timetable.classClashes()).isEmpty();
+        assertThat(timetable.teacherClashes()).isEmpty();
+    }
+
+    @Test
+    void aSubjectBeingUpdatedDoesNotClashWithItself() {
+        ExamTimetable timetable = ExamTimetable.of(List.of(
+                slot(1L, CLASS_10A, MONDAY, TEACHER, "Mathematics"),
+                slot(2L, CLASS_10A, TUESDAY, null, "Physics")));
+
+        assertThat(timetable.findClassClash(CLASS_10A, MONDAY, 1L)).isNull();
+        assertThat(timetable.findTeacherClash(TEACHER, MONDAY, 1L)).isNull();
+        // Moving subject 1 onto Tuesday still finds Physics, but not subject 1's own Monday row
+        assertThat(timetable.findClassClash(CLASS_10A, TUESDAY, 1L).getExamSubjectId()).isEqualTo(2L);
+    }
+
+    @Test
+    void unscheduledAndUnassignedSubjectsAreIgnored() {
+        ExamTimetable timetable = ExamTimetable.of(List.of(
+                slot(1L, CLASS_10A, null, TEACHER, "Mathematics"),
+                slot(2L, CLASS_10A, null, TEACHER, "Physics"),
+                slot(3L, CLASS_10A, MONDAY, null, "Chemistry")));
+
+        assertThat(timetable.size()).isEqualTo(3);
+        assertThat(timetable.findClassClash(CLASS_10A, null, null)).isNull();
+        assertThat(timetable.findTeacherClash(null, MONDAY, null)).isNull();
+        assertThat(timetable.findTeacherClash(TEACHER, MONDAY, null)).isNull();
+        assertThat(timetable.classClashes()).isEmpty();
+        assertThat(timetable.teacherClashes()).isEmpty();
+    }
+
+    private static ExamSlotRow slot(Long examSubjectId, Long examClassId, LocalDate examDate, Long teacherId, String subjectName) {
+        return new Slot(examSubjectId, examClassId, examDate, teacherId, subjectName);
+    }
+
+    private record Slot(Long examSubjectId, Long examClassId, LocalDate examDate, Long teacherId,
+                        String subjectName) implements ExamSlotRow {
+
+        @Override
+        public Long getExamSubjectId() {
+            return examSubjectId;
+        }
+
+        @Override
+        public String getExamSubjectUuid() {
+            return "exam-subject-" + examSubjectId;
+        }
+
+        @Override
+        public Long getExamClassId() {
+            return examClassId;
+        }
+
+        @Override
+        public String getClassName() {
+            return "10";
+        }
+
+        @Override
+        public String getSection() {
+            return examClassId == CLASS_10A ? "A" : "B";
+        }
+
+        @Override
+        public String getSubjectName() {
+            return subjectName;
+        }
+
+        @Override
+        public String getSubjectCode() {
+            return null;
+        }
+
+        @Override
+        public Long getTeacherId() {
+            return teacherId;
+        }
+
+        @Override
+        public String getTeacherUuid() {
+            return teacherId == null ? null : "teacher-" + teacherId;
+        }
+
+        @Override
+        public String getTeacherName() {
+            return teacherId == null ? null : "Teacher " + teacherId;
+        }
+
+        @Override
+        public LocalDate getExamDate() {
+            return examDate;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.collegemanagement.services.impl;
+
+import org.collegemanagement.enums.SequenceSeries;
+import org.collegemanagement.repositories.CollegeRepository;
+import org.collegemanagement.repositories.SequenceCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceServiceImplTest {
+
+    private static final Long COLLEGE_ID = 1L;
+    private static final SequenceSeries SERIES = SequenceSeries.FEE_RECEIPT;
+
+    @Mock
+    private SequenceCounterRepository sequenceCounterRepository;
+    @Mock
+    private CollegeRepository collegeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SequenceServiceImpl sequenceService;
+
+    /**
+     * Next value of the stubbed counter row
+     */
+    private final AtomicLong counter = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        sequenceService = new SequenceServiceImpl(sequenceCounterRepository, collegeRepository, transactionManager);
+        sequenceService.init();
+        when(collegeRepository.findShortCodeById(COLLEGE_ID)).thenReturn(Optional.of("abc"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequenceService.shutdown();
+    }
+
+    @Test
+    void concurrentCallersGetUniqueContiguousNumbers() throws Exception {
+        when(sequenceCounterRepository.reserve(eq(COLLEGE_ID), eq(SERIES), anyInt(), eq(SERIES.getBlockSize())))
+                .thenAnswer(invocation -> counter.getAndAdd(SERIES.getBlockSize()));
+
+        int callers = 16;
+        int numbersPerCaller = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Long> numbers = new ArrayList<>();
+        try {
+            List<Callable<List<Long>>> tasks = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                tasks.add(() -> {
+                    List<Long> taken = new ArrayList<>(numbersPerCaller);
+                    for (int j = 0; j < numbersPerCaller; j++) {
+                        taken.add(value(sequenceService.nextNumber(COLLEGE_ID, SERIES)));
+                    }
+                    return taken;
+                });
+            }
+            for (Future<List<Long>> taken : executor.invokeAll(tasks)) {
+                numbers.addAll(taken.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every reserved block is served in full before the next one, so the numbers are exactly 1..n
+        int total = callers * numbersPerCaller;
+        assertThat(numbers).hasSize(total).doesNotHaveDuplicates();
+        assertThat(numbers.stream().sorted().toList())
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+
+        // At most one block is reserved ahead of demand
+        int blocks = total / SERIES.getBlockSize();
+        verify(sequenceCounterRepository, atLeast(blocks)).reserve(eq(COLLEGE_ID), eq(SERIES), anyInt(), anyInt());
+        verify(sequenceCounterRepository, atMost(blocks + 1)).reserve(eq(COLLEGE_ID), eq(SERIES), anyInt(), anyInt());
+    }
+
+    @Test
+    void failedRefillIsRetriedByTheNextCaller() {
+        when(sequenceCounterRepository.reserve(eq(COLLEGE_ID), eq(SERIES), anyInt(), eq(SERIES.getBlockSize())))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"))
+                .thenAnswer(invocation -> counter.getAndAdd(SERIES.getBlockSize()));
+
+        assertThatThrownBy(() -> sequenceService.nextNumber(COLLEGE_ID, SERIES))
+                .isInstanceOf(CannotAcquireLockException.class);
+
+        int year = LocalDate.now().getYear();
+        assertThat(sequenceService.nextNumber(COLLEGE_ID, SERIES)).isEqualTo("RCT-ABC-" + year + "-000001");
+        assertThat(sequenceService.nextNumber(COLLEGE_ID, SERIES)).isEqualTo("RCT-ABC-" + year + "-000002");
+    }
+
+    private static long value(String number) {
+        return Long.parseLong(number.substring(number.lastIndexOf('-') + 1));
+    }
+}
@@ -0,0 +1,92 @@
+package org.collegemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepSeparatorsQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll("name,note\n\"Doe, Jane\",\"said \"\"hi\"\"\nthen left\"\n");
+
+        assertThat(records).containsExactly(
+                List.of("name", "note"),
+                List.of("Doe, Jane", "said \"hi\"\nthen left"));
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        List<List<String>> records = readAll("\uFEFFroll_number,marks\n1,50\n");
+
+        assertThat(records.get(0)).containsExactly("roll_number", "marks");
+    }
+
+    @Test
+    void crlfLineEndingsEndRecords() throws IOException {
+        List<List<String>> records = readAll("a,b\r\n1,2\r\n");
+
+        assertThat(records).containsExactly(List.of("a", "b"), List.of("1", "2"));
+    }
+
+    @Test
+    void emptyFieldsAndMissingFinalLineBreakAreKept() throws IOException {
+        List<List<String>> records = readAll("a,,c\n,\nlast");
+
+        assertThat(records).containsExactly(List.of("a", "", "c"), List.of("", ""), List.of("last"));
+    }
+
+    @Test
+    void recordLineNumbersCountLineBreaksInsideQuotedFields() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader("h\n\"one\ntwo\"\nthree\r\n\nfour\n"))) {
+            reader.readRecord();
+            assertThat(reader.getRecordLineNumber()).isEqualTo(1);
+            reader.readRecord();
+            assertThat(reader.getRecordLineNumber()).isEqualTo(2);
+            reader.readRecord();
+            assertThat(reader.getRecordLineNumber()).isEqualTo(4);
+            assertThat(reader.readRecord()).containsExactly("");
+            assertThat(reader.getRecordLineNumber()).isEqualTo(5);
+            assertThat(reader.readRecord()).containsExactly("four");
+            assertThat(reader.getRecordLineNumber()).isEqualTo(6);
+            assertThat(reader.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    void customSeparatorIsHonoured() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader("a;\"b;c\"\n"), ';')) {
+            assertThat(reader.readRecord()).containsExactly("a", "b;c");
+        }
+    }
+
+    @Test
+    void unterminatedQuotedFieldIsRejected() {
+        assertThatThrownBy(() -> readAll("a\n\"open\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+        assertThat(readAll("\uFEFF")).isEmpty();
+    }
+
+    private static List<List<String>> readAll(String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(text))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
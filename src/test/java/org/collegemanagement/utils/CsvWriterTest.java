@@ -0,0 +1,67 @@
+package org.collegemanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void plainFieldsAreWrittenUnquotedWithCrlf() throws IOException {
+        assertThat(write(new Object[]{"RCT-ABC-000001", 42, LocalDate.of(2026, 3, 2), null, ""}))
+                .isEqualTo("RCT-ABC-000001,42,2026-03-02,,\r\n");
+    }
+
+    @Test
+    void fieldsWithSeparatorsQuotesOrLineBreaksAreQuoted() throws IOException {
+        assertThat(write(new Object[]{"Doe, Jane", "said \"hi\"", "line\nbreak", "cr\rlf"}))
+                .isEqualTo("\"Doe, Jane\",\"said \"\"hi\"\"\",\"line\nbreak\",\"cr\rlf\"\r\n");
+    }
+
+    @Test
+    void customSeparatorDecidesQuoting() throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvWriter csv = new CsvWriter(out, ';')) {
+            csv.writeRecord("a,b", "c;d");
+        }
+
+        assertThat(out.toString()).isEqualTo("a,b;\"c;d\"\r\n");
+    }
+
+    @Test
+    void formulaTriggersInTextAreEscaped() throws IOException {
+        assertThat(write(new Object[]{"=HYPERLINK(\"http://x\")", "+1", "-2", "@SUM(A1)", "\tcmd", "a=b"}))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\",'+1,'-2,'@SUM(A1),'\tcmd,a=b\r\n");
+    }
+
+    @Test
+    void negativeNumbersAreNotEscaped() throws IOException {
+        assertThat(write(new Object[]{new BigDecimal("-1E+2"), -5, -0.5}))
+                .isEqualTo("-100,-5,-0.5\r\n");
+    }
+
+    @Test
+    void writtenRecordsReadBackUnchanged() throws IOException {
+        List<String> fields = List.of("Doe, Jane", "said \"hi\"\r\nthen left", "", "plain");
+        String written = write(fields.toArray());
+
+        CsvReader reader = new CsvReader(new StringReader(written));
+        assertThat(reader.readRecord()).containsExactlyElementsOf(fields);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    private static String write(Object[] fields) throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRecord(fields);
+        }
+        return out.toString();
+    }
+}